@@ -1,7 +1,14 @@
 package ca.haywalk.util.collection;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * An array-based list.
@@ -85,41 +92,158 @@ public class ArrayList<T> implements List<T> {
     }
 
     /**
-     * Add all items in a collection to this list.
+     * Insert an item at a certain index, moving later items up by one.
+     * 
+     * @param index Index to insert at, from 0 to the size of the list.
+     * @param item Item to insert.
+     * @throws NullPointerException If item is {@code null}.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @Override
+    public void add(int index, T item) throws NullPointerException, IndexOutOfBoundsException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, size));
+        }
+
+        // Increase size if necessary
+        if(size >= array.length) {
+            increaseSize();
+        }
+
+        // Shift later elements up and insert the item
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = item;
+        size++;
+    }
+
+    /**
+     * Add all items in a collection to this list. If the collection holds
+     * {@code null}, no items are added.
      * 
      * @param items Collection of items to add.
      * @return {@code true} if all items were successfully added.
+     * @throws NullPointerException If the collection or any items in it are {@code null}.
      */
     @Override
-    public boolean addAll(Collection<? extends T> items) {
+    public boolean addAll(Collection<? extends T> items) throws NullPointerException {
         // Throw exception if collection is null
         if(items == null) {
             throw new NullPointerException("Cannot add null collection.");
         }
 
-        // Create a buffer collection
-        Collection<T> toAdd = new ArrayList<T>();
+        // Make room for every item at once
+        ensureCapacity(size + items.size());
+
+        // Write the items past the end, only counting them once all are checked
+        int end = size;
 
-        // Add each item to the buffer
         for(T item : items) {
             // Check for nullity
             if(item == null) {
+                Arrays.fill(array, size, end, null);
                 throw new NullPointerException("Collection has null element.");
             }
 
-            // Add to buffer
-            toAdd.add(item);
-        }
+            if(end == array.length) {
+                ensureCapacity(end + 1);
+            }
 
-        // Add all items from buffer to this list
-        for(T item : toAdd) {
-            this.add(item);
+            array[end++] = item;
         }
 
-        // Return true
+        size = end;
         return true;
     }
 
+    /**
+     * Remove every item matching a condition, in one pass that moves each
+     * kept item at most once.
+     * 
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        // Slide kept items down over removed ones
+        int kept = 0;
+        int read = 0;
+
+        try {
+            for(; read < size; read++) {
+                Object item = array[read];
+
+                if(!filter.test((T) item)) {
+                    array[kept++] = item;
+                }
+            }
+        } finally {
+            // If the filter threw, keep the items it did not reach
+            System.arraycopy(array, read, array, kept, size - read);
+            kept += size - read;
+            Arrays.fill(array, kept, size, null);
+        }
+
+        boolean removed = kept < size;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Perform an action on every item, in order.
+     * 
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        for(int i = 0; i < size; i++) {
+            action.accept((T) array[i]);
+        }
+    }
+
+    /**
+     * Replace every item with the result of applying a function to it.
+     * 
+     * @param operator Function to apply.
+     * @throws NullPointerException If operator is {@code null} or returns {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) throws NullPointerException {
+        // Check argument integrity
+        if(operator == null) {
+            throw new NullPointerException("Operator cannot be null.");
+        }
+
+        for(int i = 0; i < size; i++) {
+            T item = operator.apply((T) array[i]);
+
+            if(item == null) {
+                throw new NullPointerException("Cannot add null.");
+            }
+
+            array[i] = item;
+        }
+    }
+
     /**
      * Return an iterator over this ArrayList.
      * 
@@ -130,11 +254,45 @@ public class ArrayList<T> implements List<T> {
         return new ArrayListIterator();
     }
 
+    /**
+     * Return a Spliterator over the items that splits the array in halves.
+     * It covers the items present when it is created.
+     * 
+     * @return A SIZED and SUBSIZED Spliterator over this ArrayList.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
     @Override
     public void clear() {
         size = 0;
     }
 
+    /**
+     * Sort the list in place with a stable merge sort.
+     * 
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If comparator is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super T> comparator) throws NullPointerException {
+        Sorting.sort((T[]) array, 0, size, comparator);
+    }
+
+    /**
+     * Sort the list in place with a stable merge sort, using several threads
+     * if the list is large.
+     * 
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If comparator is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super T> comparator) throws NullPointerException {
+        Sorting.parallelSort((T[]) array, 0, size, comparator);
+    }
+
     /**
      * Get the item in the ArrayList at a certain index.
      * 
@@ -164,6 +322,17 @@ public class ArrayList<T> implements List<T> {
         return size == 0;
     }
     
+    /**
+     * Grow the array to hold at least a number of items.
+     * 
+     * @param capacity Number of items.
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(capacity, array.length * RESIZE_FACTOR));
+        }
+    }
+
     /**
      * Increase the size of the array by the resize factor.
      */
@@ -2,12 +2,26 @@ package ca.haywalk.util.collection;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * A slow but simple implementation of the Dictionary interface.
+ * An implementation of the Dictionary interface over parallel key and
+ * value arrays, kept in insertion order.
+ *
+ * Small maps are searched by a linear scan, which is fastest for a handful
+ * of pairs. Once a map grows past {@code INDEX_THRESHOLD} pairs, a hash
+ * index of positions in the key array is built over it and lookups become
+ * O(1); the index is dropped again if removals bring the map down to
+ * {@code UNINDEX_THRESHOLD} pairs. Removal stays O(n), since later pairs
+ * shift down to keep insertion order.
+ *
+ * {@link #keys()} and {@link #values()} are live, read-only views.
  * 
  * @author Hayden Walker
- * @version 2023-04-10
+ * @version 2026-10-18
  */
 public class ArrayMap<K, V> implements Dictionary<K, V> {
 
@@ -21,6 +35,16 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
      */
     private static final int RESIZE_FACTOR = 2;
 
+    /**
+     * Size above which lookups go through a hash index.
+     */
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * Size at or below which the hash index is dropped.
+     */
+    private static final int UNINDEX_THRESHOLD = 4;
+
     /**
      * Size of the dictionary.
      */
@@ -35,7 +59,18 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
      * Value array.
      */
     private Object[] values;
-    
+
+    /**
+     * Hash index of positions plus one, zero marking an empty slot, or
+     * {@code null} while the map is small.
+     */
+    private int[] index;
+
+    /**
+     * Spread hash of each key, parallel to the key array while indexed.
+     */
+    private int[] hashes;
+
 
     /**
      * Create a new ArrayMap.
@@ -56,8 +91,33 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         values = new Object[size];
     }
 
+    /**
+     * Return the number of pairs in the dictionary.
+     * 
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     * 
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
     @Override
     public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
         // Look up the key's index
         int keyIndex = indexOfKey(key);
 
@@ -67,15 +127,8 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
             return true;
         }
 
-        // Increase size if neccessary
-        if(size >= keys.length) {
-            increaseArraySize();
-        }
-
         // Store the new pair
-        keys[size] = key;
-        values[size] = value;
-        size++;
+        append(key, value);
 
         // Return true
         return true;
@@ -103,49 +156,40 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         return null;
     }
 
+    /**
+     * Clear the dictionary.
+     */
     @Override
     public void clear() {
+        // Release the pairs so they can be collected
+        for(int i = 0; i < size; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+
         size = 0;
+        index = null;
+        hashes = null;
     }
 
     /**
-     * Return a collection of the keys in the dictionary.
+     * Return a live, read-only view of the keys in the dictionary.
      * 
      * @return A collection of the keys in the dictionary.
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<K> keys() {
-        // Make a new list
-        ArrayList<K> keyList = new ArrayList<K>();
-        
-        // Add keys to the list
-        for(int i = 0; i < size; i++) {
-            keyList.add((K) keys[i]);
-        }
-
-        // Return the list
-        return keyList;
+        return new KeyView();
     }
 
     /**
-     * Return a collection of the values in the dictionary.
+     * Return a live, read-only view of the values in the dictionary.
      * 
      * @return A collection of the values in the dictionary.
      */
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<V> values() {
-        // Make a new list
-        ArrayList<V> keyList = new ArrayList<V>();
-        
-        // Add keys to the list
-        for(int i = 0; i < size; i++) {
-            keyList.add((V) values[i]);
-        }
-
-        // Return the list
-        return keyList;
+        return new ValueView();
     }
 
     /**
@@ -165,15 +209,178 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
             return false;
         }
 
-        // Shift remaining elements back an index
-        for(int i = keyIndex; i < size - 1; i++) {
-            keys[i] = keys[i + 1];
-            values[i] = values[i + 1];
+        // Remove the pair and return true
+        removeAt(keyIndex);
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key, or a default value.
+     * 
+     * @param key Key to get value associated with.
+     * @param defaultValue Value to return if the key is absent.
+     * @return Value associated with the key, or the default.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int index = indexOfKey(key);
+        return index != -1 && values[index] != null ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * Add a key-value pair unless the key is already present.
+     * 
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V putIfAbsent(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
         }
 
-        // Decrement size and return true
-        size--;
-        return true;
+        int index = indexOfKey(key);
+
+        // Return the existing value if there is one
+        if(index != -1 && values[index] != null) {
+            return (V) values[index];
+        }
+
+        // Otherwise store the value
+        store(index, key, value);
+        return null;
+    }
+
+    /**
+     * Replace the value of a key only if the key is present.
+     * 
+     * @param key Key to update.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V replace(K key, V value) {
+        int index = indexOfKey(key);
+
+        // Do nothing if the key is absent
+        if(index == -1) {
+            return null;
+        }
+
+        // Swap in the new value if there is an existing one
+        V previous = (V) values[index];
+
+        if(previous != null) {
+            values[index] = value;
+        }
+
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if the key is absent.
+     * The function must not modify the dictionary.
+     * 
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        // Return the existing value if there is one
+        int index = indexOfKey(key);
+
+        if(index != -1 && values[index] != null) {
+            return (V) values[index];
+        }
+
+        // Otherwise compute one and store it in the slot found
+        V value = mappingFunction.apply(key);
+
+        if(value != null) {
+            store(index, key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Compute a new value for a key from its current value. The function
+     * must not modify the dictionary.
+     * 
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Compute from the current value, then store or remove the result
+        int index = indexOfKey(key);
+        V newValue = remappingFunction.apply(key, index != -1 ? (V) values[index] : null);
+        storeOrRemove(index, key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Add a value for a key, or combine it with the current value if the key
+     * is present. The function must not modify the dictionary.
+     * 
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot merge null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Combine with the current value, then store or remove the result
+        int index = indexOfKey(key);
+        V oldValue = index != -1 ? (V) values[index] : null;
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        storeOrRemove(index, key, newValue);
+        return newValue;
     }
 
     /**
@@ -186,6 +393,16 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         return new ArrayMapIterator();    
     }
 
+    /**
+     * Return a cursor over the pairs in the dictionary, reading the arrays in place.
+     * 
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new ArrayMapCursor();
+    }
+
     /**
      * Given a key, find its index in the key array.
      * 
@@ -193,11 +410,31 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
      * @return The key's index, or -1 if not found.
      */
     @SuppressWarnings("unchecked")
-    private int indexOfKey(K key) {
-        // Find the index of the key
-        for(int i = 0; i < size; i++) {
-            if(((K) keys[i]).equals(key)) {
-                return i;
+    private int indexOfKey(Object key) {
+        // Scan a small map
+        if(index == null) {
+            for(int i = 0; i < size; i++) {
+                if(((K) keys[i]).equals(key)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        // Probe the hash index of a large one
+        if(key == null) {
+            return -1;
+        }
+
+        int hash = hash(key);
+        int mask = index.length - 1;
+
+        for(int slot = hash & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+
+            if(hashes[position] == hash && keys[position].equals(key)) {
+                return position;
             }
         }
 
@@ -205,6 +442,188 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         return -1;
     }
 
+    /**
+     * Store a value at an index found by {@link #indexOfKey(Object)},
+     * appending a new pair if the index is -1.
+     * 
+     * @param index Index of the key, or -1.
+     * @param key Key.
+     * @param value Value to store.
+     */
+    private void store(int index, K key, V value) {
+        if(index != -1) {
+            values[index] = value;
+        } else {
+            append(key, value);
+        }
+    }
+
+    /**
+     * Store a value at an index found by {@link #indexOfKey(Object)}, or
+     * remove the pair there if the value is {@code null}.
+     * 
+     * @param index Index of the key, or -1.
+     * @param key Key.
+     * @param value Value to store, or {@code null}.
+     */
+    private void storeOrRemove(int index, K key, V value) {
+        if(value != null) {
+            store(index, key, value);
+        } else if(index != -1) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * Append a new pair, growing the arrays if necessary.
+     * 
+     * @param key Key.
+     * @param value Value.
+     */
+    private void append(K key, V value) {
+        // Increase size if neccessary
+        if(size >= keys.length) {
+            increaseArraySize();
+        }
+
+        // Store the new pair
+        keys[size] = key;
+        values[size] = value;
+        size++;
+
+        // Index the pair, or build the index once the map is large
+        if(index != null) {
+            hashes[size - 1] = hash(key);
+            insertSlot(size - 1);
+        } else if(size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+    }
+
+    /**
+     * Remove the pair at an index.
+     * 
+     * @param position Index to remove.
+     */
+    private void removeAt(int position) {
+        // Take the pair out of the hash index
+        if(index != null) {
+            deleteSlot(position);
+        }
+
+        // Shift remaining elements back an index
+        for(int i = position; i < size - 1; i++) {
+            keys[i] = keys[i + 1];
+            values[i] = values[i + 1];
+        }
+
+        if(hashes != null) {
+            System.arraycopy(hashes, position + 1, hashes, position, size - 1 - position);
+        }
+
+        // Clear the last slot and decrement size
+        size--;
+        keys[size] = null;
+        values[size] = null;
+
+        // Drop the index once the map is small again, or renumber the shifted pairs
+        if(index != null) {
+            if(size <= UNINDEX_THRESHOLD) {
+                index = null;
+                hashes = null;
+            } else {
+                for(int slot = 0; slot < index.length; slot++) {
+                    if(index[slot] > position + 1) {
+                        index[slot]--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the hash index over the pairs, sized for the key array.
+     */
+    private void buildIndex() {
+        // Keep the table at most half full
+        int capacity = 16;
+
+        while(capacity < keys.length * 2) {
+            capacity <<= 1;
+        }
+
+        index = new int[capacity];
+
+        if(hashes == null || hashes.length < keys.length) {
+            int[] newHashes = new int[keys.length];
+
+            for(int i = 0; i < size; i++) {
+                newHashes[i] = hash(keys[i]);
+            }
+
+            hashes = newHashes;
+        }
+
+        for(int i = 0; i < size; i++) {
+            insertSlot(i);
+        }
+    }
+
+    /**
+     * Add a position to the hash index.
+     *
+     * @param position Position in the key array.
+     */
+    private void insertSlot(int position) {
+        int mask = index.length - 1;
+        int slot = hashes[position] & mask;
+
+        while(index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        index[slot] = position + 1;
+    }
+
+    /**
+     * Remove a position from the hash index, shifting later slots of its
+     * probe run back so that no tombstone is left.
+     *
+     * @param position Position in the key array.
+     */
+    private void deleteSlot(int position) {
+        int mask = index.length - 1;
+        int gap = hashes[position] & mask;
+
+        while(index[gap] != position + 1) {
+            gap = (gap + 1) & mask;
+        }
+
+        for(int next = (gap + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+            int home = hashes[index[next] - 1] & mask;
+
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                index[gap] = index[next];
+                gap = next;
+            }
+        }
+
+        index[gap] = 0;
+    }
+
+    /**
+     * Spread a key's hash code.
+     *
+     * @param key Key.
+     * @return The spread hash code.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
     /**
      * Increase the array size by the resize factor.
      */
@@ -222,8 +641,169 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         // Replace the old arrays
         keys = newKeyArray;
         values = newValueArray;
+
+        // Grow the hash index with the arrays
+        if(index != null) {
+            int[] oldHashes = hashes;
+            hashes = new int[keys.length];
+            System.arraycopy(oldHashes, 0, hashes, 0, size);
+            buildIndex();
+        }
     }
     
+    /**
+     * A live, read-only view of the key or value array.
+     */
+    private abstract class ArrayView<T> implements Collection<T> {
+
+        /**
+         * Return the number of pairs in the dictionary.
+         *
+         * @return The number of elements.
+         */
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Check if the dictionary is empty.
+         *
+         * @return {@code true} if there are no elements.
+         */
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Unsupported, since the view is read-only.
+         *
+         * @param item Item.
+         * @return Never returns.
+         * @throws UnsupportedOperationException Always.
+         */
+        @Override
+        public boolean add(T item) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only.");
+        }
+
+        /**
+         * Unsupported, since the view is read-only.
+         *
+         * @param items Items.
+         * @return Never returns.
+         * @throws UnsupportedOperationException Always.
+         */
+        @Override
+        public boolean addAll(Collection<? extends T> items) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only.");
+        }
+
+        /**
+         * Unsupported, since the view is read-only.
+         *
+         * @throws UnsupportedOperationException Always.
+         */
+        @Override
+        public void clear() throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only.");
+        }
+
+        /**
+         * Unsupported, since the view is read-only.
+         *
+         * @param item Item.
+         * @return Never returns.
+         * @throws UnsupportedOperationException Always.
+         */
+        @Override
+        public boolean remove(T item) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only.");
+        }
+    }
+
+    /**
+     * A live, read-only view of the keys.
+     */
+    private class KeyView extends ArrayView<K> {
+
+        /**
+         * Check if a key is in the dictionary, using the hash index if there is one.
+         *
+         * @param item Key to look for.
+         * @return {@code true} if found.
+         */
+        @Override
+        public boolean contains(K item) {
+            return indexOfKey(item) != -1;
+        }
+
+        /**
+         * Return an Iterator over the keys.
+         *
+         * @return An Iterator over the keys.
+         */
+        @Override
+        public Iterator<K> iterator() {
+            return new ArrayMapIterator();
+        }
+
+        /**
+         * Return a Spliterator over the keys that splits the key array in halves.
+         *
+         * @return A SIZED and SUBSIZED Spliterator over the keys.
+         */
+        @Override
+        public Spliterator<K> spliterator() {
+            return Spliterators.spliterator(keys, 0, size,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        }
+    }
+
+    /**
+     * A live, read-only view of the values.
+     */
+    private class ValueView extends ArrayView<V> {
+
+        /**
+         * Check if a value is in the dictionary.
+         *
+         * @param item Value to look for.
+         * @return {@code true} if found.
+         */
+        @Override
+        public boolean contains(V item) {
+            for(int i = 0; i < size; i++) {
+                if(values[i] != null && values[i].equals(item)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Return an Iterator over the values.
+         *
+         * @return An Iterator over the values.
+         */
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        /**
+         * Return a Spliterator over the values that splits the value array in halves.
+         *
+         * @return A SIZED and SUBSIZED Spliterator over the values.
+         */
+        @Override
+        public Spliterator<V> spliterator() {
+            return Spliterators.spliterator(values, 0, size, Spliterator.ORDERED);
+        }
+    }
+
     /**
      * An Iterator over the dictionary's keys.
      */
@@ -270,4 +850,131 @@ public class ArrayMap<K, V> implements Dictionary<K, V> {
         }
         
     }
+
+    /**
+     * An Iterator over the dictionary's values.
+     */
+    private class ValueIterator implements Iterator<V> {
+
+        /**
+         * The current index in the value array.
+         */
+        private int index;
+
+        /**
+         * Create a new ValueIterator.
+         */
+        public ValueIterator() {
+            index = 0;
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         * 
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Get the next value.
+         * 
+         * @return The next value.
+         * @throws NoSuchElementException If there is no next value.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public V next() {
+            // Throw exception if there's no next value
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next value.");
+            }
+
+            // Return the value and increment the index
+            return (V) values[index++];
+        }
+    }
+
+    /**
+     * A cursor over the dictionary's pairs.
+     */
+    private class ArrayMapCursor implements EntryCursor<K, V> {
+
+        /**
+         * The current index in the arrays.
+         */
+        private int index;
+
+        /**
+         * Create a new ArrayMapCursor.
+         */
+        public ArrayMapCursor() {
+            index = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         * 
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            if(index < size) {
+                index++;
+            }
+
+            return index < size;
+        }
+
+        /**
+         * Return the current key.
+         * 
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return (K) keys[index];
+        }
+
+        /**
+         * Return the current value.
+         * 
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return (V) values[index];
+        }
+
+        /**
+         * Replace the current value.
+         * 
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException {
+            checkPosition();
+            values[index] = value;
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         * 
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(index < 0 || index >= size) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
 }
@@ -1,7 +1,12 @@
 package ca.haywalk.util.collection;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * An array-based stack.
@@ -86,7 +91,8 @@ public class ArrayStack<T> implements Stack<T> {
 
     /**
      * Push a collection of items to the stack. Will push them in
-     * the order they appear in the collection's Iterator.
+     * the order they appear in the collection's Iterator. If the
+     * collection holds {@code null}, no items are pushed.
      * 
      * @return {@code true} if successful.
      * @throws NullPointerException If the collection or any items in it are {@code null}.
@@ -98,29 +104,89 @@ public class ArrayStack<T> implements Stack<T> {
             throw new NullPointerException("Cannot add null collection.");
         }
 
-        // Create a buffer collection
-        Collection<T> toAdd = new ArrayList<T>();
+        // Make room for every item at once
+        ensureCapacity(size + items.size());
+
+        // Write the items above the top, only counting them once all are checked
+        int top = size;
 
-        // Add each item to the buffer
         for(T item : items) {
             // Check for nullity
             if(item == null) {
+                Arrays.fill(array, size, top, null);
                 throw new NullPointerException("Collection has null element.");
             }
 
-            // Add to buffer
-            toAdd.add(item);
-        }
+            if(top == array.length) {
+                ensureCapacity(top + 1);
+            }
 
-        // Add all items from buffer to this stack
-        for(T item : toAdd) {
-            this.add(item);
+            array[top++] = item;
         }
 
-        // Return true
+        size = top;
         return true;
     }
 
+    /**
+     * Remove every item matching a condition, in one pass that moves each
+     * kept item at most once.
+     * 
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        // Slide kept items down over removed ones
+        int kept = 0;
+        int read = 0;
+
+        try {
+            for(; read < size; read++) {
+                Object item = array[read];
+
+                if(!filter.test((T) item)) {
+                    array[kept++] = item;
+                }
+            }
+        } finally {
+            // If the filter threw, keep the items it did not reach
+            System.arraycopy(array, read, array, kept, size - read);
+            kept += size - read;
+            Arrays.fill(array, kept, size, null);
+        }
+
+        boolean removed = kept < size;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Perform an action on every item, from the bottom of the stack to the top.
+     * 
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        for(int i = 0; i < size; i++) {
+            action.accept((T) array[i]);
+        }
+    }
+
     /**
      * Return an Iterator over the elements in this ArrayStack.
      */
@@ -129,6 +195,17 @@ public class ArrayStack<T> implements Stack<T> {
         return new ArrayStackIterator();
     }
 
+    /**
+     * Return a Spliterator over the elements, bottom to top, that splits the
+     * array in halves. It covers the elements present when it is created.
+     * 
+     * @return A SIZED and SUBSIZED Spliterator over this ArrayStack.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
     /**
      * Clear the stack.
      */
@@ -206,6 +283,17 @@ public class ArrayStack<T> implements Stack<T> {
         return (T) array[size - 1];
     }
 
+    /**
+     * Grow the array to hold at least a number of items.
+     * 
+     * @param capacity Number of items.
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(capacity, array.length * RESIZE_FACTOR));
+        }
+    }
+
     /**
      * Increase the size of the stack by the resize factor.
      */
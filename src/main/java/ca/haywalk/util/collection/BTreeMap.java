@@ -0,0 +1,1216 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A B+tree implementation of the SortedDictionary interface.
+ *
+ * Pairs are stored in array-based leaves that are linked in key order,
+ * so ordered traversal and range scans walk leaf arrays sequentially
+ * after a single O(log n) descent.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class BTreeMap<K extends Comparable<? super K>, V> implements SortedDictionary<K, V> {
+
+    /**
+     * Maximum number of pairs in a leaf.
+     */
+    private static final int LEAF_CAPACITY = 64;
+
+    /**
+     * Maximum number of children of a branch.
+     */
+    private static final int BRANCH_CAPACITY = 64;
+
+    /**
+     * Minimum number of pairs in a leaf other than the root.
+     */
+    private static final int MIN_LEAF_SIZE = LEAF_CAPACITY / 2;
+
+    /**
+     * Minimum number of children of a branch other than the root.
+     */
+    private static final int MIN_BRANCH_SIZE = BRANCH_CAPACITY / 2;
+
+    /**
+     * The root of the tree.
+     */
+    private Node root;
+
+    /**
+     * The leftmost leaf.
+     */
+    private Leaf first;
+
+    /**
+     * Number of pairs in the dictionary.
+     */
+    private int size;
+
+    /**
+     * Separator key produced by the last split during insertion.
+     */
+    private Object splitKey;
+
+    /**
+     * Create a new BTreeMap.
+     */
+    public BTreeMap() {
+        clear();
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Insert the pair, growing a new root if the old one split
+        Node sibling = insert(root, key, value);
+
+        if(sibling != null) {
+            Branch newRoot = new Branch();
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.keys[0] = splitKey;
+            newRoot.size = 2;
+            root = newRoot;
+        }
+
+        splitKey = null;
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        // Find the leaf and look the key up in it
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index >= 0) {
+            return (V) leaf.values[index];
+        }
+
+        return null;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        first = new Leaf();
+        root = first;
+        size = 0;
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary, in ascending order.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size);
+
+        // Walk the leaves in order
+        for(Leaf leaf = first; leaf != null; leaf = leaf.next) {
+            for(int i = 0; i < leaf.size; i++) {
+                keyList.add((K) leaf.keys[i]);
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary, in ascending key order.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size);
+
+        // Walk the leaves in order
+        for(Leaf leaf = first; leaf != null; leaf = leaf.next) {
+            for(int i = 0; i < leaf.size; i++) {
+                valueList.add((V) leaf.values[i]);
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // Delete the key, returning false if it was not found
+        if(!delete(root, key)) {
+            return false;
+        }
+
+        // Collapse a root branch that is down to a single child
+        if(root instanceof Branch && ((Branch) root).size == 1) {
+            root = ((Branch) root).children[0];
+        }
+
+        size--;
+        return true;
+    }
+
+    /**
+     * Add a key-value pair unless the key is already present.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V putIfAbsent(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Return the existing value, or insert the pair
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index >= 0) {
+            return (V) leaf.values[index];
+        }
+
+        storeOrRemove(leaf, index, key, value);
+        return null;
+    }
+
+    /**
+     * Replace the value of a key only if the key is present.
+     *
+     * @param key Key to update.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V replace(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot replace null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Swap in the new value if the key is present
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index < 0) {
+            return null;
+        }
+
+        V previous = (V) leaf.values[index];
+        leaf.values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if the key is absent.
+     * The function must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        // Return the existing value if there is one
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index >= 0) {
+            return (V) leaf.values[index];
+        }
+
+        // Otherwise compute one and insert it into the leaf found
+        V value = mappingFunction.apply(key);
+
+        if(value != null) {
+            storeOrRemove(leaf, index, key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Compute a new value for a key from its current value. The function
+     * must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Compute from the current value, then store or remove the result
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+        V newValue = remappingFunction.apply(key, index >= 0 ? (V) leaf.values[index] : null);
+        storeOrRemove(leaf, index, key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Add a value for a key, or combine it with the current value if the key
+     * is present. The function must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot merge null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Combine with the current value, then store or remove the result
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+        V newValue = index < 0 ? value : remappingFunction.apply((V) leaf.values[index], value);
+        storeOrRemove(leaf, index, key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys, in ascending order.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new BTreeMapIterator(first, 0);
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary, in ascending key order.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new BTreeMapCursor(first, -1, null);
+    }
+
+    /**
+     * Return the smallest key in the dictionary.
+     *
+     * @return The smallest key, or {@code null} if the dictionary is empty.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public K firstKey() {
+        return isEmpty() ? null : (K) first.keys[0];
+    }
+
+    /**
+     * Return the largest key in the dictionary.
+     *
+     * @return The largest key, or {@code null} if the dictionary is empty.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public K lastKey() {
+        // Return null if empty
+        if(isEmpty()) {
+            return null;
+        }
+
+        // Descend along the rightmost children
+        Node node = root;
+
+        while(node instanceof Branch) {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.size - 1];
+        }
+
+        Leaf leaf = (Leaf) node;
+        return (K) leaf.keys[leaf.size - 1];
+    }
+
+    /**
+     * Return the largest key less than or equal to a given key.
+     *
+     * @param key Key to search for.
+     * @return The greatest key {@code <= key}, or {@code null} if there is none.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public K floor(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot search for null key.");
+        }
+
+        // Find where the key is or would be
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index >= 0) {
+            return (K) leaf.keys[index];
+        }
+
+        // Take the key before the insertion point, which may be in the previous leaf
+        int insertion = -index - 1;
+
+        if(insertion > 0) {
+            return (K) leaf.keys[insertion - 1];
+        }
+
+        return leaf.prev == null ? null : (K) leaf.prev.keys[leaf.prev.size - 1];
+    }
+
+    /**
+     * Return the smallest key greater than or equal to a given key.
+     *
+     * @param key Key to search for.
+     * @return The least key {@code >= key}, or {@code null} if there is none.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public K ceiling(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot search for null key.");
+        }
+
+        // Find where the key is or would be
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+
+        if(index >= 0) {
+            return (K) leaf.keys[index];
+        }
+
+        // Take the key at the insertion point, which may be in the next leaf
+        int insertion = -index - 1;
+
+        if(insertion < leaf.size) {
+            return (K) leaf.keys[insertion];
+        }
+
+        return leaf.next == null ? null : (K) leaf.next.keys[0];
+    }
+
+    /**
+     * Return a cursor over the pairs in a range, in ascending key order.
+     * Costs O(log n) to position plus O(1) per pair, reading each value in
+     * place from the leaf chain.
+     *
+     * @param from Lowest key in the range, inclusive.
+     * @param to Highest key in the range, exclusive.
+     * @return A cursor over the pairs with keys {@code k} such that {@code from <= k < to}, positioned before the first.
+     * @throws NullPointerException If either bound is {@code null}.
+     */
+    @Override
+    public EntryCursor<K, V> range(K from, K to) throws NullPointerException {
+        // Check argument integrity
+        if(from == null || to == null) {
+            throw new NullPointerException("Range bounds cannot be null.");
+        }
+
+        // Start at the first key not less than the lower bound
+        Leaf leaf = findLeaf(from);
+        int index = leaf.search(from);
+
+        if(index < 0) {
+            index = -index - 1;
+        }
+
+        return new BTreeMapCursor(leaf, index - 1, to);
+    }
+
+    /**
+     * Find the leaf that would hold a key.
+     *
+     * @param key Key to search for.
+     * @return The leaf whose range covers the key.
+     */
+    private Leaf findLeaf(K key) {
+        Node node = root;
+
+        // Descend through the branches
+        while(node instanceof Branch) {
+            Branch branch = (Branch) node;
+            node = branch.children[branch.childIndex(key)];
+        }
+
+        return (Leaf) node;
+    }
+
+    /**
+     * Store a value in a leaf at an index returned by its search, or remove
+     * the pair there if the value is {@code null}. Changes that fit in the
+     * leaf are made in place; a split or an underflow goes back through the
+     * tree from the root.
+     *
+     * @param leaf Leaf holding or covering the key.
+     * @param index Result of searching the leaf for the key.
+     * @param key Key.
+     * @param value Value to store, or {@code null}.
+     */
+    private void storeOrRemove(Leaf leaf, int index, K key, V value) {
+        if(value != null) {
+            if(index >= 0) {
+                leaf.values[index] = value;
+            } else if(leaf.size < LEAF_CAPACITY) {
+                leaf.insertAt(-index - 1, key, value);
+                size++;
+            } else {
+                put(key, value);
+            }
+        } else if(index >= 0) {
+            if(leaf == root || leaf.size > MIN_LEAF_SIZE) {
+                leaf.removeAt(index);
+                size--;
+            } else {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Insert a pair into a subtree.
+     *
+     * @param node Root of the subtree.
+     * @param key Key to insert.
+     * @param value Value to insert.
+     * @return The new right sibling if the node split, otherwise {@code null}.
+     *         On a split the separator is left in {@code splitKey}.
+     */
+    private Node insert(Node node, K key, V value) {
+        // Insert into a leaf
+        if(node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.search(key);
+
+            // Overwrite the value if the key is already present
+            if(index >= 0) {
+                leaf.values[index] = value;
+                return null;
+            }
+
+            // Add the pair, splitting the leaf if it overflowed
+            leaf.insertAt(-index - 1, key, value);
+            size++;
+            return leaf.size > LEAF_CAPACITY ? splitLeaf(leaf) : null;
+        }
+
+        // Insert into the right child of a branch
+        Branch branch = (Branch) node;
+        int childIndex = branch.childIndex(key);
+        Node sibling = insert(branch.children[childIndex], key, value);
+
+        if(sibling == null) {
+            return null;
+        }
+
+        // Link in the child's new sibling, splitting the branch if it overflowed
+        branch.insertAt(childIndex, splitKey, sibling);
+        return branch.size > BRANCH_CAPACITY ? splitBranch(branch) : null;
+    }
+
+    /**
+     * Split an overflowing leaf in half.
+     *
+     * @param leaf Leaf to split.
+     * @return The new right half.
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int keep = leaf.size / 2;
+        int move = leaf.size - keep;
+
+        // Move the upper half of the pairs
+        System.arraycopy(leaf.keys, keep, right.keys, 0, move);
+        System.arraycopy(leaf.values, keep, right.values, 0, move);
+        clearRange(leaf.keys, keep, leaf.size);
+        clearRange(leaf.values, keep, leaf.size);
+        right.size = move;
+        leaf.size = keep;
+
+        // Link the new leaf into the chain
+        right.next = leaf.next;
+        right.prev = leaf;
+
+        if(leaf.next != null) {
+            leaf.next.prev = right;
+        }
+
+        leaf.next = right;
+
+        // The separator is the first key of the right half
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * Split an overflowing branch in half.
+     *
+     * @param branch Branch to split.
+     * @return The new right half.
+     */
+    private Branch splitBranch(Branch branch) {
+        Branch right = new Branch();
+        int keep = branch.size / 2;
+        int move = branch.size - keep;
+
+        // The key between the halves moves up to the parent
+        splitKey = branch.keys[keep - 1];
+
+        // Move the upper half of the children and the keys between them
+        System.arraycopy(branch.children, keep, right.children, 0, move);
+        System.arraycopy(branch.keys, keep, right.keys, 0, move - 1);
+        clearRange(branch.children, keep, branch.size);
+        clearRange(branch.keys, keep - 1, branch.size - 1);
+        right.size = move;
+        branch.size = keep;
+
+        return right;
+    }
+
+    /**
+     * Delete a key from a subtree, rebalancing any child that underflows.
+     *
+     * @param node Root of the subtree.
+     * @param key Key to delete.
+     * @return {@code true} if the key was found.
+     */
+    private boolean delete(Node node, K key) {
+        // Delete from a leaf
+        if(node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.search(key);
+
+            if(index < 0) {
+                return false;
+            }
+
+            leaf.removeAt(index);
+            return true;
+        }
+
+        // Delete from the right child of a branch
+        Branch branch = (Branch) node;
+        int childIndex = branch.childIndex(key);
+        Node child = branch.children[childIndex];
+
+        if(!delete(child, key)) {
+            return false;
+        }
+
+        // Fix the child if it is now too small
+        if(child instanceof Leaf ? ((Leaf) child).size < MIN_LEAF_SIZE : ((Branch) child).size < MIN_BRANCH_SIZE) {
+            rebalance(branch, childIndex);
+        }
+
+        return true;
+    }
+
+    /**
+     * Bring an underflowing child back to its minimum size by borrowing
+     * from a sibling, or by merging it with a sibling.
+     *
+     * @param parent Parent branch.
+     * @param index Index of the underflowing child.
+     */
+    private void rebalance(Branch parent, int index) {
+        Node left = index > 0 ? parent.children[index - 1] : null;
+        Node right = index + 1 < parent.size ? parent.children[index + 1] : null;
+
+        if(parent.children[index] instanceof Leaf) {
+            rebalanceLeaf(parent, index, (Leaf) left, (Leaf) parent.children[index], (Leaf) right);
+        } else {
+            rebalanceBranch(parent, index, (Branch) left, (Branch) parent.children[index], (Branch) right);
+        }
+    }
+
+    /**
+     * Rebalance an underflowing leaf.
+     *
+     * @param parent Parent branch.
+     * @param index Index of the leaf in the parent.
+     * @param left Left sibling, or {@code null}.
+     * @param leaf The underflowing leaf.
+     * @param right Right sibling, or {@code null}.
+     */
+    private void rebalanceLeaf(Branch parent, int index, Leaf left, Leaf leaf, Leaf right) {
+        // Borrow the last pair of the left sibling
+        if(left != null && left.size > MIN_LEAF_SIZE) {
+            leaf.insertAt(0, left.keys[left.size - 1], left.values[left.size - 1]);
+            left.removeAt(left.size - 1);
+            parent.keys[index - 1] = leaf.keys[0];
+        }
+
+        // Borrow the first pair of the right sibling
+        else if(right != null && right.size > MIN_LEAF_SIZE) {
+            leaf.insertAt(leaf.size, right.keys[0], right.values[0]);
+            right.removeAt(0);
+            parent.keys[index] = right.keys[0];
+        }
+
+        // Merge with a sibling
+        else if(left != null) {
+            mergeLeaves(left, leaf);
+            parent.removeAt(index - 1);
+        } else {
+            mergeLeaves(leaf, right);
+            parent.removeAt(index);
+        }
+    }
+
+    /**
+     * Move every pair of a leaf onto the end of its left neighbour and unlink it.
+     *
+     * @param left Leaf to keep.
+     * @param right Leaf to empty and unlink.
+     */
+    private void mergeLeaves(Leaf left, Leaf right) {
+        // Append the pairs
+        System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+        System.arraycopy(right.values, 0, left.values, left.size, right.size);
+        left.size += right.size;
+
+        // Unlink the right leaf
+        left.next = right.next;
+
+        if(right.next != null) {
+            right.next.prev = left;
+        }
+    }
+
+    /**
+     * Rebalance an underflowing branch.
+     *
+     * @param parent Parent branch.
+     * @param index Index of the branch in the parent.
+     * @param left Left sibling, or {@code null}.
+     * @param branch The underflowing branch.
+     * @param right Right sibling, or {@code null}.
+     */
+    private void rebalanceBranch(Branch parent, int index, Branch left, Branch branch, Branch right) {
+        // Rotate the last child of the left sibling through the parent
+        if(left != null && left.size > MIN_BRANCH_SIZE) {
+            System.arraycopy(branch.children, 0, branch.children, 1, branch.size);
+            System.arraycopy(branch.keys, 0, branch.keys, 1, branch.size - 1);
+            branch.children[0] = left.children[left.size - 1];
+            branch.keys[0] = parent.keys[index - 1];
+            branch.size++;
+
+            parent.keys[index - 1] = left.keys[left.size - 2];
+            left.children[left.size - 1] = null;
+            left.keys[left.size - 2] = null;
+            left.size--;
+        }
+
+        // Rotate the first child of the right sibling through the parent
+        else if(right != null && right.size > MIN_BRANCH_SIZE) {
+            branch.children[branch.size] = right.children[0];
+            branch.keys[branch.size - 1] = parent.keys[index];
+            branch.size++;
+
+            parent.keys[index] = right.keys[0];
+            System.arraycopy(right.children, 1, right.children, 0, right.size - 1);
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 2);
+            right.children[right.size - 1] = null;
+            right.keys[right.size - 2] = null;
+            right.size--;
+        }
+
+        // Merge with a sibling, pulling the separator down between them
+        else if(left != null) {
+            mergeBranches(left, parent.keys[index - 1], branch);
+            parent.removeAt(index - 1);
+        } else {
+            mergeBranches(branch, parent.keys[index], right);
+            parent.removeAt(index);
+        }
+    }
+
+    /**
+     * Move every child of a branch onto the end of its left neighbour.
+     *
+     * @param left Branch to keep.
+     * @param separator Parent key between the two branches.
+     * @param right Branch to empty.
+     */
+    private void mergeBranches(Branch left, Object separator, Branch right) {
+        left.keys[left.size - 1] = separator;
+        System.arraycopy(right.keys, 0, left.keys, left.size, right.size - 1);
+        System.arraycopy(right.children, 0, left.children, left.size, right.size);
+        left.size += right.size;
+    }
+
+    /**
+     * Null out part of an array so removed entries can be collected.
+     *
+     * @param array Array to clear.
+     * @param from First index to clear, inclusive.
+     * @param to Last index to clear, exclusive.
+     */
+    private static void clearRange(Object[] array, int from, int to) {
+        for(int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+
+    /**
+     * Compare a key to a stored key.
+     *
+     * @param key Key.
+     * @param stored Stored key.
+     * @return The result of {@code key.compareTo(stored)}.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Object key, Object stored) {
+        return ((Comparable<Object>) key).compareTo(stored);
+    }
+
+    /**
+     * A node in the tree.
+     */
+    private abstract static class Node {
+    }
+
+    /**
+     * A leaf holding sorted pairs. Arrays have one spare slot so a leaf can
+     * overflow briefly before it is split.
+     */
+    private static final class Leaf extends Node {
+        // Keys, values, number of pairs, and neighbouring leaves
+        private final Object[] keys = new Object[LEAF_CAPACITY + 1];
+        private final Object[] values = new Object[LEAF_CAPACITY + 1];
+        private int size;
+        private Leaf prev;
+        private Leaf next;
+
+        /**
+         * Binary search for a key.
+         *
+         * @param key Key to search for.
+         * @return The key's index, or {@code -(insertion point) - 1} if not found.
+         */
+        public int search(Object key) {
+            int low = 0;
+            int high = size - 1;
+
+            while(low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compare(key, keys[mid]);
+
+                if(comparison > 0) {
+                    low = mid + 1;
+                } else if(comparison < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        /**
+         * Insert a pair at an index.
+         *
+         * @param index Index to insert at.
+         * @param key Key.
+         * @param value Value.
+         */
+        public void insertAt(int index, Object key, Object value) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        /**
+         * Remove the pair at an index.
+         *
+         * @param index Index to remove.
+         */
+        public void removeAt(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+        }
+    }
+
+    /**
+     * An internal node. Child {@code i} holds keys below {@code keys[i]}, and
+     * child {@code i + 1} holds keys at or above it. Arrays have one spare
+     * slot so a branch can overflow briefly before it is split.
+     */
+    private static final class Branch extends Node {
+        // Separator keys, children, and number of children
+        private final Object[] keys = new Object[BRANCH_CAPACITY];
+        private final Node[] children = new Node[BRANCH_CAPACITY + 1];
+        private int size;
+
+        /**
+         * Find the child whose range covers a key.
+         *
+         * @param key Key to search for.
+         * @return The index of the child.
+         */
+        public int childIndex(Object key) {
+            // Find the number of separators less than or equal to the key
+            int low = 0;
+            int high = size - 2;
+
+            while(low <= high) {
+                int mid = (low + high) >>> 1;
+
+                if(compare(key, keys[mid]) >= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Link in a new child to the right of an existing one.
+         *
+         * @param index Index of the existing child.
+         * @param key Separator between the two children.
+         * @param child New child.
+         */
+        public void insertAt(int index, Object key, Node child) {
+            System.arraycopy(keys, index, keys, index + 1, size - 1 - index);
+            System.arraycopy(children, index + 1, children, index + 2, size - 1 - index);
+            keys[index] = key;
+            children[index + 1] = child;
+            size++;
+        }
+
+        /**
+         * Remove a separator and the child to its right.
+         *
+         * @param index Index of the separator.
+         */
+        public void removeAt(int index) {
+            System.arraycopy(keys, index + 1, keys, index, size - 2 - index);
+            System.arraycopy(children, index + 2, children, index + 1, size - 2 - index);
+            size--;
+            keys[size - 1] = null;
+            children[size] = null;
+        }
+    }
+
+    /**
+     * An Iterator over keys in ascending order.
+     */
+    private class BTreeMapIterator implements Iterator<K> {
+
+        /**
+         * The current leaf.
+         */
+        private Leaf leaf;
+
+        /**
+         * The index of the next key in the current leaf.
+         */
+        private int index;
+
+        /**
+         * Create a new BTreeMapIterator.
+         *
+         * @param leaf Leaf to start in.
+         * @param index Index to start at.
+         */
+        public BTreeMapIterator(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+            skipExhaustedLeaves();
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public K next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            // Return the key and advance
+            K key = (K) leaf.keys[index++];
+            skipExhaustedLeaves();
+            return key;
+        }
+
+        /**
+         * Move on to the next leaf while the current one has no keys left.
+         */
+        private void skipExhaustedLeaves() {
+            while(leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+
+    /**
+     * A cursor over pairs in ascending key order, walking the leaf chain and
+     * optionally stopping at an upper bound.
+     */
+    private class BTreeMapCursor implements EntryCursor<K, V> {
+
+        /**
+         * The current leaf.
+         */
+        private Leaf leaf;
+
+        /**
+         * The index of the current pair in the leaf.
+         */
+        private int index;
+
+        /**
+         * Exclusive upper bound, or {@code null} for none.
+         */
+        private final K to;
+
+        /**
+         * Whether the cursor is on a pair, set only by advancing.
+         */
+        private boolean onPair;
+
+        /**
+         * Create a new BTreeMapCursor.
+         *
+         * @param leaf Leaf to start in.
+         * @param index Index just before the first pair.
+         * @param to Exclusive upper bound, or {@code null} for none.
+         */
+        public BTreeMapCursor(Leaf leaf, int index, K to) {
+            this.leaf = leaf;
+            this.index = index;
+            this.to = to;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            // Move along the leaf, then on to the next non-empty one
+            index++;
+
+            while(leaf != null && index >= leaf.size) {
+                leaf = leaf.next;
+                index = 0;
+            }
+
+            // Stop for good at the upper bound
+            if(leaf != null && to != null && compare(to, leaf.keys[index]) <= 0) {
+                leaf = null;
+            }
+
+            onPair = leaf != null;
+            return onPair;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return (K) leaf.keys[index];
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return (V) leaf.values[index];
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            leaf.values[index] = value;
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(!onPair) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
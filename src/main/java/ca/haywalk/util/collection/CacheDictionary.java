@@ -0,0 +1,801 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A size-bounded dictionary that evicts entries to stay under its maximum size.
+ *
+ * With the {@link Policy#LRU} policy the least recently used entry is
+ * evicted. With {@link Policy#TINY_LFU} new entries first enter a small
+ * LRU window; when they leave it they must beat the main region's
+ * eviction victim on estimated access frequency to be admitted. The main
+ * region is a segmented LRU split into probation and protected parts.
+ * Every operation, including eviction, is O(1).
+ *
+ * Hit, miss, eviction and load statistics are always recorded.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class CacheDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * An eviction policy.
+     */
+    public enum Policy {
+        /**
+         * Evict the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Admit entries by estimated frequency in front of a segmented LRU.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * The reason an entry was removed.
+     */
+    public enum RemovalCause {
+        /**
+         * The entry was removed or cleared by the user.
+         */
+        EXPLICIT,
+
+        /**
+         * The entry's value was overwritten.
+         */
+        REPLACED,
+
+        /**
+         * The entry was evicted to stay under the maximum size.
+         */
+        SIZE
+    }
+
+    /**
+     * A listener notified whenever an entry leaves the cache.
+     */
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+        /**
+         * Called after an entry has been removed.
+         *
+         * @param key The entry's key.
+         * @param value The entry's value.
+         * @param cause Why the entry was removed.
+         */
+        public void onRemoval(K key, V value, RemovalCause cause);
+    }
+
+    /**
+     * Percentage of the cache given to the admission window.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Percentage of the main region given to the protected segment.
+     */
+    private static final int PROTECTED_PERCENT = 80;
+
+    /**
+     * Queue tag for entries in the admission window.
+     */
+    private static final int WINDOW = 0;
+
+    /**
+     * Queue tag for entries in the probation segment.
+     */
+    private static final int PROBATION = 1;
+
+    /**
+     * Queue tag for entries in the protected segment.
+     */
+    private static final int PROTECTED = 2;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int maximumSize;
+
+    /**
+     * The eviction policy.
+     */
+    private final Policy policy;
+
+    /**
+     * Listener for removals, or {@code null}.
+     */
+    private final RemovalListener<? super K, ? super V> listener;
+
+    /**
+     * Index from keys to entries.
+     */
+    private final HashMap<K, Node<K, V>> index;
+
+    /**
+     * Frequency estimates, or {@code null} under LRU.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Sentinels of the window, probation and protected queues. Under LRU
+     * only the window is used.
+     */
+    private final Node<K, V>[] queues;
+
+    /**
+     * Number of entries in each queue.
+     */
+    private final int[] queueSizes;
+
+    /**
+     * Maximum number of entries in each queue.
+     */
+    private final int[] queueLimits;
+
+    /**
+     * Number of lookups that found a value.
+     */
+    private long hitCount;
+
+    /**
+     * Number of lookups that found no value.
+     */
+    private long missCount;
+
+    /**
+     * Number of entries evicted for size.
+     */
+    private long evictionCount;
+
+    /**
+     * Number of loader calls.
+     */
+    private long loadCount;
+
+    /**
+     * Total nanoseconds spent in loader calls.
+     */
+    private long totalLoadTime;
+
+    /**
+     * Create a new LRU CacheDictionary.
+     *
+     * @param maximumSize Maximum number of entries.
+     * @throws IllegalArgumentException If maximum size is not positive.
+     */
+    public CacheDictionary(int maximumSize) throws IllegalArgumentException {
+        this(maximumSize, Policy.LRU, null);
+    }
+
+    /**
+     * Create a new CacheDictionary with a given policy.
+     *
+     * @param maximumSize Maximum number of entries.
+     * @param policy Eviction policy.
+     * @throws IllegalArgumentException If maximum size is not positive.
+     */
+    public CacheDictionary(int maximumSize, Policy policy) throws IllegalArgumentException {
+        this(maximumSize, policy, null);
+    }
+
+    /**
+     * Create a new CacheDictionary with a given policy and removal listener.
+     *
+     * @param maximumSize Maximum number of entries.
+     * @param policy Eviction policy.
+     * @param listener Listener notified of removals, or {@code null}.
+     * @throws IllegalArgumentException If maximum size is not positive.
+     * @throws NullPointerException If policy is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public CacheDictionary(int maximumSize, Policy policy, RemovalListener<? super K, ? super V> listener)
+            throws IllegalArgumentException, NullPointerException {
+        // Check argument integrity
+        if(maximumSize <= 0) {
+            throw new IllegalArgumentException("Illegal argument: Maximum size must be positive.");
+        }
+
+        if(policy == null) {
+            throw new NullPointerException("Policy cannot be null.");
+        }
+
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        this.listener = listener;
+        this.index = new HashMap<K, Node<K, V>>(maximumSize);
+
+        // Create the queues
+        queues = (Node<K, V>[]) new Node<?, ?>[3];
+        queueSizes = new int[3];
+        queueLimits = new int[3];
+
+        for(int i = 0; i < queues.length; i++) {
+            queues[i] = new Node<K, V>(null, null);
+        }
+
+        // Divide the space between the queues
+        if(policy == Policy.LRU) {
+            queueLimits[WINDOW] = maximumSize;
+            sketch = null;
+        } else {
+            queueLimits[WINDOW] = Math.max(1, maximumSize * WINDOW_PERCENT / 100);
+            int main = maximumSize - queueLimits[WINDOW];
+            queueLimits[PROTECTED] = main * PROTECTED_PERCENT / 100;
+            queueLimits[PROBATION] = main - queueLimits[PROTECTED];
+            sketch = new FrequencySketch(maximumSize);
+        }
+    }
+
+    /**
+     * Return the number of entries in the cache.
+     *
+     * @return The number of entries in the cache.
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Check if the cache is empty.
+     *
+     * @return {@code true} if the cache is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Return the maximum number of entries.
+     *
+     * @return The maximum number of entries.
+     */
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Return the eviction policy.
+     *
+     * @return The eviction policy.
+     */
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * Add a key-value pair to the cache, evicting an entry if the cache is full.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Overwrite an existing entry
+        Node<K, V> node = index.get(key);
+
+        if(node != null) {
+            V previous = node.value;
+            node.value = value;
+            onAccess(node);
+            notifyRemoval(key, previous, RemovalCause.REPLACED);
+            return true;
+        }
+
+        // Add a new entry to the window, then bring the cache back under its bounds
+        node = new Node<K, V>(key, value);
+        index.put(key, node);
+
+        if(sketch != null) {
+            sketch.increment(key);
+        }
+
+        link(WINDOW, node);
+        evict();
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key, recording a hit or a miss.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        Node<K, V> node = index.get(key);
+
+        // Record a miss
+        if(node == null) {
+            missCount++;
+            return null;
+        }
+
+        // Record a hit
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Return the value associated to a key, computing and caching it on a miss.
+     * The time spent in the loader is recorded as load penalty.
+     *
+     * @param key Key to get value associated with.
+     * @param loader Function computing the value of a missing key. May return {@code null}.
+     * @return The cached or loaded value, or {@code null} if the loader returned {@code null}.
+     * @throws NullPointerException If key or loader are {@code null}.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) throws NullPointerException {
+        // Check argument integrity
+        if(loader == null) {
+            throw new NullPointerException("Loader cannot be null.");
+        }
+
+        // Return the cached value if present
+        V value = get(key);
+
+        if(value != null) {
+            return value;
+        }
+
+        // Time the load, counting failed loads too
+        long start = System.nanoTime();
+
+        try {
+            value = loader.apply(key);
+        } finally {
+            totalLoadTime += System.nanoTime() - start;
+            loadCount++;
+        }
+
+        // Cache the result
+        if(value != null) {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Return the value of a key, loading and caching it on a miss. Same as
+     * {@link #get(Object, Function)}, so loads are counted in the statistics.
+     *
+     * @param key Key.
+     * @param mappingFunction Function computing the value of a missing key.
+     * @return The cached or loaded value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        return get(key, mappingFunction);
+    }
+
+    /**
+     * Clear the cache, notifying the listener of every entry.
+     */
+    @Override
+    public void clear() {
+        // Empty each queue
+        for(int queue = 0; queue < queues.length; queue++) {
+            Node<K, V> sentinel = queues[queue];
+            Node<K, V> node = sentinel.next;
+
+            while(node != sentinel) {
+                Node<K, V> next = node.next;
+                notifyRemoval(node.key, node.value, RemovalCause.EXPLICIT);
+                node = next;
+            }
+
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+            queueSizes[queue] = 0;
+        }
+
+        index.clear();
+    }
+
+    /**
+     * Return a collection of the keys in the cache.
+     *
+     * @return A collection of the keys in the cache.
+     */
+    @Override
+    public Collection<K> keys() {
+        return index.keys();
+    }
+
+    /**
+     * Return a collection of the values in the cache.
+     *
+     * @return A collection of the values in the cache.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size());
+
+        // Add the value of each entry
+        for(Node<K, V> sentinel : queues) {
+            for(Node<K, V> node = sentinel.next; node != sentinel; node = node.next) {
+                valueList.add(node.value);
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the cache.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        Node<K, V> node = index.get(key);
+
+        // Return false if not found
+        if(node == null) {
+            return false;
+        }
+
+        // Unlink the entry and notify the listener
+        index.remove(key);
+        unlink(node);
+        notifyRemoval(node.key, node.value, RemovalCause.EXPLICIT);
+        return true;
+    }
+
+    /**
+     * Return an Iterator over the cache's keys. Iterating does not count as access.
+     *
+     * @return An Iterator over the cache's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return index.iterator();
+    }
+
+    /**
+     * Return a cursor over the cache's entries. Reading through the cursor
+     * does not count as access.
+     *
+     * @return A cursor positioned before the first entry.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new CacheCursor();
+    }
+
+    /**
+     * Return the number of lookups that found a value.
+     *
+     * @return The hit count.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of lookups that found no value.
+     *
+     * @return The miss count.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the fraction of lookups that found a value.
+     *
+     * @return The hit rate, or 1 if there have been no lookups.
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Return the number of entries evicted to stay under the maximum size.
+     *
+     * @return The eviction count.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the number of values computed by a loader.
+     *
+     * @return The load count.
+     */
+    public long loadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Return the average time spent computing a value.
+     *
+     * @return The average load penalty in nanoseconds, or 0 if nothing has been loaded.
+     */
+    public double averageLoadPenalty() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * Reset every statistics counter to zero.
+     */
+    public void resetStats() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+        loadCount = 0;
+        totalLoadTime = 0;
+    }
+
+    /**
+     * Update an entry's position after it has been read or written.
+     *
+     * @param node Entry accessed.
+     */
+    private void onAccess(Node<K, V> node) {
+        // Count the access for admission decisions
+        if(sketch != null) {
+            sketch.increment(node.key);
+        }
+
+        // A probation entry that is used again is promoted
+        if(node.queue == PROBATION) {
+            unlink(node);
+            link(PROTECTED, node);
+
+            // Demote the oldest protected entry if the segment is now too big
+            if(queueSizes[PROTECTED] > queueLimits[PROTECTED]) {
+                Node<K, V> demoted = queues[PROTECTED].next;
+                unlink(demoted);
+                link(PROBATION, demoted);
+            }
+
+            return;
+        }
+
+        // Otherwise move the entry to the most recently used end of its queue
+        int queue = node.queue;
+        unlink(node);
+        link(queue, node);
+    }
+
+    /**
+     * Evict entries until the cache is within its bounds.
+     */
+    private void evict() {
+        // Under LRU, evict the oldest entries
+        if(sketch == null) {
+            while(queueSizes[WINDOW] > queueLimits[WINDOW]) {
+                evictNode(queues[WINDOW].next);
+            }
+
+            return;
+        }
+
+        // Under TinyLFU, entries leaving the window become candidates for probation
+        while(queueSizes[WINDOW] > queueLimits[WINDOW]) {
+            Node<K, V> candidate = queues[WINDOW].next;
+            unlink(candidate);
+            link(PROBATION, candidate);
+
+            // If the main region is full, keep whichever of the candidate and
+            // the oldest probation entry is used more often
+            if(size() > maximumSize) {
+                Node<K, V> victim = queues[PROBATION].next;
+
+                if(victim != candidate && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    evictNode(victim);
+                } else {
+                    evictNode(candidate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evict an entry and notify the listener.
+     *
+     * @param node Entry to evict.
+     */
+    private void evictNode(Node<K, V> node) {
+        index.remove(node.key);
+        unlink(node);
+        evictionCount++;
+        notifyRemoval(node.key, node.value, RemovalCause.SIZE);
+    }
+
+    /**
+     * Link an entry at the most recently used end of a queue.
+     *
+     * @param queue Queue to add to.
+     * @param node Entry to add.
+     */
+    private void link(int queue, Node<K, V> node) {
+        Node<K, V> sentinel = queues[queue];
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+        node.queue = queue;
+        queueSizes[queue]++;
+    }
+
+    /**
+     * Unlink an entry from its queue.
+     *
+     * @param node Entry to remove.
+     */
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        queueSizes[node.queue]--;
+    }
+
+    /**
+     * Notify the listener of a removal, if there is one.
+     *
+     * @param key Key removed.
+     * @param value Value removed.
+     * @param cause Why the entry was removed.
+     */
+    private void notifyRemoval(K key, V value, RemovalCause cause) {
+        if(listener != null) {
+            listener.onRemoval(key, value, cause);
+        }
+    }
+
+    /**
+     * A cursor over the cache's entries, walking each queue in turn.
+     */
+    private class CacheCursor implements EntryCursor<K, V> {
+
+        /**
+         * Index of the queue being walked.
+         */
+        private int queue;
+
+        /**
+         * The current entry, or a sentinel when not on an entry.
+         */
+        private Node<K, V> current;
+
+        /**
+         * Create a new CacheCursor.
+         */
+        public CacheCursor() {
+            queue = 0;
+            current = queues[0];
+        }
+
+        /**
+         * Move to the next entry.
+         *
+         * @return {@code true} if there is an entry to read.
+         */
+        @Override
+        public boolean advance() {
+            // Stay exhausted once the last queue has been walked
+            if(queue == queues.length - 1 && current == queues[queue]) {
+                return false;
+            }
+
+            // Move along the queue, then on to the next non-empty one
+            current = current.next;
+
+            while(current == queues[queue]) {
+                if(queue == queues.length - 1) {
+                    return false;
+                }
+
+                current = queues[++queue].next;
+            }
+
+            return true;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return current.key;
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return current.value;
+        }
+
+        /**
+         * Replace the current value, notifying the listener of the replacement.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            V previous = current.value;
+            current.value = value;
+            notifyRemoval(current.key, previous, RemovalCause.REPLACED);
+        }
+
+        /**
+         * Check that the cursor is on an entry.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(current == queues[queue]) {
+                throw new NoSuchElementException("Cursor is not on an entry.");
+            }
+        }
+    }
+
+    /**
+     * A cache entry, linked into one of the queues.
+     */
+    private static final class Node<K, V> {
+        // Key, value, queue links and the queue the entry is in
+        private final K key;
+        private V value;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+        private int queue;
+
+        /**
+         * Create a new Node. A node created with no key is a queue sentinel.
+         *
+         * @param key Key.
+         * @param value Value.
+         */
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.prev = this;
+            this.next = this;
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package ca.haywalk.util.collection;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A generic collection.
@@ -67,4 +72,120 @@ public interface Collection<T> extends Iterable<T> {
      * @throws NullPointerException if item is {@code null}.
      */
     public boolean contains(T item) throws NullPointerException;
+
+    /**
+     * Remove every item matching a condition.
+     * 
+     * The default implementation finds the matching items and then removes
+     * each with {@link #remove(Object)}. Implementations override it to
+     * remove them in a single pass.
+     * 
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    public default boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        // Find the matching items first, since removing would disturb iteration
+        ArrayList<T> matches = new ArrayList<T>();
+
+        for(T item : this) {
+            if(filter.test(item)) {
+                matches.add(item);
+            }
+        }
+
+        for(T item : matches) {
+            remove(item);
+        }
+
+        return !matches.isEmpty();
+    }
+
+    /**
+     * Remove every item that is in another collection.
+     * 
+     * @param items Items to remove.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If items is {@code null} or holds {@code null}.
+     */
+    public default boolean removeAll(Collection<? extends T> items) throws NullPointerException {
+        Dictionary<T, Boolean> set = toSet(items);
+        return removeIf(item -> set.get(item) != null);
+    }
+
+    /**
+     * Remove every item that is not in another collection.
+     * 
+     * @param items Items to keep.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If items is {@code null} or holds {@code null}.
+     */
+    public default boolean retainAll(Collection<? extends T> items) throws NullPointerException {
+        Dictionary<T, Boolean> set = toSet(items);
+        return removeIf(item -> set.get(item) == null);
+    }
+
+    /**
+     * Put the items of a collection in a hash table, so that membership
+     * tests during a bulk removal take constant time.
+     * 
+     * @param items Items.
+     * @return A dictionary with every item as a key.
+     * @throws NullPointerException If items is {@code null} or holds {@code null}.
+     */
+    private static <T> Dictionary<T, Boolean> toSet(Collection<? extends T> items) throws NullPointerException {
+        // Check argument integrity
+        if(items == null) {
+            throw new NullPointerException("Cannot use null collection.");
+        }
+
+        Dictionary<T, Boolean> set = new HashMap<T, Boolean>(items.size());
+
+        for(T item : items) {
+            if(item == null) {
+                throw new NullPointerException("Collection has null element.");
+            }
+
+            set.put(item, Boolean.TRUE);
+        }
+
+        return set;
+    }
+
+    /**
+     * Return a Spliterator over the collection that knows its size.
+     * 
+     * The default Spliterator splits off batches of the iterator into
+     * arrays. Array-based implementations override it to split their
+     * arrays in halves instead.
+     * 
+     * @return A SIZED Spliterator over the collection.
+     */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), 0);
+    }
+
+    /**
+     * Return a sequential Stream over the collection.
+     * 
+     * @return A Stream of the collection's items.
+     */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Return a possibly parallel Stream over the collection.
+     * 
+     * @return A parallel Stream of the collection's items.
+     */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,932 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash table implementation of the Dictionary interface.
+ *
+ * The table is split into independently locked segments. Lookups take
+ * no lock at all: each segment publishes its table through a volatile
+ * field and its chains are built from immutable links, so a reader
+ * always sees a consistent chain. Writers lock only the segment that
+ * owns the key, and a segment resizes under its own lock while the
+ * other segments keep serving reads and writes.
+ *
+ * Iteration is weakly consistent: it never throws because of
+ * concurrent modification, and reflects some of the changes made
+ * after it was created.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class ConcurrentDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Default number of segments.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * Fraction of a segment's table that may be filled before it grows.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Largest supported number of segments.
+     */
+    private static final int MAXIMUM_SEGMENTS = 1 << 16;
+
+    /**
+     * Largest supported capacity of a segment's table.
+     */
+    private static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 30;
+
+    /**
+     * The segments.
+     */
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Shift selecting the segment bits of a hash.
+     */
+    private final int segmentShift;
+
+    /**
+     * Mask selecting the segment bits of a hash.
+     */
+    private final int segmentMask;
+
+    /**
+     * Create a new ConcurrentDictionary.
+     */
+    public ConcurrentDictionary() {
+        this(DEFAULT_SIZE, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a ConcurrentDictionary with a given initial size.
+     *
+     * @param size Expected number of pairs.
+     * @throws IllegalArgumentException If size is negative.
+     */
+    public ConcurrentDictionary(int size) throws IllegalArgumentException {
+        this(size, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Create a ConcurrentDictionary with a given initial size and number of
+     * writer threads expected to update it at the same time.
+     *
+     * @param size Expected number of pairs.
+     * @param concurrencyLevel Expected number of concurrent writers.
+     * @throws IllegalArgumentException If size is negative or concurrency level is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentDictionary(int size, int concurrencyLevel) throws IllegalArgumentException {
+        // Check argument integrity
+        if(size < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative size.");
+        }
+
+        if(concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Illegal argument: Concurrency level must be positive.");
+        }
+
+        // Round the number of segments up to a power of two
+        int segmentCount = 1;
+        int shift = 0;
+
+        while(segmentCount < concurrencyLevel && segmentCount < MAXIMUM_SEGMENTS) {
+            segmentCount <<= 1;
+            shift++;
+        }
+
+        segmentShift = 32 - shift;
+        segmentMask = segmentCount - 1;
+
+        // Spread the initial capacity over the segments
+        int perSegment = (int) Math.ceil(size / (double) segmentCount / LOAD_FACTOR);
+        int capacity = 2;
+
+        while(capacity < perSegment && capacity < MAXIMUM_SEGMENT_CAPACITY) {
+            capacity <<= 1;
+        }
+
+        // Create the segments
+        segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+
+        for(int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<K, V>(capacity);
+        }
+    }
+
+    /**
+     * Return the number of pairs in the dictionary. The result is only an
+     * estimate while other threads are modifying the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        // Sum the segment counts
+        long sum = 0;
+
+        for(Segment<K, V> segment : segments) {
+            sum += segment.count;
+        }
+
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        for(Segment<K, V> segment : segments) {
+            if(segment.count != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Store the pair in its segment
+        int hash = hash(key);
+        segmentFor(hash).put(key, hash, value, false);
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key. Does not lock.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        // Look the key up in its segment
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Clear the dictionary. Segments are cleared one at a time, so pairs
+     * added concurrently may survive.
+     */
+    @Override
+    public void clear() {
+        for(Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>();
+
+        // Add the key of each node
+        for(Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+
+            for(int i = 0; i < table.length(); i++) {
+                for(Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    keyList.add(node.key);
+                }
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>();
+
+        // Add the value of each node
+        for(Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> table = segment.table;
+
+            for(int i = 0; i < table.length(); i++) {
+                for(Node<K, V> node = table.get(i); node != null; node = node.next) {
+                    valueList.add(node.value);
+                }
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // Remove the key from its segment
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash) != null;
+    }
+
+    /**
+     * Atomically add a key-value pair unless the key is already present.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public V putIfAbsent(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Atomically replace the value of a key only if the key is present.
+     *
+     * @param key Key to update.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public V replace(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot replace null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        int hash = hash(key);
+        return segmentFor(hash).replace(key, hash, value);
+    }
+
+    /**
+     * Return the value of a key, atomically computing and adding it if the
+     * key is absent. Present keys are read without locking. The function
+     * runs under the segment lock, so it must be short and must not modify
+     * the dictionary.
+     *
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        // Return a present value without locking
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        V value = segment.get(key, hash);
+
+        if(value != null) {
+            return value;
+        }
+
+        // Otherwise check again and compute under the lock
+        return segment.compute(key, hash, (k, existing) -> existing != null ? existing : mappingFunction.apply(k));
+    }
+
+    /**
+     * Atomically compute a new value for a key from its current value. The
+     * function runs under the segment lock, so it must be short and must not
+     * modify the dictionary.
+     *
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, remappingFunction);
+    }
+
+    /**
+     * Atomically add a value for a key, or combine it with the current value.
+     * The function runs under the segment lock, so it must be short and must
+     * not modify the dictionary.
+     *
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot merge null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash,
+            (k, existing) -> existing == null ? value : remappingFunction.apply(existing, value));
+    }
+
+    /**
+     * Return a weakly consistent Iterator over the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new ConcurrentDictionaryIterator();
+    }
+
+    /**
+     * Return a weakly consistent cursor over the pairs in the dictionary.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new ConcurrentDictionaryCursor();
+    }
+
+    /**
+     * Compute the hash of a key.
+     *
+     * @param key Key to hash.
+     * @return The key's spread hash code.
+     */
+    private static int hash(Object key) {
+        // Mix the bits so both the segment bits and the table bits are well distributed
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Return the segment that owns a hash.
+     *
+     * @param hash Hash code.
+     * @return The owning segment.
+     */
+    private Segment<K, V> segmentFor(int hash) {
+        // Shifting an int by 32 is a no-op, so a single segment needs no shift
+        if(segmentMask == 0) {
+            return segments[0];
+        }
+
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * A link in a hash chain. Everything but the value is immutable, so a
+     * reader that reaches a node always sees the rest of its chain intact.
+     */
+    private static final class Node<K, V> {
+        // The key, its hash, the value and the next link
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private final Node<K, V> next;
+
+        /**
+         * Create a new Node.
+         *
+         * @param hash The key's hash.
+         * @param key Key.
+         * @param value Value.
+         * @param next The next link in the chain.
+         */
+        public Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * An independently locked hash table holding part of the dictionary.
+     * Writers synchronize on the segment; readers do not.
+     */
+    private static final class Segment<K, V> {
+
+        /**
+         * The table of chains. Replaced wholesale on resize.
+         */
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+
+        /**
+         * Number of pairs in the segment.
+         */
+        private volatile int count;
+
+        /**
+         * Number of pairs allowed before the table grows.
+         */
+        private int threshold;
+
+        /**
+         * Create a new Segment.
+         *
+         * @param capacity Initial table capacity, a power of two.
+         */
+        public Segment(int capacity) {
+            setTable(new AtomicReferenceArray<Node<K, V>>(capacity));
+        }
+
+        /**
+         * Look up a key without locking.
+         *
+         * @param key Key to look up.
+         * @param hash The key's hash.
+         * @return The value, or {@code null} if not found.
+         */
+        public V get(Object key, int hash) {
+            // Read the table once so a concurrent resize can't change it under us
+            AtomicReferenceArray<Node<K, V>> tab = table;
+
+            // Walk the chain
+            for(Node<K, V> node = tab.get(hash & (tab.length() - 1)); node != null; node = node.next) {
+                if(node.hash == hash && node.key.equals(key)) {
+                    return node.value;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Add or overwrite a pair.
+         *
+         * @param key Key.
+         * @param hash The key's hash.
+         * @param value Value.
+         * @param onlyIfAbsent Whether to leave an existing value in place.
+         * @return The previous value, or {@code null} if the key was absent.
+         */
+        public synchronized V put(K key, int hash, V value, boolean onlyIfAbsent) {
+            Node<K, V> node = find(key, hash);
+
+            // Overwrite the value if the key is already present
+            if(node != null) {
+                V previous = node.value;
+
+                if(!onlyIfAbsent) {
+                    node.value = value;
+                }
+
+                return previous;
+            }
+
+            link(key, hash, value);
+            return null;
+        }
+
+        /**
+         * Overwrite the value of a key only if it is present.
+         *
+         * @param key Key.
+         * @param hash The key's hash.
+         * @param value Value.
+         * @return The previous value, or {@code null} if the key was absent.
+         */
+        public synchronized V replace(K key, int hash, V value) {
+            Node<K, V> node = find(key, hash);
+
+            if(node == null) {
+                return null;
+            }
+
+            V previous = node.value;
+            node.value = value;
+            return previous;
+        }
+
+        /**
+         * Compute a new value for a key while holding the segment lock.
+         *
+         * @param key Key.
+         * @param hash The key's hash.
+         * @param remappingFunction Function of the key and its current value, returning {@code null} to remove it.
+         * @return The new value, or {@code null} if there is none.
+         */
+        public synchronized V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+            Node<K, V> node = find(key, hash);
+            V newValue = remappingFunction.apply(key, node != null ? node.value : null);
+
+            // Store or remove the result
+            if(newValue != null) {
+                if(node != null) {
+                    node.value = newValue;
+                } else {
+                    link(key, hash, newValue);
+                }
+            } else if(node != null) {
+                remove(key, hash);
+            }
+
+            return newValue;
+        }
+
+        /**
+         * Find a key's node. Must be called holding the lock.
+         *
+         * @param key Key.
+         * @param hash The key's hash.
+         * @return The node, or {@code null} if the key is absent.
+         */
+        private Node<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+
+            for(Node<K, V> node = tab.get(hash & (tab.length() - 1)); node != null; node = node.next) {
+                if(node.hash == hash && node.key.equals(key)) {
+                    return node;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Link a node for an absent key. Must be called holding the lock.
+         *
+         * @param key Key.
+         * @param hash The key's hash.
+         * @param value Value.
+         */
+        private void link(K key, int hash, V value) {
+            // Grow the table if necessary
+            if(count >= threshold && table.length() < MAXIMUM_SEGMENT_CAPACITY) {
+                rehash();
+            }
+
+            // Link a new node at the head of its chain
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<K, V>(hash, key, value, tab.get(index)));
+            count++;
+        }
+
+        /**
+         * Remove a pair.
+         *
+         * @param key Key to remove.
+         * @param hash The key's hash.
+         * @return The removed value, or {@code null} if the key was absent.
+         */
+        public synchronized V remove(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+
+            // Find the node
+            Node<K, V> target = head;
+
+            while(target != null && !(target.hash == hash && target.key.equals(key))) {
+                target = target.next;
+            }
+
+            if(target == null) {
+                return null;
+            }
+
+            // Links are immutable, so copy the nodes in front of the target onto its successor
+            Node<K, V> newHead = target.next;
+
+            for(Node<K, V> node = head; node != target; node = node.next) {
+                newHead = new Node<K, V>(node.hash, node.key, node.value, newHead);
+            }
+
+            tab.set(index, newHead);
+            count--;
+            return target.value;
+        }
+
+        /**
+         * Remove every pair in the segment.
+         */
+        public synchronized void clear() {
+            setTable(new AtomicReferenceArray<Node<K, V>>(table.length()));
+            count = 0;
+        }
+
+        /**
+         * Replace the table and recompute the threshold.
+         *
+         * @param newTable New table.
+         */
+        private void setTable(AtomicReferenceArray<Node<K, V>> newTable) {
+            threshold = (int) (newTable.length() * LOAD_FACTOR);
+            table = newTable;
+        }
+
+        /**
+         * Double the table capacity. Readers keep using the old table, which
+         * is left untouched, until the new one is published.
+         */
+        private void rehash() {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<Node<K, V>>(oldTable.length() * 2);
+            int mask = newTable.length() - 1;
+
+            // Copy every node into the new table
+            for(int i = 0; i < oldTable.length(); i++) {
+                for(Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable.set(index, new Node<K, V>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+
+            // Publish the new table
+            setTable(newTable);
+        }
+    }
+
+    /**
+     * A weakly consistent Iterator over the dictionary's keys.
+     */
+    private class ConcurrentDictionaryIterator implements Iterator<K> {
+
+        /**
+         * Index of the current segment.
+         */
+        private int segmentIndex;
+
+        /**
+         * The table being traversed.
+         */
+        private AtomicReferenceArray<Node<K, V>> table;
+
+        /**
+         * Index of the next chain in the table.
+         */
+        private int chainIndex;
+
+        /**
+         * The next node to return.
+         */
+        private Node<K, V> next;
+
+        /**
+         * Create a new ConcurrentDictionaryIterator.
+         */
+        public ConcurrentDictionaryIterator() {
+            segmentIndex = 0;
+            table = segments[0].table;
+            chainIndex = 0;
+            advance();
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public K next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            return nextNode().key;
+        }
+
+        /**
+         * Return the next node and find the following one.
+         *
+         * @return The next node.
+         */
+        private Node<K, V> nextNode() {
+            Node<K, V> node = next;
+            next = next.next;
+
+            if(next == null) {
+                advance();
+            }
+
+            return node;
+        }
+
+        /**
+         * Move to the head of the next non-empty chain.
+         */
+        private void advance() {
+            while(true) {
+                // Try the remaining chains in this table
+                while(chainIndex < table.length()) {
+                    next = table.get(chainIndex++);
+
+                    if(next != null) {
+                        return;
+                    }
+                }
+
+                // Move to the next segment
+                if(++segmentIndex >= segments.length) {
+                    return;
+                }
+
+                table = segments[segmentIndex].table;
+                chainIndex = 0;
+            }
+        }
+    }
+
+    /**
+     * A weakly consistent cursor over the dictionary's pairs.
+     */
+    private class ConcurrentDictionaryCursor implements EntryCursor<K, V> {
+
+        /**
+         * Iterator walking the nodes.
+         */
+        private final ConcurrentDictionaryIterator nodes;
+
+        /**
+         * The current node.
+         */
+        private Node<K, V> current;
+
+        /**
+         * Create a new ConcurrentDictionaryCursor.
+         */
+        public ConcurrentDictionaryCursor() {
+            nodes = new ConcurrentDictionaryIterator();
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            current = nodes.hasNext() ? nodes.nextNode() : null;
+            return current != null;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return current.key;
+        }
+
+        /**
+         * Return the current value, as last seen by the cursor.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return current.value;
+        }
+
+        /**
+         * Replace the current value. Goes through the segment lock, so the
+         * pair is added back if another thread has removed it.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            segmentFor(current.hash).put(current.key, current.hash, value, false);
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(current == null) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
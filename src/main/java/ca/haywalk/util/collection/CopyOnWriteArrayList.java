@@ -0,0 +1,519 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe list for reading much more often than writing.
+ *
+ * The items are kept in an array that is never changed once published
+ * through a volatile field. Every write copies the array, changes the
+ * copy and publishes it, holding the list's lock so writes do not lose
+ * each other. Reads and iteration take no lock: an iterator walks the
+ * array that was current when it was created, and never sees later
+ * writes or throws because of them. Bulk writes copy the array once.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class CopyOnWriteArrayList<T> implements List<T> {
+
+    /**
+     * The current array of items, never modified once published.
+     */
+    private volatile Object[] array;
+
+    /**
+     * Create a new, empty CopyOnWriteArrayList.
+     */
+    public CopyOnWriteArrayList() {
+        array = new Object[0];
+    }
+
+    /**
+     * Create a new CopyOnWriteArrayList holding the items of a collection.
+     *
+     * @param items Items to add.
+     * @throws NullPointerException If the collection or any items in it are {@code null}.
+     */
+    public CopyOnWriteArrayList(Collection<? extends T> items) throws NullPointerException {
+        this();
+        addAll(items);
+    }
+
+    /**
+     * Return the size of the list.
+     *
+     * @return The size of the list.
+     */
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Check if the list is empty.
+     *
+     * @return {@code true} if the list is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    /**
+     * Add an item to the end of the list.
+     *
+     * @param item Item to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public synchronized boolean add(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        Object[] copy = Arrays.copyOf(array, array.length + 1);
+        copy[copy.length - 1] = item;
+        array = copy;
+        return true;
+    }
+
+    /**
+     * Insert an item at a certain index, moving later items up by one.
+     *
+     * @param index Index to insert at, from 0 to the size of the list.
+     * @param item Item to insert.
+     * @throws NullPointerException If item is {@code null}.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @Override
+    public synchronized void add(int index, T item) throws NullPointerException, IndexOutOfBoundsException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        Object[] items = array;
+
+        if(index < 0 || index > items.length) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, items.length));
+        }
+
+        Object[] copy = new Object[items.length + 1];
+        System.arraycopy(items, 0, copy, 0, index);
+        System.arraycopy(items, index, copy, index + 1, items.length - index);
+        copy[index] = item;
+        array = copy;
+    }
+
+    /**
+     * Add an item to the end of the list if it is not already present.
+     *
+     * @param item Item to add.
+     * @return {@code true} if the item was added.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    public synchronized boolean addIfAbsent(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        if(indexIn(array, item) != -1) {
+            return false;
+        }
+
+        return add(item);
+    }
+
+    /**
+     * Add all items in a collection to the end of the list, copying the
+     * array once. If the collection holds {@code null}, no items are added.
+     *
+     * @param items Collection of items to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If the collection or any items in it are {@code null}.
+     */
+    @Override
+    public synchronized boolean addAll(Collection<? extends T> items) throws NullPointerException {
+        // Check argument integrity
+        if(items == null) {
+            throw new NullPointerException("Cannot add null collection.");
+        }
+
+        Object[] added = toArray(items);
+        Object[] copy = Arrays.copyOf(array, array.length + added.length);
+        System.arraycopy(added, 0, copy, array.length, added.length);
+        array = copy;
+        return true;
+    }
+
+    /**
+     * Add the items in a collection that are not already present, copying
+     * the array once. An item repeated in the collection is added once.
+     *
+     * @param items Collection of items to add.
+     * @return The number of items added.
+     * @throws NullPointerException If the collection or any items in it are {@code null}.
+     */
+    public synchronized int addAllAbsent(Collection<? extends T> items) throws NullPointerException {
+        // Check argument integrity
+        if(items == null) {
+            throw new NullPointerException("Cannot add null collection.");
+        }
+
+        Object[] added = toArray(items);
+        int before = array.length;
+        Object[] copy = Arrays.copyOf(array, before + added.length);
+        int length = before;
+
+        for(Object item : added) {
+            if(indexIn(copy, length, item) == -1) {
+                copy[length++] = item;
+            }
+        }
+
+        array = Arrays.copyOf(copy, length);
+        return length - before;
+    }
+
+    /**
+     * Get the item at a certain index.
+     *
+     * @param index Index to get item at.
+     * @return The item at that index.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) throws IndexOutOfBoundsException {
+        Object[] items = array;
+        checkIndex(index, items.length);
+        return (T) items[index];
+    }
+
+    /**
+     * Get the index of the first occurrence of an item.
+     *
+     * @param item Item to get the index of.
+     * @return Item's index, or -1 if not found.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public int index(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot find index of null.");
+        }
+
+        return indexIn(array, item);
+    }
+
+    /**
+     * Check if an item is in the list.
+     *
+     * @param item Item to check for.
+     * @return {@code true} if the list contains the item.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean contains(T item) throws NullPointerException {
+        return index(item) != -1;
+    }
+
+    /**
+     * Remove the item at a certain index.
+     *
+     * @param index Index of item to remove.
+     * @return Item removed.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized T remove(int index) throws IndexOutOfBoundsException {
+        Object[] items = array;
+        checkIndex(index, items.length);
+
+        Object[] copy = new Object[items.length - 1];
+        System.arraycopy(items, 0, copy, 0, index);
+        System.arraycopy(items, index + 1, copy, index, items.length - index - 1);
+        array = copy;
+        return (T) items[index];
+    }
+
+    /**
+     * Remove the first occurrence of an item.
+     *
+     * @param item Item to remove.
+     * @return {@code true} if the item was found.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public synchronized boolean remove(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot remove null.");
+        }
+
+        int index = indexIn(array, item);
+
+        if(index == -1) {
+            return false;
+        }
+
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Remove every item matching a condition, copying the array once.
+     *
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        Object[] items = array;
+        Object[] kept = new Object[items.length];
+        int length = 0;
+
+        for(Object item : items) {
+            if(!filter.test((T) item)) {
+                kept[length++] = item;
+            }
+        }
+
+        if(length == items.length) {
+            return false;
+        }
+
+        array = Arrays.copyOf(kept, length);
+        return true;
+    }
+
+    /**
+     * Replace every item with the result of applying a function to it,
+     * copying the array once. If the function fails, the list is unchanged.
+     *
+     * @param operator Function to apply.
+     * @throws NullPointerException If operator is {@code null} or returns {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized void replaceAll(UnaryOperator<T> operator) throws NullPointerException {
+        // Check argument integrity
+        if(operator == null) {
+            throw new NullPointerException("Operator cannot be null.");
+        }
+
+        Object[] copy = array.clone();
+
+        for(int i = 0; i < copy.length; i++) {
+            copy[i] = operator.apply((T) copy[i]);
+
+            if(copy[i] == null) {
+                throw new NullPointerException("Cannot add null.");
+            }
+        }
+
+        array = copy;
+    }
+
+    /**
+     * Sort the list with a stable merge sort, copying the array once.
+     *
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If comparator is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void sort(Comparator<? super T> comparator) throws NullPointerException {
+        T[] copy = (T[]) array.clone();
+        Sorting.sort(copy, comparator);
+        array = copy;
+    }
+
+    /**
+     * Remove every item.
+     */
+    @Override
+    public synchronized void clear() {
+        array = new Object[0];
+    }
+
+    /**
+     * Perform an action on every item of the current array, without locking.
+     *
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        for(Object item : array) {
+            action.accept((T) item);
+        }
+    }
+
+    /**
+     * Return an iterator over the current array, without locking. It does
+     * not see later writes.
+     *
+     * @return An iterator over the list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new CopyOnWriteIterator(array);
+    }
+
+    /**
+     * Return a Spliterator over the current array, without locking.
+     *
+     * @return An IMMUTABLE, SIZED and SUBSIZED Spliterator over the list.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Copy the items of a collection into an array, checking for {@code null}.
+     *
+     * @param items Collection.
+     * @return The items.
+     * @throws NullPointerException If any item is {@code null}.
+     */
+    private static Object[] toArray(Collection<?> items) throws NullPointerException {
+        Object[] copy = new Object[items.size()];
+        int length = 0;
+
+        for(Object item : items) {
+            if(item == null) {
+                throw new NullPointerException("Collection has null element.");
+            }
+
+            if(length == copy.length) {
+                copy = Arrays.copyOf(copy, Math.max(length * 2, 1));
+            }
+
+            copy[length++] = item;
+        }
+
+        return length == copy.length ? copy : Arrays.copyOf(copy, length);
+    }
+
+    /**
+     * Return the index of an item in an array.
+     *
+     * @param items Array.
+     * @param item Item.
+     * @return Its index, or -1 if absent.
+     */
+    private static int indexIn(Object[] items, Object item) {
+        return indexIn(items, items.length, item);
+    }
+
+    /**
+     * Return the index of an item in the start of an array.
+     *
+     * @param items Array.
+     * @param length Number of items to search.
+     * @param item Item.
+     * @return Its index, or -1 if absent.
+     */
+    private static int indexIn(Object[] items, int length, Object item) {
+        for(int i = 0; i < length; i++) {
+            if(items[i].equals(item)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Throw if an index is out of bounds.
+     *
+     * @param index Index.
+     * @param length Array length.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    private static void checkIndex(int index, int length) throws IndexOutOfBoundsException {
+        if(index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, length));
+        }
+    }
+
+    /**
+     * An iterator over one published array.
+     */
+    private class CopyOnWriteIterator implements Iterator<T> {
+
+        /**
+         * The array being walked.
+         */
+        private final Object[] items;
+
+        /**
+         * Index of the next item.
+         */
+        private int index;
+
+        /**
+         * Create a new CopyOnWriteIterator.
+         *
+         * @param items The array to walk.
+         */
+        public CopyOnWriteIterator(Object[] items) {
+            this.items = items;
+        }
+
+        /**
+         * Check that the list had another item.
+         *
+         * @return {@code true} If there is another item.
+         */
+        @Override
+        public boolean hasNext() {
+            return index < items.length;
+        }
+
+        /**
+         * Get the next item.
+         *
+         * @return The next item.
+         * @throws NoSuchElementException If there is no next item.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() throws NoSuchElementException {
+            // Throw exception if there is no next element.
+            if(!hasNext()) {
+                throw new NoSuchElementException("No such element: End of list.");
+            }
+
+            return (T) items[index++];
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A multiset counting how many times each key has been added.
+ *
+ * Counts are {@code long}s in a flat array indexed by a small id given to
+ * each key, and are incremented in place, so counting an existing key
+ * allocates nothing. A key whose count drops to zero is removed.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class CountingBag<K> implements Iterable<K> {
+
+    /**
+     * Ids of the keys.
+     */
+    private final KeyIndex<K> index;
+
+    /**
+     * Count of each key, by id.
+     */
+    private long[] counts;
+
+    /**
+     * Sum of every count.
+     */
+    private long total;
+
+    /**
+     * Create a new, empty CountingBag.
+     */
+    public CountingBag() {
+        index = new KeyIndex<K>();
+        counts = new long[8];
+    }
+
+    /**
+     * Return the number of distinct keys.
+     *
+     * @return The number of keys with a positive count.
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Check if the bag is empty.
+     *
+     * @return {@code true} if no key has a positive count.
+     */
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+
+    /**
+     * Return the sum of every count.
+     *
+     * @return The total count.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Add one occurrence of a key.
+     *
+     * @param key Key.
+     * @return The key's new count.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public long add(K key) throws NullPointerException {
+        return add(key, 1);
+    }
+
+    /**
+     * Add occurrences of a key.
+     *
+     * @param key Key.
+     * @param occurrences Number of occurrences to add.
+     * @return The key's new count.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalArgumentException If occurrences is negative.
+     */
+    public long add(K key, long occurrences) throws NullPointerException, IllegalArgumentException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(occurrences < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative occurrences.");
+        }
+
+        int id = index.find(key);
+
+        // Adding nothing to an absent key leaves it absent
+        if(id < 0) {
+            if(occurrences == 0) {
+                return 0;
+            }
+
+            id = index.add(key);
+
+            if(id == counts.length) {
+                counts = Arrays.copyOf(counts, id * 2);
+            }
+
+            counts[id] = 0;
+        }
+
+        counts[id] += occurrences;
+        total += occurrences;
+        return counts[id];
+    }
+
+    /**
+     * Return the count of a key.
+     *
+     * @param key Key.
+     * @return The key's count, 0 if absent.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public long count(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        int id = index.find(key);
+        return id < 0 ? 0 : counts[id];
+    }
+
+    /**
+     * Check if a key has a positive count.
+     *
+     * @param key Key.
+     * @return {@code true} if the key is present.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public boolean contains(K key) throws NullPointerException {
+        return count(key) > 0;
+    }
+
+    /**
+     * Remove occurrences of a key, removing the key if its count reaches zero.
+     *
+     * @param key Key.
+     * @param occurrences Number of occurrences to remove.
+     * @return The key's new count.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalArgumentException If occurrences is negative.
+     */
+    public long remove(K key, long occurrences) throws NullPointerException, IllegalArgumentException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        if(occurrences < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative occurrences.");
+        }
+
+        int id = index.find(key);
+
+        if(id < 0) {
+            return 0;
+        }
+
+        // Remove no more than the key has
+        long removed = Math.min(occurrences, counts[id]);
+        counts[id] -= removed;
+        total -= removed;
+
+        if(counts[id] == 0) {
+            index.remove(key);
+        }
+
+        return counts[id];
+    }
+
+    /**
+     * Set the count of a key, removing it if the count is zero.
+     *
+     * @param key Key.
+     * @param count New count.
+     * @return The key's previous count.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalArgumentException If count is negative.
+     */
+    public long setCount(K key, long count) throws NullPointerException, IllegalArgumentException {
+        // Check argument integrity
+        if(count < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative count.");
+        }
+
+        long previous = count(key);
+
+        if(count > previous) {
+            add(key, count - previous);
+        } else {
+            remove(key, previous - count);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Remove every key.
+     */
+    public void clear() {
+        index.clear();
+        total = 0;
+    }
+
+    /**
+     * Return a collection of the keys.
+     *
+     * @return A collection of the keys.
+     */
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(index.size());
+
+        // Add each key with an id in use
+        for(int id = 0; id < index.limit(); id++) {
+            K key = index.key(id);
+
+            if(key != null) {
+                keyList.add(key);
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return the keys with the highest counts, highest first. Keys with equal
+     * counts are in the order the iterator returns them.
+     *
+     * @param n Largest number of keys to return.
+     * @return Up to n keys.
+     * @throws IllegalArgumentException If n is negative.
+     */
+    public Collection<K> topK(int n) throws IllegalArgumentException {
+        int[] ids = index.topK(n, id -> counts[id]);
+        ArrayList<K> keyList = new ArrayList<K>(ids.length);
+
+        for(int id : ids) {
+            keyList.add(index.key(id));
+        }
+
+        return keyList;
+    }
+
+    /**
+     * Return an Iterator over the distinct keys.
+     *
+     * @return An Iterator over the keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return index.iterator();
+    }
+}
@@ -0,0 +1,324 @@
+package ca.haywalk.util.collection;
+
+/**
+ * A cuckoo filter, an approximate set that supports removal.
+ *
+ * Each item is reduced to a 16-bit fingerprint stored in one of two
+ * buckets of four. The second bucket is found from the first and the
+ * fingerprint alone, so a fingerprint can be moved to make room without
+ * knowing its item. Lookups read two buckets; the false positive rate is
+ * about 8 in 65536.
+ *
+ * Adding an item twice stores two fingerprints, so only remove items that
+ * were added, once per add.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class CuckooFilter<T> implements MembershipFilter<T> {
+
+    /**
+     * Fingerprints per bucket.
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    /**
+     * Fraction of slots expected to fill before inserts start failing.
+     */
+    private static final double LOAD_FACTOR = 0.95;
+
+    /**
+     * Number of fingerprints moved before an insert gives up.
+     */
+    private static final int MAXIMUM_KICKS = 500;
+
+    /**
+     * Fingerprints, {@code BUCKET_SIZE} to a bucket, with zero marking an empty slot.
+     */
+    private final short[] table;
+
+    /**
+     * Number of buckets minus one.
+     */
+    private final int mask;
+
+    /**
+     * Number of fingerprints stored, including the victim.
+     */
+    private int count;
+
+    /**
+     * Fingerprint that could not be placed, or zero.
+     */
+    private short victim;
+
+    /**
+     * Bucket of the victim.
+     */
+    private int victimIndex;
+
+    /**
+     * State of the generator choosing which fingerprint to move.
+     */
+    private int random = 0x2545f491;
+
+    /**
+     * Create a new CuckooFilter.
+     *
+     * @param capacity Number of items the filter should hold.
+     * @throws IllegalArgumentException If capacity is negative.
+     */
+    public CuckooFilter(int capacity) throws IllegalArgumentException {
+        // Check argument integrity
+        if(capacity < 0) {
+            throw new IllegalArgumentException("Illegal argument: capacity must be non-negative.");
+        }
+
+        // Round the number of buckets up to a power of two
+        long needed = (long) Math.ceil(capacity / (BUCKET_SIZE * LOAD_FACTOR));
+        int buckets = 1;
+
+        while(buckets < needed && buckets < (1 << 28)) {
+            buckets <<= 1;
+        }
+
+        table = new short[buckets * BUCKET_SIZE];
+        mask = buckets - 1;
+    }
+
+    /**
+     * Add an item to the filter.
+     *
+     * @param item Item to add.
+     * @return {@code true} if the item was added, {@code false} if the filter is full.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean add(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null item.");
+        }
+
+        // A waiting victim means the table is full
+        if(victim != 0) {
+            return false;
+        }
+
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int index = (int) hash & mask;
+        count++;
+
+        if(insert(index, fingerprint) || insert(alternate(index, fingerprint), fingerprint)) {
+            return true;
+        }
+
+        // Evict fingerprints to their other bucket until one finds room
+        for(int kick = 0; kick < MAXIMUM_KICKS; kick++) {
+            random ^= random << 13;
+            random ^= random >>> 17;
+            random ^= random << 5;
+
+            int slot = index * BUCKET_SIZE + (random & (BUCKET_SIZE - 1));
+            short evicted = table[slot];
+            table[slot] = fingerprint;
+            fingerprint = evicted;
+            index = alternate(index, fingerprint);
+
+            if(insert(index, fingerprint)) {
+                return true;
+            }
+        }
+
+        // Hold the last evicted fingerprint aside so nothing is lost
+        victim = fingerprint;
+        victimIndex = index;
+        return true;
+    }
+
+    /**
+     * Check if an item might have been added.
+     *
+     * @param item Item to check.
+     * @return {@code false} if the item was definitely not added.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean mightContain(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot check null item.");
+        }
+
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int index = (int) hash & mask;
+        int other = alternate(index, fingerprint);
+
+        if(victim == fingerprint && (victimIndex == index || victimIndex == other)) {
+            return true;
+        }
+
+        return find(index, fingerprint) >= 0 || find(other, fingerprint) >= 0;
+    }
+
+    /**
+     * Remove an item that was added to the filter.
+     *
+     * @param item Item to remove.
+     * @return {@code true} if a fingerprint of the item was removed.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean remove(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot remove null item.");
+        }
+
+        long hash = hash(item);
+        short fingerprint = fingerprint(hash);
+        int index = (int) hash & mask;
+        int other = alternate(index, fingerprint);
+
+        // Drop the victim if it is the item's
+        if(victim == fingerprint && (victimIndex == index || victimIndex == other)) {
+            victim = 0;
+            count--;
+            return true;
+        }
+
+        int slot = find(index, fingerprint);
+
+        if(slot < 0) {
+            slot = find(other, fingerprint);
+        }
+
+        if(slot < 0) {
+            return false;
+        }
+
+        table[slot] = 0;
+        count--;
+
+        // Try to place the victim in the freed room
+        if(victim != 0 && (insert(victimIndex, victim) || insert(alternate(victimIndex, victim), victim))) {
+            victim = 0;
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove every item from the filter.
+     */
+    @Override
+    public void clear() {
+        for(int i = 0; i < table.length; i++) {
+            table[i] = 0;
+        }
+
+        count = 0;
+        victim = 0;
+    }
+
+    /**
+     * Return the number of fingerprints stored.
+     *
+     * @return The number of fingerprints.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Put a fingerprint in a free slot of a bucket.
+     *
+     * @param index Bucket.
+     * @param fingerprint Fingerprint.
+     * @return {@code true} if the bucket had room.
+     */
+    private boolean insert(int index, short fingerprint) {
+        int start = index * BUCKET_SIZE;
+
+        for(int slot = start; slot < start + BUCKET_SIZE; slot++) {
+            if(table[slot] == 0) {
+                table[slot] = fingerprint;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Find a fingerprint in a bucket.
+     *
+     * @param index Bucket.
+     * @param fingerprint Fingerprint.
+     * @return Its slot, or -1.
+     */
+    private int find(int index, short fingerprint) {
+        int start = index * BUCKET_SIZE;
+
+        for(int slot = start; slot < start + BUCKET_SIZE; slot++) {
+            if(table[slot] == fingerprint) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Return the other bucket of a fingerprint.
+     *
+     * @param index One bucket of the fingerprint.
+     * @param fingerprint Fingerprint.
+     * @return The other bucket.
+     */
+    private int alternate(int index, short fingerprint) {
+        return (index ^ spread(fingerprint * 0x5bd1e995)) & mask;
+    }
+
+    /**
+     * Take a non-zero fingerprint from the bits of a hash not used for the bucket.
+     *
+     * @param hash Hash of the item.
+     * @return The fingerprint.
+     */
+    private static short fingerprint(long hash) {
+        short fingerprint = (short) (hash >>> 48);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Mix an item's hash code into 64 bits.
+     *
+     * @param item Item.
+     * @return The mixed hash.
+     */
+    private static long hash(Object item) {
+        long h = item.hashCode() * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Mix a hash code.
+     *
+     * @param hash Hash code.
+     * @return The mixed hash.
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,12 +1,38 @@
 package ca.haywalk.util.collection;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * A generic dictionary.
  * 
+ * The single-lookup mutation methods follow the conventions of
+ * {@link java.util.Map}: a key mapped to {@code null} counts as absent,
+ * and a remapping function returning {@code null} removes the pair.
+ * Their default implementations look a key up more than once, so
+ * implementations override them to find the key in a single probe.
+ * 
  * @author Hayden Walker
  * @version 2023-04-10
  */
 public interface Dictionary<K, V> extends Iterable<K> {
+    /**
+     * Return the number of key-value pairs in the dictionary.
+     * 
+     * @return The number of key-value pairs in the dictionary.
+     */
+    public int size();
+
+    /**
+     * Check if the dictionary is empty.
+     * 
+     * @return {@code true} if the dictionary is empty.
+     */
+    public boolean isEmpty();
+
     /**
      * Add a key-value pair to the dictionary.
      * 
@@ -53,4 +79,220 @@ public interface Dictionary<K, V> extends Iterable<K> {
      * @throws NullPointerException If key is {@code null}.
      */
     public boolean remove(K key) throws NullPointerException;
+
+    /**
+     * Return the value associated with a key, or a default value.
+     * 
+     * @param key Key.
+     * @param defaultValue Value to return if the key is absent.
+     * @return Value associated with the key, or the default.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public default V getOrDefault(K key, V defaultValue) throws NullPointerException {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Add a key-value pair unless the key is already present.
+     * 
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public default V putIfAbsent(K key, V value) throws NullPointerException {
+        V existing = get(key);
+
+        if(existing == null) {
+            put(key, value);
+        }
+
+        return existing;
+    }
+
+    /**
+     * Replace the value of a key only if the key is present.
+     * 
+     * @param key Key to update.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public default V replace(K key, V value) throws NullPointerException {
+        V previous = get(key);
+
+        if(previous != null) {
+            put(key, value);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if the key is absent.
+     * 
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    public default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        // Return the existing value, or compute and add one
+        V value = get(key);
+
+        if(value == null) {
+            value = mappingFunction.apply(key);
+
+            if(value != null) {
+                put(key, value);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Compute a new value for a key from its current value, which is
+     * {@code null} if the key is absent.
+     * 
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    public default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Store or remove the result
+        V oldValue = get(key);
+        V newValue = remappingFunction.apply(key, oldValue);
+
+        if(newValue != null) {
+            put(key, newValue);
+        } else if(oldValue != null) {
+            remove(key);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Add a value for a key, or combine it with the current value if the key is present.
+     * 
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    public default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Store or remove the result
+        V oldValue = get(key);
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+
+        if(newValue != null) {
+            put(key, newValue);
+        } else {
+            remove(key);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Return an immutable copy of the dictionary with constant-time lookups,
+     * for tables that are built once and then only read.
+     * 
+     * @return A FrozenDictionary holding the dictionary's pairs.
+     * @throws NullPointerException If the dictionary holds {@code null} values.
+     */
+    public default FrozenDictionary<K, V> freeze() throws NullPointerException {
+        return FrozenDictionary.of(this);
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary.
+     * 
+     * The default cursor looks each key up with {@link #get(Object)}.
+     * Implementations override it to read pairs in place.
+     * 
+     * @return A cursor positioned before the first pair.
+     */
+    public default EntryCursor<K, V> cursor() {
+        Iterator<K> keyIterator = iterator();
+
+        return new EntryCursor<K, V>() {
+            private K key;
+            private boolean onPair;
+
+            @Override
+            public boolean advance() {
+                onPair = keyIterator.hasNext();
+                key = onPair ? keyIterator.next() : null;
+                return onPair;
+            }
+
+            @Override
+            public K key() throws NoSuchElementException {
+                checkPosition();
+                return key;
+            }
+
+            @Override
+            public V value() throws NoSuchElementException {
+                checkPosition();
+                return get(key);
+            }
+
+            @Override
+            public void setValue(V value) throws NoSuchElementException, NullPointerException {
+                checkPosition();
+                put(key, value);
+            }
+
+            private void checkPosition() throws NoSuchElementException {
+                if(!onPair) {
+                    throw new NoSuchElementException("Cursor is not on a pair.");
+                }
+            }
+        };
+    }
+
+    /**
+     * Perform an action on every pair in the dictionary.
+     * 
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    public default void forEach(BiConsumer<? super K, ? super V> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        // Walk the pairs
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
 }
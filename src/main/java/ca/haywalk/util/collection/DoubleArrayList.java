@@ -0,0 +1,347 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An array-based list of {@code double}s without boxing.
+ *
+ * Elements are kept in a plain {@code double[]}, so each takes eight bytes
+ * and scans and reductions run over contiguous memory. Iterating with
+ * {@link PrimitiveIterator.OfDouble#nextDouble()} reads elements without boxing.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class DoubleArrayList implements Iterable<Double> {
+
+    /**
+     * The default size of the list.
+     */
+    public static final int DEFAULT_SIZE = 6;
+
+    /**
+     * Factor to resize by.
+     */
+    private static final int RESIZE_FACTOR = 2;
+
+    /**
+     * The array of items in the list.
+     */
+    private double[] array;
+
+    /**
+     * The size of the list.
+     */
+    private int size;
+
+    /**
+     * Create a new DoubleArrayList with the default initial size.
+     */
+    public DoubleArrayList() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a new DoubleArrayList with a given initial size.
+     *
+     * @param initialSize Initial size.
+     * @throws IllegalArgumentException If passed a negative size.
+     */
+    public DoubleArrayList(int initialSize) throws IllegalArgumentException {
+        // Verify that size is non-negative
+        if(initialSize < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative size.");
+        }
+
+        array = new double[initialSize];
+    }
+
+    /**
+     * Return the size of the list.
+     *
+     * @return The size of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the list is empty.
+     *
+     * @return {@code true} if the list is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add an item to the end of the list.
+     *
+     * @param item Item to add.
+     * @return {@code true} if successful.
+     */
+    public boolean add(double item) {
+        // Increase size if necessary
+        if(size == array.length) {
+            ensureCapacity(size + 1);
+        }
+
+        array[size++] = item;
+        return true;
+    }
+
+    /**
+     * Add every item of an array to the end of the list.
+     *
+     * @param items Items to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If items is {@code null}.
+     */
+    public boolean addAll(double[] items) throws NullPointerException {
+        // Check argument integrity
+        if(items == null) {
+            throw new NullPointerException("Cannot add null array.");
+        }
+
+        ensureCapacity(size + items.length);
+        System.arraycopy(items, 0, array, size, items.length);
+        size += items.length;
+        return true;
+    }
+
+    /**
+     * Get the item at a certain index.
+     *
+     * @param index Index to get item at.
+     * @return The item at that index.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    public double get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return array[index];
+    }
+
+    /**
+     * Replace the item at a certain index.
+     *
+     * @param index Index to replace item at.
+     * @param item New item.
+     * @return The item replaced.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    public double set(int index, double item) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        double previous = array[index];
+        array[index] = item;
+        return previous;
+    }
+
+    /**
+     * Return the index of the first occurrence of an item. Items are compared
+     * by bits, as in {@link Arrays#equals(double[], double[])}, so
+     * {@code NaN} is found and {@code 0.0} and {@code -0.0} differ.
+     *
+     * @param item Item to find.
+     * @return Its index, or -1 if absent.
+     */
+    public int index(double item) {
+        long bits = Double.doubleToLongBits(item);
+
+        for(int i = 0; i < size; i++) {
+            if(Double.doubleToLongBits(array[i]) == bits) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Check if an item is in the list.
+     *
+     * @param item Item to check for.
+     * @return {@code true} if the list contains the item.
+     */
+    public boolean contains(double item) {
+        return index(item) != -1;
+    }
+
+    /**
+     * Remove the item at a certain index.
+     *
+     * @param index Index of item to remove.
+     * @return Item removed.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    public double remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        double removed = array[index];
+
+        // Shift remaining elements back
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Remove the first occurrence of an item.
+     *
+     * @param item Item to remove.
+     * @return {@code true} if the item was found.
+     */
+    public boolean removeValue(double item) {
+        int index = index(item);
+
+        if(index == -1) {
+            return false;
+        }
+
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Remove every item.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Return a copy of the items.
+     *
+     * @return A new array of the items in order.
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Return the sum of the items.
+     *
+     * @return The sum.
+     */
+    public double sum() {
+        double sum = 0;
+
+        for(int i = 0; i < size; i++) {
+            sum += array[i];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Return the smallest item, or {@code NaN} if any item is {@code NaN}.
+     *
+     * @return The minimum.
+     * @throws NoSuchElementException If the list is empty.
+     */
+    public double min() throws NoSuchElementException {
+        checkNotEmpty();
+        double min = array[0];
+
+        for(int i = 1; i < size; i++) {
+            min = Math.min(min, array[i]);
+        }
+
+        return min;
+    }
+
+    /**
+     * Return the largest item, or {@code NaN} if any item is {@code NaN}.
+     *
+     * @return The maximum.
+     * @throws NoSuchElementException If the list is empty.
+     */
+    public double max() throws NoSuchElementException {
+        checkNotEmpty();
+        double max = array[0];
+
+        for(int i = 1; i < size; i++) {
+            max = Math.max(max, array[i]);
+        }
+
+        return max;
+    }
+
+    /**
+     * Return an iterator over the list that can read items without boxing.
+     *
+     * @return An iterator over the list.
+     */
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new DoubleArrayListIterator();
+    }
+
+    /**
+     * Grow the array to hold at least a number of items.
+     *
+     * @param capacity Number of items.
+     */
+    private void ensureCapacity(int capacity) {
+        if(capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(capacity, Math.max(array.length * RESIZE_FACTOR, DEFAULT_SIZE)));
+        }
+    }
+
+    /**
+     * Throw if an index is out of bounds.
+     *
+     * @param index Index.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, size));
+        }
+    }
+
+    /**
+     * Throw if the list is empty.
+     *
+     * @throws NoSuchElementException If the list is empty.
+     */
+    private void checkNotEmpty() throws NoSuchElementException {
+        if(size == 0) {
+            throw new NoSuchElementException("No such element: List is empty.");
+        }
+    }
+
+    /**
+     * An iterator over the list.
+     */
+    private class DoubleArrayListIterator implements PrimitiveIterator.OfDouble {
+        // Keep track of the current index
+        private int index;
+
+        /**
+         * Check that the list has another item.
+         *
+         * @return {@code true} If the list has another item.
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Get the next item in the list.
+         *
+         * @return The next item in the list.
+         * @throws NoSuchElementException If there is no next item.
+         */
+        @Override
+        public double nextDouble() throws NoSuchElementException {
+            // Throw exception if there is no next element.
+            if(!hasNext()) {
+                throw new NoSuchElementException("No such element: End of list.");
+            }
+
+            return array[index++];
+        }
+    }
+}
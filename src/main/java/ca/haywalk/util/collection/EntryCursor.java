@@ -0,0 +1,48 @@
+package ca.haywalk.util.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the key-value pairs of a dictionary.
+ *
+ * Call {@link #advance()} before reading the first pair. A cursor reads
+ * pairs in place, so walking a dictionary with one allocates nothing per
+ * pair. The dictionary must not be structurally modified while a cursor
+ * is in use, but {@link #setValue(Object)} may be used to update values.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public interface EntryCursor<K, V> {
+    /**
+     * Move to the next pair.
+     *
+     * @return {@code true} if there is a pair to read.
+     */
+    public boolean advance();
+
+    /**
+     * Return the current key.
+     *
+     * @return The current key.
+     * @throws NoSuchElementException If the cursor is not on a pair.
+     */
+    public K key() throws NoSuchElementException;
+
+    /**
+     * Return the current value.
+     *
+     * @return The current value.
+     * @throws NoSuchElementException If the cursor is not on a pair.
+     */
+    public V value() throws NoSuchElementException;
+
+    /**
+     * Replace the current value.
+     *
+     * @param value New value.
+     * @throws NoSuchElementException If the cursor is not on a pair.
+     * @throws NullPointerException If the dictionary does not accept {@code null} values.
+     */
+    public void setValue(V value) throws NoSuchElementException, NullPointerException;
+}
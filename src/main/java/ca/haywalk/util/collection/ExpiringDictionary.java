@@ -0,0 +1,722 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A dictionary whose entries expire a fixed time after they were written,
+ * or after they were last read.
+ *
+ * Entries are filed in a hierarchical timing wheel: five levels of buckets
+ * spanning about a second, a minute, an hour, a day and two weeks. As time
+ * moves on, the buckets it has passed are emptied; their entries either
+ * expire or drop to a finer level. Scheduling, rescheduling and expiring
+ * an entry are each O(1), and expiry work is done a bucket at a time as
+ * the dictionary is used, never as a sweep of every entry.
+ *
+ * Expired entries are never returned, but may hold memory for up to about
+ * a second before their bucket is emptied. Time is read from a
+ * {@link Ticker} so that tests can control it.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class ExpiringDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * When an entry's time to live starts again.
+     */
+    public enum Policy {
+        /**
+         * Expire a fixed time after the entry was last written.
+         */
+        AFTER_WRITE,
+
+        /**
+         * Expire a fixed time after the entry was last read or written.
+         */
+        AFTER_ACCESS
+    }
+
+    /**
+     * Number of buckets on each level of the wheel. Each level has enough
+     * buckets to span the tick of the next, so no entry wraps around its level.
+     */
+    private static final int[] BUCKETS = {64, 64, 32, 16, 1};
+
+    /**
+     * Bit shift turning a time into ticks of each level, about 1.07s, 1.14m, 1.22h, 0.78d and 13d.
+     */
+    private static final int[] SHIFTS = {30, 36, 42, 46, 50};
+
+    /**
+     * Default time to live, in nanoseconds.
+     */
+    private final long duration;
+
+    /**
+     * Expiry policy.
+     */
+    private final Policy policy;
+
+    /**
+     * Source of time.
+     */
+    private final Ticker ticker;
+
+    /**
+     * Ticker reading taken as time zero, so wheel times are never negative.
+     */
+    private final long origin;
+
+    /**
+     * Entries by key.
+     */
+    private final HashMap<K, Node<K, V>> index;
+
+    /**
+     * Bucket sentinels of each level.
+     */
+    private final Node<K, V>[][] wheel;
+
+    /**
+     * Time up to which the wheel has been advanced.
+     */
+    private long time;
+
+    /**
+     * Number of entries that have expired.
+     */
+    private long expirationCount;
+
+    /**
+     * Create a new ExpiringDictionary that expires entries after they were written.
+     *
+     * @param duration Time to live.
+     * @param unit Unit of duration.
+     * @throws IllegalArgumentException If duration is not positive.
+     */
+    public ExpiringDictionary(long duration, TimeUnit unit) throws IllegalArgumentException {
+        this(duration, unit, Policy.AFTER_WRITE, Ticker.systemTicker());
+    }
+
+    /**
+     * Create a new ExpiringDictionary.
+     *
+     * @param duration Default time to live.
+     * @param unit Unit of duration.
+     * @param policy Expiry policy.
+     * @param ticker Source of time.
+     * @throws IllegalArgumentException If duration is not positive.
+     * @throws NullPointerException If unit, policy or ticker are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringDictionary(long duration, TimeUnit unit, Policy policy, Ticker ticker)
+            throws IllegalArgumentException, NullPointerException {
+        // Check argument integrity
+        if(unit == null) {
+            throw new NullPointerException("Unit cannot be null.");
+        }
+
+        if(policy == null) {
+            throw new NullPointerException("Policy cannot be null.");
+        }
+
+        if(ticker == null) {
+            throw new NullPointerException("Ticker cannot be null.");
+        }
+
+        this.duration = toNanos(duration, unit);
+        this.policy = policy;
+        this.ticker = ticker;
+        this.origin = ticker.read();
+        this.index = new HashMap<K, Node<K, V>>();
+
+        // Create the bucket sentinels
+        wheel = (Node<K, V>[][]) new Node<?, ?>[BUCKETS.length][];
+
+        for(int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = (Node<K, V>[]) new Node<?, ?>[BUCKETS[level]];
+
+            for(int bucket = 0; bucket < BUCKETS[level]; bucket++) {
+                wheel[level][bucket] = new Node<K, V>(null, null);
+            }
+        }
+    }
+
+    /**
+     * Return the number of entries, expiring any that are due first. Entries
+     * whose bucket has not yet been emptied may still be counted.
+     *
+     * @return The number of entries in the dictionary.
+     */
+    @Override
+    public int size() {
+        advance();
+        return index.size();
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Return the expiry policy.
+     *
+     * @return The expiry policy.
+     */
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * Add a key-value pair with the default time to live.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        return store(key, value, duration);
+    }
+
+    /**
+     * Add a key-value pair with its own time to live.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @param duration Time to live of this entry.
+     * @param unit Unit of duration.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key, value or unit are {@code null}.
+     * @throws IllegalArgumentException If duration is not positive.
+     */
+    public boolean put(K key, V value, long duration, TimeUnit unit) throws NullPointerException, IllegalArgumentException {
+        // Check argument integrity
+        if(unit == null) {
+            throw new NullPointerException("Unit cannot be null.");
+        }
+
+        return store(key, value, toNanos(duration, unit));
+    }
+
+    /**
+     * Return the value associated to a key, if it has not expired.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        advance();
+        Node<K, V> node = live(key);
+
+        if(node == null) {
+            return null;
+        }
+
+        // Start the time to live again
+        if(policy == Policy.AFTER_ACCESS) {
+            unlink(node);
+            node.expiry = expiry(node.duration);
+            schedule(node);
+        }
+
+        return node.value;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        index.clear();
+
+        for(Node<K, V>[] level : wheel) {
+            for(Node<K, V> sentinel : level) {
+                sentinel.next = sentinel;
+                sentinel.prev = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Return a collection of the keys that have not expired.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size());
+
+        // Add the key of each live entry
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values that have not expired.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size());
+
+        // Add the value of each live entry
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if an entry that had not expired was removed.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        advance();
+        Node<K, V> node = live(key);
+
+        if(node == null) {
+            return false;
+        }
+
+        index.remove(key);
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Return an Iterator over the keys that have not expired. Iterating does
+     * not count as access.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        advance();
+        return new ExpiringIterator(index.cursor());
+    }
+
+    /**
+     * Return a cursor over the entries that have not expired. Reading or
+     * writing through the cursor does not start an entry's time to live again.
+     *
+     * @return A cursor positioned before the first entry.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        advance();
+        return new ExpiringCursor(index.cursor());
+    }
+
+    /**
+     * Expire every entry that is due and return the number of entries left.
+     *
+     * @return The number of entries.
+     */
+    public int cleanUp() {
+        return size();
+    }
+
+    /**
+     * Return the number of entries that have expired since the dictionary was created.
+     *
+     * @return The number of expirations.
+     */
+    public long expirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Add or overwrite an entry with a time to live.
+     *
+     * @param key Key.
+     * @param value Value.
+     * @param ttl Time to live in nanoseconds.
+     * @return {@code true}.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    private boolean store(K key, V value, long ttl) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        advance();
+        Node<K, V> node = index.get(key);
+
+        // Overwrite and reschedule an existing entry, expired or not
+        if(node != null) {
+            unlink(node);
+        } else {
+            node = new Node<K, V>(key, value);
+            index.put(key, node);
+        }
+
+        node.value = value;
+        node.duration = ttl;
+        node.expiry = expiry(ttl);
+        schedule(node);
+        return true;
+    }
+
+    /**
+     * Look up an entry, expiring it if it is due but its bucket has not been emptied.
+     *
+     * @param key Key.
+     * @return The entry, or {@code null} if absent or expired.
+     */
+    private Node<K, V> live(K key) {
+        Node<K, V> node = index.get(key);
+
+        if(node != null && node.expiry <= time) {
+            expire(node);
+            return null;
+        }
+
+        return node;
+    }
+
+    /**
+     * Move the wheel up to the current time, emptying every bucket passed.
+     */
+    private void advance() {
+        long previous = time;
+        time = ticker.read() - origin;
+
+        for(int level = 0; level < BUCKETS.length; level++) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long delta = (time >>> SHIFTS[level]) - previousTicks;
+
+            // Coarser levels cannot have moved if this one has not
+            if(delta <= 0) {
+                break;
+            }
+
+            empty(level, previousTicks, delta);
+        }
+    }
+
+    /**
+     * Empty the buckets of a level that time has passed, expiring or
+     * rescheduling their entries.
+     *
+     * @param level Level of the wheel.
+     * @param previousTicks Ticks of the level before advancing.
+     * @param delta Number of ticks advanced.
+     */
+    private void empty(int level, long previousTicks, long delta) {
+        Node<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int start = (int) (previousTicks & mask);
+        int steps = (int) Math.min(delta + 1, buckets.length);
+
+        for(int i = start; i < start + steps; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.next;
+
+            // Detach the whole bucket first, since entries may be filed back into it
+            sentinel.next = sentinel;
+            sentinel.prev = sentinel;
+
+            while(node != sentinel) {
+                Node<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+
+                if(node.expiry <= time) {
+                    index.remove(node.key);
+                    expirationCount++;
+                } else {
+                    schedule(node);
+                }
+
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * File an entry in the bucket of the finest level that spans its remaining time.
+     *
+     * @param node Entry.
+     */
+    private void schedule(Node<K, V> node) {
+        long remaining = node.expiry - time;
+
+        for(int level = 0; level < BUCKETS.length - 1; level++) {
+            if(remaining < (1L << SHIFTS[level + 1])) {
+                int bucket = (int) ((node.expiry >>> SHIFTS[level]) & (BUCKETS[level] - 1));
+                link(wheel[level][bucket], node);
+                return;
+            }
+        }
+
+        link(wheel[BUCKETS.length - 1][0], node);
+    }
+
+    /**
+     * Remove an expired entry.
+     *
+     * @param node Entry.
+     */
+    private void expire(Node<K, V> node) {
+        index.remove(node.key);
+        unlink(node);
+        expirationCount++;
+    }
+
+    /**
+     * Return the expiry time of an entry starting now.
+     *
+     * @param ttl Time to live in nanoseconds.
+     * @return The expiry time.
+     */
+    private long expiry(long ttl) {
+        return ttl > Long.MAX_VALUE - time ? Long.MAX_VALUE : time + ttl;
+    }
+
+    /**
+     * Link an entry at the end of a bucket.
+     *
+     * @param sentinel Bucket sentinel.
+     * @param node Entry.
+     */
+    private static <K, V> void link(Node<K, V> sentinel, Node<K, V> node) {
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * Unlink an entry from its bucket.
+     *
+     * @param node Entry.
+     */
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Convert a positive duration to nanoseconds.
+     *
+     * @param duration Duration.
+     * @param unit Unit of duration.
+     * @return The duration in nanoseconds, saturating at {@code Long.MAX_VALUE}.
+     * @throws IllegalArgumentException If duration is not positive.
+     */
+    private static long toNanos(long duration, TimeUnit unit) throws IllegalArgumentException {
+        if(duration <= 0) {
+            throw new IllegalArgumentException("Illegal argument: Duration must be positive.");
+        }
+
+        return unit.toNanos(duration);
+    }
+
+    /**
+     * An Iterator over the keys that have not expired.
+     */
+    private class ExpiringIterator implements Iterator<K> {
+
+        /**
+         * Cursor over the index.
+         */
+        private final EntryCursor<K, Node<K, V>> entries;
+
+        /**
+         * Whether the cursor is on the next key to return.
+         */
+        private boolean ready;
+
+        /**
+         * Create a new ExpiringIterator.
+         *
+         * @param entries Cursor over the index.
+         */
+        public ExpiringIterator(EntryCursor<K, Node<K, V>> entries) {
+            this.entries = entries;
+            this.ready = seek();
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return ready;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public K next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!ready) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            K key = entries.key();
+            ready = seek();
+            return key;
+        }
+
+        /**
+         * Move the cursor to the next entry that has not expired.
+         *
+         * @return {@code true} if there is such an entry.
+         */
+        private boolean seek() {
+            while(entries.advance()) {
+                if(entries.value().expiry > time) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * A cursor over the entries that have not expired.
+     */
+    private class ExpiringCursor implements EntryCursor<K, V> {
+
+        /**
+         * Cursor over the index.
+         */
+        private final EntryCursor<K, Node<K, V>> entries;
+
+        /**
+         * Create a new ExpiringCursor.
+         *
+         * @param entries Cursor over the index.
+         */
+        public ExpiringCursor(EntryCursor<K, Node<K, V>> entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Move to the next entry that has not expired.
+         *
+         * @return {@code true} if there is an entry to read.
+         */
+        @Override
+        public boolean advance() {
+            while(entries.advance()) {
+                if(entries.value().expiry > time) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            return entries.key();
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            return entries.value().value;
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            Node<K, V> node = entries.value();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            node.value = value;
+        }
+    }
+
+    /**
+     * An entry, linked into one bucket of the wheel.
+     */
+    private static final class Node<K, V> {
+        // Key, value, time to live, expiry time and bucket links
+        private final K key;
+        private V value;
+        private long duration;
+        private long expiry;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        /**
+         * Create a new Node. A node created with no key is a bucket sentinel.
+         *
+         * @param key Key.
+         * @param value Value.
+         */
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.prev = this;
+            this.next = this;
+        }
+    }
+}
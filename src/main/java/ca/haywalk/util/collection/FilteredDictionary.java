@@ -0,0 +1,305 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A dictionary that checks a membership filter before looking a key up.
+ *
+ * Keys the filter has never seen are answered without touching the wrapped
+ * dictionary, so a miss costs one filter probe instead of a full lookup.
+ * The filter is kept in step as keys are added and removed through this
+ * dictionary; changes made to the wrapped dictionary directly are not seen.
+ *
+ * With a {@link BloomFilter}, removed keys leave their bits set and only
+ * raise the false positive rate. If the filter becomes full, every lookup
+ * goes to the wrapped dictionary until {@link #clear()} is called.
+ *
+ * Keys must have value-based hash codes for the filter to be of any use.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class FilteredDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * The wrapped dictionary.
+     */
+    private final Dictionary<K, V> dictionary;
+
+    /**
+     * Filter of the keys in the dictionary.
+     */
+    private final MembershipFilter<? super K> filter;
+
+    /**
+     * Whether every key in the dictionary is in the filter.
+     */
+    private boolean trusted;
+
+    /**
+     * Create a new FilteredDictionary, adding the wrapped dictionary's keys to the filter.
+     *
+     * @param dictionary Dictionary to wrap.
+     * @param filter Filter to check keys against.
+     * @throws NullPointerException If dictionary or filter are {@code null}.
+     */
+    public FilteredDictionary(Dictionary<K, V> dictionary, MembershipFilter<? super K> filter) throws NullPointerException {
+        // Check argument integrity
+        if(dictionary == null) {
+            throw new NullPointerException("Cannot wrap null dictionary.");
+        }
+
+        if(filter == null) {
+            throw new NullPointerException("Cannot use null filter.");
+        }
+
+        this.dictionary = dictionary;
+        this.filter = filter;
+        trusted = true;
+
+        // Add the keys already present
+        for(K key : dictionary) {
+            trusted &= filter.add(key);
+        }
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return dictionary.size();
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return dictionary.isEmpty();
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        int before = dictionary.size();
+        boolean result = dictionary.put(key, value);
+        track(key, before);
+        return result;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        // Skip the lookup for keys never added
+        if(trusted && !filter.mightContain(key)) {
+            return null;
+        }
+
+        return dictionary.get(key);
+    }
+
+    /**
+     * Clear the dictionary and the filter.
+     */
+    @Override
+    public void clear() {
+        dictionary.clear();
+        filter.clear();
+        trusted = true;
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        return dictionary.keys();
+    }
+
+    /**
+     * Return a collection of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        return dictionary.values();
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // A key never added cannot be removed
+        if(trusted && !filter.mightContain(key)) {
+            return false;
+        }
+
+        if(dictionary.remove(key)) {
+            filter.remove(key);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Add a pair if the key is absent, with a single lookup in the wrapped dictionary.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The value already associated with the key, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public V putIfAbsent(K key, V value) throws NullPointerException {
+        int before = dictionary.size();
+        V result = dictionary.putIfAbsent(key, value);
+        track(key, before);
+        return result;
+    }
+
+    /**
+     * Replace the value of a key only if it is present.
+     *
+     * @param key Key to replace.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public V replace(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(trusted && !filter.mightContain(key)) {
+            return null;
+        }
+
+        return dictionary.replace(key, value);
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if absent.
+     *
+     * @param key Key to look up.
+     * @param mappingFunction Function computing a value for an absent key.
+     * @return The present or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        int before = dictionary.size();
+        V result = dictionary.computeIfAbsent(key, mappingFunction);
+        track(key, before);
+        return result;
+    }
+
+    /**
+     * Compute a new value for a key from its current value.
+     *
+     * @param key Key to compute.
+     * @param remappingFunction Function from the key and current value, or {@code null}, to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        int before = dictionary.size();
+        V result = dictionary.compute(key, remappingFunction);
+        track(key, before);
+        return result;
+    }
+
+    /**
+     * Merge a value into the value of a key.
+     *
+     * @param key Key to merge.
+     * @param value Value to add if the key is absent.
+     * @param remappingFunction Function from the current and given values to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        int before = dictionary.size();
+        V result = dictionary.merge(key, value, remappingFunction);
+        track(key, before);
+        return result;
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return dictionary.iterator();
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return dictionary.cursor();
+    }
+
+    /**
+     * Bring the filter in line with a change to the dictionary's size.
+     *
+     * @param key Key that was changed.
+     * @param before Size before the change.
+     */
+    private void track(K key, int before) {
+        int after = dictionary.size();
+
+        if(after > before) {
+            trusted &= filter.add(key);
+        } else if(after < before) {
+            filter.remove(key);
+        }
+    }
+}
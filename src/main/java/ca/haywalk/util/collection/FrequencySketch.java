@@ -0,0 +1,146 @@
+package ca.haywalk.util.collection;
+
+/**
+ * A probabilistic estimate of how often keys have been seen recently.
+ *
+ * A count-min sketch of 4-bit counters packed sixteen to a {@code long}.
+ * Every key maps to four counters and its estimate is the smallest of
+ * them. Once enough increments have been recorded, every counter is
+ * halved so that the sketch favours recent history.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+class FrequencySketch {
+
+    /**
+     * Largest value a counter can hold.
+     */
+    private static final int MAXIMUM_COUNT = 15;
+
+    /**
+     * Mask clearing the top bit of every counter after a shift.
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * Seeds for the four counter positions of a key.
+     */
+    private static final int[] SEEDS = {0x97cb3127, 0xb9ee27a7, 0xe1b8ed8d, 0x8f7c9e5b};
+
+    /**
+     * Packed counters.
+     */
+    private final long[] table;
+
+    /**
+     * Number of increments after which counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * Number of increments since the last halving.
+     */
+    private int additions;
+
+    /**
+     * Create a new FrequencySketch sized for a number of keys.
+     *
+     * @param size Number of keys expected to be tracked.
+     */
+    public FrequencySketch(int size) {
+        // Use at least one counter per expected key, rounded to a power of two
+        int words = 1;
+
+        while(words * 16 < size && words < (1 << 26)) {
+            words <<= 1;
+        }
+
+        table = new long[words];
+        // Sample ten events per key, computed in long so large sizes cannot overflow
+        sampleSize = (int) Math.min(Math.max(10L * size, 16), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the estimated recent frequency of a key.
+     *
+     * @param key Key to estimate.
+     * @return The estimate, from 0 to 15.
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+
+        // Take the minimum of the key's counters
+        for(int seed : SEEDS) {
+            int position = position(hash, seed);
+            int count = (int) ((table[position >>> 4] >>> ((position & 15) << 2)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Record an occurrence of a key.
+     *
+     * @param key Key seen.
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+
+        // Increment each of the key's counters that is not saturated
+        for(int seed : SEEDS) {
+            int position = position(hash, seed);
+            int shift = (position & 15) << 2;
+            int word = position >>> 4;
+
+            if(((table[word] >>> shift) & 0xF) < MAXIMUM_COUNT) {
+                table[word] += 1L << shift;
+                added = true;
+            }
+        }
+
+        // Age the counters once enough increments have been recorded
+        if(added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halve every counter.
+     */
+    private void reset() {
+        for(int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions /= 2;
+    }
+
+    /**
+     * Return the counter position of a hash for a given seed.
+     *
+     * @param hash Spread hash of the key.
+     * @param seed Seed.
+     * @return A counter index.
+     */
+    private int position(int hash, int seed) {
+        int h = (hash ^ seed) * 0x9e3779b9;
+        h ^= h >>> 15;
+        return h & ((table.length << 4) - 1);
+    }
+
+    /**
+     * Mix a hash code.
+     *
+     * @param hash Hash code.
+     * @return The mixed hash.
+     */
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
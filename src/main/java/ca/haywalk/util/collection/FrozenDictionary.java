@@ -0,0 +1,570 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable dictionary over a minimal perfect hash of its keys.
+ *
+ * Keys are spread over buckets by their hash codes. Buckets are placed
+ * largest first: for each one a displacement seed is searched for that
+ * sends all of its keys to free slots, in the style of hash-and-displace
+ * (CHD). Buckets holding a single key are placed straight into the
+ * remaining free slots. The slot table is exactly as long as the number of
+ * keys, and a lookup costs two hash mixes, one array read and one
+ * {@code equals()} call.
+ *
+ * Keys that share a hash code with another key cannot be separated by any
+ * seed, so they are kept in a small overflow {@link ArrayMap} instead.
+ * Keys must not change their hash codes once frozen.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public final class FrozenDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Largest displacement seed tried before a bucket is sent to the overflow.
+     */
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    /**
+     * Seed per bucket: positive for a displacement, negative for a direct
+     * slot ({@code -slot - 1}), zero for an empty bucket.
+     */
+    private final int[] seeds;
+
+    /**
+     * Keys by slot. {@code null} only for slots left free by overflowed buckets.
+     */
+    private final Object[] keys;
+
+    /**
+     * Values by slot.
+     */
+    private final Object[] values;
+
+    /**
+     * Keys that could not be perfectly hashed, or {@code null} if none.
+     */
+    private final ArrayMap<K, V> overflow;
+
+    /**
+     * Number of pairs.
+     */
+    private final int size;
+
+    /**
+     * Create a FrozenDictionary from built tables.
+     *
+     * @param seeds Bucket seeds.
+     * @param keys Keys by slot.
+     * @param values Values by slot.
+     * @param overflow Overflow pairs, or {@code null}.
+     * @param size Number of pairs.
+     */
+    private FrozenDictionary(int[] seeds, Object[] keys, Object[] values, ArrayMap<K, V> overflow, int size) {
+        this.seeds = seeds;
+        this.keys = keys;
+        this.values = values;
+        this.overflow = overflow;
+        this.size = size;
+    }
+
+    /**
+     * Build a FrozenDictionary holding the pairs of another dictionary.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @param dictionary Dictionary to copy.
+     * @return A new FrozenDictionary.
+     * @throws NullPointerException If dictionary is {@code null} or holds {@code null} values.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> FrozenDictionary<K, V> of(Dictionary<? extends K, ? extends V> dictionary) throws NullPointerException {
+        // Check argument integrity
+        if(dictionary == null) {
+            throw new NullPointerException("Cannot freeze null dictionary.");
+        }
+
+        // Return the dictionary itself if it is already frozen
+        if(dictionary instanceof FrozenDictionary) {
+            return (FrozenDictionary<K, V>) dictionary;
+        }
+
+        // Copy the pairs out and count how many keys share each hash code
+        Object[] pairKeys = new Object[dictionary.size()];
+        Object[] pairValues = new Object[dictionary.size()];
+        IntIntDictionary hashCounts = new IntIntDictionary(dictionary.size());
+        EntryCursor<? extends K, ? extends V> cursor = dictionary.cursor();
+        int total = 0;
+
+        while(cursor.advance()) {
+            if(cursor.value() == null) {
+                throw new NullPointerException("Cannot freeze null value.");
+            }
+
+            if(total == pairKeys.length) {
+                pairKeys = Arrays.copyOf(pairKeys, 2 * total + 1);
+                pairValues = Arrays.copyOf(pairValues, 2 * total + 1);
+            }
+
+            pairKeys[total] = cursor.key();
+            pairValues[total] = cursor.value();
+            hashCounts.addTo(pairKeys[total].hashCode(), 1);
+            total++;
+        }
+
+        // Send keys with shared hash codes to the overflow, packing the rest at the front
+        ArrayMap<K, V> overflow = null;
+        int[] hashes = new int[total];
+        int perfect = 0;
+
+        for(int i = 0; i < total; i++) {
+            int hashCode = pairKeys[i].hashCode();
+
+            if(hashCounts.get(hashCode) > 1) {
+                if(overflow == null) {
+                    overflow = new ArrayMap<K, V>();
+                }
+
+                overflow.put((K) pairKeys[i], (V) pairValues[i]);
+            } else {
+                pairKeys[perfect] = pairKeys[i];
+                pairValues[perfect] = pairValues[i];
+                hashes[perfect++] = hashCode;
+            }
+        }
+
+        // Place the rest
+        int[] seeds = new int[perfect];
+        Object[] keys = new Object[perfect];
+        Object[] values = new Object[perfect];
+        overflow = place(hashes, pairKeys, pairValues, perfect, seeds, keys, values, overflow);
+        return new FrozenDictionary<K, V>(seeds, keys, values, overflow, total);
+    }
+
+    /**
+     * Return this dictionary, which is already frozen.
+     *
+     * @return This dictionary.
+     */
+    @Override
+    public FrozenDictionary<K, V> freeze() {
+        return this;
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Unsupported: FrozenDictionary is immutable.
+     *
+     * @param key Key.
+     * @param value Value.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean put(K key, V value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("FrozenDictionary is immutable.");
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        // Find the key's one possible slot
+        if(keys.length > 0) {
+            int hashCode = key.hashCode();
+            int seed = seeds[reduce(mix(hashCode, 0), seeds.length)];
+            int slot = seed < 0 ? -seed - 1 : reduce(mix(hashCode, seed), keys.length);
+
+            if(key.equals(keys[slot])) {
+                return (V) values[slot];
+            }
+        }
+
+        // Otherwise it can only be in the overflow
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    /**
+     * Unsupported: FrozenDictionary is immutable.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("FrozenDictionary is immutable.");
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size);
+
+        // Add the key of each pair
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size);
+
+        // Add the value of each pair
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Unsupported: FrozenDictionary is immutable.
+     *
+     * @param key Key.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean remove(K key) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("FrozenDictionary is immutable.");
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return keys().iterator();
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary. The cursor's
+     * {@link EntryCursor#setValue(Object)} is unsupported.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new FrozenDictionaryCursor();
+    }
+
+    /**
+     * Place perfectly hashable keys into slots, largest bucket first.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @param hashes Hash codes of the keys.
+     * @param pairKeys Keys.
+     * @param pairValues Values.
+     * @param count Number of keys.
+     * @param seeds Bucket seeds to fill.
+     * @param keys Slot keys to fill.
+     * @param values Slot values to fill.
+     * @param overflow Overflow so far, or {@code null}.
+     * @return The overflow, with any bucket that could not be placed added.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K, V> ArrayMap<K, V> place(int[] hashes, Object[] pairKeys, Object[] pairValues,
+            int count, int[] seeds, Object[] keys, Object[] values, ArrayMap<K, V> overflow) {
+        // Group the keys by bucket with a counting sort
+        int[] bucketStart = new int[count + 1];
+
+        for(int i = 0; i < count; i++) {
+            bucketStart[reduce(mix(hashes[i], 0), count) + 1]++;
+        }
+
+        int largest = 0;
+
+        for(int b = 0; b < count; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+
+        int[] members = new int[count];
+        int[] fill = new int[count];
+
+        for(int i = 0; i < count; i++) {
+            int bucket = reduce(mix(hashes[i], 0), count);
+            members[bucketStart[bucket] + fill[bucket]++] = i;
+        }
+
+        // Order the buckets by size, largest first, with another counting sort
+        int[] sizeStart = new int[largest + 2];
+
+        for(int b = 0; b < count; b++) {
+            sizeStart[largest - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+        }
+
+        for(int s = 0; s <= largest; s++) {
+            sizeStart[s + 1] += sizeStart[s];
+        }
+
+        int[] order = new int[count];
+
+        for(int b = 0; b < count; b++) {
+            order[sizeStart[largest - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+        }
+
+        // Find a displacement seed for each bucket of two or more keys
+        boolean[] taken = new boolean[count];
+        int[] slots = new int[Math.max(largest, 1)];
+        int next = 0;
+
+        for(; next < count; next++) {
+            int bucket = order[next];
+            int start = bucketStart[bucket];
+            int length = bucketStart[bucket + 1] - start;
+
+            if(length < 2) {
+                break;
+            }
+
+            int seed = 1;
+
+            while(seed < MAX_DISPLACEMENT && !tryPlace(hashes, members, start, length, seed, taken, slots)) {
+                seed++;
+            }
+
+            // Give up on a bucket that will not place, leaving it to the overflow
+            if(seed == MAX_DISPLACEMENT) {
+                if(overflow == null) {
+                    overflow = new ArrayMap<K, V>();
+                }
+
+                for(int i = start; i < start + length; i++) {
+                    overflow.put((K) pairKeys[members[i]], (V) pairValues[members[i]]);
+                }
+
+                continue;
+            }
+
+            seeds[bucket] = seed;
+
+            for(int i = 0; i < length; i++) {
+                keys[slots[i]] = pairKeys[members[start + i]];
+                values[slots[i]] = pairValues[members[start + i]];
+            }
+        }
+
+        // Put each single-key bucket straight into a free slot
+        int free = 0;
+
+        for(; next < count; next++) {
+            int bucket = order[next];
+
+            if(bucketStart[bucket + 1] == bucketStart[bucket]) {
+                break;
+            }
+
+            while(taken[free]) {
+                free++;
+            }
+
+            int member = members[bucketStart[bucket]];
+            taken[free] = true;
+            seeds[bucket] = -free - 1;
+            keys[free] = pairKeys[member];
+            values[free] = pairValues[member];
+        }
+
+        return overflow;
+    }
+
+    /**
+     * Try to place a bucket's keys with a seed, marking their slots taken on success.
+     *
+     * @param hashes Hash codes of the keys.
+     * @param members Key indices grouped by bucket.
+     * @param start Start of the bucket in members.
+     * @param length Number of keys in the bucket.
+     * @param seed Displacement seed to try.
+     * @param taken Slots already taken.
+     * @param slots Filled with the slot of each key on success.
+     * @return {@code true} if every key landed in a distinct free slot.
+     */
+    private static boolean tryPlace(int[] hashes, int[] members, int start, int length, int seed, boolean[] taken, int[] slots) {
+        for(int i = 0; i < length; i++) {
+            int slot = reduce(mix(hashes[members[start + i]], seed), taken.length);
+
+            // Undo the slots claimed so far if this one is unavailable
+            if(taken[slot]) {
+                for(int j = 0; j < i; j++) {
+                    taken[slots[j]] = false;
+                }
+
+                return false;
+            }
+
+            taken[slot] = true;
+            slots[i] = slot;
+        }
+
+        return true;
+    }
+
+    /**
+     * Mix a hash code with a seed.
+     *
+     * @param hashCode Hash code.
+     * @param seed Seed.
+     * @return The mixed hash.
+     */
+    private static int mix(int hashCode, int seed) {
+        int h = hashCode ^ (seed * 0x9e3779b9);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Map a hash onto a range without division.
+     *
+     * @param hash Hash.
+     * @param range Size of the range.
+     * @return A value from 0 to range - 1.
+     */
+    private static int reduce(int hash, int range) {
+        return (int) (((hash & 0xffffffffL) * range) >>> 32);
+    }
+
+    /**
+     * A cursor over the slots, then the overflow.
+     */
+    private class FrozenDictionaryCursor implements EntryCursor<K, V> {
+
+        /**
+         * The current slot.
+         */
+        private int slot;
+
+        /**
+         * Cursor over the overflow once the slots are exhausted, or {@code null}.
+         */
+        private EntryCursor<K, V> overflowCursor;
+
+        /**
+         * Create a new FrozenDictionaryCursor.
+         */
+        public FrozenDictionaryCursor() {
+            slot = -1;
+        }
+
+        @Override
+        public boolean advance() {
+            // Find the next filled slot
+            while(slot < keys.length) {
+                slot++;
+
+                if(slot < keys.length && keys[slot] != null) {
+                    return true;
+                }
+            }
+
+            // Then walk the overflow
+            if(overflow == null) {
+                return false;
+            }
+
+            if(overflowCursor == null) {
+                overflowCursor = overflow.cursor();
+            }
+
+            return overflowCursor.advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K key() throws NoSuchElementException {
+            if(overflowCursor != null) {
+                return overflowCursor.key();
+            }
+
+            checkPosition();
+            return (K) keys[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            if(overflowCursor != null) {
+                return overflowCursor.value();
+            }
+
+            checkPosition();
+            return (V) values[slot];
+        }
+
+        @Override
+        public void setValue(V value) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("FrozenDictionary is immutable.");
+        }
+
+        /**
+         * Check that the cursor is on a slot.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(slot < 0 || slot >= keys.length) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
@@ -0,0 +1,849 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A hash table implementation of the Dictionary interface.
+ *
+ * Uses open addressing with Robin Hood linear probing over flat
+ * arrays. Deletion shifts later entries of the probe run backwards
+ * instead of leaving tombstones, so lookups never have to skip over
+ * deleted slots.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class HashMap<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Default load factor.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Largest supported table capacity.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Hash code marking an empty slot.
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Maximum fraction of slots that may be occupied.
+     */
+    private final float loadFactor;
+
+    /**
+     * Number of pairs in the dictionary.
+     */
+    private int size;
+
+    /**
+     * Number of pairs allowed before the table grows.
+     */
+    private int threshold;
+
+    /**
+     * Stored hash codes. A slot is empty if its hash is {@code EMPTY}.
+     */
+    private int[] hashes;
+
+    /**
+     * Key array.
+     */
+    private Object[] keys;
+
+    /**
+     * Value array.
+     */
+    private Object[] values;
+
+    /**
+     * Create a new HashMap.
+     */
+    public HashMap() {
+        this(DEFAULT_SIZE, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a HashMap with a given initial size.
+     *
+     * @param size Expected number of pairs.
+     * @throws IllegalArgumentException If size is negative.
+     */
+    public HashMap(int size) throws IllegalArgumentException {
+        this(size, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Create a HashMap with a given initial size and load factor.
+     *
+     * @param size Expected number of pairs.
+     * @param loadFactor Maximum fraction of the table to fill before resizing.
+     * @throws IllegalArgumentException If size is negative or load factor is not in (0, 1).
+     */
+    public HashMap(int size, float loadFactor) throws IllegalArgumentException {
+        // Check argument integrity
+        if(size < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative size.");
+        }
+
+        if(!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Illegal argument: Load factor must be between 0 and 1.");
+        }
+
+        // Create the table
+        this.loadFactor = loadFactor;
+        allocate(capacityFor(size, loadFactor));
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Overwrite the value if the key is already present
+        int hash = hash(key);
+        int index = indexOfKey(key, hash);
+
+        if(index != -1) {
+            values[index] = value;
+            return true;
+        }
+
+        // Grow the table if necessary
+        if(size >= threshold) {
+            increaseTableSize();
+        }
+
+        // Insert the new pair
+        insert(hash, key, value);
+        size++;
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        // Look up the key
+        int index = indexOfKey(key, hash(key));
+
+        // Return the value if found, otherwise null
+        if(index != -1) {
+            return (V) values[index];
+        }
+
+        return null;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        // Empty every slot so the old pairs can be collected
+        for(int i = 0; i < hashes.length; i++) {
+            hashes[i] = EMPTY;
+            keys[i] = null;
+            values[i] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size);
+
+        // Add the key in each occupied slot
+        for(int i = 0; i < hashes.length; i++) {
+            if(hashes[i] != EMPTY) {
+                keyList.add((K) keys[i]);
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size);
+
+        // Add the value in each occupied slot
+        for(int i = 0; i < hashes.length; i++) {
+            if(hashes[i] != EMPTY) {
+                valueList.add((V) values[i]);
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // Look up the key's slot
+        int index = indexOfKey(key, hash(key));
+
+        // Return false if not found
+        if(index == -1) {
+            return false;
+        }
+
+        // Remove the pair and return true
+        deleteSlot(index);
+        size--;
+        return true;
+    }
+
+    /**
+     * Add a key-value pair unless the key is already present.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V putIfAbsent(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Return the existing value, or insert the pair
+        int hash = hash(key);
+        int index = indexOfKey(key, hash);
+
+        if(index != -1) {
+            return (V) values[index];
+        }
+
+        store(index, hash, key, value);
+        return null;
+    }
+
+    /**
+     * Replace the value of a key only if the key is present.
+     *
+     * @param key Key to update.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V replace(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot replace null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Swap in the new value if the key is present
+        int index = indexOfKey(key, hash(key));
+
+        if(index == -1) {
+            return null;
+        }
+
+        V previous = (V) values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if the key is absent.
+     * The function must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        // Return the existing value if there is one
+        int hash = hash(key);
+        int index = indexOfKey(key, hash);
+
+        if(index != -1) {
+            return (V) values[index];
+        }
+
+        // Otherwise compute one and insert it
+        V value = mappingFunction.apply(key);
+
+        if(value != null) {
+            store(index, hash, key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Compute a new value for a key from its current value. The function
+     * must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot compute null key.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Compute from the current value, then store or remove the result
+        int hash = hash(key);
+        int index = indexOfKey(key, hash);
+        V newValue = remappingFunction.apply(key, index != -1 ? (V) values[index] : null);
+        storeOrRemove(index, hash, key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Add a value for a key, or combine it with the current value if the key
+     * is present. The function must not modify the dictionary.
+     *
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot merge null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        // Combine with the current value, then store or remove the result
+        int hash = hash(key);
+        int index = indexOfKey(key, hash);
+        V newValue = index == -1 ? value : remappingFunction.apply((V) values[index], value);
+        storeOrRemove(index, hash, key, newValue);
+        return newValue;
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new HashMapIterator();
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary, reading the table in place.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new HashMapCursor();
+    }
+
+    /**
+     * Compute the hash of a key. Never returns {@code EMPTY}.
+     *
+     * @param key Key to hash.
+     * @return The key's spread hash code.
+     */
+    private static int hash(Object key) {
+        // Spread the high bits downwards since the table is indexed by the low bits
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+
+        // Reserve the empty marker
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     * Return the table capacity needed to hold a number of pairs.
+     *
+     * @param size Number of pairs.
+     * @param loadFactor Load factor.
+     * @return A power of two capacity.
+     */
+    private static int capacityFor(int size, float loadFactor) {
+        // Find the smallest power of two that fits under the load factor
+        long needed = (long) Math.ceil(size / (double) loadFactor) + 1;
+        int capacity = 2;
+
+        while(capacity < needed && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Allocate empty arrays with a given capacity.
+     *
+     * @param capacity Table capacity, a power of two.
+     */
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    /**
+     * Return the distance of a slot from a hash's home slot.
+     *
+     * @param hash Hash code.
+     * @param index Slot index.
+     * @return The probe distance.
+     */
+    private int probeDistance(int hash, int index) {
+        int mask = hashes.length - 1;
+        return (index - (hash & mask)) & mask;
+    }
+
+    /**
+     * Given a key, find its slot in the table.
+     *
+     * @param key Key to find.
+     * @param hash The key's hash.
+     * @return The key's slot index, or -1 if not found.
+     */
+    private int indexOfKey(Object key, int hash) {
+        int mask = hashes.length - 1;
+        int index = hash & mask;
+
+        // Probe until an empty slot, or until we pass the point where Robin Hood
+        // insertion would have placed the key
+        for(int distance = 0; ; distance++) {
+            int slotHash = hashes[index];
+
+            if(slotHash == EMPTY || probeDistance(slotHash, index) < distance) {
+                return -1;
+            }
+
+            if(slotHash == hash && keys[index].equals(key)) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Insert a pair whose key is known to be absent. Assumes there is room.
+     *
+     * @param hash The key's hash.
+     * @param key Key to insert.
+     * @param value Value to insert.
+     */
+    private void insert(int hash, Object key, Object value) {
+        int mask = hashes.length - 1;
+        int index = hash & mask;
+        int distance = 0;
+
+        while(true) {
+            int slotHash = hashes[index];
+
+            // Claim an empty slot
+            if(slotHash == EMPTY) {
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+                return;
+            }
+
+            // Take the slot from an entry that is closer to home, and carry that
+            // entry on down the probe run instead
+            int slotDistance = probeDistance(slotHash, index);
+
+            if(slotDistance < distance) {
+                Object slotKey = keys[index];
+                Object slotValue = values[index];
+
+                hashes[index] = hash;
+                keys[index] = key;
+                values[index] = value;
+
+                hash = slotHash;
+                key = slotKey;
+                value = slotValue;
+                distance = slotDistance;
+            }
+
+            index = (index + 1) & mask;
+            distance++;
+        }
+    }
+
+    /**
+     * Empty a slot, shifting the rest of its probe run back by one.
+     *
+     * @param index Slot to empty.
+     */
+    private void deleteSlot(int index) {
+        int mask = hashes.length - 1;
+        int next = (index + 1) & mask;
+
+        // Shift entries back until an empty slot or an entry already in its home slot
+        while(hashes[next] != EMPTY && probeDistance(hashes[next], next) != 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+
+            index = next;
+            next = (next + 1) & mask;
+        }
+
+        // Clear the final slot
+        hashes[index] = EMPTY;
+        keys[index] = null;
+        values[index] = null;
+    }
+
+    /**
+     * Store a value at a slot found by {@link #indexOfKey(Object, int)},
+     * inserting a new pair if the slot is -1.
+     *
+     * @param index Slot of the key, or -1.
+     * @param hash The key's hash.
+     * @param key Key.
+     * @param value Value to store.
+     */
+    private void store(int index, int hash, Object key, Object value) {
+        // Overwrite in place if the key is present
+        if(index != -1) {
+            values[index] = value;
+            return;
+        }
+
+        // Grow the table if necessary, then insert
+        if(size >= threshold) {
+            increaseTableSize();
+        }
+
+        insert(hash, key, value);
+        size++;
+    }
+
+    /**
+     * Store a value at a slot found by {@link #indexOfKey(Object, int)}, or
+     * remove the pair there if the value is {@code null}.
+     *
+     * @param index Slot of the key, or -1.
+     * @param hash The key's hash.
+     * @param key Key.
+     * @param value Value to store, or {@code null}.
+     */
+    private void storeOrRemove(int index, int hash, Object key, Object value) {
+        if(value != null) {
+            store(index, hash, key, value);
+        } else if(index != -1) {
+            deleteSlot(index);
+            size--;
+        }
+    }
+
+    /**
+     * Double the table capacity and reinsert every pair.
+     *
+     * @throws IllegalStateException If the table is already at maximum capacity.
+     */
+    private void increaseTableSize() throws IllegalStateException {
+        // Refuse to grow past the maximum
+        if(hashes.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("HashMap is full.");
+        }
+
+        // Keep the old arrays
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        // Create the new arrays and reinsert each pair
+        allocate(oldHashes.length * 2);
+
+        for(int i = 0; i < oldHashes.length; i++) {
+            if(oldHashes[i] != EMPTY) {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * An Iterator over the dictionary's keys.
+     */
+    private class HashMapIterator implements Iterator<K> {
+
+        /**
+         * The index of the next occupied slot.
+         */
+        private int index;
+
+        /**
+         * Create a new HashMapIterator.
+         */
+        public HashMapIterator() {
+            index = advance(0);
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return index < hashes.length;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public K next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            // Return the key and move to the next occupied slot
+            K key = (K) keys[index];
+            index = advance(index + 1);
+            return key;
+        }
+
+        /**
+         * Find the first occupied slot at or after an index.
+         *
+         * @param from Index to start at.
+         * @return The occupied slot, or the table length if there is none.
+         */
+        private int advance(int from) {
+            while(from < hashes.length && hashes[from] == EMPTY) {
+                from++;
+            }
+
+            return from;
+        }
+    }
+
+    /**
+     * A cursor over the dictionary's pairs.
+     */
+    private class HashMapCursor implements EntryCursor<K, V> {
+
+        /**
+         * The current slot.
+         */
+        private int index;
+
+        /**
+         * Create a new HashMapCursor.
+         */
+        public HashMapCursor() {
+            index = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            // Find the next occupied slot
+            while(index < hashes.length) {
+                index++;
+
+                if(index < hashes.length && hashes[index] != EMPTY) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return (K) keys[index];
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return (V) values[index];
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            values[index] = value;
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(index < 0 || index >= hashes.length || hashes[index] == EMPTY) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
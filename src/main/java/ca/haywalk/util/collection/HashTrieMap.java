@@ -0,0 +1,1104 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable dictionary implemented as a hash array mapped trie.
+ *
+ * Each level of the trie consumes five bits of a key's hash, so a lookup
+ * visits at most seven nodes. {@link #with(Object, Object)} and
+ * {@link #without(Object)} return new versions that share every node off
+ * the changed path with the original, so keeping old versions around as
+ * snapshots costs nothing until they diverge. Keys with identical hashes
+ * are kept together in a collision node at the bottom of the trie.
+ *
+ * The mutating methods of {@link Dictionary} throw
+ * {@link UnsupportedOperationException}. Use a {@link Builder} to load many
+ * pairs at once: it edits nodes it created itself in place rather than
+ * copying them on every change.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public final class HashTrieMap<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Number of hash bits consumed per level.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * Mask selecting one level's bits.
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Deepest possible cursor stack: seven bitmap levels and a collision node.
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * The empty dictionary.
+     */
+    private static final HashTrieMap<Object, Object> EMPTY = new HashTrieMap<Object, Object>(null, 0);
+
+    /**
+     * Root node, or {@code null} if empty.
+     */
+    private final Node root;
+
+    /**
+     * Number of pairs.
+     */
+    private final int size;
+
+    /**
+     * Create a HashTrieMap over a root node.
+     *
+     * @param root Root node, or {@code null}.
+     * @param size Number of pairs.
+     */
+    private HashTrieMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return the empty HashTrieMap.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return The empty dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> HashTrieMap<K, V> empty() {
+        return (HashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Return a new, empty Builder.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return A new Builder.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<K, V>(null, 0);
+    }
+
+    /**
+     * Return a HashTrieMap holding the pairs of another dictionary.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @param dictionary Dictionary to copy.
+     * @return A new HashTrieMap.
+     * @throws NullPointerException If dictionary is {@code null} or holds {@code null} values.
+     */
+    public static <K, V> HashTrieMap<K, V> copyOf(Dictionary<? extends K, ? extends V> dictionary) throws NullPointerException {
+        // Return the dictionary itself if it is already immutable
+        if(dictionary instanceof HashTrieMap) {
+            @SuppressWarnings("unchecked")
+            HashTrieMap<K, V> map = (HashTrieMap<K, V>) dictionary;
+            return map;
+        }
+
+        return HashTrieMap.<K, V>builder().putAll(dictionary).build();
+    }
+
+    /**
+     * Return a Builder starting from this dictionary's pairs. The dictionary
+     * itself is not changed by the Builder.
+     *
+     * @return A new Builder.
+     */
+    public Builder<K, V> toBuilder() {
+        return new Builder<K, V>(root, size);
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return a dictionary with a key-value pair added or overwritten.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return The new dictionary, or this one if the key already had that value.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public HashTrieMap<K, V> with(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Copy the path to the key
+        int[] sizeChange = new int[1];
+        Node newRoot = assoc(root, null, hash(key), key, value, sizeChange);
+        return newRoot == root ? this : new HashTrieMap<K, V>(newRoot, size + sizeChange[0]);
+    }
+
+    /**
+     * Return a dictionary with a key removed.
+     *
+     * @param key Key to remove.
+     * @return The new dictionary, or this one if the key was absent.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public HashTrieMap<K, V> without(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // Copy the path to the key
+        if(root == null) {
+            return this;
+        }
+
+        int[] sizeChange = new int[1];
+        Node newRoot = root.dissoc(null, 0, hash(key), key, sizeChange);
+        return newRoot == root ? this : new HashTrieMap<K, V>(newRoot, size + sizeChange[0]);
+    }
+
+    /**
+     * Unsupported: HashTrieMap is immutable.
+     *
+     * @param key Key.
+     * @param value Value.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always. Use {@link #with(Object, Object)}.
+     */
+    @Override
+    public boolean put(K key, V value) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("HashTrieMap is immutable. Use with() instead.");
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        return root == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    /**
+     * Unsupported: HashTrieMap is immutable.
+     *
+     * @throws UnsupportedOperationException Always. Use {@link #empty()}.
+     */
+    @Override
+    public void clear() throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("HashTrieMap is immutable. Use empty() instead.");
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size);
+
+        // Add the key of each pair
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size);
+
+        // Add the value of each pair
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Unsupported: HashTrieMap is immutable.
+     *
+     * @param key Key.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always. Use {@link #without(Object)}.
+     */
+    @Override
+    public boolean remove(K key) throws UnsupportedOperationException {
+        throw new UnsupportedOperationException("HashTrieMap is immutable. Use without() instead.");
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        EntryCursor<K, V> cursor = cursor();
+
+        return new Iterator<K>() {
+            private boolean ready = cursor.advance();
+
+            @Override
+            public boolean hasNext() {
+                return ready;
+            }
+
+            @Override
+            public K next() throws NoSuchElementException {
+                // Throw exception if there's no next key
+                if(!ready) {
+                    throw new NoSuchElementException("No next key.");
+                }
+
+                K key = cursor.key();
+                ready = cursor.advance();
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary. The cursor's
+     * {@link EntryCursor#setValue(Object)} is unsupported.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new HashTrieMapCursor<K, V>(root);
+    }
+
+    /**
+     * Compute the hash of a key.
+     *
+     * @param key Key to hash.
+     * @return The key's spread hash code.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    /**
+     * Return the bit for a hash at a level.
+     *
+     * @param hash Key hash.
+     * @param shift Bits consumed by the levels above.
+     * @return A single bit.
+     */
+    private static int bitFor(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Add or overwrite a pair in a possibly empty trie.
+     *
+     * @param root Root node, or {@code null}.
+     * @param owner Builder token of nodes that may be edited in place, or {@code null}.
+     * @param hash Key hash.
+     * @param key Key.
+     * @param value Value.
+     * @param sizeChange Set to 1 if a pair was added.
+     * @return The new root.
+     */
+    private static Node assoc(Node root, Object owner, int hash, Object key, Object value, int[] sizeChange) {
+        if(root == null) {
+            sizeChange[0] = 1;
+            return new BitmapNode(owner, bitFor(hash, 0), new Object[] {key, value});
+        }
+
+        return root.assoc(owner, 0, hash, key, value, sizeChange);
+    }
+
+    /**
+     * Create a node holding two pairs with different keys.
+     *
+     * @param owner Builder token, or {@code null}.
+     * @param shift Bits consumed by the levels above.
+     * @param key1 First key.
+     * @param value1 First value.
+     * @param hash2 Hash of the second key.
+     * @param key2 Second key.
+     * @param value2 Second value.
+     * @return The new node.
+     */
+    private static Node createNode(Object owner, int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+
+        // Keys with identical hashes can never be told apart by the trie
+        if(hash1 == hash2) {
+            return new CollisionNode(owner, hash1, new Object[] {key1, value1, key2, value2}, 2);
+        }
+
+        // Otherwise split them at the first level where their hashes differ
+        int[] ignored = new int[1];
+        return new BitmapNode(owner, bitFor(hash1, shift), new Object[] {key1, value1})
+            .assoc(owner, shift, hash2, key2, value2, ignored);
+    }
+
+    /**
+     * A node of the trie. Each entry is either a pair or, with a
+     * {@code null} key, a child node.
+     */
+    private abstract static class Node {
+
+        /**
+         * Builder token of the Builder allowed to edit this node in place, or {@code null}.
+         */
+        protected Object owner;
+
+        /**
+         * Create a Node.
+         *
+         * @param owner Builder token, or {@code null}.
+         */
+        protected Node(Object owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Look a key up.
+         *
+         * @param shift Bits consumed by the levels above.
+         * @param hash Key hash.
+         * @param key Key.
+         * @return The value, or {@code null} if absent.
+         */
+        public abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * Add or overwrite a pair.
+         *
+         * @param owner Builder token of editable nodes, or {@code null}.
+         * @param shift Bits consumed by the levels above.
+         * @param hash Key hash.
+         * @param key Key.
+         * @param value Value.
+         * @param sizeChange Set to 1 if a pair was added.
+         * @return The changed node, or this node if nothing changed.
+         */
+        public abstract Node assoc(Object owner, int shift, int hash, Object key, Object value, int[] sizeChange);
+
+        /**
+         * Remove a key.
+         *
+         * @param owner Builder token of editable nodes, or {@code null}.
+         * @param shift Bits consumed by the levels above.
+         * @param hash Key hash.
+         * @param key Key.
+         * @param sizeChange Set to -1 if a pair was removed.
+         * @return The changed node, this node if the key was absent, or {@code null} if the node is now empty.
+         */
+        public abstract Node dissoc(Object owner, int shift, int hash, Object key, int[] sizeChange);
+
+        /**
+         * Return the number of entries in the node.
+         *
+         * @return The entry count.
+         */
+        public abstract int entryCount();
+
+        /**
+         * Return the key of an entry.
+         *
+         * @param index Entry index.
+         * @return The key, or {@code null} if the entry is a child node.
+         */
+        public abstract Object keyAt(int index);
+
+        /**
+         * Return the value or child node of an entry.
+         *
+         * @param index Entry index.
+         * @return The value or child.
+         */
+        public abstract Object valueAt(int index);
+    }
+
+    /**
+     * A node whose entries are selected by a 32-bit bitmap of hash fragments.
+     */
+    private static final class BitmapNode extends Node {
+
+        /**
+         * Which hash fragments have an entry.
+         */
+        private int bitmap;
+
+        /**
+         * Entries as key and value pairs, in bitmap order. Nodes edited by a
+         * Builder may have spare room at the end.
+         */
+        private Object[] array;
+
+        /**
+         * Create a BitmapNode.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param bitmap Occupied hash fragments.
+         * @param array Entries.
+         */
+        public BitmapNode(Object owner, int bitmap, Object[] array) {
+            super(owner);
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bitFor(hash, shift);
+
+            if((bitmap & bit) == 0) {
+                return null;
+            }
+
+            // Descend into a child, or compare against the stored key
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+
+            if(storedKey == null) {
+                return ((Node) stored).find(shift + BITS, hash, key);
+            }
+
+            return key.equals(storedKey) ? stored : null;
+        }
+
+        @Override
+        public Node assoc(Object owner, int shift, int hash, Object key, Object value, int[] sizeChange) {
+            int bit = bitFor(hash, shift);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+
+            // Fill an unused hash fragment
+            if((bitmap & bit) == 0) {
+                sizeChange[0] = 1;
+                return insertEntry(owner, bit, index, key, value);
+            }
+
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+
+            // Descend into a child
+            if(storedKey == null) {
+                Node child = ((Node) stored).assoc(owner, shift + BITS, hash, key, value, sizeChange);
+                return child == stored ? this : setValue(owner, index, child);
+            }
+
+            // Overwrite the value of an equal key
+            if(key.equals(storedKey)) {
+                return stored == value ? this : setValue(owner, index, value);
+            }
+
+            // Push both pairs down into a new child
+            sizeChange[0] = 1;
+            Node child = createNode(owner, shift + BITS, storedKey, stored, hash, key, value);
+            BitmapNode editable = editable(owner);
+            editable.array[2 * index] = null;
+            editable.array[2 * index + 1] = child;
+            return editable;
+        }
+
+        @Override
+        public Node dissoc(Object owner, int shift, int hash, Object key, int[] sizeChange) {
+            int bit = bitFor(hash, shift);
+
+            if((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            Object storedKey = array[2 * index];
+            Object stored = array[2 * index + 1];
+
+            // Remove from a child
+            if(storedKey == null) {
+                Node child = ((Node) stored).dissoc(owner, shift + BITS, hash, key, sizeChange);
+
+                if(child == stored) {
+                    return this;
+                }
+
+                if(child == null) {
+                    return removeEntry(owner, bit, index);
+                }
+
+                // Pull a child that is down to one pair up into this node
+                if(child.entryCount() == 1 && child.keyAt(0) != null) {
+                    BitmapNode editable = editable(owner);
+                    editable.array[2 * index] = child.keyAt(0);
+                    editable.array[2 * index + 1] = child.valueAt(0);
+                    return editable;
+                }
+
+                return setValue(owner, index, child);
+            }
+
+            // Remove a matching pair
+            if(!key.equals(storedKey)) {
+                return this;
+            }
+
+            sizeChange[0] = -1;
+            return removeEntry(owner, bit, index);
+        }
+
+        @Override
+        public int entryCount() {
+            return Integer.bitCount(bitmap);
+        }
+
+        @Override
+        public Object keyAt(int index) {
+            return array[2 * index];
+        }
+
+        @Override
+        public Object valueAt(int index) {
+            return array[2 * index + 1];
+        }
+
+        /**
+         * Return this node if the owner may edit it, otherwise a copy the owner may edit.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @return An editable node.
+         */
+        private BitmapNode editable(Object owner) {
+            if(owner != null && owner == this.owner) {
+                return this;
+            }
+
+            Object[] copy = new Object[2 * Integer.bitCount(bitmap)];
+            System.arraycopy(array, 0, copy, 0, copy.length);
+            return new BitmapNode(owner, bitmap, copy);
+        }
+
+        /**
+         * Replace the value or child of an entry.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param index Entry index.
+         * @param value New value or child.
+         * @return The changed node.
+         */
+        private BitmapNode setValue(Object owner, int index, Object value) {
+            BitmapNode editable = editable(owner);
+            editable.array[2 * index + 1] = value;
+            return editable;
+        }
+
+        /**
+         * Add a pair for an unused hash fragment.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param bit The hash fragment's bit.
+         * @param index Entry index to insert at.
+         * @param key Key.
+         * @param value Value.
+         * @return The changed node.
+         */
+        private BitmapNode insertEntry(Object owner, int bit, int index, Object key, Object value) {
+            int count = Integer.bitCount(bitmap);
+
+            // Shift entries along in place if this node is editable and has room
+            if(owner != null && owner == this.owner && array.length >= 2 * (count + 1)) {
+                System.arraycopy(array, 2 * index, array, 2 * (index + 1), 2 * (count - index));
+                array[2 * index] = key;
+                array[2 * index + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+
+            // Otherwise copy into a larger array, leaving spare room for a Builder
+            int length = owner != null ? 2 * Math.min(count + 4, 32) : 2 * (count + 1);
+            Object[] newArray = new Object[length];
+            System.arraycopy(array, 0, newArray, 0, 2 * index);
+            newArray[2 * index] = key;
+            newArray[2 * index + 1] = value;
+            System.arraycopy(array, 2 * index, newArray, 2 * (index + 1), 2 * (count - index));
+
+            if(owner != null && owner == this.owner) {
+                array = newArray;
+                bitmap |= bit;
+                return this;
+            }
+
+            return new BitmapNode(owner, bitmap | bit, newArray);
+        }
+
+        /**
+         * Remove an entry.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param bit The entry's bit.
+         * @param index Entry index.
+         * @return The changed node, or {@code null} if it is now empty.
+         */
+        private BitmapNode removeEntry(Object owner, int bit, int index) {
+            int count = Integer.bitCount(bitmap);
+
+            if(count == 1) {
+                return null;
+            }
+
+            // Shift entries back in place if this node is editable
+            if(owner != null && owner == this.owner) {
+                System.arraycopy(array, 2 * (index + 1), array, 2 * index, 2 * (count - index - 1));
+                array[2 * count - 2] = null;
+                array[2 * count - 1] = null;
+                bitmap ^= bit;
+                return this;
+            }
+
+            // Otherwise copy without the entry
+            Object[] newArray = new Object[2 * (count - 1)];
+            System.arraycopy(array, 0, newArray, 0, 2 * index);
+            System.arraycopy(array, 2 * (index + 1), newArray, 2 * index, 2 * (count - index - 1));
+            return new BitmapNode(owner, bitmap ^ bit, newArray);
+        }
+    }
+
+    /**
+     * A node holding pairs whose keys have the same hash.
+     */
+    private static final class CollisionNode extends Node {
+
+        /**
+         * The shared hash.
+         */
+        private final int hash;
+
+        /**
+         * Pairs as keys and values.
+         */
+        private Object[] array;
+
+        /**
+         * Number of pairs.
+         */
+        private int count;
+
+        /**
+         * Create a CollisionNode.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param hash The shared hash.
+         * @param array Pairs.
+         * @param count Number of pairs.
+         */
+        public CollisionNode(Object owner, int hash, Object[] array, int count) {
+            super(owner);
+            this.hash = hash;
+            this.array = array;
+            this.count = count;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index == -1 ? null : array[2 * index + 1];
+        }
+
+        @Override
+        public Node assoc(Object owner, int shift, int hash, Object key, Object value, int[] sizeChange) {
+            // A different hash needs a bitmap node above this one
+            if(hash != this.hash) {
+                return new BitmapNode(owner, bitFor(this.hash, shift), new Object[] {null, this})
+                    .assoc(owner, shift, hash, key, value, sizeChange);
+            }
+
+            // Overwrite the value of an equal key
+            int index = indexOf(key);
+
+            if(index != -1) {
+                if(array[2 * index + 1] == value) {
+                    return this;
+                }
+
+                CollisionNode editable = editable(owner, array.length);
+                editable.array[2 * index + 1] = value;
+                return editable;
+            }
+
+            // Append the pair
+            sizeChange[0] = 1;
+            CollisionNode editable = editable(owner, Math.max(array.length, 2 * (count + 1)));
+            editable.array[2 * count] = key;
+            editable.array[2 * count + 1] = value;
+            editable.count++;
+            return editable;
+        }
+
+        @Override
+        public Node dissoc(Object owner, int shift, int hash, Object key, int[] sizeChange) {
+            int index = indexOf(key);
+
+            if(index == -1) {
+                return this;
+            }
+
+            sizeChange[0] = -1;
+
+            if(count == 1) {
+                return null;
+            }
+
+            // Move the last pair into the gap
+            CollisionNode editable = editable(owner, array.length);
+            int last = editable.count - 1;
+            editable.array[2 * index] = editable.array[2 * last];
+            editable.array[2 * index + 1] = editable.array[2 * last + 1];
+            editable.array[2 * last] = null;
+            editable.array[2 * last + 1] = null;
+            editable.count--;
+            return editable;
+        }
+
+        @Override
+        public int entryCount() {
+            return count;
+        }
+
+        @Override
+        public Object keyAt(int index) {
+            return array[2 * index];
+        }
+
+        @Override
+        public Object valueAt(int index) {
+            return array[2 * index + 1];
+        }
+
+        /**
+         * Find the index of a key.
+         *
+         * @param key Key.
+         * @return The pair index, or -1 if absent.
+         */
+        private int indexOf(Object key) {
+            for(int i = 0; i < count; i++) {
+                if(key.equals(array[2 * i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Return this node if the owner may edit it and it is large enough,
+         * otherwise a copy the owner may edit.
+         *
+         * @param owner Builder token, or {@code null}.
+         * @param length Array length needed.
+         * @return An editable node.
+         */
+        private CollisionNode editable(Object owner, int length) {
+            if(owner != null && owner == this.owner && array.length >= length) {
+                return this;
+            }
+
+            Object[] copy = new Object[length];
+            System.arraycopy(array, 0, copy, 0, 2 * count);
+
+            if(owner != null && owner == this.owner) {
+                array = copy;
+                return this;
+            }
+
+            return new CollisionNode(owner, hash, copy, count);
+        }
+    }
+
+    /**
+     * A cursor walking the trie depth first with an explicit stack.
+     */
+    private static final class HashTrieMapCursor<K, V> implements EntryCursor<K, V> {
+
+        /**
+         * Nodes on the path to the current entry.
+         */
+        private final Node[] nodes = new Node[MAX_DEPTH];
+
+        /**
+         * Index of the next entry to visit in each node on the path.
+         */
+        private final int[] positions = new int[MAX_DEPTH];
+
+        /**
+         * Depth of the innermost node, or -1 when exhausted.
+         */
+        private int depth;
+
+        /**
+         * The current pair.
+         */
+        private Object key;
+        private Object value;
+
+        /**
+         * Create a new HashTrieMapCursor.
+         *
+         * @param root Root node, or {@code null}.
+         */
+        public HashTrieMapCursor(Node root) {
+            nodes[0] = root;
+            depth = root == null ? -1 : 0;
+        }
+
+        @Override
+        public boolean advance() {
+            while(depth >= 0) {
+                Node node = nodes[depth];
+                int index = positions[depth];
+
+                // Pop a finished node
+                if(index >= node.entryCount()) {
+                    nodes[depth--] = null;
+                    continue;
+                }
+
+                positions[depth]++;
+
+                // Push a child, or stop at a pair
+                if(node.keyAt(index) == null) {
+                    depth++;
+                    nodes[depth] = (Node) node.valueAt(index);
+                    positions[depth] = 0;
+                    continue;
+                }
+
+                key = node.keyAt(index);
+                value = node.valueAt(index);
+                return true;
+            }
+
+            key = null;
+            value = null;
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return (K) key;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return (V) value;
+        }
+
+        @Override
+        public void setValue(V value) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("HashTrieMap is immutable.");
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(key == null) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+
+    /**
+     * A mutable builder of HashTrieMaps.
+     *
+     * A Builder edits nodes it created in place. {@link #build()} hands
+     * those nodes over to an immutable HashTrieMap, after which the Builder
+     * copies them again before editing, so it can keep being used. A
+     * Builder is not thread safe.
+     */
+    public static final class Builder<K, V> {
+
+        /**
+         * Token marking nodes this Builder may edit in place.
+         */
+        private Object owner;
+
+        /**
+         * Root node, or {@code null}.
+         */
+        private Node root;
+
+        /**
+         * Number of pairs.
+         */
+        private int size;
+
+        /**
+         * Create a Builder starting from a trie.
+         *
+         * @param root Root node, or {@code null}.
+         * @param size Number of pairs.
+         */
+        private Builder(Node root, int size) {
+            this.owner = new Object();
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Return the number of pairs added so far.
+         *
+         * @return The number of pairs.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Return the value associated to a key.
+         *
+         * @param key Key.
+         * @return Value associated with the key, or {@code null} if no such value exists.
+         * @throws NullPointerException If key is {@code null}.
+         */
+        @SuppressWarnings("unchecked")
+        public V get(K key) throws NullPointerException {
+            // Check argument integrity
+            if(key == null) {
+                throw new NullPointerException("Cannot get null key.");
+            }
+
+            return root == null ? null : (V) root.find(0, hash(key), key);
+        }
+
+        /**
+         * Add or overwrite a pair.
+         *
+         * @param key Key to add or overwrite.
+         * @param value Value to associate to the key.
+         * @return This Builder.
+         * @throws NullPointerException If key or value are {@code null}.
+         */
+        public Builder<K, V> put(K key, V value) throws NullPointerException {
+            // Check argument integrity
+            if(key == null) {
+                throw new NullPointerException("Cannot add null key.");
+            }
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            int[] sizeChange = new int[1];
+            root = assoc(root, owner, hash(key), key, value, sizeChange);
+            size += sizeChange[0];
+            return this;
+        }
+
+        /**
+         * Add or overwrite every pair of a dictionary.
+         *
+         * @param dictionary Dictionary to copy.
+         * @return This Builder.
+         * @throws NullPointerException If dictionary is {@code null} or holds {@code null} values.
+         */
+        public Builder<K, V> putAll(Dictionary<? extends K, ? extends V> dictionary) throws NullPointerException {
+            // Check argument integrity
+            if(dictionary == null) {
+                throw new NullPointerException("Cannot add null dictionary.");
+            }
+
+            dictionary.forEach(this::put);
+            return this;
+        }
+
+        /**
+         * Remove a key.
+         *
+         * @param key Key to remove.
+         * @return This Builder.
+         * @throws NullPointerException If key is {@code null}.
+         */
+        public Builder<K, V> remove(K key) throws NullPointerException {
+            // Check argument integrity
+            if(key == null) {
+                throw new NullPointerException("Cannot remove null key.");
+            }
+
+            if(root != null) {
+                int[] sizeChange = new int[1];
+                root = root.dissoc(owner, 0, hash(key), key, sizeChange);
+                size += sizeChange[0];
+            }
+
+            return this;
+        }
+
+        /**
+         * Return an immutable HashTrieMap of the pairs added so far.
+         *
+         * @return The HashTrieMap.
+         */
+        public HashTrieMap<K, V> build() {
+            // Stop editing the nodes now shared with the result
+            owner = new Object();
+            return root == null ? HashTrieMap.<K, V>empty() : new HashTrieMap<K, V>(root, size);
+        }
+    }
+}
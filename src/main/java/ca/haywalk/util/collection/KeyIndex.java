@@ -0,0 +1,433 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntToLongFunction;
+
+/**
+ * An index giving each key a small integer id, so that per-key data can
+ * live in flat arrays indexed by id instead of in an object per key.
+ *
+ * Ids are dense: a removed key's id is handed to the next key added. The
+ * keys are found through an open-addressed table of ids with linear
+ * probing and backward-shift deletion.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+class KeyIndex<K> {
+
+    /**
+     * Largest supported table capacity.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Id plus one of the key in each slot, or zero if the slot is empty.
+     */
+    private int[] slots;
+
+    /**
+     * Hash of the key in each slot.
+     */
+    private int[] hashes;
+
+    /**
+     * Keys by id, {@code null} for a free id.
+     */
+    private Object[] keys;
+
+    /**
+     * Ids freed by removals, used before new ones.
+     */
+    private int[] freeIds;
+
+    /**
+     * Number of freed ids.
+     */
+    private int freeCount;
+
+    /**
+     * One more than the largest id ever given out.
+     */
+    private int limit;
+
+    /**
+     * Number of keys.
+     */
+    private int size;
+
+    /**
+     * Create a new, empty KeyIndex.
+     */
+    public KeyIndex() {
+        slots = new int[16];
+        hashes = new int[16];
+        keys = new Object[8];
+        freeIds = new int[8];
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return one more than the largest id in use or freed. Every id is below it.
+     *
+     * @return The id limit.
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Return the key with an id.
+     *
+     * @param id Id.
+     * @return The key, or {@code null} if the id is free.
+     */
+    @SuppressWarnings("unchecked")
+    public K key(int id) {
+        return (K) keys[id];
+    }
+
+    /**
+     * Return an Iterator over the keys, in id order.
+     *
+     * @return An Iterator over the keys.
+     */
+    public Iterator<K> iterator() {
+        return new KeyIndexIterator();
+    }
+
+    /**
+     * Return the id of a key.
+     *
+     * @param key Key.
+     * @return Its id, or -1 if absent.
+     */
+    public int find(Object key) {
+        int hash = hash(key);
+        int mask = slots.length - 1;
+
+        for(int index = hash & mask; slots[index] != 0; index = (index + 1) & mask) {
+            if(hashes[index] == hash && keys[slots[index] - 1].equals(key)) {
+                return slots[index] - 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Add a key that is absent.
+     *
+     * @param key Key.
+     * @return Its new id.
+     */
+    public int add(K key) {
+        // Reuse a freed id, or take a new one
+        int id;
+
+        if(freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = limit++;
+
+            if(id == keys.length) {
+                keys = Arrays.copyOf(keys, id * 2);
+            }
+        }
+
+        keys[id] = key;
+
+        if(++size > slots.length * 3 / 4) {
+            resize(slots.length * 2);
+        }
+
+        insert(hash(key), id);
+        return id;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key Key.
+     * @return Its former id, or -1 if absent.
+     */
+    public int remove(Object key) {
+        int hash = hash(key);
+        int mask = slots.length - 1;
+        int index = hash & mask;
+
+        // Find the key's slot
+        while(slots[index] != 0 && !(hashes[index] == hash && keys[slots[index] - 1].equals(key))) {
+            index = (index + 1) & mask;
+        }
+
+        if(slots[index] == 0) {
+            return -1;
+        }
+
+        int id = slots[index] - 1;
+
+        // Shift later slots of the run back into the gap
+        int gap = index;
+
+        for(int next = (gap + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = hashes[next] & mask;
+
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                slots[gap] = slots[next];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+        }
+
+        slots[gap] = 0;
+
+        // Free the id
+        keys[id] = null;
+
+        if(freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+
+        freeIds[freeCount++] = id;
+        size--;
+        return id;
+    }
+
+    /**
+     * Remove every key and forget every id.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0);
+        Arrays.fill(keys, 0, limit, null);
+        freeCount = 0;
+        limit = 0;
+        size = 0;
+    }
+
+    /**
+     * Return the ids of the keys with the largest weights, heaviest first,
+     * with ties going to the smaller id.
+     *
+     * @param n Largest number of ids to return.
+     * @param weight Weight of each id in use.
+     * @return The ids.
+     * @throws IllegalArgumentException If n is negative.
+     */
+    public int[] topK(int n, IntToLongFunction weight) throws IllegalArgumentException {
+        // Check argument integrity
+        if(n < 0) {
+            throw new IllegalArgumentException("Illegal argument: n must be non-negative.");
+        }
+
+        // Keep the best n in a min-heap, so the weakest is at the root
+        int[] heap = new int[Math.min(n, size)];
+        long[] weights = new long[heap.length];
+        int count = 0;
+
+        for(int id = 0; id < limit && heap.length > 0; id++) {
+            if(keys[id] == null) {
+                continue;
+            }
+
+            long w = weight.applyAsLong(id);
+
+            if(count < heap.length) {
+                // Sift the new id up
+                int child = count++;
+
+                while(child > 0 && before(w, id, weights[(child - 1) / 2], heap[(child - 1) / 2]) < 0) {
+                    heap[child] = heap[(child - 1) / 2];
+                    weights[child] = weights[(child - 1) / 2];
+                    child = (child - 1) / 2;
+                }
+
+                heap[child] = id;
+                weights[child] = w;
+            } else if(before(w, id, weights[0], heap[0]) > 0) {
+                siftDown(heap, weights, count, id, w);
+            }
+        }
+
+        // Pop the weakest to the back, leaving the heaviest first
+        for(int end = count - 1; end > 0; end--) {
+            int id = heap[end];
+            long w = weights[end];
+            heap[end] = heap[0];
+            weights[end] = weights[0];
+            siftDown(heap, weights, end, id, w);
+        }
+
+        return heap;
+    }
+
+    /**
+     * Replace the root of a min-heap and sift it down.
+     *
+     * @param heap Heap ids.
+     * @param weights Heap weights.
+     * @param count Heap size.
+     * @param id New root id.
+     * @param w New root weight.
+     */
+    private static void siftDown(int[] heap, long[] weights, int count, int id, long w) {
+        int parent = 0;
+
+        while(2 * parent + 1 < count) {
+            int child = 2 * parent + 1;
+
+            if(child + 1 < count && before(weights[child + 1], heap[child + 1], weights[child], heap[child]) < 0) {
+                child++;
+            }
+
+            if(before(weights[child], heap[child], w, id) >= 0) {
+                break;
+            }
+
+            heap[parent] = heap[child];
+            weights[parent] = weights[child];
+            parent = child;
+        }
+
+        heap[parent] = id;
+        weights[parent] = w;
+    }
+
+    /**
+     * Order two ids from weakest to heaviest, a larger id being weaker on a tie.
+     *
+     * @param w1 First weight.
+     * @param id1 First id.
+     * @param w2 Second weight.
+     * @param id2 Second id.
+     * @return Negative if the first is weaker, positive if heavier.
+     */
+    private static int before(long w1, int id1, long w2, int id2) {
+        int byWeight = Long.compare(w1, w2);
+        return byWeight != 0 ? byWeight : Integer.compare(id2, id1);
+    }
+
+    /**
+     * Put an id in the first free slot of its probe run.
+     *
+     * @param hash Hash of the id's key.
+     * @param id Id.
+     */
+    private void insert(int hash, int id) {
+        int mask = slots.length - 1;
+        int index = hash & mask;
+
+        while(slots[index] != 0) {
+            index = (index + 1) & mask;
+        }
+
+        slots[index] = id + 1;
+        hashes[index] = hash;
+    }
+
+    /**
+     * Rebuild the table with a new capacity.
+     *
+     * @param capacity New capacity, a power of two.
+     * @throws IllegalStateException If the capacity is too large.
+     */
+    private void resize(int capacity) throws IllegalStateException {
+        if(capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("KeyIndex is full.");
+        }
+
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        slots = new int[capacity];
+        hashes = new int[capacity];
+
+        for(int i = 0; i < oldSlots.length; i++) {
+            if(oldSlots[i] != 0) {
+                insert(oldHashes[i], oldSlots[i] - 1);
+            }
+        }
+    }
+
+    /**
+     * Spread a key's hash code.
+     *
+     * @param key Key.
+     * @return The spread hash code.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    /**
+     * An Iterator over the keys, in id order.
+     */
+    private class KeyIndexIterator implements Iterator<K> {
+
+        /**
+         * Next id to look at.
+         */
+        private int id;
+
+        /**
+         * Create a new KeyIndexIterator.
+         */
+        public KeyIndexIterator() {
+            id = advance(0);
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return id < limit;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public K next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            K key = key(id);
+            id = advance(id + 1);
+            return key;
+        }
+
+        /**
+         * Find the first id in use from a starting id.
+         *
+         * @param from Starting id.
+         * @return The id, or the id limit if none.
+         */
+        private int advance(int from) {
+            while(from < limit && keys[from] == null) {
+                from++;
+            }
+
+            return from;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package ca.haywalk.util.collection;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A queue based on a linked list.
@@ -59,7 +63,8 @@ public class LinkedQueue<T> implements Queue<T> {
 
     /**
      * Enqueue a collection of items. Will enqueue them in
-     * the order they appear in the collection's Iterator.
+     * the order they appear in the collection's Iterator. If the
+     * collection holds {@code null}, no items are enqueued.
      * 
      * @return {@code true} if successful.
      * @throws NullPointerException If the collection or any items in it are {@code null}.
@@ -71,29 +76,96 @@ public class LinkedQueue<T> implements Queue<T> {
             throw new NullPointerException("Cannot add null collection.");
         }
 
-        // Create a buffer collection
-        Collection<T> toAdd = new ArrayList<T>();
+        // Link the items into a chain of their own
+        Node<T> first = null;
+        Node<T> last = null;
+        int count = 0;
 
-        // Add each item to the buffer
         for(T item : items) {
             // Check for nullity
             if(item == null) {
                 throw new NullPointerException("Collection has null element.");
             }
 
-            // Add to buffer
-            toAdd.add(item);
+            Node<T> node = new Node<T>(item);
+
+            if(first == null) {
+                first = node;
+            } else {
+                last.setNext(node);
+            }
+
+            last = node;
+            count++;
         }
 
-        // Add all items from buffer to this stack
-        for(T item : toAdd) {
-            this.add(item);
+        // Attach the chain to the end of the queue
+        if(first != null) {
+            if(isEmpty()) {
+                head = first;
+            } else {
+                tail.setNext(first);
+            }
+
+            tail = last;
+            size += count;
         }
 
         // Return true
         return true;
     }
 
+    /**
+     * Remove every item matching a condition, unlinking them in one pass.
+     * 
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        int oldSize = size;
+        Node<T> previous = null;
+        Node<T> current = head;
+
+        while(current != null) {
+            Node<T> next = current.getNext();
+
+            if(filter.test(current.getData())) {
+                unlink(previous, current);
+            } else {
+                previous = current;
+            }
+
+            current = next;
+        }
+
+        return size < oldSize;
+    }
+
+    /**
+     * Perform an action on every item, from the front of the queue to the back.
+     * 
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        for(Node<T> current = head; current != null; current = current.getNext()) {
+            action.accept(current.getData());
+        }
+    }
+
     /**
      * Return an iterator over this LinkedQueue.
      * 
@@ -104,6 +176,18 @@ public class LinkedQueue<T> implements Queue<T> {
         return new LinkedQueueIterator();
     }
 
+    /**
+     * Return a Spliterator over this LinkedQueue, front to back. A linked
+     * list cannot be split in the middle, so it splits by copying batches of
+     * growing size off the front into arrays.
+     * 
+     * @return A SIZED Spliterator over this LinkedQueue.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
     /**
      * Empty the queue.
      */
@@ -191,34 +275,43 @@ public class LinkedQueue<T> implements Queue<T> {
             throw new NullPointerException("Cannot remove null.");
         }
 
-        // Check if empty
-        if(isEmpty()) {
-            return false;
-        }
+        // Traverse the list until the item is found
+        Node<T> previous = null;
 
-        // Check if head contains the item to remove
-        if(head.getData().equals(item)) {
-            head = head.getNext();
-            size--;
-            return true;
-        }
-
-        // Otherwise traverse the list until the item is found
-        Node<T> current = head;
-
-        while(current.getNext() != null) {
-            // If the next node has the data, link this node to the next-next node
-            if(current.getNext().getData().equals(item)) {
-                current.setNext(current.getNext().getNext());
-                size--;
+        for(Node<T> current = head; current != null; current = current.getNext()) {
+            if(current.getData().equals(item)) {
+                unlink(previous, current);
                 return true;
             }
+
+            previous = current;
         }
 
         // Return false if not found
         return false;
     }
 
+    /**
+     * Unlink a node from the list.
+     * 
+     * @param previous The node before it, or {@code null} if it is the head.
+     * @param node The node.
+     */
+    private void unlink(Node<T> previous, Node<T> node) {
+        if(previous == null) {
+            head = node.getNext();
+        } else {
+            previous.setNext(node.getNext());
+        }
+
+        // Keep the tail pointing into the list
+        if(node == tail) {
+            tail = previous;
+        }
+
+        size--;
+    }
+
     /**
      * Check whether the queue contains a certain item.
      * 
@@ -1,5 +1,7 @@
 package ca.haywalk.util.collection;
 
+import java.util.function.UnaryOperator;
+
 /**
  * A generic list.
  * 
@@ -16,6 +18,52 @@ public interface List<T> extends Collection<T> {
      */
     public T get(int index) throws IndexOutOfBoundsException;
 
+    /**
+     * Insert an item at a certain index, moving later items up by one.
+     * 
+     * The default implementation appends with {@link #add(Object)} when the
+     * index is the size of the list. Otherwise it copies the items out,
+     * clears the list and adds them back with the new item in place.
+     * Implementations override it to shift items in place.
+     * 
+     * @param index Index to insert at, from 0 to the size of the list.
+     * @param item Item to insert.
+     * @throws NullPointerException If item is {@code null}.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    public default void add(int index, T item) throws NullPointerException, IndexOutOfBoundsException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        int size = size();
+
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, size));
+        }
+
+        // Append directly
+        if(index == size) {
+            add(item);
+            return;
+        }
+
+        // Rebuild the list with the item in place
+        ArrayList<T> items = new ArrayList<T>(size + 1);
+
+        for(T each : this) {
+            items.add(each);
+        }
+
+        items.add(index, item);
+        clear();
+
+        for(T each : items) {
+            add(each);
+        }
+    }
+
     /**
      * Remove the item at a certain index.
      * 
@@ -33,4 +81,41 @@ public interface List<T> extends Collection<T> {
      * @throws NullPointerException if item is {@code null}.
      */
     public int index(T item) throws NullPointerException;
+
+    /**
+     * Replace every item with the result of applying a function to it.
+     * 
+     * The default implementation computes every new item, then clears the
+     * list and adds them back with {@link #add(Object)}, so the list is
+     * unchanged if the function fails. Implementations override it to
+     * replace the items in place.
+     * 
+     * @param operator Function to apply.
+     * @throws NullPointerException If operator is {@code null} or returns {@code null}.
+     */
+    public default void replaceAll(UnaryOperator<T> operator) throws NullPointerException {
+        // Check argument integrity
+        if(operator == null) {
+            throw new NullPointerException("Operator cannot be null.");
+        }
+
+        // Compute the new items before changing anything
+        ArrayList<T> replaced = new ArrayList<T>(size());
+
+        for(T item : this) {
+            T result = operator.apply(item);
+
+            if(result == null) {
+                throw new NullPointerException("Cannot add null.");
+            }
+
+            replaced.add(result);
+        }
+
+        clear();
+
+        for(T item : replaced) {
+            add(item);
+        }
+    }
 }
@@ -0,0 +1,740 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe dictionary that loads missing values with a loader function.
+ *
+ * Concurrent misses on the same key share a single load: the first thread
+ * to miss runs the loader and the others wait on the same
+ * {@link CompletableFuture}. {@link #getAsync(Object)} returns that future
+ * instead of waiting, running the load on an executor.
+ *
+ * With a refresh interval, a value read after it has been loaded for that
+ * long is reloaded in the background while the old value keeps being
+ * returned, so hot keys are refreshed before they go stale rather than
+ * missing.
+ *
+ * Every operation on the wrapped dictionary is done while holding this
+ * dictionary's lock, and the wrapped dictionary must not be used directly.
+ * Loads run outside the lock.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class LoadingDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * The wrapped dictionary.
+     */
+    private final Dictionary<K, V> dictionary;
+
+    /**
+     * Function computing the value of a key.
+     */
+    private final Function<? super K, ? extends V> loader;
+
+    /**
+     * Executor running asynchronous loads and refreshes.
+     */
+    private final Executor executor;
+
+    /**
+     * Nanoseconds after a load at which a value is refreshed, or 0 to never refresh.
+     */
+    private final long refreshAfter;
+
+    /**
+     * Source of time for refreshes.
+     */
+    private final Ticker ticker;
+
+    /**
+     * Loads in progress, by key.
+     */
+    private final HashMap<K, CompletableFuture<V>> loads;
+
+    /**
+     * Time each value was written, by key, when refreshing.
+     */
+    private final HashMap<K, Long> writeTimes;
+
+    /**
+     * Create a new LoadingDictionary loading asynchronously on the common pool, without refresh.
+     *
+     * @param dictionary Dictionary to wrap.
+     * @param loader Function computing the value of a key. May return {@code null}.
+     * @throws NullPointerException If dictionary or loader are {@code null}.
+     */
+    public LoadingDictionary(Dictionary<K, V> dictionary, Function<? super K, ? extends V> loader)
+            throws NullPointerException {
+        this(dictionary, loader, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new LoadingDictionary without refresh.
+     *
+     * @param dictionary Dictionary to wrap.
+     * @param loader Function computing the value of a key. May return {@code null}.
+     * @param executor Executor running asynchronous loads.
+     * @throws NullPointerException If dictionary, loader or executor are {@code null}.
+     */
+    public LoadingDictionary(Dictionary<K, V> dictionary, Function<? super K, ? extends V> loader, Executor executor)
+            throws NullPointerException {
+        this(dictionary, loader, executor, 0, Ticker.systemTicker());
+    }
+
+    /**
+     * Create a new LoadingDictionary that refreshes values in the background.
+     *
+     * @param dictionary Dictionary to wrap.
+     * @param loader Function computing the value of a key. May return {@code null}.
+     * @param executor Executor running asynchronous loads and refreshes.
+     * @param refreshAfter Time after a value is written at which it is refreshed.
+     * @param unit Unit of refreshAfter.
+     * @param ticker Source of time.
+     * @throws NullPointerException If any argument is {@code null}.
+     * @throws IllegalArgumentException If refreshAfter is not positive.
+     */
+    public LoadingDictionary(Dictionary<K, V> dictionary, Function<? super K, ? extends V> loader, Executor executor,
+            long refreshAfter, TimeUnit unit, Ticker ticker) throws NullPointerException, IllegalArgumentException {
+        this(dictionary, loader, executor, toNanos(refreshAfter, unit), ticker);
+    }
+
+    /**
+     * Create a new LoadingDictionary.
+     *
+     * @param dictionary Dictionary to wrap.
+     * @param loader Function computing the value of a key.
+     * @param executor Executor running asynchronous loads and refreshes.
+     * @param refreshAfter Refresh interval in nanoseconds, or 0.
+     * @param ticker Source of time.
+     * @throws NullPointerException If any argument is {@code null}.
+     */
+    private LoadingDictionary(Dictionary<K, V> dictionary, Function<? super K, ? extends V> loader, Executor executor,
+            long refreshAfter, Ticker ticker) throws NullPointerException {
+        // Check argument integrity
+        if(dictionary == null) {
+            throw new NullPointerException("Cannot wrap null dictionary.");
+        }
+
+        if(loader == null) {
+            throw new NullPointerException("Loader cannot be null.");
+        }
+
+        if(executor == null) {
+            throw new NullPointerException("Executor cannot be null.");
+        }
+
+        if(ticker == null) {
+            throw new NullPointerException("Ticker cannot be null.");
+        }
+
+        this.dictionary = dictionary;
+        this.loader = loader;
+        this.executor = executor;
+        this.refreshAfter = refreshAfter;
+        this.ticker = ticker;
+        this.loads = new HashMap<K, CompletableFuture<V>>();
+        this.writeTimes = new HashMap<K, Long>();
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public synchronized int size() {
+        return dictionary.size();
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return dictionary.isEmpty();
+    }
+
+    /**
+     * Add a key-value pair to the dictionary. A load of the key already in
+     * progress still completes for its callers, but does not overwrite this value.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized boolean put(K key, V value) throws NullPointerException {
+        boolean result = dictionary.put(key, value);
+        loads.remove(key);
+        stamp(key);
+        return result;
+    }
+
+    /**
+     * Return the value associated to a key, loading it on a miss. Callers
+     * missing the same key at the same time wait for a single load.
+     *
+     * @param key Key to get value associated with.
+     * @return The present or loaded value, or {@code null} if the loader returned {@code null}.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws RuntimeException If the loader threw.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        V value;
+        CompletableFuture<V> load = null;
+        boolean owner = false;
+
+        synchronized(this) {
+            // Find a present value, and any refresh it is due
+            value = dictionary.get(key);
+
+            if(value != null) {
+                load = refreshIfDue(key);
+            } else {
+                // Join a load in progress, or start one
+                load = loads.get(key);
+
+                if(load == null) {
+                    load = new CompletableFuture<V>();
+                    loads.put(key, load);
+                    owner = true;
+                }
+            }
+        }
+
+        // Start a due refresh outside the lock and return the present value
+        if(value != null) {
+            if(load != null) {
+                start(key, load);
+            }
+
+            return value;
+        }
+
+        if(owner) {
+            load(key, load);
+        }
+
+        return join(load);
+    }
+
+    /**
+     * Return the value associated to a key without loading it.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public synchronized V getIfPresent(K key) throws NullPointerException {
+        return dictionary.get(key);
+    }
+
+    /**
+     * Return a future of the value associated to a key, loading it on the
+     * executor on a miss. Callers missing the same key share one future.
+     *
+     * @param key Key to get value associated with.
+     * @return A future of the present or loaded value.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public CompletableFuture<V> getAsync(K key) throws NullPointerException {
+        V value;
+        CompletableFuture<V> load;
+
+        synchronized(this) {
+            // Find a present value, and any refresh it is due
+            value = dictionary.get(key);
+
+            if(value != null) {
+                load = refreshIfDue(key);
+            } else {
+                // Join a load in progress, or start one
+                load = loads.get(key);
+
+                if(load != null) {
+                    return load;
+                }
+
+                load = new CompletableFuture<V>();
+                loads.put(key, load);
+            }
+        }
+
+        // Start the load or refresh outside the lock
+        if(load != null) {
+            start(key, load);
+        }
+
+        return value != null ? CompletableFuture.completedFuture(value) : load;
+    }
+
+    /**
+     * Reload a key in the background, keeping the current value until the load completes.
+     *
+     * @param key Key to reload.
+     * @return A future of the reloaded value.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public CompletableFuture<V> refresh(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot refresh null key.");
+        }
+
+        CompletableFuture<V> load;
+
+        synchronized(this) {
+            load = loads.get(key);
+
+            if(load != null) {
+                return load;
+            }
+
+            load = new CompletableFuture<V>();
+            loads.put(key, load);
+        }
+
+        start(key, load);
+        return load;
+    }
+
+    /**
+     * Add a pair if the key is absent, without loading it.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The value already associated with the key, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized V putIfAbsent(K key, V value) throws NullPointerException {
+        V previous = dictionary.putIfAbsent(key, value);
+
+        if(previous == null) {
+            written(key, value);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Replace the value of a key only if it is present, without loading it.
+     *
+     * @param key Key to replace.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized V replace(K key, V value) throws NullPointerException {
+        V previous = dictionary.replace(key, value);
+
+        if(previous != null) {
+            written(key, value);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Return the value of a key, computing it with the given function, rather
+     * than the loader, if absent. The function runs while holding the lock.
+     *
+     * @param key Key to look up.
+     * @param mappingFunction Function computing a value for an absent key.
+     * @return The present or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+            throws NullPointerException {
+        V present = dictionary.get(key);
+
+        if(present != null) {
+            return present;
+        }
+
+        return written(key, dictionary.computeIfAbsent(key, mappingFunction));
+    }
+
+    /**
+     * Compute a new value for a key from its current value, without loading
+     * it. The function runs while holding the lock.
+     *
+     * @param key Key to compute.
+     * @param remappingFunction Function from the key and current value, or {@code null}, to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+            throws NullPointerException {
+        return written(key, dictionary.compute(key, remappingFunction));
+    }
+
+    /**
+     * Merge a value into the value of a key, without loading it. The function
+     * runs while holding the lock.
+     *
+     * @param key Key to merge.
+     * @param value Value to add if the key is absent.
+     * @param remappingFunction Function from the current and given values to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+            throws NullPointerException {
+        return written(key, dictionary.merge(key, value, remappingFunction));
+    }
+
+    /**
+     * Clear the dictionary. Loads in progress complete, but are not stored.
+     */
+    @Override
+    public synchronized void clear() {
+        dictionary.clear();
+        loads.clear();
+        writeTimes.clear();
+    }
+
+    /**
+     * Return a copy of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public synchronized Collection<K> keys() {
+        ArrayList<K> keyList = new ArrayList<K>(dictionary.size());
+        keyList.addAll(dictionary.keys());
+        return keyList;
+    }
+
+    /**
+     * Return a copy of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public synchronized Collection<V> values() {
+        ArrayList<V> valueList = new ArrayList<V>(dictionary.size());
+        valueList.addAll(dictionary.values());
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary. A load of the key already
+     * in progress still completes for its callers, but is not stored.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public synchronized boolean remove(K key) throws NullPointerException {
+        loads.remove(key);
+        writeTimes.remove(key);
+        return dictionary.remove(key);
+    }
+
+    /**
+     * Return an Iterator over a copy of the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return keys().iterator();
+    }
+
+    /**
+     * Return a cursor over a copy of the dictionary's pairs. Values set through
+     * the cursor are written to the dictionary with {@link #put(Object, Object)}.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public synchronized EntryCursor<K, V> cursor() {
+        ArrayList<K> keyList = new ArrayList<K>(dictionary.size());
+        ArrayList<V> valueList = new ArrayList<V>(dictionary.size());
+        EntryCursor<K, V> entries = dictionary.cursor();
+
+        while(entries.advance()) {
+            keyList.add(entries.key());
+            valueList.add(entries.value());
+        }
+
+        return new LoadingCursor(keyList, valueList);
+    }
+
+    /**
+     * Start a load on the executor.
+     *
+     * @param key Key to load.
+     * @param load Future to complete.
+     */
+    private void start(K key, CompletableFuture<V> load) {
+        try {
+            executor.execute(() -> load(key, load));
+        } catch(RuntimeException e) {
+            // A rejected load must not leave its future in place forever
+            synchronized(this) {
+                if(loads.get(key) == load) {
+                    loads.remove(key);
+                }
+            }
+
+            load.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Run the loader and complete a load, storing the result if the load is still current.
+     *
+     * @param key Key to load.
+     * @param load Future to complete.
+     */
+    private void load(K key, CompletableFuture<V> load) {
+        V value;
+
+        try {
+            value = loader.apply(key);
+        } catch(Throwable e) {
+            synchronized(this) {
+                if(loads.get(key) == load) {
+                    loads.remove(key);
+                }
+            }
+
+            load.completeExceptionally(e);
+            return;
+        }
+
+        // Store the result unless the key was written, removed or cleared meanwhile
+        synchronized(this) {
+            if(loads.get(key) == load) {
+                loads.remove(key);
+
+                if(value != null) {
+                    dictionary.put(key, value);
+                    stamp(key);
+                } else {
+                    dictionary.remove(key);
+                    writeTimes.remove(key);
+                }
+            }
+        }
+
+        load.complete(value);
+    }
+
+    /**
+     * Register a background refresh of a present key if its value is old
+     * enough. Called while holding the lock. The caller starts the refresh
+     * after releasing the lock, so a direct executor never runs the loader
+     * under it.
+     *
+     * @param key Key read.
+     * @return The refresh to start, or {@code null} if none is due.
+     */
+    private CompletableFuture<V> refreshIfDue(K key) {
+        if(refreshAfter == 0 || loads.get(key) != null) {
+            return null;
+        }
+
+        Long written = writeTimes.get(key);
+
+        if(written == null || ticker.read() - written < refreshAfter) {
+            return null;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<V>();
+        loads.put(key, load);
+        return load;
+    }
+
+    /**
+     * Record the time a key was written, when refreshing.
+     *
+     * @param key Key written.
+     */
+    private void stamp(K key) {
+        if(refreshAfter != 0) {
+            writeTimes.put(key, ticker.read());
+        }
+    }
+
+    /**
+     * Supersede any load of a key after it was written directly. Called while holding the lock.
+     *
+     * @param key Key written.
+     * @param value Value the key now has, or {@code null} if absent.
+     * @return The value.
+     */
+    private V written(K key, V value) {
+        loads.remove(key);
+
+        if(value == null) {
+            writeTimes.remove(key);
+        } else {
+            stamp(key);
+        }
+
+        return value;
+    }
+
+    /**
+     * Wait for a load, rethrowing the loader's exception.
+     *
+     * @param load Future to wait for.
+     * @return The loaded value.
+     */
+    private V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch(CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Convert a positive duration to nanoseconds.
+     *
+     * @param duration Duration.
+     * @param unit Unit of duration.
+     * @return The duration in nanoseconds.
+     * @throws NullPointerException If unit is {@code null}.
+     * @throws IllegalArgumentException If duration is not positive.
+     */
+    private static long toNanos(long duration, TimeUnit unit) throws NullPointerException, IllegalArgumentException {
+        if(unit == null) {
+            throw new NullPointerException("Unit cannot be null.");
+        }
+
+        if(duration <= 0) {
+            throw new IllegalArgumentException("Illegal argument: Refresh interval must be positive.");
+        }
+
+        return unit.toNanos(duration);
+    }
+
+    /**
+     * A cursor over a copy of the dictionary's pairs.
+     */
+    private class LoadingCursor implements EntryCursor<K, V> {
+
+        /**
+         * Copied keys.
+         */
+        private final ArrayList<K> keyList;
+
+        /**
+         * Copied values.
+         */
+        private final ArrayList<V> valueList;
+
+        /**
+         * Index of the current pair.
+         */
+        private int index;
+
+        /**
+         * Create a new LoadingCursor.
+         *
+         * @param keyList Copied keys.
+         * @param valueList Copied values.
+         */
+        public LoadingCursor(ArrayList<K> keyList, ArrayList<V> valueList) {
+            this.keyList = keyList;
+            this.valueList = valueList;
+            this.index = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            if(index < keyList.size()) {
+                index++;
+            }
+
+            return index < keyList.size();
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return keyList.get(index);
+        }
+
+        /**
+         * Return the current value, as it was copied.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return valueList.get(index);
+        }
+
+        /**
+         * Write a new value for the current key to the dictionary.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+            put(keyList.get(index), value);
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(index < 0 || index >= keyList.size()) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
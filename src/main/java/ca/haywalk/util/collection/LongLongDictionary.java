@@ -0,0 +1,466 @@
+package ca.haywalk.util.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A hash table mapping {@code long} keys to {@code long} values without boxing.
+ *
+ * Uses linear probing over parallel primitive arrays. A key of zero marks
+ * an empty slot, so the zero key itself is stored outside the table.
+ * Missing keys read as zero, which makes {@link #addTo(long, long)} a
+ * natural counter increment.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class LongLongDictionary {
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Fraction of the table that may be filled before it grows.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Largest supported table capacity.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Key marking an empty slot.
+     */
+    private static final long EMPTY = 0;
+
+    /**
+     * Key array.
+     */
+    private long[] keys;
+
+    /**
+     * Value array.
+     */
+    private long[] values;
+
+    /**
+     * Number of pairs in the table, not counting the zero key.
+     */
+    private int tableSize;
+
+    /**
+     * Number of pairs allowed in the table before it grows.
+     */
+    private int threshold;
+
+    /**
+     * Whether the zero key is present.
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * Value of the zero key.
+     */
+    private long zeroValue;
+
+    /**
+     * Create a new LongLongDictionary.
+     */
+    public LongLongDictionary() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create an LongLongDictionary with a given initial size.
+     *
+     * @param size Expected number of pairs.
+     * @throws IllegalArgumentException If size is negative.
+     */
+    public LongLongDictionary(int size) throws IllegalArgumentException {
+        // Check argument integrity
+        if(size < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative size.");
+        }
+
+        // Find the smallest power of two that fits under the load factor
+        long needed = (long) Math.ceil(size / (double) LOAD_FACTOR) + 1;
+        int capacity = 2;
+
+        while(capacity < needed && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    public int size() {
+        return hasZeroKey ? tableSize + 1 : tableSize;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     */
+    public boolean put(long key, long value) {
+        // Store the zero key outside the table
+        if(key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return true;
+        }
+
+        // Overwrite the value, or insert the pair into the empty slot found
+        int index = slotFor(key);
+
+        if(keys[index] == EMPTY) {
+            index = claim(index, key);
+        }
+
+        values[index] = value;
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or zero if there is none.
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Return the value associated to a key, or a default value.
+     *
+     * @param key Key to get value associated with.
+     * @param defaultValue Value to return if the key is absent.
+     * @return Value associated with the key, or the default.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        // Check the zero key
+        if(key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        // Look the key up
+        int index = slotFor(key);
+        return keys[index] == EMPTY ? defaultValue : values[index];
+    }
+
+    /**
+     * Add to the value associated to a key, treating a missing key as zero.
+     *
+     * @param key Key whose value to add to.
+     * @param delta Amount to add.
+     * @return The new value.
+     */
+    public long addTo(long key, long delta) {
+        // Update the zero key outside the table
+        if(key == EMPTY) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+
+        // Find or insert the key, then add in place
+        int index = slotFor(key);
+
+        if(keys[index] == EMPTY) {
+            index = claim(index, key);
+            values[index] = 0;
+        }
+
+        return values[index] += delta;
+    }
+
+    /**
+     * Check if the dictionary contains a key.
+     *
+     * @param key Key to check for.
+     * @return {@code true} if the key is present.
+     */
+    public boolean containsKey(long key) {
+        if(key == EMPTY) {
+            return hasZeroKey;
+        }
+
+        return keys[slotFor(key)] != EMPTY;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if the key was present.
+     */
+    public boolean remove(long key) {
+        // Remove the zero key
+        if(key == EMPTY) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+
+        // Find the key, returning false if absent
+        int index = slotFor(key);
+
+        if(keys[index] == EMPTY) {
+            return false;
+        }
+
+        // Close the gap left in the probe run
+        deleteSlot(index);
+        tableSize--;
+        return true;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    public void clear() {
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = EMPTY;
+            values[i] = 0;
+        }
+
+        tableSize = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary. The cursor allocates
+     * nothing while advancing.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Spread a key's bits over the table index.
+     *
+     * @param key Key to hash.
+     * @return The hash.
+     */
+    private static int hash(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    /**
+     * Allocate empty arrays with a given capacity.
+     *
+     * @param capacity Table capacity, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        threshold = Math.min((int) (capacity * LOAD_FACTOR), capacity - 1);
+    }
+
+    /**
+     * Find the slot holding a non-zero key, or the empty slot ending its probe run.
+     *
+     * @param key Key to find.
+     * @return The slot index.
+     */
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+
+        while(keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    /**
+     * Store a new key in an empty slot found by {@link #slotFor(long)},
+     * growing the table first if it is full.
+     *
+     * @param index The empty slot.
+     * @param key Key to store.
+     * @return The slot the key ended up in.
+     */
+    private int claim(int index, long key) {
+        // Grow and find the new slot if necessary
+        if(tableSize >= threshold) {
+            increaseTableSize();
+            index = slotFor(key);
+        }
+
+        keys[index] = key;
+        tableSize++;
+        return index;
+    }
+
+    /**
+     * Empty a slot, moving later entries of the probe run back into the gap.
+     *
+     * @param gap Slot to empty.
+     */
+    private void deleteSlot(int gap) {
+        int mask = keys.length - 1;
+        int index = (gap + 1) & mask;
+
+        while(keys[index] != EMPTY) {
+            // Move the entry back unless its home slot lies between the gap and it
+            int home = hash(keys[index]) & mask;
+
+            if(((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[gap] = EMPTY;
+        values[gap] = 0;
+    }
+
+    /**
+     * Double the table capacity and reinsert every pair.
+     *
+     * @throws IllegalStateException If the table is already at maximum capacity.
+     */
+    private void increaseTableSize() throws IllegalStateException {
+        // Refuse to grow past the maximum
+        if(keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("LongLongDictionary is full.");
+        }
+
+        // Keep the old arrays and reinsert each pair
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != EMPTY) {
+                int index = slotFor(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * A cursor over the pairs in the dictionary.
+     *
+     * Call {@link #advance()} before reading the first pair. The dictionary
+     * must not be structurally modified while a cursor is in use, but
+     * {@link #setValue(long)} may be used to update values in place.
+     */
+    public class Cursor {
+
+        /**
+         * Current slot. The table length stands for the zero key, and
+         * anything past it means the cursor is exhausted.
+         */
+        private int index;
+
+        /**
+         * Create a new Cursor.
+         */
+        private Cursor() {
+            index = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        public boolean advance() {
+            // Find the next occupied slot
+            while(++index < keys.length) {
+                if(keys[index] != EMPTY) {
+                    return true;
+                }
+            }
+
+            // Finish with the zero key
+            if(index == keys.length && hasZeroKey) {
+                return true;
+            }
+
+            index = keys.length + 1;
+            return false;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        public long key() throws NoSuchElementException {
+            checkPosition();
+            return index == keys.length ? EMPTY : keys[index];
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        public long value() throws NoSuchElementException {
+            checkPosition();
+            return index == keys.length ? zeroValue : values[index];
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        public void setValue(long value) throws NoSuchElementException {
+            checkPosition();
+
+            if(index == keys.length) {
+                zeroValue = value;
+            } else {
+                values[index] = value;
+            }
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(index < 0 || index > keys.length) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+}
@@ -0,0 +1,2244 @@
+package ca.haywalk.util.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent dictionary of byte arrays stored in memory-mapped files.
+ *
+ * Writes are appended to a log file that is mapped in fixed-size
+ * segments. Each record carries a CRC32 checksum. A hash index over the
+ * log is kept in a second mapped file. Opening a dictionary that was
+ * closed cleanly only remaps the two files, so lookups are served from
+ * the page cache straight away. If the dictionary was not closed cleanly,
+ * the index is rebuilt from the log, stopping at the first record whose
+ * checksum does not match.
+ *
+ * Overwritten and removed records stay in the log as garbage until it is
+ * compacted. Compaction copies the live records to a fresh log and
+ * index and swaps them in. It starts on a background thread once garbage
+ * makes up half of a log larger than one segment, and can also be run
+ * with {@link #compact()} or {@link #compactAsync()}.
+ *
+ * Each compaction or clear writes a new generation of files, and a small
+ * pointer file names the current one. Files are never replaced while
+ * mapped: the pointer moves to the new generation and the old files are
+ * deleted, or left for the next open to delete on platforms that refuse
+ * to delete mapped files.
+ *
+ * Public methods are synchronized. Iterators are not safe against
+ * concurrent modification.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class MappedFileDictionary implements Dictionary<byte[], byte[]>, Closeable {
+
+    /**
+     * Default size of a log segment in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    /**
+     * Name of the log file.
+     */
+    private static final String LOG_NAME = "data.log";
+
+    /**
+     * Name of the index file.
+     */
+    private static final String INDEX_NAME = "data.idx";
+
+    /**
+     * Name of the file holding the current generation number.
+     */
+    private static final String CURRENT_NAME = "data.current";
+
+    /**
+     * Suffix of the pointer file while it is being written.
+     */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /**
+     * Fraction of the log that must be garbage before it is compacted automatically.
+     */
+    private static final double COMPACTION_RATIO = 0.5;
+
+    /**
+     * The directory holding the files.
+     */
+    private final Path directory;
+
+    /**
+     * The open files.
+     */
+    private Store store;
+
+    /**
+     * Generation of the open files.
+     */
+    private long generation;
+
+    /**
+     * Generation to give the next files written.
+     */
+    private long nextGeneration;
+
+    /**
+     * Thread running background compactions, created when first needed.
+     */
+    private ExecutorService compactor;
+
+    /**
+     * The pending or last background compaction, or {@code null}.
+     */
+    private CompletableFuture<Void> compaction;
+
+    /**
+     * Whether the dictionary has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Open or create a MappedFileDictionary in a directory.
+     *
+     * @param directory Directory to store the files in. Created if missing.
+     * @throws IOException If the files cannot be opened.
+     */
+    public MappedFileDictionary(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open or create a MappedFileDictionary with a given log segment size.
+     * An existing log keeps the segment size it was created with.
+     *
+     * @param directory Directory to store the files in. Created if missing.
+     * @param segmentSize Size of each mapped log segment in bytes.
+     * @throws IOException If the files cannot be opened.
+     * @throws IllegalArgumentException If segment size is too small.
+     */
+    public MappedFileDictionary(Path directory, int segmentSize) throws IOException, IllegalArgumentException {
+        // Check argument integrity
+        if(segmentSize < Store.LOG_HEADER_SIZE + Store.RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Illegal argument: Segment size too small.");
+        }
+
+        // Open the current files, discarding other generations
+        this.directory = directory;
+        Files.createDirectories(directory);
+        generation = readGeneration();
+        deleteStale();
+        store = Store.open(logPath(generation), indexPath(generation), segmentSize);
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public synchronized int size() {
+        return store.count;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return store.count == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     * @throws IllegalArgumentException If the pair does not fit in a log segment.
+     * @throws UncheckedIOException If the log cannot be extended.
+     */
+    @Override
+    public synchronized boolean put(byte[] key, byte[] value) throws NullPointerException, IllegalArgumentException {
+        // Check argument integrity
+        checkPair(key, value);
+
+        // Append the record
+        checkOpen();
+
+        try {
+            store.put(key, value);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        maybeCompact();
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return A copy of the value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public synchronized byte[] get(byte[] key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        checkOpen();
+        return store.get(key);
+    }
+
+    /**
+     * Clear the dictionary, replacing its files with empty ones.
+     *
+     * @throws UncheckedIOException If the new files cannot be created.
+     */
+    @Override
+    public synchronized void clear() {
+        checkOpen();
+
+        try {
+            rewrite(false);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Return a collection of copies of the keys in the dictionary.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public synchronized Collection<byte[]> keys() {
+        checkOpen();
+
+        // Make a new list
+        ArrayList<byte[]> keyList = new ArrayList<byte[]>(store.count);
+
+        // Read the key of each indexed record
+        for(int slot = 0; slot < store.capacity; slot++) {
+            long offset = store.slotOffset(slot);
+
+            if(offset != 0) {
+                keyList.add(store.readKey(offset));
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of copies of the values in the dictionary.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public synchronized Collection<byte[]> values() {
+        checkOpen();
+
+        // Make a new list
+        ArrayList<byte[]> valueList = new ArrayList<byte[]>(store.count);
+
+        // Read the value of each indexed record
+        for(int slot = 0; slot < store.capacity; slot++) {
+            long offset = store.slotOffset(slot);
+
+            if(offset != 0) {
+                valueList.add(store.readValue(offset));
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws UncheckedIOException If the log cannot be extended.
+     */
+    @Override
+    public synchronized boolean remove(byte[] key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        // Append a tombstone if the key is present
+        checkOpen();
+        boolean removed;
+
+        try {
+            removed = store.remove(key);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        maybeCompact();
+        return removed;
+    }
+
+    /**
+     * Atomically add a pair unless the key is already present, probing the
+     * index once.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return A copy of the existing value, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized byte[] putIfAbsent(byte[] key, byte[] value) throws NullPointerException {
+        // Check argument integrity
+        checkPair(key, value);
+        checkOpen();
+
+        // Return the existing value, or append at the slot just found
+        int hash = Store.hash(key, key.length);
+        int slot = store.findSlot(key, key.length, hash);
+        long offset = store.slotOffset(slot);
+
+        if(offset != 0) {
+            return store.readValue(offset);
+        }
+
+        write(slot, key, hash, value);
+        return null;
+    }
+
+    /**
+     * Atomically replace the value of a key only if the key is present,
+     * probing the index once.
+     *
+     * @param key Key to update.
+     * @param value New value.
+     * @return A copy of the previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized byte[] replace(byte[] key, byte[] value) throws NullPointerException {
+        // Check argument integrity
+        checkPair(key, value);
+        checkOpen();
+
+        // Do nothing if the key is absent, otherwise append at its slot
+        int hash = Store.hash(key, key.length);
+        int slot = store.findSlot(key, key.length, hash);
+        long offset = store.slotOffset(slot);
+
+        if(offset == 0) {
+            return null;
+        }
+
+        byte[] previous = store.readValue(offset);
+        write(slot, key, hash, value);
+        return previous;
+    }
+
+    /**
+     * Atomically return the value of a key, computing and adding it if the
+     * key is absent. The index is probed once unless the function changes
+     * the dictionary.
+     *
+     * @param key Key.
+     * @param mappingFunction Function computing a value for the key.
+     * @return The existing or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized byte[] computeIfAbsent(byte[] key, Function<? super byte[], ? extends byte[]> mappingFunction)
+            throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(mappingFunction == null) {
+            throw new NullPointerException("Mapping function cannot be null.");
+        }
+
+        checkOpen();
+
+        // Return the existing value
+        Store probed = store;
+        int modifications = probed.modifications;
+        int hash = Store.hash(key, key.length);
+        int slot = probed.findSlot(key, key.length, hash);
+        long offset = probed.slotOffset(slot);
+
+        if(offset != 0) {
+            return probed.readValue(offset);
+        }
+
+        // Compute and add a value at the same slot
+        byte[] value = mappingFunction.apply(key);
+
+        if(value != null) {
+            write(reprobe(probed, modifications, slot, key, hash), key, hash, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Atomically compute a new value for a key from its current value. The
+     * index is probed once unless the function changes the dictionary.
+     *
+     * @param key Key.
+     * @param remappingFunction Function computing the new value, or {@code null} to remove the pair.
+     * @return The new value, or {@code null} if there is none.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized byte[] compute(byte[] key, BiFunction<? super byte[], ? super byte[], ? extends byte[]> remappingFunction)
+            throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        checkOpen();
+
+        // Read the current value
+        Store probed = store;
+        int modifications = probed.modifications;
+        int hash = Store.hash(key, key.length);
+        int slot = probed.findSlot(key, key.length, hash);
+        long offset = probed.slotOffset(slot);
+        byte[] oldValue = offset == 0 ? null : probed.readValue(offset);
+
+        // Store or remove the result at the same slot
+        byte[] newValue = remappingFunction.apply(key, oldValue);
+        slot = reprobe(probed, modifications, slot, key, hash);
+
+        if(newValue != null) {
+            write(slot, key, hash, newValue);
+        } else if(store.slotOffset(slot) != 0) {
+            erase(slot, key);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Atomically add a value for a key, or combine it with the current value.
+     * The index is probed once unless the function changes the dictionary.
+     *
+     * @param key Key.
+     * @param value Value to add or combine.
+     * @param remappingFunction Function combining the current and given values, or returning {@code null} to remove the pair.
+     * @return The new value, or {@code null} if the pair was removed.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized byte[] merge(byte[] key, byte[] value,
+            BiFunction<? super byte[], ? super byte[], ? extends byte[]> remappingFunction) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot merge null value.");
+        }
+
+        if(remappingFunction == null) {
+            throw new NullPointerException("Remapping function cannot be null.");
+        }
+
+        checkOpen();
+
+        // Add the value if the key is absent
+        Store probed = store;
+        int modifications = probed.modifications;
+        int hash = Store.hash(key, key.length);
+        int slot = probed.findSlot(key, key.length, hash);
+        long offset = probed.slotOffset(slot);
+
+        if(offset == 0) {
+            write(slot, key, hash, value);
+            return value;
+        }
+
+        // Store or remove the combined value at the same slot
+        byte[] newValue = remappingFunction.apply(probed.readValue(offset), value);
+        slot = reprobe(probed, modifications, slot, key, hash);
+
+        if(newValue != null) {
+            write(slot, key, hash, newValue);
+        } else if(store.slotOffset(slot) != 0) {
+            erase(slot, key);
+        }
+
+        return newValue;
+    }
+
+    /**
+     * Return an Iterator over copies of the dictionary's keys.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public synchronized Iterator<byte[]> iterator() {
+        checkOpen();
+        return new MappedFileDictionaryIterator(store);
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary, walking the index
+     * rather than looking each key up again. Keys and values are read as
+     * copies.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public synchronized EntryCursor<byte[], byte[]> cursor() {
+        checkOpen();
+        return new MappedFileDictionaryCursor(store);
+    }
+
+    /**
+     * Add a pair of Strings, encoded as UTF-8.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public boolean putString(String key, String value) throws NullPointerException {
+        return put(encode(key), encode(value));
+    }
+
+    /**
+     * Return the String associated to a String key.
+     *
+     * @param key Key to get value associated with.
+     * @return The UTF-8 decoded value, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public String getString(String key) throws NullPointerException {
+        byte[] value = get(encode(key));
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Remove a String key.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public boolean removeString(String key) throws NullPointerException {
+        return remove(encode(key));
+    }
+
+    /**
+     * Return the number of bytes used by the log.
+     *
+     * @return The log length in bytes.
+     */
+    public synchronized long logSize() {
+        return store.end;
+    }
+
+    /**
+     * Return the number of log bytes taken by overwritten and removed records.
+     *
+     * @return The garbage size in bytes.
+     */
+    public synchronized long garbageSize() {
+        return store.garbage;
+    }
+
+    /**
+     * Force every change out to the storage device.
+     */
+    public synchronized void flush() {
+        checkOpen();
+        store.force();
+    }
+
+    /**
+     * Compact the log now, on the calling thread.
+     *
+     * @throws IOException If the compacted files cannot be written.
+     */
+    public synchronized void compact() throws IOException {
+        checkOpen();
+        rewrite(true);
+    }
+
+    /**
+     * Compact the log on a background thread. The live records are copied
+     * without holding the dictionary's lock, so reads and writes carry on
+     * meanwhile. They wait only while records written during the copy are
+     * replayed into the new files and the files are swapped.
+     *
+     * @return A future completing when compaction has finished.
+     */
+    public synchronized CompletableFuture<Void> compactAsync() {
+        checkOpen();
+
+        // Reuse a compaction that has not finished
+        if(compaction != null && !compaction.isDone()) {
+            return compaction;
+        }
+
+        // Start the compactor thread if necessary
+        if(compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "MappedFileDictionary-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        // Queue the compaction
+        compaction = CompletableFuture.runAsync(() -> {
+            try {
+                compactConcurrently();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, compactor);
+
+        return compaction;
+    }
+
+    /**
+     * Close the dictionary, marking its files as cleanly closed so that the
+     * next open does not rebuild the index.
+     *
+     * @throws IOException If the files cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        // Do nothing if already closed
+        if(closed) {
+            return;
+        }
+
+        closed = true;
+
+        if(compactor != null) {
+            compactor.shutdown();
+        }
+
+        store.close(true);
+    }
+
+    /**
+     * Throw an exception if the dictionary has been closed.
+     *
+     * @throws IllegalStateException If closed.
+     */
+    private void checkOpen() throws IllegalStateException {
+        if(closed) {
+            throw new IllegalStateException("Dictionary is closed.");
+        }
+    }
+
+    /**
+     * Throw an exception if a key or value is {@code null}.
+     *
+     * @param key Key.
+     * @param value Value.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    private static void checkPair(byte[] key, byte[] value) throws NullPointerException {
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+    }
+
+    /**
+     * Append a pair and index it at a slot already found for its key.
+     *
+     * @param slot Slot found for the key.
+     * @param key Key.
+     * @param hash Key hash.
+     * @param value Value.
+     * @throws UncheckedIOException If the log cannot be extended.
+     */
+    private void write(int slot, byte[] key, int hash, byte[] value) {
+        try {
+            store.putAt(slot, key, hash, value);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        maybeCompact();
+    }
+
+    /**
+     * Append a tombstone for a key and empty the slot already found for it.
+     *
+     * @param slot Slot holding the key.
+     * @param key Key.
+     * @throws UncheckedIOException If the log cannot be extended.
+     */
+    private void erase(int slot, byte[] key) {
+        try {
+            store.removeAt(slot, key);
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        maybeCompact();
+    }
+
+    /**
+     * Return a slot found before calling a function, probing again only if
+     * the function changed the index or replaced the files.
+     *
+     * @param probed Store the slot was found in.
+     * @param modifications Its modification count when the slot was found.
+     * @param slot The slot.
+     * @param key Key.
+     * @param hash Key hash.
+     * @return A current slot for the key.
+     * @throws IllegalStateException If the function closed the dictionary.
+     */
+    private int reprobe(Store probed, int modifications, int slot, byte[] key, int hash) throws IllegalStateException {
+        checkOpen();
+
+        if(store == probed && probed.modifications == modifications) {
+            return slot;
+        }
+
+        return store.findSlot(key, key.length, hash);
+    }
+
+    /**
+     * Start a background compaction if the log is large and mostly garbage.
+     */
+    private void maybeCompact() {
+        if(store.end > store.segmentSize && store.garbage > store.end * COMPACTION_RATIO
+            && (compaction == null || compaction.isDone())) {
+            compactAsync();
+        }
+    }
+
+    /**
+     * Replace the files with a new generation, optionally copying the live records.
+     *
+     * @param copy Whether to copy the live records.
+     * @throws IOException If the new files cannot be written.
+     */
+    private void rewrite(boolean copy) throws IOException {
+        long newGeneration = nextGeneration++;
+        Store target = Store.create(logPath(newGeneration), indexPath(newGeneration), store.segmentSize, copy ? store.count : 0);
+        boolean installed = false;
+
+        try {
+            if(copy) {
+                store.copyTo(target);
+            }
+
+            install(target, newGeneration);
+            installed = true;
+        } finally {
+            if(!installed) {
+                target.discard();
+            }
+        }
+    }
+
+    /**
+     * Compact the log, holding the lock only to take a snapshot and to swap
+     * the files. The records live at the snapshot are copied without the
+     * lock, since log bytes before the snapshot's end never change. Records
+     * appended since are then replayed under the lock. The work is dropped
+     * if the dictionary is cleared, compacted or closed in the meantime.
+     *
+     * @throws IOException If the compacted files cannot be written.
+     */
+    private void compactConcurrently() throws IOException {
+        Store source;
+        Store snapshot;
+        long newGeneration;
+        int expected;
+
+        // Note where the log ends
+        synchronized(this) {
+            if(closed) {
+                return;
+            }
+
+            source = store;
+            snapshot = source.snapshot();
+            newGeneration = nextGeneration++;
+            expected = source.count;
+        }
+
+        Store target = Store.create(logPath(newGeneration), indexPath(newGeneration), snapshot.segmentSize, expected);
+        boolean installed = false;
+
+        try {
+            // Copy the records live at the snapshot, without the lock
+            target.stage(snapshot, Store.LOG_HEADER_SIZE, snapshot.end);
+            target.copyStaged(snapshot);
+
+            // Catch up with later writes and swap the files
+            synchronized(this) {
+                if(closed || store != source) {
+                    return;
+                }
+
+                target.replay(source, snapshot.end, source.end);
+                install(target, newGeneration);
+                installed = true;
+            }
+        } finally {
+            if(!installed) {
+                target.discard();
+            }
+        }
+    }
+
+    /**
+     * Switch to a new generation of files and delete the old ones.
+     *
+     * @param target The new files.
+     * @param newGeneration Their generation.
+     * @throws IOException If the pointer file cannot be written.
+     */
+    private void install(Store target, long newGeneration) throws IOException {
+        // Make the new files durable before pointing at them. The index is dirty
+        // until the next clean close, so a crash after the pointer moves just
+        // causes a rebuild from the new log.
+        target.force();
+        writeGeneration(newGeneration);
+
+        // Switch over. Old mappings stay valid for iterators still reading them.
+        Store old = store;
+        store = target;
+        generation = newGeneration;
+        old.discard();
+    }
+
+    /**
+     * Return the log file of a generation. Generation zero uses the plain
+     * name, so directories written before generations existed still open.
+     *
+     * @param fileGeneration Generation.
+     * @return The log file.
+     */
+    private Path logPath(long fileGeneration) {
+        return directory.resolve(fileGeneration == 0 ? LOG_NAME : LOG_NAME + "." + fileGeneration);
+    }
+
+    /**
+     * Return the index file of a generation.
+     *
+     * @param fileGeneration Generation.
+     * @return The index file.
+     */
+    private Path indexPath(long fileGeneration) {
+        return directory.resolve(fileGeneration == 0 ? INDEX_NAME : INDEX_NAME + "." + fileGeneration);
+    }
+
+    /**
+     * Read the current generation from the pointer file.
+     *
+     * @return The generation, or zero if there is no pointer file.
+     * @throws IOException If the pointer file cannot be read or is not valid.
+     */
+    private long readGeneration() throws IOException {
+        Path current = directory.resolve(CURRENT_NAME);
+
+        if(!Files.exists(current)) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(current), StandardCharsets.UTF_8).trim());
+        } catch(NumberFormatException e) {
+            throw new IOException("Not a dictionary pointer: " + current, e);
+        }
+    }
+
+    /**
+     * Durably replace the pointer file with a new generation.
+     *
+     * @param newGeneration Generation.
+     * @throws IOException If the pointer file cannot be written.
+     */
+    private void writeGeneration(long newGeneration) throws IOException {
+        Path current = directory.resolve(CURRENT_NAME);
+        Path temporary = directory.resolve(CURRENT_NAME + TEMPORARY_SUFFIX);
+
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(encode(Long.toString(newGeneration)));
+
+            while(bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(temporary, current, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Delete every data file not belonging to the current generation, and
+     * choose the next generation past any that could not be deleted.
+     *
+     * @throws IOException If the directory cannot be listed.
+     */
+    private void deleteStale() throws IOException {
+        nextGeneration = generation + 1;
+        Path log = logPath(generation);
+        Path index = indexPath(generation);
+
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for(Path file : files) {
+                String name = file.getFileName().toString();
+
+                if(file.equals(log) || file.equals(index)
+                    || !(name.startsWith(LOG_NAME) || name.startsWith(INDEX_NAME) || name.startsWith(CURRENT_NAME + "."))) {
+                    continue;
+                }
+
+                // Skip past the generation of a file that cannot be deleted yet
+                if(!deleteQuietly(file)) {
+                    try {
+                        long fileGeneration = Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+                        nextGeneration = Math.max(nextGeneration, fileGeneration + 1);
+                    } catch(NumberFormatException e) {
+                        // Not a generation file
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete a file if possible.
+     *
+     * @param file File to delete.
+     * @return {@code true} if the file no longer exists.
+     */
+    private static boolean deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch(IOException e) {
+            // Some platforms refuse to delete a mapped file; the next open tries again
+            return false;
+        }
+    }
+
+    /**
+     * Encode a String as UTF-8.
+     *
+     * @param string String to encode.
+     * @return The encoded bytes.
+     * @throws NullPointerException If string is {@code null}.
+     */
+    private static byte[] encode(String string) throws NullPointerException {
+        if(string == null) {
+            throw new NullPointerException("Cannot encode null.");
+        }
+
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A log file and the index over it.
+     *
+     * The log starts with a header of a magic number, a format version and
+     * the segment size. Each record is a CRC32, a key length, a value length
+     * (-1 for a tombstone), the key and the value. A record never crosses a
+     * segment boundary: the space left at the end of a segment is skipped,
+     * and marked with a padding record if it is large enough to hold one.
+     *
+     * The index header holds a magic number, the table capacity, the pair
+     * count, the indexed log length, the garbage size and a clean flag.
+     * Each slot holds a key hash and a record offset, with offset zero
+     * meaning empty. Collisions are resolved by linear probing.
+     */
+    private static final class Store {
+
+        /**
+         * Magic number at the start of the log.
+         */
+        private static final long LOG_MAGIC = 0x6877_6c6f_675f_7631L;
+
+        /**
+         * Magic number at the start of the index.
+         */
+        private static final long INDEX_MAGIC = 0x6877_6964_785f_7631L;
+
+        /**
+         * Log format version.
+         */
+        private static final int VERSION = 1;
+
+        /**
+         * Size of the log header.
+         */
+        private static final int LOG_HEADER_SIZE = 16;
+
+        /**
+         * Size of a record header.
+         */
+        private static final int RECORD_HEADER_SIZE = 12;
+
+        /**
+         * Value length marking a tombstone.
+         */
+        private static final int TOMBSTONE = -1;
+
+        /**
+         * Key length marking a padding record.
+         */
+        private static final int PADDING = -1;
+
+        /**
+         * Size of the index header.
+         */
+        private static final int INDEX_HEADER_SIZE = 48;
+
+        /**
+         * Index header field offsets.
+         */
+        private static final int CAPACITY_FIELD = 8;
+        private static final int COUNT_FIELD = 12;
+        private static final int END_FIELD = 16;
+        private static final int GARBAGE_FIELD = 24;
+        private static final int CLEAN_FIELD = 32;
+
+        /**
+         * Size of an index slot.
+         */
+        private static final int SLOT_SIZE = 16;
+
+        /**
+         * Smallest index capacity.
+         */
+        private static final int MINIMUM_CAPACITY = 1024;
+
+        /**
+         * Largest index capacity, keeping the index within one mapping.
+         */
+        private static final int MAXIMUM_CAPACITY = 1 << 26;
+
+        /**
+         * Fraction of the index that may be filled before it grows.
+         */
+        private static final double LOAD_FACTOR = 0.7;
+
+        /**
+         * The log and index files.
+         */
+        private final Path logPath;
+        private final Path indexPath;
+
+        /**
+         * Size of each log segment.
+         */
+        private final int segmentSize;
+
+        /**
+         * Channel used to map new log segments.
+         */
+        private FileChannel logChannel;
+
+        /**
+         * Mapped log segments.
+         */
+        private final ArrayList<MappedByteBuffer> segments = new ArrayList<MappedByteBuffer>();
+
+        /**
+         * Length of the log.
+         */
+        private long end;
+
+        /**
+         * Mapped index.
+         */
+        private MappedByteBuffer index;
+
+        /**
+         * Number of index slots.
+         */
+        private int capacity;
+
+        /**
+         * Number of live pairs.
+         */
+        private int count;
+
+        /**
+         * Log bytes taken by dead records.
+         */
+        private long garbage;
+
+        /**
+         * Checksum calculator.
+         */
+        private final CRC32 crc = new CRC32();
+
+        /**
+         * Buffer for keys read while rebuilding the index.
+         */
+        private byte[] scratch = new byte[64];
+
+        /**
+         * Number of changes made to the index, so a slot found earlier can be
+         * reused only if nothing has changed since.
+         */
+        private int modifications;
+
+        /**
+         * Log whose records the index points into while staging a compaction,
+         * or {@code null} for this Store's own log.
+         */
+        private Store staged;
+
+        /**
+         * Create a Store with nothing opened.
+         *
+         * @param logPath Log file.
+         * @param indexPath Index file.
+         * @param segmentSize Segment size.
+         */
+        private Store(Path logPath, Path indexPath, int segmentSize) {
+            this.logPath = logPath;
+            this.indexPath = indexPath;
+            this.segmentSize = segmentSize;
+        }
+
+        /**
+         * Open existing files, or create them if the log does not exist.
+         *
+         * @param logPath Log file.
+         * @param indexPath Index file.
+         * @param segmentSize Segment size for a new log.
+         * @return The opened Store.
+         * @throws IOException If the files cannot be opened or are not valid.
+         */
+        public static Store open(Path logPath, Path indexPath, int segmentSize) throws IOException {
+            // Create new files if there is no log
+            if(!Files.exists(logPath)) {
+                return create(logPath, indexPath, segmentSize, 0);
+            }
+
+            // Read the log header
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+
+            try(FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ)) {
+                while(header.hasRemaining() && channel.read(header) >= 0) {
+                    // Keep reading
+                }
+            }
+
+            header.flip();
+
+            if(header.remaining() < LOG_HEADER_SIZE || header.getLong(0) != LOG_MAGIC || header.getInt(8) != VERSION) {
+                throw new IOException("Not a dictionary log: " + logPath);
+            }
+
+            // Map the log
+            Store store = new Store(logPath, indexPath, header.getInt(12));
+            store.logChannel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long segmentCount = (store.logChannel.size() + store.segmentSize - 1) / store.segmentSize;
+
+            for(long i = 0; i < segmentCount; i++) {
+                store.mapSegment();
+            }
+
+            // Use the index if it was closed cleanly, otherwise rebuild it from the log
+            if(!store.openIndex()) {
+                store.createIndex(MINIMUM_CAPACITY);
+                store.end = store.scan(LOG_HEADER_SIZE);
+                store.zeroFrom(store.end);
+            } else {
+                store.end = store.scan(store.end);
+            }
+
+            // Mark the index dirty until the next clean close
+            store.index.putInt(CLEAN_FIELD, 0);
+            store.index.force();
+            return store;
+        }
+
+        /**
+         * Create new, empty files, replacing any existing ones.
+         *
+         * @param logPath Log file.
+         * @param indexPath Index file.
+         * @param segmentSize Segment size.
+         * @param expected Number of pairs to size the index for.
+         * @return The created Store.
+         * @throws IOException If the files cannot be created.
+         */
+        public static Store create(Path logPath, Path indexPath, int segmentSize, int expected) throws IOException {
+            Store store = new Store(logPath, indexPath, segmentSize);
+
+            // Create the log and write its header
+            store.logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer first = store.mapSegment();
+            first.putLong(0, LOG_MAGIC);
+            first.putInt(8, VERSION);
+            first.putInt(12, segmentSize);
+            store.end = LOG_HEADER_SIZE;
+
+            // Create the index
+            store.createIndex(capacityFor(expected));
+            return store;
+        }
+
+        /**
+         * Return the value associated to a key.
+         *
+         * @param key Key.
+         * @return A copy of the value, or {@code null} if not found.
+         */
+        public byte[] get(byte[] key) {
+            long offset = slotOffset(findSlot(key, key.length, hash(key, key.length)));
+            return offset == 0 ? null : readValue(offset);
+        }
+
+        /**
+         * Append a pair and index it.
+         *
+         * @param key Key.
+         * @param value Value.
+         * @throws IOException If the log cannot be extended.
+         */
+        public void put(byte[] key, byte[] value) throws IOException {
+            int hash = hash(key, key.length);
+            putAt(findSlot(key, key.length, hash), key, hash, value);
+        }
+
+        /**
+         * Append a pair and index it at the slot found for its key.
+         *
+         * @param slot Slot holding the key, or the empty slot ending its probe run.
+         * @param key Key.
+         * @param hash Key hash.
+         * @param value Value.
+         * @throws IOException If the log or index cannot be extended.
+         */
+        public void putAt(int slot, byte[] key, int hash, byte[] value) throws IOException {
+            indexAt(slot, hash, append(key, value, value.length));
+        }
+
+        /**
+         * Append a tombstone for a key and remove it from the index.
+         *
+         * @param key Key.
+         * @return {@code true} if the key was present.
+         * @throws IOException If the log cannot be extended.
+         */
+        public boolean remove(byte[] key) throws IOException {
+            // Find the key
+            int slot = findSlot(key, key.length, hash(key, key.length));
+
+            if(slotOffset(slot) == 0) {
+                return false;
+            }
+
+            removeAt(slot, key);
+            return true;
+        }
+
+        /**
+         * Append a tombstone for a key and empty the slot holding it.
+         *
+         * @param slot Slot holding the key.
+         * @param key Key.
+         * @throws IOException If the log cannot be extended.
+         */
+        public void removeAt(int slot, byte[] key) throws IOException {
+            // Record the removal in the log, then drop the key from the index
+            long offset = slotOffset(slot);
+            long tombstone = append(key, null, TOMBSTONE);
+            garbage += recordSize(offset) + recordSize(tombstone);
+            deleteSlot(slot);
+            count--;
+        }
+
+        /**
+         * Copy every live record into another Store.
+         *
+         * @param target Store to copy into.
+         * @throws IOException If the target log cannot be extended.
+         */
+        public void copyTo(Store target) throws IOException {
+            for(int slot = 0; slot < capacity; slot++) {
+                long offset = slotOffset(slot);
+
+                if(offset != 0) {
+                    byte[] key = readKey(offset);
+                    byte[] value = readValue(offset);
+                    long copied = target.append(key, value, value.length);
+                    target.insertUnique(slotHash(slot), copied);
+                }
+            }
+        }
+
+        /**
+         * Return a read-only view of the log as it is now, sharing its
+         * segments. Bytes before its end never change, so it can be read
+         * without the dictionary's lock.
+         *
+         * @return The view.
+         */
+        public Store snapshot() {
+            Store snapshot = new Store(logPath, indexPath, segmentSize);
+            snapshot.segments.addAll(segments);
+            snapshot.end = end;
+            return snapshot;
+        }
+
+        /**
+         * Index the records live in part of another log, pointing at their
+         * offsets in that log until {@link #copyStaged(Store)} copies them.
+         *
+         * @param source Log to read.
+         * @param from Offset to start at.
+         * @param to Offset to stop at.
+         * @throws IOException If the index cannot be grown.
+         */
+        public void stage(Store source, long from, long to) throws IOException {
+            staged = source;
+
+            for(long position = source.nextRecord(from, to); position < to;
+                    position = source.nextRecord(position + source.recordSize(position), to)) {
+                // Read the key
+                int keyLength = source.readInt(position + 4);
+
+                if(scratch.length < keyLength) {
+                    scratch = new byte[Math.max(keyLength, scratch.length * 2)];
+                }
+
+                source.readBytes(position + RECORD_HEADER_SIZE, scratch, keyLength);
+                int hash = hash(scratch, keyLength);
+                int slot = findSlot(scratch, keyLength, hash);
+
+                // Drop removed keys, and point the others at their latest record
+                if(source.readInt(position + 8) == TOMBSTONE) {
+                    if(slotOffset(slot) != 0) {
+                        deleteSlot(slot);
+                        count--;
+                    }
+                } else if(slotOffset(slot) != 0) {
+                    setSlot(slot, hash, position);
+                } else {
+                    addAt(slot, hash, position);
+                }
+            }
+        }
+
+        /**
+         * Copy the records indexed by {@link #stage(Store, long, long)} into this log.
+         *
+         * @param source Log that was staged.
+         * @throws IOException If the log cannot be extended.
+         */
+        public void copyStaged(Store source) throws IOException {
+            for(int slot = 0; slot < capacity; slot++) {
+                long offset = slotOffset(slot);
+
+                if(offset != 0) {
+                    byte[] value = source.readValue(offset);
+                    setSlot(slot, slotHash(slot), append(source.readKey(offset), value, value.length));
+                }
+            }
+
+            staged = null;
+            garbage = 0;
+        }
+
+        /**
+         * Apply the records in part of another log.
+         *
+         * @param source Log to read.
+         * @param from Offset to start at.
+         * @param to Offset to stop at.
+         * @throws IOException If the log cannot be extended.
+         */
+        public void replay(Store source, long from, long to) throws IOException {
+            for(long position = source.nextRecord(from, to); position < to;
+                    position = source.nextRecord(position + source.recordSize(position), to)) {
+                byte[] key = source.readKey(position);
+
+                if(source.readInt(position + 8) == TOMBSTONE) {
+                    remove(key);
+                } else {
+                    put(key, source.readValue(position));
+                }
+            }
+        }
+
+        /**
+         * Force both files out to the storage device and record the log length.
+         */
+        public void force() {
+            writeIndexHeader();
+
+            for(int i = 0; i < segments.size(); i++) {
+                segments.get(i).force();
+            }
+
+            index.force();
+        }
+
+        /**
+         * Close the files.
+         *
+         * @param clean Whether to mark the index as cleanly closed.
+         * @throws IOException If the log channel cannot be closed.
+         */
+        public void close(boolean clean) throws IOException {
+            // Write everything out, then mark the index clean
+            if(clean) {
+                force();
+                index.putInt(CLEAN_FIELD, 1);
+                index.force();
+            }
+
+            logChannel.close();
+        }
+
+        /**
+         * Close and delete files that are no longer used.
+         */
+        public void discard() {
+            try {
+                logChannel.close();
+            } catch(IOException e) {
+                // The files are being deleted anyway
+            }
+
+            deleteQuietly(logPath);
+            deleteQuietly(indexPath);
+        }
+
+        /**
+         * Return the record offset in an index slot.
+         *
+         * @param slot Slot.
+         * @return The record offset, or zero if the slot is empty.
+         */
+        public long slotOffset(int slot) {
+            return index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 8);
+        }
+
+        /**
+         * Return the key hash in an index slot.
+         *
+         * @param slot Slot.
+         * @return The hash.
+         */
+        private int slotHash(int slot) {
+            return index.getInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE);
+        }
+
+        /**
+         * Fill an index slot.
+         *
+         * @param slot Slot.
+         * @param hash Key hash.
+         * @param offset Record offset, or zero to empty the slot.
+         */
+        private void setSlot(int slot, int hash, long offset) {
+            modifications++;
+            index.putInt(INDEX_HEADER_SIZE + slot * SLOT_SIZE, hash);
+            index.putLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE + 8, offset);
+        }
+
+        /**
+         * Read a copy of a record's key.
+         *
+         * @param offset Record offset.
+         * @return The key.
+         */
+        public byte[] readKey(long offset) {
+            byte[] key = new byte[readInt(offset + 4)];
+            readBytes(offset + RECORD_HEADER_SIZE, key, key.length);
+            return key;
+        }
+
+        /**
+         * Read a copy of a record's value.
+         *
+         * @param offset Record offset.
+         * @return The value.
+         */
+        public byte[] readValue(long offset) {
+            int keyLength = readInt(offset + 4);
+            byte[] value = new byte[readInt(offset + 8)];
+            readBytes(offset + RECORD_HEADER_SIZE + keyLength, value, value.length);
+            return value;
+        }
+
+        /**
+         * Map the next log segment, extending the file.
+         *
+         * @return The new segment.
+         * @throws IOException If the segment cannot be mapped.
+         */
+        private MappedByteBuffer mapSegment() throws IOException {
+            MappedByteBuffer segment = logChannel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize);
+            segments.add(segment);
+            return segment;
+        }
+
+        /**
+         * Map an existing index file if it was closed cleanly.
+         *
+         * @return {@code true} if the index was usable.
+         * @throws IOException If the file cannot be mapped.
+         */
+        private boolean openIndex() throws IOException {
+            // There is nothing to open if the file is missing or too short
+            if(!Files.exists(indexPath) || Files.size(indexPath) < INDEX_HEADER_SIZE) {
+                return false;
+            }
+
+            // Map it and check the header
+            try(FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                int mappedCapacity = mapped.getInt(CAPACITY_FIELD);
+                long mappedEnd = mapped.getLong(END_FIELD);
+
+                if(mapped.getLong(0) != INDEX_MAGIC || mapped.getInt(CLEAN_FIELD) != 1
+                    || mappedCapacity < MINIMUM_CAPACITY || mappedCapacity > MAXIMUM_CAPACITY
+                    || Integer.bitCount(mappedCapacity) != 1
+                    || channel.size() != INDEX_HEADER_SIZE + (long) mappedCapacity * SLOT_SIZE
+                    || mappedEnd < LOG_HEADER_SIZE || mappedEnd > (long) segments.size() * segmentSize) {
+                    return false;
+                }
+
+                index = mapped;
+                capacity = mappedCapacity;
+                count = mapped.getInt(COUNT_FIELD);
+                end = mappedEnd;
+                garbage = mapped.getLong(GARBAGE_FIELD);
+                return true;
+            }
+        }
+
+        /**
+         * Create an empty index file, replacing any existing one.
+         *
+         * @param newCapacity Number of slots, a power of two.
+         * @throws IOException If the file cannot be created.
+         */
+        private void createIndex(int newCapacity) throws IOException {
+            index = mapNewIndex(indexPath, newCapacity);
+            capacity = newCapacity;
+            count = 0;
+            garbage = 0;
+        }
+
+        /**
+         * Create and map an empty index file.
+         *
+         * @param path File to create.
+         * @param newCapacity Number of slots.
+         * @return The mapped file.
+         * @throws IOException If the file cannot be created.
+         */
+        private static MappedByteBuffer mapNewIndex(Path path, int newCapacity) throws IOException {
+            try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+                mapped.putLong(0, INDEX_MAGIC);
+                mapped.putInt(CAPACITY_FIELD, newCapacity);
+                return mapped;
+            }
+        }
+
+        /**
+         * Write the count, log length and garbage size into the index header.
+         */
+        private void writeIndexHeader() {
+            index.putInt(COUNT_FIELD, count);
+            index.putLong(END_FIELD, end);
+            index.putLong(GARBAGE_FIELD, garbage);
+        }
+
+        /**
+         * Return an index capacity suitable for a number of pairs.
+         *
+         * @param expected Number of pairs.
+         * @return A power of two capacity.
+         */
+        private static int capacityFor(int expected) {
+            int result = MINIMUM_CAPACITY;
+
+            while(result < expected / LOAD_FACTOR && result < MAXIMUM_CAPACITY) {
+                result <<= 1;
+            }
+
+            return result;
+        }
+
+        /**
+         * Replay log records into the index, starting at an offset, and
+         * stopping at the first record that is missing or damaged.
+         *
+         * @param from Offset to start at.
+         * @return The offset after the last valid record.
+         * @throws IOException If the index cannot be grown.
+         */
+        private long scan(long from) throws IOException {
+            long position = from;
+
+            while(position / segmentSize < segments.size()) {
+                // Skip to the next segment if there is no room for a record here
+                int remaining = segmentSize - (int) (position % segmentSize);
+
+                if(remaining < RECORD_HEADER_SIZE) {
+                    position += remaining;
+                    continue;
+                }
+
+                int checksum = readInt(position);
+                int keyLength = readInt(position + 4);
+                int valueLength = readInt(position + 8);
+
+                // Skip padding at the end of a segment
+                if(keyLength == PADDING) {
+                    if(valueLength != remaining || checksum != checksum(position, 0)) {
+                        break;
+                    }
+
+                    position += remaining;
+                    continue;
+                }
+
+                // Stop at anything that is not a whole, valid record
+                int bodyLength = keyLength + Math.max(valueLength, 0);
+
+                if(keyLength < 0 || valueLength < TOMBSTONE || bodyLength < 0
+                    || bodyLength > remaining - RECORD_HEADER_SIZE || checksum != checksum(position, bodyLength)) {
+                    break;
+                }
+
+                // Apply the record
+                if(scratch.length < keyLength) {
+                    scratch = new byte[Math.max(keyLength, scratch.length * 2)];
+                }
+
+                readBytes(position + RECORD_HEADER_SIZE, scratch, keyLength);
+                int hash = hash(scratch, keyLength);
+
+                if(valueLength == TOMBSTONE) {
+                    int slot = findSlot(scratch, keyLength, hash);
+                    long offset = slotOffset(slot);
+                    garbage += RECORD_HEADER_SIZE + keyLength;
+
+                    if(offset != 0) {
+                        garbage += recordSize(offset);
+                        deleteSlot(slot);
+                        count--;
+                    }
+                } else {
+                    index(scratch, keyLength, hash, position);
+                }
+
+                position += RECORD_HEADER_SIZE + bodyLength;
+            }
+
+            return position;
+        }
+
+        /**
+         * Zero the log from an offset to the end of the mapped segments, so
+         * that stale bytes after a damaged record are never mistaken for data.
+         *
+         * @param from Offset to start at.
+         */
+        private void zeroFrom(long from) {
+            long limit = (long) segments.size() * segmentSize;
+            byte[] zeros = new byte[Math.min(segmentSize, 1 << 16)];
+
+            // Write zeros a block at a time, never crossing a segment boundary
+            for(long position = from; position < limit; ) {
+                int length = (int) Math.min(zeros.length, segmentSize - position % segmentSize);
+                view(position, length).put(zeros, 0, length);
+                position += length;
+            }
+        }
+
+        /**
+         * Append a record to the log.
+         *
+         * @param key Key.
+         * @param value Value, or {@code null} for a tombstone.
+         * @param valueLength Value length, or {@code TOMBSTONE}.
+         * @return The record's offset.
+         * @throws IOException If the log cannot be extended.
+         * @throws IllegalArgumentException If the record is larger than a segment.
+         */
+        private long append(byte[] key, byte[] value, int valueLength) throws IOException, IllegalArgumentException {
+            int bodyLength = key.length + Math.max(valueLength, 0);
+
+            // Refuse records that can never fit in a segment
+            if((long) RECORD_HEADER_SIZE + bodyLength > segmentSize - LOG_HEADER_SIZE) {
+                throw new IllegalArgumentException("Illegal argument: Pair does not fit in a log segment.");
+            }
+
+            // Pad out the current segment if the record does not fit in it
+            int remaining = segmentSize - (int) (end % segmentSize);
+
+            if(RECORD_HEADER_SIZE + bodyLength > remaining) {
+                if(remaining >= RECORD_HEADER_SIZE && end / segmentSize < segments.size()) {
+                    writeInt(end + 4, PADDING);
+                    writeInt(end + 8, remaining);
+                    writeInt(end, checksum(end, 0));
+                }
+
+                end += remaining;
+            }
+
+            // Map a new segment if necessary
+            while(end / segmentSize >= segments.size()) {
+                mapSegment();
+            }
+
+            // Write the record, checksum last
+            long offset = end;
+            writeInt(offset + 4, key.length);
+            writeInt(offset + 8, valueLength);
+            writeBytes(offset + RECORD_HEADER_SIZE, key);
+
+            if(value != null) {
+                writeBytes(offset + RECORD_HEADER_SIZE + key.length, value);
+            }
+
+            writeInt(offset, checksum(offset, bodyLength));
+            end += RECORD_HEADER_SIZE + bodyLength;
+            return offset;
+        }
+
+        /**
+         * Point the index entry for a key at a record, adding it if absent.
+         *
+         * @param key Key bytes.
+         * @param keyLength Key length.
+         * @param hash Key hash.
+         * @param offset Record offset.
+         * @throws IOException If the index cannot be grown.
+         */
+        private void index(byte[] key, int keyLength, int hash, long offset) throws IOException {
+            indexAt(findSlot(key, keyLength, hash), hash, offset);
+        }
+
+        /**
+         * Point the index entry at a slot found for a key at a record.
+         *
+         * @param slot Slot holding the key, or the empty slot ending its probe run.
+         * @param hash Key hash.
+         * @param offset Record offset.
+         * @throws IOException If the index cannot be grown.
+         */
+        private void indexAt(int slot, int hash, long offset) throws IOException {
+            long previous = slotOffset(slot);
+
+            // Overwrite an existing entry, making its old record garbage
+            if(previous != 0) {
+                garbage += recordSize(previous);
+                setSlot(slot, hash, offset);
+                return;
+            }
+
+            addAt(slot, hash, offset);
+        }
+
+        /**
+         * Add an index entry at the empty slot found for its key, growing the index if necessary.
+         *
+         * @param slot Empty slot ending the key's probe run.
+         * @param hash Key hash.
+         * @param offset Record offset.
+         * @throws IOException If the index cannot be grown.
+         */
+        private void addAt(int slot, int hash, long offset) throws IOException {
+            if(count + 1 > capacity * LOAD_FACTOR && capacity < MAXIMUM_CAPACITY) {
+                growIndex();
+                insertUnique(hash, offset);
+                return;
+            }
+
+            setSlot(slot, hash, offset);
+            count++;
+        }
+
+        /**
+         * Add an index entry for a key known to be absent.
+         *
+         * @param hash Key hash.
+         * @param offset Record offset.
+         */
+        private void insertUnique(int hash, long offset) {
+            int mask = capacity - 1;
+            int slot = hash & mask;
+
+            while(slotOffset(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            setSlot(slot, hash, offset);
+            count++;
+        }
+
+        /**
+         * Find the slot holding a key, or the empty slot ending its probe run.
+         *
+         * @param key Key bytes.
+         * @param keyLength Key length.
+         * @param hash Key hash.
+         * @return The slot.
+         * @throws IllegalStateException If the index is completely full.
+         */
+        private int findSlot(byte[] key, int keyLength, int hash) throws IllegalStateException {
+            int mask = capacity - 1;
+            int slot = hash & mask;
+
+            for(int probes = 0; probes < capacity; probes++) {
+                long offset = slotOffset(slot);
+
+                if(offset == 0 || (slotHash(slot) == hash && keyEquals(offset, key, keyLength))) {
+                    return slot;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            throw new IllegalStateException("Dictionary index is full.");
+        }
+
+        /**
+         * Empty an index slot, moving later entries of the probe run back into the gap.
+         *
+         * @param gap Slot to empty.
+         */
+        private void deleteSlot(int gap) {
+            int mask = capacity - 1;
+            int slot = (gap + 1) & mask;
+
+            while(slotOffset(slot) != 0) {
+                int hash = slotHash(slot);
+                int home = hash & mask;
+
+                if(((slot - home) & mask) >= ((slot - gap) & mask)) {
+                    setSlot(gap, hash, slotOffset(slot));
+                    gap = slot;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            setSlot(gap, 0, 0);
+        }
+
+        /**
+         * Double the index capacity, extending the index file in place. The
+         * index is dirty while the dictionary is open, so a crash part way
+         * through just causes a rebuild from the log.
+         *
+         * @throws IOException If the file cannot be extended.
+         */
+        private void growIndex() throws IOException {
+            // Copy the entries out
+            int oldCapacity = capacity;
+            int oldCount = count;
+            int[] hashes = new int[oldCount];
+            long[] offsets = new long[oldCount];
+            int copied = 0;
+
+            for(int slot = 0; slot < oldCapacity; slot++) {
+                long offset = slotOffset(slot);
+
+                if(offset != 0) {
+                    hashes[copied] = slotHash(slot);
+                    offsets[copied++] = offset;
+                }
+            }
+
+            // Map the file at double the size, and empty the old slots
+            try(FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                index = channel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE + (long) oldCapacity * 2 * SLOT_SIZE);
+            }
+
+            byte[] zeros = new byte[SLOT_SIZE * 1024];
+            ByteBuffer slots = index.duplicate();
+            slots.position(INDEX_HEADER_SIZE);
+            slots.limit(INDEX_HEADER_SIZE + oldCapacity * SLOT_SIZE);
+
+            while(slots.hasRemaining()) {
+                slots.put(zeros, 0, Math.min(zeros.length, slots.remaining()));
+            }
+
+            // Rehash every entry into the new table
+            capacity = oldCapacity * 2;
+            index.putInt(CAPACITY_FIELD, capacity);
+            count = 0;
+
+            for(int i = 0; i < copied; i++) {
+                insertUnique(hashes[i], offsets[i]);
+            }
+        }
+
+        /**
+         * Return the offset of the first record at or after a position,
+         * skipping segment tails and padding.
+         *
+         * @param position Log offset of a record, padding or segment tail.
+         * @param to Offset to stop at.
+         * @return The record's offset, or {@code to} if there is none before it.
+         */
+        private long nextRecord(long position, long to) {
+            while(position < to) {
+                int remaining = segmentSize - (int) (position % segmentSize);
+
+                if(remaining >= RECORD_HEADER_SIZE && readInt(position + 4) != PADDING) {
+                    return position;
+                }
+
+                position += remaining;
+            }
+
+            return to;
+        }
+
+        /**
+         * Return the length of a record.
+         *
+         * @param offset Record offset.
+         * @return The record length in bytes.
+         */
+        private int recordSize(long offset) {
+            return RECORD_HEADER_SIZE + readInt(offset + 4) + Math.max(readInt(offset + 8), 0);
+        }
+
+        /**
+         * Compute the checksum of a record's lengths and body.
+         *
+         * @param offset Record offset.
+         * @param bodyLength Length of the key and value.
+         * @return The checksum.
+         */
+        private int checksum(long offset, int bodyLength) {
+            crc.reset();
+            crc.update(view(offset + 4, RECORD_HEADER_SIZE - 4 + bodyLength));
+            return (int) crc.getValue();
+        }
+
+        /**
+         * Check whether a record's key matches a key.
+         *
+         * @param offset Record offset.
+         * @param key Key bytes.
+         * @param keyLength Key length.
+         * @return {@code true} if they are equal.
+         */
+        private boolean keyEquals(long offset, byte[] key, int keyLength) {
+            Store log = staged == null ? this : staged;
+
+            if(log.readInt(offset + 4) != keyLength) {
+                return false;
+            }
+
+            ByteBuffer stored = log.view(offset + RECORD_HEADER_SIZE, keyLength);
+            return stored.mismatch(ByteBuffer.wrap(key, 0, keyLength)) == -1;
+        }
+
+        /**
+         * Read an int from the log. Fields never cross segments.
+         *
+         * @param position Log offset.
+         * @return The int.
+         */
+        private int readInt(long position) {
+            return segments.get((int) (position / segmentSize)).getInt((int) (position % segmentSize));
+        }
+
+        /**
+         * Write an int to the log.
+         *
+         * @param position Log offset.
+         * @param value The int.
+         */
+        private void writeInt(long position, int value) {
+            segments.get((int) (position / segmentSize)).putInt((int) (position % segmentSize), value);
+        }
+
+        /**
+         * Read bytes from the log. Records never cross segments.
+         *
+         * @param position Log offset.
+         * @param destination Array to read into.
+         * @param length Number of bytes.
+         */
+        private void readBytes(long position, byte[] destination, int length) {
+            view(position, length).get(destination, 0, length);
+        }
+
+        /**
+         * Write bytes to the log.
+         *
+         * @param position Log offset.
+         * @param source Bytes to write.
+         */
+        private void writeBytes(long position, byte[] source) {
+            view(position, source.length).put(source);
+        }
+
+        /**
+         * Return a buffer over part of one log segment, sharing its bytes.
+         *
+         * @param position Log offset.
+         * @param length Number of bytes.
+         * @return A buffer positioned at the offset and limited to the length.
+         */
+        private ByteBuffer view(long position, int length) {
+            ByteBuffer view = segments.get((int) (position / segmentSize)).duplicate();
+            int start = (int) (position % segmentSize);
+            view.limit(start + length);
+            view.position(start);
+            return view;
+        }
+
+        /**
+         * Hash key bytes.
+         *
+         * @param key Key bytes.
+         * @param keyLength Key length.
+         * @return The hash.
+         */
+        private static int hash(byte[] key, int keyLength) {
+            int h = 1;
+
+            for(int i = 0; i < keyLength; i++) {
+                h = 31 * h + key[i];
+            }
+
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            return h ^ (h >>> 13);
+        }
+    }
+
+    /**
+     * An Iterator over the dictionary's keys.
+     */
+    private static class MappedFileDictionaryIterator implements Iterator<byte[]> {
+
+        /**
+         * The Store being iterated.
+         */
+        private final Store store;
+
+        /**
+         * The next occupied index slot.
+         */
+        private int slot;
+
+        /**
+         * Create a new MappedFileDictionaryIterator.
+         *
+         * @param store Store to iterate.
+         */
+        public MappedFileDictionaryIterator(Store store) {
+            this.store = store;
+            slot = advance(0);
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return slot < store.capacity;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return A copy of the next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public byte[] next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext()) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            // Read the key and find the next occupied slot
+            byte[] key = store.readKey(store.slotOffset(slot));
+            slot = advance(slot + 1);
+            return key;
+        }
+
+        /**
+         * Find the first occupied slot at or after a slot.
+         *
+         * @param from Slot to start at.
+         * @return The occupied slot, or the capacity if there is none.
+         */
+        private int advance(int from) {
+            while(from < store.capacity && store.slotOffset(from) == 0) {
+                from++;
+            }
+
+            return from;
+        }
+    }
+
+    /**
+     * A cursor over the dictionary's pairs.
+     */
+    private class MappedFileDictionaryCursor implements EntryCursor<byte[], byte[]> {
+
+        /**
+         * The Store being walked.
+         */
+        private final Store walked;
+
+        /**
+         * The current index slot.
+         */
+        private int slot;
+
+        /**
+         * Create a new MappedFileDictionaryCursor.
+         *
+         * @param walked Store to walk.
+         */
+        public MappedFileDictionaryCursor(Store walked) {
+            this.walked = walked;
+            slot = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            synchronized(MappedFileDictionary.this) {
+                // Find the next occupied slot
+                while(slot < walked.capacity) {
+                    slot++;
+
+                    if(slot < walked.capacity && walked.slotOffset(slot) != 0) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+        }
+
+        /**
+         * Return a copy of the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public byte[] key() throws NoSuchElementException {
+            synchronized(MappedFileDictionary.this) {
+                return walked.readKey(offset());
+            }
+        }
+
+        /**
+         * Return a copy of the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public byte[] value() throws NoSuchElementException {
+            synchronized(MappedFileDictionary.this) {
+                return walked.readValue(offset());
+            }
+        }
+
+        /**
+         * Replace the current value by appending a new record for the key.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(byte[] value) throws NoSuchElementException, NullPointerException {
+            put(key(), value);
+        }
+
+        /**
+         * Return the offset of the current record.
+         *
+         * @return The record offset.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        private long offset() throws NoSuchElementException {
+            long offset = slot < 0 || slot >= walked.capacity ? 0 : walked.slotOffset(slot);
+
+            if(offset == 0) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+
+            return offset;
+        }
+    }
+}
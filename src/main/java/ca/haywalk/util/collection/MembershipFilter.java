@@ -0,0 +1,48 @@
+package ca.haywalk.util.collection;
+
+/**
+ * An approximate set that answers whether an item might have been added.
+ *
+ * A filter may report false positives, at a rate fixed by its size, but
+ * never false negatives: {@link #mightContain(Object)} is {@code true} for
+ * every item added and not since removed.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public interface MembershipFilter<T> {
+
+    /**
+     * Add an item to the filter.
+     *
+     * @param item Item to add.
+     * @return {@code true} if the item was added, {@code false} if the filter is full.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    public boolean add(T item) throws NullPointerException;
+
+    /**
+     * Check if an item might have been added.
+     *
+     * @param item Item to check.
+     * @return {@code false} if the item was definitely not added.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    public boolean mightContain(T item) throws NullPointerException;
+
+    /**
+     * Remove an item that was added to the filter. Removing an item that was
+     * never added may remove another item that shares its fingerprint.
+     *
+     * @param item Item to remove.
+     * @return {@code true} if the item was removed, {@code false} if it was not
+     *         found or the filter cannot remove items.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    public boolean remove(T item) throws NullPointerException;
+
+    /**
+     * Remove every item from the filter.
+     */
+    public void clear();
+}
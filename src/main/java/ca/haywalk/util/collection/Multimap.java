@@ -0,0 +1,429 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * A map from each key to a list of values.
+ *
+ * Values are not kept in a list object per key. All values share one
+ * array, and each key's values are chained through a parallel array of
+ * next offsets, with the chain's head, tail and length kept in flat arrays
+ * indexed by a small id given to each key. Adding a value is O(1) and
+ * allocates nothing once the arrays have grown. A key's values are kept
+ * in insertion order.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class Multimap<K, V> implements Iterable<K> {
+
+    /**
+     * Offset marking the end of a chain.
+     */
+    private static final int END = -1;
+
+    /**
+     * Ids of the keys.
+     */
+    private final KeyIndex<K> index;
+
+    /**
+     * Offset of each key's first value, by id.
+     */
+    private int[] heads;
+
+    /**
+     * Offset of each key's last value, by id.
+     */
+    private int[] tails;
+
+    /**
+     * Number of values of each key, by id.
+     */
+    private int[] counts;
+
+    /**
+     * Shared value storage.
+     */
+    private Object[] values;
+
+    /**
+     * Offset of the next value of the same key, or of the next free offset.
+     */
+    private int[] next;
+
+    /**
+     * First free offset below {@code used}, or {@code END}.
+     */
+    private int freeHead;
+
+    /**
+     * Number of offsets ever used.
+     */
+    private int used;
+
+    /**
+     * Total number of values.
+     */
+    private int size;
+
+    /**
+     * Create a new, empty Multimap.
+     */
+    public Multimap() {
+        index = new KeyIndex<K>();
+        heads = new int[8];
+        tails = new int[8];
+        counts = new int[8];
+        values = new Object[16];
+        next = new int[16];
+        freeHead = END;
+    }
+
+    /**
+     * Return the total number of values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the multimap is empty.
+     *
+     * @return {@code true} if there are no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the number of keys with at least one value.
+     *
+     * @return The number of keys.
+     */
+    public int keyCount() {
+        return index.size();
+    }
+
+    /**
+     * Add a value to the end of a key's values.
+     *
+     * @param key Key.
+     * @param value Value to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        // Find or add the key
+        int id = index.find(key);
+
+        if(id < 0) {
+            id = index.add(key);
+
+            if(id == heads.length) {
+                heads = Arrays.copyOf(heads, id * 2);
+                tails = Arrays.copyOf(tails, id * 2);
+                counts = Arrays.copyOf(counts, id * 2);
+            }
+
+            heads[id] = END;
+            tails[id] = END;
+            counts[id] = 0;
+        }
+
+        // Take a free offset, or a new one
+        int offset;
+
+        if(freeHead != END) {
+            offset = freeHead;
+            freeHead = next[offset];
+        } else {
+            offset = used++;
+
+            if(offset == values.length) {
+                values = Arrays.copyOf(values, offset * 2);
+                next = Arrays.copyOf(next, offset * 2);
+            }
+        }
+
+        // Link the value at the end of the key's chain
+        values[offset] = value;
+        next[offset] = END;
+
+        if(tails[id] == END) {
+            heads[id] = offset;
+        } else {
+            next[tails[id]] = offset;
+        }
+
+        tails[id] = offset;
+        counts[id]++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Return a copy of a key's values, in the order they were added.
+     *
+     * @param key Key.
+     * @return The key's values, empty if it has none.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public Collection<V> get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        int id = index.find(key);
+        ArrayList<V> valueList = new ArrayList<V>(id < 0 ? 0 : counts[id]);
+
+        if(id >= 0) {
+            forEachValue(id, valueList::add);
+        }
+
+        return valueList;
+    }
+
+    /**
+     * Pass each of a key's values to an action, without copying them.
+     *
+     * @param key Key.
+     * @param action Action to perform on each value.
+     * @throws NullPointerException If key or action are {@code null}.
+     */
+    public void forEachValue(K key, Consumer<? super V> action) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        if(action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+
+        int id = index.find(key);
+
+        if(id >= 0) {
+            forEachValue(id, action);
+        }
+    }
+
+    /**
+     * Return the number of values of a key.
+     *
+     * @param key Key.
+     * @return The number of values, 0 if the key is absent.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public int valueCount(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        int id = index.find(key);
+        return id < 0 ? 0 : counts[id];
+    }
+
+    /**
+     * Check if a key has any values.
+     *
+     * @param key Key.
+     * @return {@code true} if the key has at least one value.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public boolean containsKey(K key) throws NullPointerException {
+        return valueCount(key) > 0;
+    }
+
+    /**
+     * Remove the first occurrence of a value from a key's values.
+     *
+     * @param key Key.
+     * @param value Value to remove.
+     * @return {@code true} if the value was found.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    public boolean remove(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot remove null value.");
+        }
+
+        int id = index.find(key);
+
+        if(id < 0) {
+            return false;
+        }
+
+        // Find the value and the offset before it
+        int previous = END;
+        int offset = heads[id];
+
+        while(offset != END && !values[offset].equals(value)) {
+            previous = offset;
+            offset = next[offset];
+        }
+
+        if(offset == END) {
+            return false;
+        }
+
+        // Unlink it from the chain
+        if(previous == END) {
+            heads[id] = next[offset];
+        } else {
+            next[previous] = next[offset];
+        }
+
+        if(tails[id] == offset) {
+            tails[id] = previous;
+        }
+
+        free(offset);
+        size--;
+
+        // Drop a key left with no values
+        if(--counts[id] == 0) {
+            index.remove(key);
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove every value of a key.
+     *
+     * @param key Key.
+     * @return The number of values removed.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public int removeAll(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        int id = index.remove(key);
+
+        if(id < 0) {
+            return 0;
+        }
+
+        // Free the whole chain
+        int offset = heads[id];
+
+        while(offset != END) {
+            int following = next[offset];
+            free(offset);
+            offset = following;
+        }
+
+        size -= counts[id];
+        return counts[id];
+    }
+
+    /**
+     * Remove every key and value.
+     */
+    public void clear() {
+        index.clear();
+        Arrays.fill(values, 0, used, null);
+        freeHead = END;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Return a collection of the keys.
+     *
+     * @return A collection of the keys.
+     */
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(index.size());
+
+        // Add each key with an id in use
+        for(int id = 0; id < index.limit(); id++) {
+            K key = index.key(id);
+
+            if(key != null) {
+                keyList.add(key);
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return the keys with the most values, most first. Keys with equally
+     * many values are in the order the iterator returns them.
+     *
+     * @param n Largest number of keys to return.
+     * @return Up to n keys.
+     * @throws IllegalArgumentException If n is negative.
+     */
+    public Collection<K> topK(int n) throws IllegalArgumentException {
+        int[] ids = index.topK(n, id -> counts[id]);
+        ArrayList<K> keyList = new ArrayList<K>(ids.length);
+
+        for(int id : ids) {
+            keyList.add(index.key(id));
+        }
+
+        return keyList;
+    }
+
+    /**
+     * Return an Iterator over the keys.
+     *
+     * @return An Iterator over the keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return index.iterator();
+    }
+
+    /**
+     * Pass each value of a key id to an action.
+     *
+     * @param id Key id.
+     * @param action Action.
+     */
+    @SuppressWarnings("unchecked")
+    private void forEachValue(int id, Consumer<? super V> action) {
+        for(int offset = heads[id]; offset != END; offset = next[offset]) {
+            action.accept((V) values[offset]);
+        }
+    }
+
+    /**
+     * Put an offset on the free list.
+     *
+     * @param offset Offset.
+     */
+    private void free(int offset) {
+        values[offset] = null;
+        next[offset] = freeHead;
+        freeHead = offset;
+    }
+}
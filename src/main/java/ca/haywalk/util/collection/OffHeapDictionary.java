@@ -0,0 +1,1013 @@
+package ca.haywalk.util.collection;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash dictionary from strings or byte arrays to byte arrays that keeps
+ * its keys and values outside the Java heap.
+ *
+ * Each pair is one record, a key length, a value length, the key bytes and
+ * the value bytes, written into a block of a direct {@link ByteBuffer}
+ * slab. Blocks come in power-of-two size classes, and freed blocks go on a
+ * free list per class, linked through the blocks themselves. A record too
+ * large for a slab gets a slab of its own. The heap holds only the slabs
+ * and an open-addressed table of {@code long} handles, so the garbage
+ * collector has a few objects to trace however many pairs there are.
+ *
+ * String keys are stored as their UTF-8 bytes, so a string key and its
+ * UTF-8 bytes name the same pair. The dictionary should be closed when no
+ * longer needed; the slabs' memory is returned once they are collected.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class OffHeapDictionary implements Dictionary<String, byte[]>, AutoCloseable {
+
+    /**
+     * Default slab size, 1 MiB.
+     */
+    private static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    /**
+     * Record header: key length and value length.
+     */
+    private static final int HEADER = 8;
+
+    /**
+     * Smallest block size class, 16 bytes.
+     */
+    private static final int MIN_CLASS = 4;
+
+    /**
+     * Handle marking an empty table slot or the end of a free list.
+     */
+    private static final long NONE = 0;
+
+    /**
+     * Largest supported table capacity.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Size of each shared slab, a power of two.
+     */
+    private final int slabSize;
+
+    /**
+     * Size class of a whole slab.
+     */
+    private final int maxClass;
+
+    /**
+     * Slabs by index, {@code null} once a dedicated slab is freed.
+     */
+    private ByteBuffer[] slabs;
+
+    /**
+     * Number of slab indexes ever used.
+     */
+    private int slabCount;
+
+    /**
+     * Indexes of freed dedicated slabs, used before new ones.
+     */
+    private int[] freeSlabs;
+
+    /**
+     * Number of freed slab indexes.
+     */
+    private int freeSlabCount;
+
+    /**
+     * Index of the slab blocks are carved from, or -1 if none.
+     */
+    private int bumpSlab;
+
+    /**
+     * Offset of the next uncarved byte in the bump slab.
+     */
+    private int bumpOffset;
+
+    /**
+     * First free block of each size class.
+     */
+    private final long[] freeLists;
+
+    /**
+     * Handle of the record in each table slot, or {@code NONE}.
+     */
+    private long[] handles;
+
+    /**
+     * Hash of the key in each table slot.
+     */
+    private int[] hashes;
+
+    /**
+     * Number of pairs.
+     */
+    private int size;
+
+    /**
+     * Total capacity of every slab.
+     */
+    private long allocatedBytes;
+
+    /**
+     * Total length of every record.
+     */
+    private long usedBytes;
+
+    /**
+     * Whether the dictionary has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Create a new, empty OffHeapDictionary with 1 MiB slabs.
+     */
+    public OffHeapDictionary() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Create a new, empty OffHeapDictionary.
+     *
+     * @param slabSize Size of each slab in bytes, a power of two of at least 64.
+     * @throws IllegalArgumentException If slabSize is not a power of two or is too small.
+     */
+    public OffHeapDictionary(int slabSize) throws IllegalArgumentException {
+        // Check argument integrity
+        if(slabSize < 64 || Integer.bitCount(slabSize) != 1) {
+            throw new IllegalArgumentException("Illegal argument: Slab size must be a power of two of at least 64.");
+        }
+
+        this.slabSize = slabSize;
+        this.maxClass = Integer.numberOfTrailingZeros(slabSize);
+        this.slabs = new ByteBuffer[4];
+        this.freeSlabs = new int[4];
+        this.bumpSlab = -1;
+        this.freeLists = new long[maxClass + 1];
+        this.handles = new long[16];
+        this.hashes = new int[16];
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return the total capacity of the slabs held off heap.
+     *
+     * @return The number of bytes allocated.
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Return the total length of the stored records, headers included.
+     *
+     * @return The number of bytes in use.
+     */
+    public long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Return the fraction of the allocated bytes not holding records, from
+     * rounding records up to a block size, free blocks and uncarved slab space.
+     *
+     * @return The fragmentation, from 0 to 1.
+     */
+    public double fragmentation() {
+        return allocatedBytes == 0 ? 0 : 1 - (double) usedBytes / allocatedBytes;
+    }
+
+    /**
+     * Add a key-value pair.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public boolean put(String key, byte[] value) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        return put(key.getBytes(StandardCharsets.UTF_8), value);
+    }
+
+    /**
+     * Add a key-value pair with a byte array key. The key is copied.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    public boolean put(byte[] key, byte[] value) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        checkOpen();
+
+        int hash = hash(key);
+        int slot = find(key, hash);
+
+        // Overwrite an existing pair, in place if its block is large enough
+        if(handles[slot] != NONE) {
+            handles[slot] = write(handles[slot], key, value);
+            return true;
+        }
+
+        handles[slot] = write(NONE, key, value);
+        hashes[slot] = hash;
+
+        if(++size > handles.length * 3 / 4) {
+            resize(handles.length * 2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Return a copy of the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public byte[] get(String key) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        return get(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Return a copy of the value associated to a byte array key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    public byte[] get(byte[] key) throws NullPointerException, IllegalStateException {
+        ByteBuffer buffer = getBuffer(key);
+
+        if(buffer == null) {
+            return null;
+        }
+
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        return value;
+    }
+
+    /**
+     * Return a read-only view of the value associated to a key, without copying it.
+     * The view is only valid until the pair is next overwritten or removed.
+     *
+     * @param key Key to get value associated with.
+     * @return A buffer over the value, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    public ByteBuffer getBuffer(String key) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        return getBuffer(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Return a read-only view of the value associated to a byte array key,
+     * without copying it. The view is only valid until the pair is next
+     * overwritten or removed.
+     *
+     * @param key Key to get value associated with.
+     * @return A buffer over the value, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    public ByteBuffer getBuffer(byte[] key) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        checkOpen();
+
+        long handle = handles[find(key, hash(key))];
+        return handle == NONE ? null : valueBuffer(handle);
+    }
+
+    /**
+     * Remove every pair and release every slab.
+     *
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public void clear() throws IllegalStateException {
+        checkOpen();
+        release();
+        handles = new long[16];
+        hashes = new int[16];
+    }
+
+    /**
+     * Return a collection of the keys, decoded as UTF-8.
+     *
+     * @return A collection of the keys in the dictionary.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public Collection<String> keys() throws IllegalStateException {
+        checkOpen();
+
+        // Make a new list
+        ArrayList<String> keyList = new ArrayList<String>(size);
+
+        // Add each key
+        for(long handle : handles) {
+            if(handle != NONE) {
+                keyList.add(keyString(handle));
+            }
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of copies of the values.
+     *
+     * @return A collection of the values in the dictionary.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public Collection<byte[]> values() throws IllegalStateException {
+        checkOpen();
+
+        // Make a new list
+        ArrayList<byte[]> valueList = new ArrayList<byte[]>(size);
+
+        // Add a copy of each value
+        for(long handle : handles) {
+            if(handle != NONE) {
+                ByteBuffer buffer = valueBuffer(handle);
+                byte[] value = new byte[buffer.remaining()];
+                buffer.get(value);
+                valueList.add(value);
+            }
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public boolean remove(String key) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        return remove(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Remove a key-value pair with a byte array key.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    public boolean remove(byte[] key) throws NullPointerException, IllegalStateException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        checkOpen();
+
+        int slot = find(key, hash(key));
+
+        if(handles[slot] == NONE) {
+            return false;
+        }
+
+        free(handles[slot]);
+
+        // Shift later slots of the run back into the gap
+        int mask = handles.length - 1;
+        int gap = slot;
+
+        for(int next = (gap + 1) & mask; handles[next] != NONE; next = (next + 1) & mask) {
+            int home = hashes[next] & mask;
+
+            if(((next - home) & mask) >= ((next - gap) & mask)) {
+                handles[gap] = handles[next];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+        }
+
+        handles[gap] = NONE;
+        size--;
+        return true;
+    }
+
+    /**
+     * Release every slab. The dictionary cannot be used afterwards. Closing
+     * twice has no further effect.
+     */
+    @Override
+    public void close() {
+        if(!closed) {
+            release();
+            handles = null;
+            hashes = null;
+            closed = true;
+        }
+    }
+
+    /**
+     * Return an Iterator over the keys, decoded as UTF-8.
+     *
+     * @return An Iterator over the dictionary's keys.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public Iterator<String> iterator() throws IllegalStateException {
+        checkOpen();
+        return new OffHeapIterator();
+    }
+
+    /**
+     * Return a cursor over the pairs, reading each record in place.
+     *
+     * @return A cursor positioned before the first pair.
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    @Override
+    public EntryCursor<String, byte[]> cursor() throws IllegalStateException {
+        checkOpen();
+        return new OffHeapCursor();
+    }
+
+    /**
+     * Find the table slot holding a key, or the empty slot ending its run.
+     *
+     * @param key Key bytes.
+     * @param hash Key hash.
+     * @return The slot.
+     */
+    private int find(byte[] key, int hash) {
+        int mask = handles.length - 1;
+        int slot = hash & mask;
+
+        while(handles[slot] != NONE && !(hashes[slot] == hash && keyEquals(handles[slot], key))) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Check if a record's key equals a key.
+     *
+     * @param handle Record handle.
+     * @param key Key bytes.
+     * @return {@code true} if equal.
+     */
+    private boolean keyEquals(long handle, byte[] key) {
+        ByteBuffer view = slabs[slabIndex(handle)].duplicate();
+        int offset = offset(handle);
+
+        if(view.getInt(offset) != key.length) {
+            return false;
+        }
+
+        // Compare the stored key with the given one in bulk
+        view.limit(offset + HEADER + key.length);
+        view.position(offset + HEADER);
+        return view.slice().mismatch(ByteBuffer.wrap(key)) == -1;
+    }
+
+    /**
+     * Decode a record's key.
+     *
+     * @param handle Record handle.
+     * @return The key as a string.
+     */
+    private String keyString(long handle) {
+        return new String(keyBytes(handle), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copy a record's key.
+     *
+     * @param handle Record handle.
+     * @return The key bytes.
+     */
+    private byte[] keyBytes(long handle) {
+        ByteBuffer view = slabs[slabIndex(handle)].duplicate();
+        int offset = offset(handle);
+        byte[] key = new byte[view.getInt(offset)];
+        view.position(offset + HEADER);
+        view.get(key);
+        return key;
+    }
+
+    /**
+     * Return a read-only view of a record's value.
+     *
+     * @param handle Record handle.
+     * @return A buffer over the value.
+     */
+    private ByteBuffer valueBuffer(long handle) {
+        ByteBuffer view = slabs[slabIndex(handle)].asReadOnlyBuffer();
+        int offset = offset(handle);
+        int start = offset + HEADER + view.getInt(offset);
+        view.limit(start + view.getInt(offset + 4));
+        view.position(start);
+        return view.slice();
+    }
+
+    /**
+     * Write a record, reusing a previous record's block if it is the right size class.
+     *
+     * @param previous Handle of the record being overwritten, or {@code NONE}.
+     * @param key Key bytes.
+     * @param value Value bytes.
+     * @return The new record's handle.
+     */
+    private long write(long previous, byte[] key, byte[] value) {
+        int length = HEADER + key.length + value.length;
+
+        // Keep a shared slab's block if the record still needs a block of its size
+        long handle;
+        int sizeClass = sizeClass(length);
+
+        if(previous != NONE && sizeClass <= maxClass && sizeClass(recordLength(previous)) == sizeClass) {
+            usedBytes -= recordLength(previous);
+            handle = previous;
+        } else {
+            if(previous != NONE) {
+                free(previous);
+            }
+
+            handle = allocate(length);
+        }
+
+        ByteBuffer slab = slabs[slabIndex(handle)];
+        int offset = offset(handle);
+        slab.putInt(offset, key.length);
+        slab.putInt(offset + 4, value.length);
+
+        // Copy the bytes in bulk through a view positioned at the record
+        ByteBuffer view = slab.duplicate();
+        view.position(offset + HEADER);
+        view.put(key);
+        view.put(value);
+
+        usedBytes += length;
+        return handle;
+    }
+
+    /**
+     * Return the length of a record, header included.
+     *
+     * @param handle Record handle.
+     * @return The record length.
+     */
+    private int recordLength(long handle) {
+        ByteBuffer slab = slabs[slabIndex(handle)];
+        int offset = offset(handle);
+        return HEADER + slab.getInt(offset) + slab.getInt(offset + 4);
+    }
+
+    /**
+     * Allocate a block for a record.
+     *
+     * @param length Record length.
+     * @return The block's handle.
+     * @throws IllegalStateException If the record is too large.
+     */
+    private long allocate(int length) throws IllegalStateException {
+        int sizeClass = sizeClass(length);
+
+        // Give a record larger than a slab a slab of its own
+        if(sizeClass > maxClass) {
+            return handle(newSlab(length), 0);
+        }
+
+        // Reuse a free block of the class
+        long head = freeLists[sizeClass];
+
+        if(head != NONE) {
+            freeLists[sizeClass] = slabs[slabIndex(head)].getLong(offset(head));
+            return head;
+        }
+
+        // Otherwise carve one from the bump slab, starting a new slab if it is full
+        int blockSize = 1 << sizeClass;
+
+        if(bumpSlab < 0 || bumpOffset + blockSize > slabSize) {
+            carveRemainder();
+            bumpSlab = newSlab(slabSize);
+            bumpOffset = 0;
+        }
+
+        long handle = handle(bumpSlab, bumpOffset);
+        bumpOffset += blockSize;
+        return handle;
+    }
+
+    /**
+     * Put the uncarved end of the bump slab on the free lists as the largest blocks that fit.
+     */
+    private void carveRemainder() {
+        if(bumpSlab < 0) {
+            return;
+        }
+
+        while(slabSize - bumpOffset >= 1 << MIN_CLASS) {
+            int sizeClass = 31 - Integer.numberOfLeadingZeros(slabSize - bumpOffset);
+            push(sizeClass, handle(bumpSlab, bumpOffset));
+            bumpOffset += 1 << sizeClass;
+        }
+    }
+
+    /**
+     * Free a record's block.
+     *
+     * @param handle Record handle.
+     */
+    private void free(long handle) {
+        int length = recordLength(handle);
+        int sizeClass = sizeClass(length);
+        usedBytes -= length;
+
+        // Drop a dedicated slab entirely
+        if(sizeClass > maxClass) {
+            int index = slabIndex(handle);
+            allocatedBytes -= slabs[index].capacity();
+            slabs[index] = null;
+
+            if(freeSlabCount == freeSlabs.length) {
+                freeSlabs = Arrays.copyOf(freeSlabs, freeSlabCount * 2);
+            }
+
+            freeSlabs[freeSlabCount++] = index;
+            return;
+        }
+
+        push(sizeClass, handle);
+    }
+
+    /**
+     * Push a block onto its class's free list, linking it through its first bytes.
+     *
+     * @param sizeClass Size class.
+     * @param handle Block handle.
+     */
+    private void push(int sizeClass, long handle) {
+        slabs[slabIndex(handle)].putLong(offset(handle), freeLists[sizeClass]);
+        freeLists[sizeClass] = handle;
+    }
+
+    /**
+     * Allocate a slab.
+     *
+     * @param capacity Slab capacity.
+     * @return The slab's index.
+     */
+    private int newSlab(int capacity) {
+        int index;
+
+        if(freeSlabCount > 0) {
+            index = freeSlabs[--freeSlabCount];
+        } else {
+            index = slabCount++;
+
+            if(index == slabs.length) {
+                slabs = Arrays.copyOf(slabs, index * 2);
+            }
+        }
+
+        slabs[index] = ByteBuffer.allocateDirect(capacity);
+        allocatedBytes += capacity;
+        return index;
+    }
+
+    /**
+     * Drop every slab and reset the allocator.
+     */
+    private void release() {
+        slabs = new ByteBuffer[4];
+        slabCount = 0;
+        freeSlabCount = 0;
+        bumpSlab = -1;
+        bumpOffset = 0;
+        Arrays.fill(freeLists, NONE);
+        size = 0;
+        allocatedBytes = 0;
+        usedBytes = 0;
+    }
+
+    /**
+     * Rebuild the table with a new capacity.
+     *
+     * @param capacity New capacity, a power of two.
+     * @throws IllegalStateException If the capacity is too large.
+     */
+    private void resize(int capacity) throws IllegalStateException {
+        if(capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("OffHeapDictionary is full.");
+        }
+
+        long[] oldHandles = handles;
+        int[] oldHashes = hashes;
+        handles = new long[capacity];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+
+        for(int i = 0; i < oldHandles.length; i++) {
+            if(oldHandles[i] != NONE) {
+                int slot = oldHashes[i] & mask;
+
+                while(handles[slot] != NONE) {
+                    slot = (slot + 1) & mask;
+                }
+
+                handles[slot] = oldHandles[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Throw if the dictionary has been closed.
+     *
+     * @throws IllegalStateException If the dictionary is closed.
+     */
+    private void checkOpen() throws IllegalStateException {
+        if(closed) {
+            throw new IllegalStateException("Dictionary is closed.");
+        }
+    }
+
+    /**
+     * Return the size class of a record, the log of its block size.
+     *
+     * @param length Record length.
+     * @return The size class.
+     * @throws IllegalStateException If the record is too large.
+     */
+    private static int sizeClass(int length) throws IllegalStateException {
+        if(length < 0 || length > 1 << 30) {
+            throw new IllegalStateException("Record is too large.");
+        }
+
+        return Math.max(MIN_CLASS, 32 - Integer.numberOfLeadingZeros(length - 1));
+    }
+
+    /**
+     * Make a handle from a slab index and an offset. Slab indexes are stored
+     * plus one so that no handle is {@code NONE}.
+     *
+     * @param slab Slab index.
+     * @param offset Offset in the slab.
+     * @return The handle.
+     */
+    private static long handle(int slab, int offset) {
+        return ((long) (slab + 1) << 32) | offset;
+    }
+
+    /**
+     * Return the slab index of a handle.
+     *
+     * @param handle Handle.
+     * @return The slab index.
+     */
+    private static int slabIndex(long handle) {
+        return (int) (handle >>> 32) - 1;
+    }
+
+    /**
+     * Return the offset of a handle.
+     *
+     * @param handle Handle.
+     * @return The offset in its slab.
+     */
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+
+    /**
+     * Hash a key's bytes.
+     *
+     * @param key Key bytes.
+     * @return The spread hash code.
+     */
+    private static int hash(byte[] key) {
+        int h = Arrays.hashCode(key);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    /**
+     * A cursor over the table slots, reading each record in place.
+     */
+    private class OffHeapCursor implements EntryCursor<String, byte[]> {
+
+        /**
+         * Current slot.
+         */
+        private int slot;
+
+        /**
+         * Create a new OffHeapCursor.
+         */
+        public OffHeapCursor() {
+            slot = -1;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            slot++;
+
+            while(slot < handles.length && handles[slot] == NONE) {
+                slot++;
+            }
+
+            return slot < handles.length;
+        }
+
+        /**
+         * Return the current key, decoded as UTF-8.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public String key() throws NoSuchElementException {
+            checkPosition();
+            return keyString(handles[slot]);
+        }
+
+        /**
+         * Return a copy of the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public byte[] value() throws NoSuchElementException {
+            checkPosition();
+            ByteBuffer buffer = valueBuffer(handles[slot]);
+            byte[] value = new byte[buffer.remaining()];
+            buffer.get(value);
+            return value;
+        }
+
+        /**
+         * Overwrite the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(byte[] value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            // Read the key out before its block can be freed
+            long handle = handles[slot];
+            handles[slot] = write(handle, keyBytes(handle), value);
+        }
+
+        /**
+         * Throw if the cursor is not on a pair.
+         *
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(slot < 0 || slot >= handles.length) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+
+    /**
+     * An Iterator over the keys, in table order.
+     */
+    private class OffHeapIterator implements Iterator<String> {
+
+        /**
+         * Cursor over the pairs.
+         */
+        private final OffHeapCursor cursor;
+
+        /**
+         * Whether the cursor is on the next pair.
+         */
+        private boolean hasNext;
+
+        /**
+         * Create a new OffHeapIterator.
+         */
+        public OffHeapIterator() {
+            cursor = new OffHeapCursor();
+            hasNext = cursor.advance();
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public String next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!hasNext) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            String key = cursor.key();
+            hasNext = cursor.advance();
+            return key;
+        }
+    }
+}
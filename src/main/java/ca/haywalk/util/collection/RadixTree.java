@@ -0,0 +1,1220 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A dictionary of String keys stored in an adaptive radix tree.
+ *
+ * Each char of a key is split into two bytes, high byte first, and the
+ * tree branches on one byte per level. Inner nodes grow through widths of
+ * 4, 16, 48 and 256 children as they fill up and shrink again as they
+ * empty. A run of bytes with no branching is stored once as a compressed
+ * prefix on the node below it, and a key that ends partway down the tree
+ * is kept as the terminal leaf of the node where it ends. Lookups cost
+ * O(key length) however many keys there are, and keys iterate in
+ * {@link String#compareTo(String)} order.
+ *
+ * Besides the Dictionary methods, {@link #prefixIterator(String)} visits
+ * every key starting with a prefix and {@link #longestPrefixMatch(String)}
+ * finds the longest key that starts a query.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class RadixTree<V> implements Dictionary<String, V> {
+
+    /**
+     * Root node, or {@code null} if empty.
+     */
+    private Node root;
+
+    /**
+     * Number of pairs.
+     */
+    private int size;
+
+    /**
+     * Set by {@link #delete(Node, String, int)} when a pair was removed.
+     */
+    private boolean removed;
+
+    /**
+     * Create a new, empty RadixTree.
+     */
+    public RadixTree() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Return the number of pairs in the dictionary.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(String key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        root = insert(root, key, 0, value);
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(String key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        int length = byteLength(key);
+        int depth = 0;
+        Node node = root;
+
+        // Follow the key's bytes down the tree
+        while(node instanceof Inner) {
+            Inner inner = (Inner) node;
+
+            if(matchPrefix(inner, key, depth) != inner.prefix.length) {
+                return null;
+            }
+
+            depth += inner.prefix.length;
+
+            // The key ends at this node
+            if(depth == length) {
+                return inner.terminal == null ? null : (V) inner.terminal.value;
+            }
+
+            node = inner.findChild(byteAt(key, depth));
+            depth++;
+        }
+
+        // Leaves hold their whole key, so the bytes skipped below the last branch are checked here
+        if(node != null && ((Leaf) node).key.equals(key)) {
+            return (V) ((Leaf) node).value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Return a collection of the keys in the dictionary, in ascending order.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<String> keys() {
+        // Make a new list
+        ArrayList<String> keyList = new ArrayList<String>(size);
+
+        // Add the key of each pair
+        EntryCursor<String, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values in the dictionary, in ascending key order.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size);
+
+        // Add the value of each pair
+        EntryCursor<String, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(String key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        removed = false;
+        root = delete(root, key, 0);
+
+        if(removed) {
+            size--;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Return an Iterator over the dictionary's keys, in ascending order.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new RadixTreeIterator(root);
+    }
+
+    /**
+     * Return a cursor over the pairs in the dictionary, in ascending key order.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<String, V> cursor() {
+        return new RadixTreeCursor(root);
+    }
+
+    /**
+     * Return an Iterator over the keys starting with a prefix, in ascending order.
+     *
+     * @param prefix Prefix to match.
+     * @return An Iterator over the matching keys.
+     * @throws NullPointerException If prefix is {@code null}.
+     */
+    public Iterator<String> prefixIterator(String prefix) throws NullPointerException {
+        // Check argument integrity
+        if(prefix == null) {
+            throw new NullPointerException("Cannot match null prefix.");
+        }
+
+        int length = byteLength(prefix);
+        int depth = 0;
+        Node node = root;
+
+        // Find the subtree holding exactly the keys that start with the prefix
+        while(node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int matched = matchPrefix(inner, prefix, depth);
+
+            // The prefix ends inside this node's compressed path, or at this node
+            if(depth + matched == length) {
+                return new RadixTreeIterator(inner);
+            }
+
+            if(matched != inner.prefix.length) {
+                return new RadixTreeIterator(null);
+            }
+
+            depth += inner.prefix.length;
+            node = inner.findChild(byteAt(prefix, depth));
+            depth++;
+        }
+
+        // A leaf matches only if its whole key starts with the prefix
+        if(node != null && ((Leaf) node).key.startsWith(prefix)) {
+            return new RadixTreeIterator(node);
+        }
+
+        return new RadixTreeIterator(null);
+    }
+
+    /**
+     * Return the longest key that is a prefix of a query.
+     *
+     * @param query String to match against.
+     * @return The longest key that the query starts with, or {@code null} if there is none.
+     * @throws NullPointerException If query is {@code null}.
+     */
+    public String longestPrefixMatch(String query) throws NullPointerException {
+        // Check argument integrity
+        if(query == null) {
+            throw new NullPointerException("Cannot match null query.");
+        }
+
+        int length = byteLength(query);
+        int depth = 0;
+        Node node = root;
+        Leaf best = null;
+
+        // Walk down the query's path, remembering the deepest key passed
+        while(node instanceof Inner) {
+            Inner inner = (Inner) node;
+
+            if(matchPrefix(inner, query, depth) != inner.prefix.length) {
+                break;
+            }
+
+            depth += inner.prefix.length;
+
+            if(inner.terminal != null) {
+                best = inner.terminal;
+            }
+
+            if(depth == length) {
+                break;
+            }
+
+            node = inner.findChild(byteAt(query, depth));
+            depth++;
+        }
+
+        // A leaf below the last branch is deeper than any terminal passed
+        if(node instanceof Leaf && query.startsWith(((Leaf) node).key)) {
+            best = (Leaf) node;
+        }
+
+        return best == null ? null : best.key;
+    }
+
+    /**
+     * Return one byte of a key.
+     *
+     * @param key Key.
+     * @param depth Byte index.
+     * @return The byte, from 0 to 255.
+     */
+    private static int byteAt(String key, int depth) {
+        char c = key.charAt(depth >>> 1);
+        return (depth & 1) == 0 ? c >>> 8 : c & 0xFF;
+    }
+
+    /**
+     * Return the number of bytes in a key.
+     *
+     * @param key Key.
+     * @return Twice the key's length.
+     */
+    private static int byteLength(String key) {
+        return key.length() << 1;
+    }
+
+    /**
+     * Count how many bytes of a node's compressed prefix a key matches.
+     *
+     * @param inner Node.
+     * @param key Key.
+     * @param depth Depth of the node's prefix in the key.
+     * @return The number of matching bytes, stopping at the end of the key.
+     */
+    private static int matchPrefix(Inner inner, String key, int depth) {
+        int limit = Math.min(inner.prefix.length, byteLength(key) - depth);
+
+        for(int i = 0; i < limit; i++) {
+            if((inner.prefix[i] & 0xFF) != byteAt(key, depth + i)) {
+                return i;
+            }
+        }
+
+        return limit;
+    }
+
+    /**
+     * Insert a pair into a subtree.
+     *
+     * @param node Root of the subtree, or {@code null}.
+     * @param key Key.
+     * @param depth Depth of the subtree in the key.
+     * @param value Value.
+     * @return The subtree's new root.
+     */
+    private Node insert(Node node, String key, int depth, V value) {
+        // Fill an empty slot
+        if(node == null) {
+            size++;
+            return new Leaf(key, value);
+        }
+
+        int length = byteLength(key);
+
+        // Overwrite a leaf's value, or split it from the new key
+        if(node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+
+            if(leaf.key.equals(key)) {
+                leaf.value = value;
+                return leaf;
+            }
+
+            // Share the bytes both keys have in common
+            int limit = Math.min(byteLength(leaf.key), length);
+            int common = 0;
+
+            while(depth + common < limit && byteAt(leaf.key, depth + common) == byteAt(key, depth + common)) {
+                common++;
+            }
+
+            Inner split = new SortedNode(4, prefixOf(key, depth, common));
+            size++;
+            return attach(attach(split, leaf, depth + common), new Leaf(key, value), depth + common);
+        }
+
+        // Split an inner node's prefix where the key leaves it
+        Inner inner = (Inner) node;
+        int matched = matchPrefix(inner, key, depth);
+
+        if(matched < inner.prefix.length) {
+            Inner split = new SortedNode(4, Arrays.copyOf(inner.prefix, matched));
+            int branch = inner.prefix[matched] & 0xFF;
+            inner.prefix = Arrays.copyOfRange(inner.prefix, matched + 1, inner.prefix.length);
+            split = split.addChild(branch, inner);
+            size++;
+            return attach(split, new Leaf(key, value), depth + matched);
+        }
+
+        depth += inner.prefix.length;
+
+        // The key ends at this node
+        if(depth == length) {
+            if(inner.terminal != null) {
+                inner.terminal.value = value;
+            } else {
+                inner.terminal = new Leaf(key, value);
+                size++;
+            }
+
+            return inner;
+        }
+
+        // Descend, or add a new leaf under the next byte
+        int b = byteAt(key, depth);
+        Node child = inner.findChild(b);
+
+        if(child == null) {
+            size++;
+            return inner.addChild(b, new Leaf(key, value));
+        }
+
+        Node newChild = insert(child, key, depth + 1, value);
+
+        if(newChild != child) {
+            inner.replaceChild(b, newChild);
+        }
+
+        return inner;
+    }
+
+    /**
+     * Hang a leaf from a node whose path ends at a given depth.
+     *
+     * @param inner Node.
+     * @param leaf Leaf.
+     * @param depth Depth at which the node's path ends.
+     * @return The node, which may have grown.
+     */
+    private static Inner attach(Inner inner, Leaf leaf, int depth) {
+        if(depth == byteLength(leaf.key)) {
+            inner.terminal = leaf;
+            return inner;
+        }
+
+        return inner.addChild(byteAt(leaf.key, depth), leaf);
+    }
+
+    /**
+     * Copy bytes of a key.
+     *
+     * @param key Key.
+     * @param from First byte index.
+     * @param count Number of bytes.
+     * @return The bytes.
+     */
+    private static byte[] prefixOf(String key, int from, int count) {
+        byte[] prefix = new byte[count];
+
+        for(int i = 0; i < count; i++) {
+            prefix[i] = (byte) byteAt(key, from + i);
+        }
+
+        return prefix;
+    }
+
+    /**
+     * Delete a key from a subtree, setting {@code removed} if it was found.
+     *
+     * @param node Root of the subtree, or {@code null}.
+     * @param key Key.
+     * @param depth Depth of the subtree in the key.
+     * @return The subtree's new root, or {@code null} if it is now empty.
+     */
+    private Node delete(Node node, String key, int depth) {
+        if(node == null) {
+            return null;
+        }
+
+        // Remove a matching leaf
+        if(node instanceof Leaf) {
+            if(((Leaf) node).key.equals(key)) {
+                removed = true;
+                return null;
+            }
+
+            return node;
+        }
+
+        Inner inner = (Inner) node;
+
+        if(matchPrefix(inner, key, depth) != inner.prefix.length) {
+            return inner;
+        }
+
+        depth += inner.prefix.length;
+
+        // Remove the terminal leaf of the node where the key ends
+        if(depth == byteLength(key)) {
+            if(inner.terminal == null) {
+                return inner;
+            }
+
+            inner.terminal = null;
+            removed = true;
+            return collapse(inner);
+        }
+
+        // Remove from the child under the next byte
+        int b = byteAt(key, depth);
+        Node child = inner.findChild(b);
+
+        if(child == null) {
+            return inner;
+        }
+
+        Node newChild = delete(child, key, depth + 1);
+
+        if(newChild == child) {
+            return inner;
+        }
+
+        if(newChild == null) {
+            return collapse(inner.removeChild(b));
+        }
+
+        inner.replaceChild(b, newChild);
+        return inner;
+    }
+
+    /**
+     * Replace a node that no longer branches with what is left of it.
+     *
+     * @param inner Node.
+     * @return The node, its terminal leaf, its only child, or {@code null}.
+     */
+    private static Node collapse(Inner inner) {
+        // Only a terminal leaf, or nothing, is left
+        if(inner.count == 0) {
+            return inner.terminal;
+        }
+
+        // A single child with no terminal takes the node's place
+        if(inner.count == 1 && inner.terminal == null) {
+            int position = 0;
+
+            while(inner.childAt(position) == null) {
+                position++;
+            }
+
+            Node child = inner.childAt(position);
+
+            if(child instanceof Leaf) {
+                return child;
+            }
+
+            // Join the prefixes either side of the branch byte
+            Inner only = (Inner) child;
+            byte[] joined = new byte[inner.prefix.length + 1 + only.prefix.length];
+            System.arraycopy(inner.prefix, 0, joined, 0, inner.prefix.length);
+            joined[inner.prefix.length] = (byte) inner.keyAt(position);
+            System.arraycopy(only.prefix, 0, joined, inner.prefix.length + 1, only.prefix.length);
+            only.prefix = joined;
+            return only;
+        }
+
+        return inner;
+    }
+
+    /**
+     * A node of the tree.
+     */
+    private abstract static class Node {
+    }
+
+    /**
+     * A leaf holding a whole key and its value.
+     */
+    private static final class Leaf extends Node {
+
+        /**
+         * The key.
+         */
+        private final String key;
+
+        /**
+         * The value.
+         */
+        private Object value;
+
+        /**
+         * Create a Leaf.
+         *
+         * @param key Key.
+         * @param value Value.
+         */
+        public Leaf(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * A branching node. Children are visited by position, in byte order;
+     * some positions may be empty.
+     */
+    private abstract static class Inner extends Node {
+
+        /**
+         * Compressed path bytes between the parent's branch byte and this node's.
+         */
+        protected byte[] prefix;
+
+        /**
+         * Leaf of the key ending at this node, or {@code null}.
+         */
+        protected Leaf terminal;
+
+        /**
+         * Number of children.
+         */
+        protected int count;
+
+        /**
+         * Create an Inner node.
+         *
+         * @param prefix Compressed path.
+         */
+        protected Inner(byte[] prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * Return the child under a byte.
+         *
+         * @param b Byte.
+         * @return The child, or {@code null}.
+         */
+        public abstract Node findChild(int b);
+
+        /**
+         * Replace the child under a byte that is already present.
+         *
+         * @param b Byte.
+         * @param child New child.
+         */
+        public abstract void replaceChild(int b, Node child);
+
+        /**
+         * Add a child under a byte that is absent.
+         *
+         * @param b Byte.
+         * @param child Child.
+         * @return This node, or a wider copy if it was full.
+         */
+        public abstract Inner addChild(int b, Node child);
+
+        /**
+         * Remove the child under a byte that is present.
+         *
+         * @param b Byte.
+         * @return This node, or a narrower copy if it is now sparse.
+         */
+        public abstract Inner removeChild(int b);
+
+        /**
+         * Return the number of child positions.
+         *
+         * @return The number of positions.
+         */
+        public abstract int positions();
+
+        /**
+         * Return the child at a position.
+         *
+         * @param position Position.
+         * @return The child, or {@code null} if the position is empty.
+         */
+        public abstract Node childAt(int position);
+
+        /**
+         * Return the byte of the child at a position.
+         *
+         * @param position Position.
+         * @return The byte.
+         */
+        public abstract int keyAt(int position);
+
+        /**
+         * Copy this node's path and terminal leaf into a new node.
+         *
+         * @param <T> Node type.
+         * @param copy New node.
+         * @return The new node.
+         */
+        protected <T extends Inner> T withHeader(T copy) {
+            copy.terminal = terminal;
+            return copy;
+        }
+    }
+
+    /**
+     * A node of up to 4 or 16 children kept in byte order.
+     */
+    private static final class SortedNode extends Inner {
+
+        /**
+         * Branch bytes, in ascending order.
+         */
+        private final byte[] keys;
+
+        /**
+         * Children, matching keys.
+         */
+        private final Node[] children;
+
+        /**
+         * Create a SortedNode.
+         *
+         * @param capacity 4 or 16.
+         * @param prefix Compressed path.
+         */
+        public SortedNode(int capacity, byte[] prefix) {
+            super(prefix);
+            keys = new byte[capacity];
+            children = new Node[capacity];
+        }
+
+        @Override
+        public Node findChild(int b) {
+            for(int i = 0; i < count; i++) {
+                int key = keys[i] & 0xFF;
+
+                if(key >= b) {
+                    return key == b ? children[i] : null;
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public void replaceChild(int b, Node child) {
+            children[indexOf(b)] = child;
+        }
+
+        @Override
+        public Inner addChild(int b, Node child) {
+            // Widen a full node
+            if(count == keys.length) {
+                Inner wider = keys.length == 4 ? new SortedNode(16, prefix) : new Node48(prefix);
+
+                for(int i = 0; i < count; i++) {
+                    wider = wider.addChild(keys[i] & 0xFF, children[i]);
+                }
+
+                return withHeader(wider).addChild(b, child);
+            }
+
+            // Insert in byte order
+            int index = 0;
+
+            while(index < count && (keys[index] & 0xFF) < b) {
+                index++;
+            }
+
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(children, index, children, index + 1, count - index);
+            keys[index] = (byte) b;
+            children[index] = child;
+            count++;
+            return this;
+        }
+
+        @Override
+        public Inner removeChild(int b) {
+            int index = indexOf(b);
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(children, index + 1, children, index, count - index - 1);
+            count--;
+            children[count] = null;
+
+            // Narrow a sparse node of 16
+            if(keys.length == 16 && count <= 3) {
+                SortedNode narrower = withHeader(new SortedNode(4, prefix));
+
+                for(int i = 0; i < count; i++) {
+                    narrower.addChild(keys[i] & 0xFF, children[i]);
+                }
+
+                return narrower;
+            }
+
+            return this;
+        }
+
+        @Override
+        public int positions() {
+            return count;
+        }
+
+        @Override
+        public Node childAt(int position) {
+            return children[position];
+        }
+
+        @Override
+        public int keyAt(int position) {
+            return keys[position] & 0xFF;
+        }
+
+        /**
+         * Find the index of a byte that is present.
+         *
+         * @param b Byte.
+         * @return Its index.
+         */
+        private int indexOf(int b) {
+            int index = 0;
+
+            while((keys[index] & 0xFF) != b) {
+                index++;
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * A node of up to 48 children, found through a 256-entry index.
+     */
+    private static final class Node48 extends Inner {
+
+        /**
+         * Child slot plus one for each byte, or zero if absent.
+         */
+        private final byte[] index = new byte[256];
+
+        /**
+         * Children, in no particular order.
+         */
+        private final Node[] children = new Node[48];
+
+        /**
+         * Create a Node48.
+         *
+         * @param prefix Compressed path.
+         */
+        public Node48(byte[] prefix) {
+            super(prefix);
+        }
+
+        @Override
+        public Node findChild(int b) {
+            int slot = index[b];
+            return slot == 0 ? null : children[slot - 1];
+        }
+
+        @Override
+        public void replaceChild(int b, Node child) {
+            children[index[b] - 1] = child;
+        }
+
+        @Override
+        public Inner addChild(int b, Node child) {
+            // Widen a full node
+            if(count == children.length) {
+                Node256 wider = withHeader(new Node256(prefix));
+
+                for(int i = 0; i < 256; i++) {
+                    if(index[i] != 0) {
+                        wider.addChild(i, children[index[i] - 1]);
+                    }
+                }
+
+                return wider.addChild(b, child);
+            }
+
+            // Use the first free slot
+            int slot = 0;
+
+            while(children[slot] != null) {
+                slot++;
+            }
+
+            children[slot] = child;
+            index[b] = (byte) (slot + 1);
+            count++;
+            return this;
+        }
+
+        @Override
+        public Inner removeChild(int b) {
+            children[index[b] - 1] = null;
+            index[b] = 0;
+            count--;
+
+            // Narrow a sparse node
+            if(count <= 12) {
+                Inner narrower = withHeader(new SortedNode(16, prefix));
+
+                for(int i = 0; i < 256; i++) {
+                    if(index[i] != 0) {
+                        narrower = narrower.addChild(i, children[index[i] - 1]);
+                    }
+                }
+
+                return narrower;
+            }
+
+            return this;
+        }
+
+        @Override
+        public int positions() {
+            return 256;
+        }
+
+        @Override
+        public Node childAt(int position) {
+            return findChild(position);
+        }
+
+        @Override
+        public int keyAt(int position) {
+            return position;
+        }
+    }
+
+    /**
+     * A node with a child slot for every byte.
+     */
+    private static final class Node256 extends Inner {
+
+        /**
+         * Children by byte.
+         */
+        private final Node[] children = new Node[256];
+
+        /**
+         * Create a Node256.
+         *
+         * @param prefix Compressed path.
+         */
+        public Node256(byte[] prefix) {
+            super(prefix);
+        }
+
+        @Override
+        public Node findChild(int b) {
+            return children[b];
+        }
+
+        @Override
+        public void replaceChild(int b, Node child) {
+            children[b] = child;
+        }
+
+        @Override
+        public Inner addChild(int b, Node child) {
+            children[b] = child;
+            count++;
+            return this;
+        }
+
+        @Override
+        public Inner removeChild(int b) {
+            children[b] = null;
+            count--;
+
+            // Narrow a sparse node
+            if(count <= 36) {
+                Inner narrower = withHeader(new Node48(prefix));
+
+                for(int i = 0; i < 256; i++) {
+                    if(children[i] != null) {
+                        narrower = narrower.addChild(i, children[i]);
+                    }
+                }
+
+                return narrower;
+            }
+
+            return this;
+        }
+
+        @Override
+        public int positions() {
+            return 256;
+        }
+
+        @Override
+        public Node childAt(int position) {
+            return children[position];
+        }
+
+        @Override
+        public int keyAt(int position) {
+            return position;
+        }
+    }
+
+    /**
+     * A cursor walking a subtree in key order with an explicit stack.
+     */
+    private class RadixTreeCursor implements EntryCursor<String, V> {
+
+        /**
+         * Nodes on the path to the current leaf.
+         */
+        private Inner[] nodes = new Inner[16];
+
+        /**
+         * Next position to visit in each node, with -1 standing for the terminal leaf.
+         */
+        private int[] positions = new int[16];
+
+        /**
+         * Depth of the innermost node, or -1 when exhausted.
+         */
+        private int depth;
+
+        /**
+         * A lone leaf to visit first, when the subtree is just a leaf.
+         */
+        private Leaf pending;
+
+        /**
+         * The current leaf.
+         */
+        private Leaf current;
+
+        /**
+         * Create a new RadixTreeCursor.
+         *
+         * @param start Root of the subtree to walk, or {@code null}.
+         */
+        public RadixTreeCursor(Node start) {
+            depth = -1;
+
+            if(start instanceof Leaf) {
+                pending = (Leaf) start;
+            } else if(start != null) {
+                push((Inner) start);
+            }
+        }
+
+        @Override
+        public boolean advance() {
+            // Visit a lone leaf
+            if(pending != null) {
+                current = pending;
+                pending = null;
+                return true;
+            }
+
+            while(depth >= 0) {
+                Inner node = nodes[depth];
+                int position = positions[depth]++;
+
+                // Visit the terminal leaf before the children, since it is the shorter key
+                if(position < 0) {
+                    if(node.terminal != null) {
+                        current = node.terminal;
+                        return true;
+                    }
+
+                    continue;
+                }
+
+                // Pop a finished node
+                if(position >= node.positions()) {
+                    nodes[depth--] = null;
+                    continue;
+                }
+
+                // Visit a leaf or descend into a node
+                Node child = node.childAt(position);
+
+                if(child instanceof Leaf) {
+                    current = (Leaf) child;
+                    return true;
+                }
+
+                if(child != null) {
+                    push((Inner) child);
+                }
+            }
+
+            current = null;
+            return false;
+        }
+
+        @Override
+        public String key() throws NoSuchElementException {
+            checkPosition();
+            return current.key;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return (V) current.value;
+        }
+
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            current.value = value;
+        }
+
+        /**
+         * Push a node onto the stack.
+         *
+         * @param node Node.
+         */
+        private void push(Inner node) {
+            if(++depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+
+            nodes[depth] = node;
+            positions[depth] = -1;
+        }
+
+        /**
+         * Check that the cursor is on a pair.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(current == null) {
+                throw new NoSuchElementException("Cursor is not on a pair.");
+            }
+        }
+    }
+
+    /**
+     * An Iterator over the keys of a subtree, in ascending order.
+     */
+    private class RadixTreeIterator implements Iterator<String> {
+
+        /**
+         * Cursor doing the walk.
+         */
+        private final RadixTreeCursor cursor;
+
+        /**
+         * Whether the cursor is on a key not yet returned.
+         */
+        private boolean ready;
+
+        /**
+         * Create a new RadixTreeIterator.
+         *
+         * @param start Root of the subtree, or {@code null}.
+         */
+        public RadixTreeIterator(Node start) {
+            cursor = new RadixTreeCursor(start);
+            ready = cursor.advance();
+        }
+
+        /**
+         * Check if the Iterator has a next element.
+         *
+         * @return {@code true} if there is a next element.
+         */
+        @Override
+        public boolean hasNext() {
+            return ready;
+        }
+
+        /**
+         * Get the next key.
+         *
+         * @return The next key.
+         * @throws NoSuchElementException If there is no next key.
+         */
+        @Override
+        public String next() throws NoSuchElementException {
+            // Throw exception if there's no next key
+            if(!ready) {
+                throw new NoSuchElementException("No next key.");
+            }
+
+            String key = cursor.key();
+            ready = cursor.advance();
+            return key;
+        }
+    }
+}
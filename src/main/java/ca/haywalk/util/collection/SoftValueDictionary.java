@@ -0,0 +1,337 @@
+package ca.haywalk.util.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash table whose values are only softly reachable from it.
+ *
+ * The garbage collector may reclaim values that are not strongly
+ * reachable elsewhere when memory runs short, and their entries then
+ * disappear. Reclaimed entries are removed from a {@link ReferenceQueue}
+ * at the start of each operation, so no background thread is needed.
+ * Keys are held strongly.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class SoftValueDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Soft references to the values, by key.
+     */
+    private final HashMap<K, SoftValue<K, V>> map;
+
+    /**
+     * Queue of references whose values have been reclaimed.
+     */
+    private final ReferenceQueue<V> queue;
+
+    /**
+     * Create a new SoftValueDictionary.
+     */
+    public SoftValueDictionary() {
+        map = new HashMap<K, SoftValue<K, V>>();
+        queue = new ReferenceQueue<V>();
+    }
+
+    /**
+     * Return the number of entries, which may include values reclaimed since
+     * the last operation.
+     *
+     * @return The number of entries in the dictionary.
+     */
+    @Override
+    public int size() {
+        expungeStaleEntries();
+        return map.size();
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        expungeStaleEntries();
+        return map.put(key, new SoftValue<K, V>(key, value, queue));
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        expungeStaleEntries();
+        SoftValue<K, V> reference = map.get(key);
+
+        if(reference == null) {
+            return null;
+        }
+
+        // Remove a value reclaimed but not yet enqueued
+        V value = reference.get();
+
+        if(value == null) {
+            map.remove(key);
+        }
+
+        return value;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        map.clear();
+
+        while(queue.poll() != null) {
+            continue;
+        }
+    }
+
+    /**
+     * Return a collection of the keys whose values have not been reclaimed.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size());
+
+        // Add the key of each live entry
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values that have not been reclaimed.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size());
+
+        // Add each live value
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if an entry whose value had not been reclaimed was removed.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        expungeStaleEntries();
+        SoftValue<K, V> reference = map.get(key);
+
+        if(reference == null) {
+            return false;
+        }
+
+        map.remove(key);
+        return reference.get() != null;
+    }
+
+    /**
+     * Return an Iterator over a copy of the keys whose values have not been reclaimed.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return keys().iterator();
+    }
+
+    /**
+     * Return a cursor over the entries. The current value is held strongly
+     * while the cursor is on it.
+     *
+     * @return A cursor positioned before the first entry.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        expungeStaleEntries();
+        return new SoftValueCursor(map.cursor());
+    }
+
+    /**
+     * Remove every entry whose value has been reclaimed.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Object stale;
+
+        while((stale = queue.poll()) != null) {
+            SoftValue<K, V> reference = (SoftValue<K, V>) stale;
+
+            // The key may have been given a new value since
+            if(map.get(reference.key) == reference) {
+                map.remove(reference.key);
+            }
+        }
+    }
+
+    /**
+     * A cursor over the entries, skipping reclaimed values.
+     */
+    private class SoftValueCursor implements EntryCursor<K, V> {
+
+        /**
+         * Cursor over the map.
+         */
+        private final EntryCursor<K, SoftValue<K, V>> entries;
+
+        /**
+         * The current value, held strongly.
+         */
+        private V current;
+
+        /**
+         * Create a new SoftValueCursor.
+         *
+         * @param entries Cursor over the map.
+         */
+        public SoftValueCursor(EntryCursor<K, SoftValue<K, V>> entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Move to the next entry whose value is alive.
+         *
+         * @return {@code true} if there is an entry to read.
+         */
+        @Override
+        public boolean advance() {
+            while(entries.advance()) {
+                current = entries.value().get();
+
+                if(current != null) {
+                    return true;
+                }
+            }
+
+            current = null;
+            return false;
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return entries.key();
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return current;
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            entries.setValue(new SoftValue<K, V>(entries.key(), value, queue));
+            current = value;
+        }
+
+        /**
+         * Check that the cursor is on an entry.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(current == null) {
+                throw new NoSuchElementException("Cursor is not on an entry.");
+            }
+        }
+    }
+
+    /**
+     * A soft reference to a value that remembers its key.
+     */
+    private static final class SoftValue<K, V> extends SoftReference<V> {
+        // The entry's key
+        private final K key;
+
+        /**
+         * Create a new SoftValue.
+         *
+         * @param key Key.
+         * @param value Value.
+         * @param queue Queue to enqueue the reference on once the value is reclaimed.
+         */
+        public SoftValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
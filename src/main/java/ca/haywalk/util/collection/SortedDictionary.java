@@ -0,0 +1,55 @@
+package ca.haywalk.util.collection;
+
+/**
+ * A dictionary that keeps its keys in ascending order.
+ *
+ * {@link #keys()}, {@link #values()} and {@link #iterator()} all
+ * traverse the dictionary in ascending key order.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public interface SortedDictionary<K extends Comparable<? super K>, V> extends Dictionary<K, V> {
+    /**
+     * Return the smallest key in the dictionary.
+     *
+     * @return The smallest key, or {@code null} if the dictionary is empty.
+     */
+    public K firstKey();
+
+    /**
+     * Return the largest key in the dictionary.
+     *
+     * @return The largest key, or {@code null} if the dictionary is empty.
+     */
+    public K lastKey();
+
+    /**
+     * Return the largest key less than or equal to a given key.
+     *
+     * @param key Key to search for.
+     * @return The greatest key {@code <= key}, or {@code null} if there is none.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public K floor(K key) throws NullPointerException;
+
+    /**
+     * Return the smallest key greater than or equal to a given key.
+     *
+     * @param key Key to search for.
+     * @return The least key {@code >= key}, or {@code null} if there is none.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    public K ceiling(K key) throws NullPointerException;
+
+    /**
+     * Return a cursor over the pairs in a range, in ascending key order.
+     * Values are read in place, without looking each key up again.
+     *
+     * @param from Lowest key in the range, inclusive.
+     * @param to Highest key in the range, exclusive.
+     * @return A cursor over the pairs with keys {@code k} such that {@code from <= k < to}, positioned before the first.
+     * @throws NullPointerException If either bound is {@code null}.
+     */
+    public EntryCursor<K, V> range(K from, K to) throws NullPointerException;
+}
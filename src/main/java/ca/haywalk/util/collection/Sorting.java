@@ -0,0 +1,785 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting algorithms for object and primitive arrays.
+ *
+ * Object arrays are sorted with a stable merge sort in the style of
+ * TimSort: it finds the runs already in order, extends short runs to a
+ * minimum length with binary insertion sort, and merges neighbouring runs
+ * of similar length, so sorted and nearly sorted input takes linear time.
+ * Before merging two runs it skips the elements of each that are already
+ * in place. The parallel sort splits the array among the threads of the
+ * common {@link ForkJoinPool}, sorts the pieces with the merge sort, and
+ * merges them back together.
+ *
+ * Primitive {@code int} and {@code long} arrays are sorted with an LSD
+ * radix sort, one byte per pass, skipping passes where every element has
+ * the same byte.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public final class Sorting {
+
+    /**
+     * Arrays shorter than this are sorted by binary insertion sort alone.
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * Arrays shorter than this are sorted sequentially by the parallel sort.
+     */
+    private static final int MIN_PARALLEL = 1 << 13;
+
+    /**
+     * Arrays shorter than this are sorted by {@link Arrays#sort(int[])} instead of radix sort.
+     */
+    private static final int MIN_RADIX = 64;
+
+    /**
+     * Bits per radix sort digit.
+     */
+    private static final int RADIX_BITS = 8;
+
+    /**
+     * Number of values of a radix sort digit.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * Not instantiable.
+     */
+    private Sorting() {
+    }
+
+    /**
+     * Sort an array with a stable merge sort.
+     *
+     * @param array Array to sort.
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If array or comparator is {@code null}.
+     */
+    public static <T> void sort(T[] array, Comparator<? super T> comparator) throws NullPointerException {
+        // Check argument integrity
+        if(array == null) {
+            throw new NullPointerException("Cannot sort null array.");
+        }
+
+        sort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sort part of an array with a stable merge sort.
+     *
+     * @param array Array to sort.
+     * @param from First index to sort.
+     * @param to Index after the last index to sort.
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If array or comparator is {@code null}.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator)
+            throws NullPointerException, IndexOutOfBoundsException {
+        checkRange(array, array == null ? 0 : array.length, from, to);
+
+        if(comparator == null) {
+            throw new NullPointerException("Comparator cannot be null.");
+        }
+
+        new MergeSort<T>(array, comparator).sort(from, to);
+    }
+
+    /**
+     * Sort an array with a stable merge sort on several threads.
+     *
+     * @param array Array to sort.
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If array or comparator is {@code null}.
+     */
+    public static <T> void parallelSort(T[] array, Comparator<? super T> comparator) throws NullPointerException {
+        // Check argument integrity
+        if(array == null) {
+            throw new NullPointerException("Cannot sort null array.");
+        }
+
+        parallelSort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sort part of an array with a stable merge sort on several threads.
+     *
+     * @param array Array to sort.
+     * @param from First index to sort.
+     * @param to Index after the last index to sort.
+     * @param comparator Order to sort in.
+     * @throws NullPointerException If array or comparator is {@code null}.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public static <T> void parallelSort(T[] array, int from, int to, Comparator<? super T> comparator)
+            throws NullPointerException, IndexOutOfBoundsException {
+        checkRange(array, array == null ? 0 : array.length, from, to);
+
+        if(comparator == null) {
+            throw new NullPointerException("Comparator cannot be null.");
+        }
+
+        // Give each thread a few pieces, so a slow piece does not hold up the rest
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+        if(to - from < MIN_PARALLEL || parallelism < 2) {
+            new MergeSort<T>(array, comparator).sort(from, to);
+            return;
+        }
+
+        int leafSize = Math.max(MIN_PARALLEL, (to - from) / (parallelism * 4));
+        ForkJoinPool.commonPool().invoke(new ParallelSort<T>(array, from, to, comparator, leafSize));
+    }
+
+    /**
+     * Sort an array of {@code int}s with a radix sort.
+     *
+     * @param array Array to sort.
+     * @throws NullPointerException If array is {@code null}.
+     */
+    public static void radixSort(int[] array) throws NullPointerException {
+        // Check argument integrity
+        if(array == null) {
+            throw new NullPointerException("Cannot sort null array.");
+        }
+
+        radixSort(array, 0, array.length);
+    }
+
+    /**
+     * Sort part of an array of {@code int}s with a radix sort.
+     *
+     * @param array Array to sort.
+     * @param from First index to sort.
+     * @param to Index after the last index to sort.
+     * @throws NullPointerException If array is {@code null}.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public static void radixSort(int[] array, int from, int to) throws NullPointerException, IndexOutOfBoundsException {
+        checkRange(array, array == null ? 0 : array.length, from, to);
+        int length = to - from;
+
+        if(length < MIN_RADIX) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+
+        // Count every digit in one read of the array, flipping the sign bit so negatives sort first
+        int passes = Integer.SIZE / RADIX_BITS;
+        int[][] counts = new int[passes][RADIX];
+
+        for(int i = from; i < to; i++) {
+            int key = array[i] ^ Integer.MIN_VALUE;
+
+            for(int pass = 0; pass < passes; pass++) {
+                counts[pass][(key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        // Scatter by each digit in turn, from the lowest, between the array and a buffer
+        int[] source = array;
+        int sourceStart = from;
+        int[] target = new int[length];
+        int targetStart = 0;
+
+        for(int pass = 0; pass < passes; pass++) {
+            int shift = pass * RADIX_BITS;
+
+            if(!toOffsets(counts[pass], length)) {
+                continue;
+            }
+
+            int[] offsets = counts[pass];
+
+            for(int i = sourceStart; i < sourceStart + length; i++) {
+                int value = source[i];
+                target[targetStart + offsets[((value ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1)]++] = value;
+            }
+
+            int[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+
+        // Copy back if the last pass ended in the buffer
+        if(source != array) {
+            System.arraycopy(source, 0, array, from, length);
+        }
+    }
+
+    /**
+     * Sort an array of {@code long}s with a radix sort.
+     *
+     * @param array Array to sort.
+     * @throws NullPointerException If array is {@code null}.
+     */
+    public static void radixSort(long[] array) throws NullPointerException {
+        // Check argument integrity
+        if(array == null) {
+            throw new NullPointerException("Cannot sort null array.");
+        }
+
+        radixSort(array, 0, array.length);
+    }
+
+    /**
+     * Sort part of an array of {@code long}s with a radix sort.
+     *
+     * @param array Array to sort.
+     * @param from First index to sort.
+     * @param to Index after the last index to sort.
+     * @throws NullPointerException If array is {@code null}.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    public static void radixSort(long[] array, int from, int to) throws NullPointerException, IndexOutOfBoundsException {
+        checkRange(array, array == null ? 0 : array.length, from, to);
+        int length = to - from;
+
+        if(length < MIN_RADIX) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+
+        // Count every digit in one read of the array, flipping the sign bit so negatives sort first
+        int passes = Long.SIZE / RADIX_BITS;
+        int[][] counts = new int[passes][RADIX];
+
+        for(int i = from; i < to; i++) {
+            long key = array[i] ^ Long.MIN_VALUE;
+
+            for(int pass = 0; pass < passes; pass++) {
+                counts[pass][(int) (key >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        // Scatter by each digit in turn, from the lowest, between the array and a buffer
+        long[] source = array;
+        int sourceStart = from;
+        long[] target = new long[length];
+        int targetStart = 0;
+
+        for(int pass = 0; pass < passes; pass++) {
+            int shift = pass * RADIX_BITS;
+
+            if(!toOffsets(counts[pass], length)) {
+                continue;
+            }
+
+            int[] offsets = counts[pass];
+
+            for(int i = sourceStart; i < sourceStart + length; i++) {
+                long value = source[i];
+                target[targetStart + offsets[(int) ((value ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1)]++] = value;
+            }
+
+            long[] swap = source;
+            source = target;
+            target = swap;
+            int swapStart = sourceStart;
+            sourceStart = targetStart;
+            targetStart = swapStart;
+        }
+
+        // Copy back if the last pass ended in the buffer
+        if(source != array) {
+            System.arraycopy(source, 0, array, from, length);
+        }
+    }
+
+    /**
+     * Turn a digit's counts into the offset each digit's elements start at.
+     *
+     * @param counts Count of each digit value, replaced by offsets.
+     * @param length Number of elements.
+     * @return {@code false} if every element has the same digit, so the pass can be skipped.
+     */
+    private static boolean toOffsets(int[] counts, int length) {
+        int offset = 0;
+
+        for(int digit = 0; digit < RADIX; digit++) {
+            if(counts[digit] == length) {
+                return false;
+            }
+
+            int count = counts[digit];
+            counts[digit] = offset;
+            offset += count;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check the array and range of a sort.
+     *
+     * @param array Array to sort.
+     * @param length Length of the array.
+     * @param from First index to sort.
+     * @param to Index after the last index to sort.
+     * @throws NullPointerException If array is {@code null}.
+     * @throws IndexOutOfBoundsException If the range is out of bounds.
+     */
+    private static void checkRange(Object array, int length, int from, int to)
+            throws NullPointerException, IndexOutOfBoundsException {
+        if(array == null) {
+            throw new NullPointerException("Cannot sort null array.");
+        }
+
+        if(from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(String.format("Range %d to %d out of bounds for length %d.", from, to, length));
+        }
+    }
+
+    /**
+     * A TimSort-style stable merge sort of one array.
+     */
+    private static final class MergeSort<T> {
+
+        /**
+         * Largest number of pending runs. Run lengths grow at least as fast
+         * as the Fibonacci numbers, so this covers any array length.
+         */
+        private static final int MAX_RUNS = 49;
+
+        /**
+         * Array being sorted.
+         */
+        private final T[] array;
+
+        /**
+         * Order to sort in.
+         */
+        private final Comparator<? super T> comparator;
+
+        /**
+         * Start of each pending run.
+         */
+        private final int[] runStarts;
+
+        /**
+         * Length of each pending run.
+         */
+        private final int[] runLengths;
+
+        /**
+         * Number of pending runs.
+         */
+        private int runCount;
+
+        /**
+         * Buffer for the shorter run of a merge.
+         */
+        private Object[] buffer;
+
+        /**
+         * Create a new MergeSort.
+         *
+         * @param array Array to sort.
+         * @param comparator Order to sort in.
+         */
+        public MergeSort(T[] array, Comparator<? super T> comparator) {
+            this.array = array;
+            this.comparator = comparator;
+            this.runStarts = new int[MAX_RUNS];
+            this.runLengths = new int[MAX_RUNS];
+            this.buffer = new Object[0];
+        }
+
+        /**
+         * Sort part of the array.
+         *
+         * @param from First index to sort.
+         * @param to Index after the last index to sort.
+         */
+        public void sort(int from, int to) {
+            int remaining = to - from;
+
+            if(remaining < 2) {
+                return;
+            }
+
+            // Sort short arrays by extending their first run
+            if(remaining < MIN_MERGE) {
+                binaryInsertionSort(from, to, from + runLength(from, to));
+                return;
+            }
+
+            int minRun = minRunLength(remaining);
+            int start = from;
+
+            while(remaining > 0) {
+                // Find the next run, extending it to the minimum length if short
+                int length = runLength(start, to);
+
+                if(length < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binaryInsertionSort(start, start + forced, start + length);
+                    length = forced;
+                }
+
+                // Push it and merge while the pending runs are out of balance
+                runStarts[runCount] = start;
+                runLengths[runCount] = length;
+                runCount++;
+                mergeCollapse();
+
+                start += length;
+                remaining -= length;
+            }
+
+            // Merge what is left
+            while(runCount > 1) {
+                int n = runCount - 2;
+
+                if(n > 0 && runLengths[n - 1] < runLengths[n + 1]) {
+                    n--;
+                }
+
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merge two sorted neighbouring ranges of the array.
+         *
+         * @param start1 Start of the first range.
+         * @param length1 Length of the first range.
+         * @param start2 Start of the second range, right after the first.
+         * @param length2 Length of the second range.
+         */
+        public void merge(int start1, int length1, int start2, int length2) {
+            // Skip the elements of the first range that are already in place
+            int skip = upperBound(array[start2], start1, length1);
+            length1 -= skip - start1;
+            start1 = skip;
+
+            if(length1 == 0) {
+                return;
+            }
+
+            // And those of the second range
+            length2 = lowerBound(array[start1 + length1 - 1], start2, length2) - start2;
+
+            if(length2 == 0) {
+                return;
+            }
+
+            // Copy out the shorter range
+            if(length1 <= length2) {
+                mergeLow(start1, length1, start2, length2);
+            } else {
+                mergeHigh(start1, length1, start2, length2);
+            }
+        }
+
+        /**
+         * Merge runs while the pending run lengths break the invariants that
+         * keep merges balanced: each run is longer than the next, and longer
+         * than the next two together.
+         */
+        private void mergeCollapse() {
+            while(runCount > 1) {
+                int n = runCount - 2;
+
+                if(n > 0 && runLengths[n - 1] <= runLengths[n] + runLengths[n + 1]
+                        || n > 1 && runLengths[n - 2] <= runLengths[n] + runLengths[n - 1]) {
+                    if(runLengths[n - 1] < runLengths[n + 1]) {
+                        n--;
+                    }
+                } else if(runLengths[n] > runLengths[n + 1]) {
+                    break;
+                }
+
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merge the pending runs at a position and the one after it.
+         *
+         * @param n Position of the first run.
+         */
+        private void mergeAt(int n) {
+            int start1 = runStarts[n];
+            int length1 = runLengths[n];
+            int start2 = runStarts[n + 1];
+            int length2 = runLengths[n + 1];
+
+            // Record the merged run, moving the last run down if this is not the top pair
+            runLengths[n] = length1 + length2;
+
+            if(n == runCount - 3) {
+                runStarts[n + 1] = runStarts[n + 2];
+                runLengths[n + 1] = runLengths[n + 2];
+            }
+
+            runCount--;
+            merge(start1, length1, start2, length2);
+        }
+
+        /**
+         * Merge from the front, buffering the first range.
+         *
+         * @param start1 Start of the first range.
+         * @param length1 Length of the first range.
+         * @param start2 Start of the second range.
+         * @param length2 Length of the second range.
+         */
+        @SuppressWarnings("unchecked")
+        private void mergeLow(int start1, int length1, int start2, int length2) {
+            Object[] low = buffer(length1);
+            System.arraycopy(array, start1, low, 0, length1);
+
+            int left = 0;
+            int right = start2;
+            int end = start2 + length2;
+            int out = start1;
+
+            // Take from the second range only when strictly smaller, to stay stable
+            while(left < length1 && right < end) {
+                if(comparator.compare(array[right], (T) low[left]) < 0) {
+                    array[out++] = array[right++];
+                } else {
+                    array[out++] = (T) low[left++];
+                }
+            }
+
+            System.arraycopy(low, left, array, out, length1 - left);
+        }
+
+        /**
+         * Merge from the back, buffering the second range.
+         *
+         * @param start1 Start of the first range.
+         * @param length1 Length of the first range.
+         * @param start2 Start of the second range.
+         * @param length2 Length of the second range.
+         */
+        @SuppressWarnings("unchecked")
+        private void mergeHigh(int start1, int length1, int start2, int length2) {
+            Object[] high = buffer(length2);
+            System.arraycopy(array, start2, high, 0, length2);
+
+            int left = start1 + length1 - 1;
+            int right = length2 - 1;
+            int out = start2 + length2 - 1;
+
+            // Take from the first range only when strictly larger, to stay stable
+            while(left >= start1 && right >= 0) {
+                if(comparator.compare((T) high[right], array[left]) < 0) {
+                    array[out--] = array[left--];
+                } else {
+                    array[out--] = (T) high[right--];
+                }
+            }
+
+            System.arraycopy(high, 0, array, out - right, right + 1);
+        }
+
+        /**
+         * Return the merge buffer, growing it if needed.
+         *
+         * @param length Length needed.
+         * @return The buffer.
+         */
+        private Object[] buffer(int length) {
+            if(buffer.length < length) {
+                buffer = new Object[Math.max(length, Math.min(buffer.length * 2, array.length / 2))];
+            }
+
+            return buffer;
+        }
+
+        /**
+         * Return the length of the run starting at an index, reversing it if
+         * it is strictly descending.
+         *
+         * @param start Start of the run.
+         * @param to Index after the last index to sort.
+         * @return The run's length.
+         */
+        private int runLength(int start, int to) {
+            int end = start + 1;
+
+            if(end == to) {
+                return 1;
+            }
+
+            // Descending runs must be strictly descending, so reversing them is stable
+            if(comparator.compare(array[end++], array[start]) < 0) {
+                while(end < to && comparator.compare(array[end], array[end - 1]) < 0) {
+                    end++;
+                }
+
+                reverse(start, end);
+            } else {
+                while(end < to && comparator.compare(array[end], array[end - 1]) >= 0) {
+                    end++;
+                }
+            }
+
+            return end - start;
+        }
+
+        /**
+         * Sort a range whose start is already sorted, by inserting each further
+         * element where a binary search puts it.
+         *
+         * @param from First index to sort.
+         * @param to Index after the last index to sort.
+         * @param sorted Index after the sorted start.
+         */
+        private void binaryInsertionSort(int from, int to, int sorted) {
+            for(int i = sorted; i < to; i++) {
+                T item = array[i];
+                int position = upperBound(item, from, i - from);
+                System.arraycopy(array, position, array, position + 1, i - position);
+                array[position] = item;
+            }
+        }
+
+        /**
+         * Find the first index of a sorted range holding an element greater than a key.
+         *
+         * @param key Key.
+         * @param start Start of the range.
+         * @param length Length of the range.
+         * @return The index, or the end of the range.
+         */
+        private int upperBound(T key, int start, int length) {
+            int low = start;
+            int high = start + length;
+
+            while(low < high) {
+                int mid = (low + high) >>> 1;
+
+                if(comparator.compare(key, array[mid]) < 0) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Find the first index of a sorted range holding an element not less than a key.
+         *
+         * @param key Key.
+         * @param start Start of the range.
+         * @param length Length of the range.
+         * @return The index, or the end of the range.
+         */
+        private int lowerBound(T key, int start, int length) {
+            int low = start;
+            int high = start + length;
+
+            while(low < high) {
+                int mid = (low + high) >>> 1;
+
+                if(comparator.compare(array[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Reverse a range of the array.
+         *
+         * @param from First index.
+         * @param to Index after the last index.
+         */
+        private void reverse(int from, int to) {
+            for(int i = from, j = to - 1; i < j; i++, j--) {
+                T swap = array[i];
+                array[i] = array[j];
+                array[j] = swap;
+            }
+        }
+
+        /**
+         * Return the minimum run length for an array, chosen so the number of
+         * runs is a power of two or just under one, which keeps merges balanced.
+         *
+         * @param length Array length.
+         * @return The minimum run length.
+         */
+        private static int minRunLength(int length) {
+            int lowBits = 0;
+
+            while(length >= MIN_MERGE) {
+                lowBits |= length & 1;
+                length >>= 1;
+            }
+
+            return length + lowBits;
+        }
+    }
+
+    /**
+     * A fork-join task sorting a range by sorting its halves in parallel and merging them.
+     */
+    private static final class ParallelSort<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        // Array, range, order, and the length to stop splitting at
+        private final T[] array;
+        private final int from;
+        private final int to;
+        private final Comparator<? super T> comparator;
+        private final int leafSize;
+
+        /**
+         * Create a new ParallelSort.
+         *
+         * @param array Array to sort.
+         * @param from First index to sort.
+         * @param to Index after the last index to sort.
+         * @param comparator Order to sort in.
+         * @param leafSize Ranges no longer than this are sorted sequentially.
+         */
+        public ParallelSort(T[] array, int from, int to, Comparator<? super T> comparator, int leafSize) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+            this.leafSize = leafSize;
+        }
+
+        /**
+         * Sort the range.
+         */
+        @Override
+        protected void compute() {
+            MergeSort<T> sort = new MergeSort<T>(array, comparator);
+
+            if(to - from <= leafSize) {
+                sort.sort(from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParallelSort<T>(array, from, mid, comparator, leafSize),
+                new ParallelSort<T>(array, mid, to, comparator, leafSize));
+            sort.merge(from, mid - from, mid, to - mid);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ca.haywalk.util.collection;
+
+/**
+ * A source of elapsed time in nanoseconds, replaceable in tests.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * Return the current time in nanoseconds, from an arbitrary origin.
+     *
+     * @return The current time.
+     */
+    public long read();
+
+    /**
+     * Return a Ticker reading {@link System#nanoTime()}.
+     *
+     * @return The system Ticker.
+     */
+    public static Ticker systemTicker() {
+        return System::nanoTime;
+    }
+}
@@ -0,0 +1,661 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list with fast insertion and removal at any index, built as a tiered
+ * vector.
+ *
+ * The items are split into chunks of equal, power-of-two size. Every chunk
+ * is full except the last, so {@link #get(int)} finds an item's chunk and
+ * slot with a shift and a mask. Each chunk is a circular buffer, so an
+ * item can move from the end of one chunk to the front of the next in
+ * constant time. Inserting or removing shifts items within one chunk and
+ * then moves one item across each later chunk. The chunk size tracks the
+ * square root of the list's size, which keeps both steps O(&radic;n).
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class TieredList<T> implements List<T> {
+
+    /**
+     * Smallest chunk size.
+     */
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    /**
+     * The chunks, only the first {@code chunkCount} in use.
+     */
+    private Object[][] chunks;
+
+    /**
+     * Slot of the first item of each chunk.
+     */
+    private int[] heads;
+
+    /**
+     * Number of items in each chunk.
+     */
+    private int[] counts;
+
+    /**
+     * Number of chunks in use.
+     */
+    private int chunkCount;
+
+    /**
+     * Log of the chunk size.
+     */
+    private int shift;
+
+    /**
+     * Chunk size minus one.
+     */
+    private int mask;
+
+    /**
+     * The size of the list.
+     */
+    private int size;
+
+    /**
+     * Create a new, empty TieredList.
+     */
+    public TieredList() {
+        reset(MIN_CHUNK_SIZE, 1);
+    }
+
+    /**
+     * Return the size of the list.
+     *
+     * @return The size of the list.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Check if the list is empty.
+     *
+     * @return {@code true} if the list is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add an item to the end of the list.
+     *
+     * @param item Item to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean add(T item) throws NullPointerException {
+        add(size, item);
+        return true;
+    }
+
+    /**
+     * Insert an item at an index, moving later items up by one.
+     *
+     * @param index Index to insert at, from 0 to the size of the list.
+     * @param item Item to insert.
+     * @throws NullPointerException If item is {@code null}.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @Override
+    public void add(int index, T item) throws NullPointerException, IndexOutOfBoundsException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot add null.");
+        }
+
+        if(index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, size));
+        }
+
+        // Add a chunk if every chunk is full, first growing the chunks if there are too many
+        if(size == chunkCount << shift) {
+            if(chunkCount >= 2 << shift) {
+                rebuild(1 << (shift + 1));
+            }
+
+            addChunk();
+        }
+
+        // Make room in the item's chunk by moving one item up through each later chunk
+        int chunk = index >>> shift;
+
+        for(int last = chunkCount - 1; last > chunk; last--) {
+            pushFront(last, popBack(last - 1));
+        }
+
+        insertAt(chunk, index & mask, item);
+        size++;
+    }
+
+    /**
+     * Add all items in a collection to the end of the list.
+     *
+     * @param items Collection of items to add.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If the collection or any items in it are {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean addAll(Collection<? extends T> items) throws NullPointerException {
+        // Check argument integrity
+        if(items == null) {
+            throw new NullPointerException("Cannot add null collection.");
+        }
+
+        // Copy the items out while checking them, in case the collection is this list
+        Object[] added = new Object[items.size()];
+        int length = 0;
+
+        for(T item : items) {
+            if(item == null) {
+                throw new NullPointerException("Collection has null element.");
+            }
+
+            if(length == added.length) {
+                added = Arrays.copyOf(added, Math.max(length * 2, 1));
+            }
+
+            added[length++] = item;
+        }
+
+        for(int i = 0; i < length; i++) {
+            add(size, (T) added[i]);
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the item at a certain index.
+     *
+     * @param index Index to get item at.
+     * @return The item at that index.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        int chunk = index >>> shift;
+        return (T) chunks[chunk][(heads[chunk] + index) & mask];
+    }
+
+    /**
+     * Remove the item at a certain index, moving later items down by one.
+     *
+     * @param index Index of item to remove.
+     * @return Item removed.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+
+        // Close the gap by moving one item down through each later chunk
+        int chunk = index >>> shift;
+        Object removed = removeAt(chunk, index & mask);
+
+        for(int next = chunk + 1; next < chunkCount; next++) {
+            pushBack(next - 1, popFront(next));
+        }
+
+        size--;
+
+        // Drop an emptied last chunk, and shrink the chunks if there are few
+        if(counts[chunkCount - 1] == 0 && chunkCount > 1) {
+            chunkCount--;
+        }
+
+        if(shift > Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE) && chunkCount < (1 << shift) / 8) {
+            rebuild(1 << (shift - 1));
+        }
+
+        return (T) removed;
+    }
+
+    /**
+     * Remove the first occurrence of an item.
+     *
+     * @param item Item to remove.
+     * @return {@code true} if the item was found.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean remove(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot remove null.");
+        }
+
+        int index = index(item);
+
+        if(index == -1) {
+            return false;
+        }
+
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Get the index of the first occurrence of an item.
+     *
+     * @param item Item to get the index of.
+     * @return Item's index, or -1 if not found.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public int index(T item) throws NullPointerException {
+        // Check argument integrity
+        if(item == null) {
+            throw new NullPointerException("Cannot find index of null.");
+        }
+
+        for(int chunk = 0; chunk < chunkCount; chunk++) {
+            for(int i = 0; i < counts[chunk]; i++) {
+                if(chunks[chunk][(heads[chunk] + i) & mask].equals(item)) {
+                    return (chunk << shift) + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Check if an item is in the list.
+     *
+     * @param item Item to check for.
+     * @return {@code true} if the list contains the item.
+     * @throws NullPointerException If item is {@code null}.
+     */
+    @Override
+    public boolean contains(T item) throws NullPointerException {
+        return index(item) != -1;
+    }
+
+    /**
+     * Remove every item matching a condition, compacting the list in one pass.
+     *
+     * @param filter Condition for removal.
+     * @return {@code true} if any item was removed.
+     * @throws NullPointerException If filter is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) throws NullPointerException {
+        // Check argument integrity
+        if(filter == null) {
+            throw new NullPointerException("Filter cannot be null.");
+        }
+
+        // Test every item before changing anything, in case the filter throws
+        Object[] kept = new Object[size];
+        int length = 0;
+
+        for(int index = 0; index < size; index++) {
+            Object item = get(index);
+
+            if(!filter.test((T) item)) {
+                kept[length++] = item;
+            }
+        }
+
+        if(length == size) {
+            return false;
+        }
+
+        fill(kept, length, chunkSizeFor(length));
+        return true;
+    }
+
+    /**
+     * Replace every item with the result of applying a function to it.
+     *
+     * @param operator Function to apply.
+     * @throws NullPointerException If operator is {@code null} or returns {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) throws NullPointerException {
+        // Check argument integrity
+        if(operator == null) {
+            throw new NullPointerException("Operator cannot be null.");
+        }
+
+        for(int chunk = 0; chunk < chunkCount; chunk++) {
+            for(int i = 0; i < counts[chunk]; i++) {
+                int slot = (heads[chunk] + i) & mask;
+                T item = operator.apply((T) chunks[chunk][slot]);
+
+                if(item == null) {
+                    throw new NullPointerException("Cannot add null.");
+                }
+
+                chunks[chunk][slot] = item;
+            }
+        }
+    }
+
+    /**
+     * Perform an action on every item, in order.
+     *
+     * @param action Action to perform.
+     * @throws NullPointerException If action is {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super T> action) throws NullPointerException {
+        // Check argument integrity
+        if(action == null) {
+            throw new NullPointerException("Cannot perform null action.");
+        }
+
+        for(int chunk = 0; chunk < chunkCount; chunk++) {
+            for(int i = 0; i < counts[chunk]; i++) {
+                action.accept((T) chunks[chunk][(heads[chunk] + i) & mask]);
+            }
+        }
+    }
+
+    /**
+     * Remove every item.
+     */
+    @Override
+    public void clear() {
+        reset(MIN_CHUNK_SIZE, 1);
+    }
+
+    /**
+     * Return an iterator over the list.
+     *
+     * @return An iterator over the list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new TieredListIterator();
+    }
+
+    /**
+     * Allocate the next chunk, growing the chunk arrays if needed.
+     */
+    private void addChunk() {
+        if(chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            heads = Arrays.copyOf(heads, chunkCount * 2);
+            counts = Arrays.copyOf(counts, chunkCount * 2);
+        }
+
+        if(chunks[chunkCount] == null) {
+            chunks[chunkCount] = new Object[mask + 1];
+        }
+
+        heads[chunkCount] = 0;
+        counts[chunkCount] = 0;
+        chunkCount++;
+    }
+
+    /**
+     * Insert an item into a chunk with room, shifting whichever side of it is shorter.
+     *
+     * @param chunk Chunk.
+     * @param position Position within the chunk.
+     * @param item Item.
+     */
+    private void insertAt(int chunk, int position, Object item) {
+        Object[] slots = chunks[chunk];
+        int head = heads[chunk];
+        int count = counts[chunk];
+
+        if(position < count / 2) {
+            // Move the head back and shift the items before the position down
+            head = (head - 1) & mask;
+
+            for(int i = 0; i < position; i++) {
+                slots[(head + i) & mask] = slots[(head + i + 1) & mask];
+            }
+
+            heads[chunk] = head;
+        } else {
+            // Shift the items from the position up
+            for(int i = count; i > position; i--) {
+                slots[(head + i) & mask] = slots[(head + i - 1) & mask];
+            }
+        }
+
+        slots[(head + position) & mask] = item;
+        counts[chunk] = count + 1;
+    }
+
+    /**
+     * Remove an item from a chunk, shifting whichever side of it is shorter.
+     *
+     * @param chunk Chunk.
+     * @param position Position within the chunk.
+     * @return The item.
+     */
+    private Object removeAt(int chunk, int position) {
+        Object[] slots = chunks[chunk];
+        int head = heads[chunk];
+        int count = counts[chunk];
+        Object removed = slots[(head + position) & mask];
+
+        if(position < count / 2) {
+            // Shift the items before the position up and move the head forward
+            for(int i = position; i > 0; i--) {
+                slots[(head + i) & mask] = slots[(head + i - 1) & mask];
+            }
+
+            slots[head] = null;
+            heads[chunk] = (head + 1) & mask;
+        } else {
+            // Shift the items after the position down
+            for(int i = position; i < count - 1; i++) {
+                slots[(head + i) & mask] = slots[(head + i + 1) & mask];
+            }
+
+            slots[(head + count - 1) & mask] = null;
+        }
+
+        counts[chunk] = count - 1;
+        return removed;
+    }
+
+    /**
+     * Add an item before the first item of a chunk with room.
+     *
+     * @param chunk Chunk.
+     * @param item Item.
+     */
+    private void pushFront(int chunk, Object item) {
+        heads[chunk] = (heads[chunk] - 1) & mask;
+        chunks[chunk][heads[chunk]] = item;
+        counts[chunk]++;
+    }
+
+    /**
+     * Add an item after the last item of a chunk with room.
+     *
+     * @param chunk Chunk.
+     * @param item Item.
+     */
+    private void pushBack(int chunk, Object item) {
+        chunks[chunk][(heads[chunk] + counts[chunk]) & mask] = item;
+        counts[chunk]++;
+    }
+
+    /**
+     * Remove the first item of a chunk.
+     *
+     * @param chunk Chunk.
+     * @return The item.
+     */
+    private Object popFront(int chunk) {
+        Object item = chunks[chunk][heads[chunk]];
+        chunks[chunk][heads[chunk]] = null;
+        heads[chunk] = (heads[chunk] + 1) & mask;
+        counts[chunk]--;
+        return item;
+    }
+
+    /**
+     * Remove the last item of a chunk.
+     *
+     * @param chunk Chunk.
+     * @return The item.
+     */
+    private Object popBack(int chunk) {
+        counts[chunk]--;
+        int slot = (heads[chunk] + counts[chunk]) & mask;
+        Object item = chunks[chunk][slot];
+        chunks[chunk][slot] = null;
+        return item;
+    }
+
+    /**
+     * Copy the items into chunks of a new size.
+     *
+     * @param chunkSize New chunk size, a power of two.
+     */
+    private void rebuild(int chunkSize) {
+        Object[] items = new Object[size];
+        int length = 0;
+
+        for(int chunk = 0; chunk < chunkCount; chunk++) {
+            for(int i = 0; i < counts[chunk]; i++) {
+                items[length++] = chunks[chunk][(heads[chunk] + i) & mask];
+            }
+        }
+
+        fill(items, length, chunkSize);
+    }
+
+    /**
+     * Replace the contents with items from an array.
+     *
+     * @param items Items.
+     * @param length Number of items.
+     * @param chunkSize Chunk size, a power of two.
+     */
+    private void fill(Object[] items, int length, int chunkSize) {
+        int needed = Math.max(1, (length + chunkSize - 1) / chunkSize);
+        reset(chunkSize, needed);
+
+        for(int chunk = 0; chunk * chunkSize < length; chunk++) {
+            if(chunk > 0) {
+                addChunk();
+            }
+
+            int count = Math.min(chunkSize, length - chunk * chunkSize);
+            System.arraycopy(items, chunk * chunkSize, chunks[chunk], 0, count);
+            counts[chunk] = count;
+        }
+
+        size = length;
+    }
+
+    /**
+     * Empty the list and set the chunk size.
+     *
+     * @param chunkSize Chunk size, a power of two.
+     * @param capacity Number of chunks to make room for.
+     */
+    private void reset(int chunkSize, int capacity) {
+        shift = Integer.numberOfTrailingZeros(chunkSize);
+        mask = chunkSize - 1;
+        chunks = new Object[Math.max(capacity, 4)][];
+        heads = new int[chunks.length];
+        counts = new int[chunks.length];
+        chunkCount = 0;
+        size = 0;
+        addChunk();
+    }
+
+    /**
+     * Return the chunk size suited to a number of items, about its square root.
+     *
+     * @param length Number of items.
+     * @return The chunk size, a power of two.
+     */
+    private static int chunkSizeFor(int length) {
+        int chunkSize = MIN_CHUNK_SIZE;
+
+        while((long) chunkSize * chunkSize < length) {
+            chunkSize <<= 1;
+        }
+
+        return chunkSize;
+    }
+
+    /**
+     * Throw if an index is out of bounds.
+     *
+     * @param index Index.
+     * @throws IndexOutOfBoundsException If index is out of bounds.
+     */
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d.", index, size));
+        }
+    }
+
+    /**
+     * An iterator over the list, chunk by chunk.
+     */
+    private class TieredListIterator implements Iterator<T> {
+        // Current chunk and position within it
+        private int chunk;
+        private int position;
+
+        /**
+         * Check that the list has another item.
+         *
+         * @return {@code true} If the list has another item.
+         */
+        @Override
+        public boolean hasNext() {
+            return chunk < chunkCount && position < counts[chunk];
+        }
+
+        /**
+         * Get the next item in the list.
+         *
+         * @return The next item in the list.
+         * @throws NoSuchElementException If there is no next item.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() throws NoSuchElementException {
+            // Throw exception if there is no next element.
+            if(!hasNext()) {
+                throw new NoSuchElementException("No such element: End of list.");
+            }
+
+            T item = (T) chunks[chunk][(heads[chunk] + position) & mask];
+
+            if(++position == counts[chunk]) {
+                chunk++;
+                position = 0;
+            }
+
+            return item;
+        }
+    }
+}
@@ -0,0 +1,655 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A multi-version dictionary: writers publish numbered versions, and
+ * readers pin a version and read it without locks.
+ *
+ * Every version is an immutable {@link HashTrieMap}, so a write copies
+ * only the path to the changed key and earlier versions are unchanged.
+ * Writes are serialized on this dictionary's lock. Reads of the current
+ * version, and {@link #snapshot()}, take no lock.
+ *
+ * Old versions are kept in a chain so that {@link #snapshot(long)} can
+ * pin them by number. Reclamation is epoch-based. Each thread announces
+ * the versions its open snapshots pin in a reader record of its own, so
+ * taking or closing a snapshot writes no memory shared with other readers.
+ * After each write, and when a snapshot of the oldest retained version
+ * closes, the reader records are scanned and the oldest pointer is moved
+ * forward by compare-and-set to the oldest pinned version. Neither step
+ * takes the writers' lock. The garbage collector then frees whatever no
+ * snapshot refers to. A snapshot holds its version directly, so one that
+ * races with reclamation stays valid even if its version leaves the chain.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class VersionedDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Pinned version number of a reader record holding no pins.
+     */
+    private static final long UNPINNED = Long.MAX_VALUE;
+
+    /**
+     * The newest version.
+     */
+    private volatile Version<K, V> current;
+
+    /**
+     * The oldest version not yet reclaimed.
+     */
+    private final AtomicReference<Version<K, V>> oldest;
+
+    /**
+     * Every thread's reader record, scanned when reclaiming.
+     */
+    private final CopyOnWriteArrayList<Reader> readers;
+
+    /**
+     * The calling thread's reader record.
+     */
+    private final ThreadLocal<Reader> reader;
+
+    /**
+     * Create a new, empty VersionedDictionary at version 0.
+     */
+    public VersionedDictionary() {
+        current = new Version<K, V>(0, HashTrieMap.<K, V>empty());
+        oldest = new AtomicReference<Version<K, V>>(current);
+        readers = new CopyOnWriteArrayList<Reader>();
+        reader = ThreadLocal.withInitial(() -> {
+            Reader record = new Reader(Thread.currentThread());
+            readers.add(record);
+            return record;
+        });
+    }
+
+    /**
+     * Return the number of pairs in the current version.
+     *
+     * @return The number of pairs in the dictionary.
+     */
+    @Override
+    public int size() {
+        return current.map.size();
+    }
+
+    /**
+     * Check if the current version is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return current.map.isEmpty();
+    }
+
+    /**
+     * Return the number of the current version.
+     *
+     * @return The current version number.
+     */
+    public long currentVersion() {
+        return current.number;
+    }
+
+    /**
+     * Return the number of versions not yet reclaimed, including the current one.
+     *
+     * @return The number of retained versions.
+     */
+    public int retainedVersions() {
+        int count = 0;
+
+        for(Version<K, V> version = oldest.get(); version != null; version = version.next) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Add a key-value pair, publishing a new version.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized boolean put(K key, V value) throws NullPointerException {
+        publish(current.map.with(key, value));
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key in the current version.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        return current.map.get(key);
+    }
+
+    /**
+     * Remove every pair, publishing a new version.
+     */
+    @Override
+    public synchronized void clear() {
+        publish(HashTrieMap.<K, V>empty());
+    }
+
+    /**
+     * Return a collection of the keys in the current version.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        return current.map.keys();
+    }
+
+    /**
+     * Return a collection of the values in the current version.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        return current.map.values();
+    }
+
+    /**
+     * Remove a key-value pair, publishing a new version if the key was present.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public synchronized boolean remove(K key) throws NullPointerException {
+        HashTrieMap<K, V> map = current.map;
+        HashTrieMap<K, V> removed = map.without(key);
+        publish(removed);
+        return removed != map;
+    }
+
+    /**
+     * Apply several changes as a single new version.
+     *
+     * @param changes Function making changes to a builder started from the current version.
+     * @return The number of the version now current.
+     * @throws NullPointerException If changes is {@code null}.
+     */
+    public synchronized long update(Consumer<HashTrieMap.Builder<K, V>> changes) throws NullPointerException {
+        // Check argument integrity
+        if(changes == null) {
+            throw new NullPointerException("Changes cannot be null.");
+        }
+
+        HashTrieMap.Builder<K, V> builder = current.map.toBuilder();
+        changes.accept(builder);
+        publish(builder.build());
+        return current.number;
+    }
+
+    /**
+     * Add a pair if the key is absent, atomically with respect to other writers.
+     *
+     * @param key Key to add.
+     * @param value Value to associate to the key.
+     * @return The value already associated with the key, or {@code null} if the pair was added.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized V putIfAbsent(K key, V value) throws NullPointerException {
+        return Dictionary.super.putIfAbsent(key, value);
+    }
+
+    /**
+     * Replace the value of a key only if it is present, atomically with respect to other writers.
+     *
+     * @param key Key to replace.
+     * @param value New value.
+     * @return The previous value, or {@code null} if the key was absent.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public synchronized V replace(K key, V value) throws NullPointerException {
+        return Dictionary.super.replace(key, value);
+    }
+
+    /**
+     * Return the value of a key, computing and adding it if absent, atomically
+     * with respect to other writers.
+     *
+     * @param key Key to look up.
+     * @param mappingFunction Function computing a value for an absent key.
+     * @return The present or computed value, or {@code null} if the function returned {@code null}.
+     * @throws NullPointerException If key or mappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+            throws NullPointerException {
+        return Dictionary.super.computeIfAbsent(key, mappingFunction);
+    }
+
+    /**
+     * Compute a new value for a key from its current value, atomically with
+     * respect to other writers.
+     *
+     * @param key Key to compute.
+     * @param remappingFunction Function from the key and current value, or {@code null}, to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction)
+            throws NullPointerException {
+        return Dictionary.super.compute(key, remappingFunction);
+    }
+
+    /**
+     * Merge a value into the value of a key, atomically with respect to other writers.
+     *
+     * @param key Key to merge.
+     * @param value Value to add if the key is absent.
+     * @param remappingFunction Function from the current and given values to the new value.
+     * @return The new value, or {@code null} if the key is now absent.
+     * @throws NullPointerException If key, value or remappingFunction are {@code null}.
+     */
+    @Override
+    public synchronized V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction)
+            throws NullPointerException {
+        return Dictionary.super.merge(key, value, remappingFunction);
+    }
+
+    /**
+     * Return an Iterator over the keys of the current version.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return current.map.iterator();
+    }
+
+    /**
+     * Return a cursor over the pairs of the current version. Values set
+     * through the cursor are written with {@link #put(Object, Object)}, and
+     * are not seen by the cursor itself.
+     *
+     * @return A cursor positioned before the first pair.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new VersionedCursor(current.map.cursor());
+    }
+
+    /**
+     * Pin the current version, without taking a lock or writing memory
+     * shared with other readers.
+     *
+     * @return A snapshot of the current version, to be closed when done.
+     */
+    public Snapshot<K, V> snapshot() {
+        Reader record = reader.get();
+        Version<K, V> version = current;
+        record.pin(version.number);
+        return new Snapshot<K, V>(this, record, version);
+    }
+
+    /**
+     * Pin a retained version by number.
+     *
+     * @param number Version number.
+     * @return A snapshot of the version, to be closed when done.
+     * @throws NoSuchElementException If the version does not exist or has been reclaimed.
+     */
+    public Snapshot<K, V> snapshot(long number) throws NoSuchElementException {
+        for(Version<K, V> version = oldest.get(); version != null; version = version.next) {
+            if(version.number == number) {
+                Reader record = reader.get();
+                record.pin(number);
+                return new Snapshot<K, V>(this, record, version);
+            }
+        }
+
+        throw new NoSuchElementException("Version " + number + " is not retained.");
+    }
+
+    /**
+     * Publish a new version, unless the map is unchanged, and reclaim old versions.
+     * Called while holding the lock.
+     *
+     * @param map The new map.
+     */
+    private void publish(HashTrieMap<K, V> map) {
+        Version<K, V> previous = current;
+
+        if(map == previous.map) {
+            return;
+        }
+
+        Version<K, V> version = new Version<K, V>(previous.number + 1, map);
+        previous.next = version;
+        current = version;
+        reclaim();
+    }
+
+    /**
+     * Drop versions older than the current one up to the oldest one still
+     * pinned, without locking. Concurrent calls each move the oldest pointer
+     * forward by compare-and-set, retrying if another got there first.
+     */
+    private void reclaim() {
+        while(true) {
+            Version<K, V> first = oldest.get();
+            long limit = Math.min(current.number, oldestPinned());
+            Version<K, V> last = first;
+
+            while(last.number < limit && last.next != null) {
+                last = last.next;
+            }
+
+            if(last == first || oldest.compareAndSet(first, last)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Return the oldest version number pinned by any reader, forgetting the
+     * records of threads that have ended without pins.
+     *
+     * @return The oldest pinned number, or {@code UNPINNED} if there is none.
+     */
+    private long oldestPinned() {
+        long result = UNPINNED;
+        boolean abandoned = false;
+
+        for(Reader record : readers) {
+            long pinned = record.oldestPinned;
+            result = Math.min(result, pinned);
+            abandoned |= pinned == UNPINNED && !record.owner.isAlive();
+        }
+
+        if(abandoned) {
+            readers.removeIf(record -> record.oldestPinned == UNPINNED && !record.owner.isAlive());
+        }
+
+        return result;
+    }
+
+    /**
+     * A pinned, immutable version of the dictionary. Close it to let the
+     * version be reclaimed.
+     */
+    public static final class Snapshot<K, V> implements AutoCloseable {
+
+        /**
+         * The dictionary the version belongs to.
+         */
+        private final VersionedDictionary<K, V> owner;
+
+        /**
+         * The reader record announcing the pin.
+         */
+        private final Reader record;
+
+        /**
+         * The pinned version.
+         */
+        private final Version<K, V> version;
+
+        /**
+         * Whether the snapshot has been closed.
+         */
+        private final AtomicInteger closed;
+
+        /**
+         * Create a new Snapshot of a pinned version.
+         *
+         * @param owner The dictionary the version belongs to.
+         * @param record The reader record announcing the pin.
+         * @param version The version.
+         */
+        private Snapshot(VersionedDictionary<K, V> owner, Reader record, Version<K, V> version) {
+            this.owner = owner;
+            this.record = record;
+            this.version = version;
+            this.closed = new AtomicInteger();
+        }
+
+        /**
+         * Return the version number.
+         *
+         * @return The version number.
+         */
+        public long version() {
+            return version.number;
+        }
+
+        /**
+         * Return the version's pairs, which never change.
+         *
+         * @return The version's map.
+         */
+        public HashTrieMap<K, V> dictionary() {
+            return version.map;
+        }
+
+        /**
+         * Return the value associated to a key in this version.
+         *
+         * @param key Key to get value associated with.
+         * @return Value associated with the key, or {@code null} if no such value exists.
+         * @throws NullPointerException If key is {@code null}.
+         */
+        public V get(K key) throws NullPointerException {
+            return version.map.get(key);
+        }
+
+        /**
+         * Return the number of pairs in this version.
+         *
+         * @return The number of pairs.
+         */
+        public int size() {
+            return version.map.size();
+        }
+
+        /**
+         * Unpin the version. Closing a snapshot of the oldest retained version,
+         * or an older one, reclaims what it no longer holds back, without taking the writers'
+         * lock. Closing twice has no further effect.
+         */
+        @Override
+        public void close() {
+            if(closed.compareAndSet(0, 1)) {
+                record.unpin(version.number);
+
+                // A pin taken just as its version was reclaimed can be older than the oldest
+                if(version.number <= owner.oldest.get().number && version != owner.current) {
+                    owner.reclaim();
+                }
+            }
+        }
+    }
+
+    /**
+     * A cursor over a version's pairs that writes through to the dictionary.
+     */
+    private class VersionedCursor implements EntryCursor<K, V> {
+
+        /**
+         * Cursor over the version's map.
+         */
+        private final EntryCursor<K, V> entries;
+
+        /**
+         * Create a new VersionedCursor.
+         *
+         * @param entries Cursor over the version's map.
+         */
+        public VersionedCursor(EntryCursor<K, V> entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Move to the next pair.
+         *
+         * @return {@code true} if there is a pair to read.
+         */
+        @Override
+        public boolean advance() {
+            return entries.advance();
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            return entries.key();
+        }
+
+        /**
+         * Return the current value, as of the version being walked.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            return entries.value();
+        }
+
+        /**
+         * Write a new value for the current key, publishing a new version.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on a pair.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            put(entries.key(), value);
+        }
+    }
+
+    /**
+     * A published version, linked to the next newer one.
+     */
+    private static final class Version<K, V> {
+        // Number, pairs and the next newer version
+        private final long number;
+        private final HashTrieMap<K, V> map;
+        private volatile Version<K, V> next;
+
+        /**
+         * Create a new Version.
+         *
+         * @param number Version number.
+         * @param map Pairs.
+         */
+        public Version(long number, HashTrieMap<K, V> map) {
+            this.number = number;
+            this.map = map;
+        }
+    }
+
+    /**
+     * The versions pinned by one thread's open snapshots. Only the owning
+     * thread writes it, except when a snapshot is closed on another thread,
+     * so its lock is uncontended in the usual case and readers never share
+     * a written cache line.
+     */
+    private static final class Reader {
+
+        /**
+         * The thread the record belongs to.
+         */
+        private final Thread owner;
+
+        /**
+         * The oldest pinned version number, read by reclaiming threads.
+         */
+        private volatile long oldestPinned;
+
+        /**
+         * Pinned version numbers, one per open snapshot.
+         */
+        private long[] pins;
+
+        /**
+         * Number of pins.
+         */
+        private int count;
+
+        /**
+         * Create a new Reader holding no pins.
+         *
+         * @param owner The thread the record belongs to.
+         */
+        public Reader(Thread owner) {
+            this.owner = owner;
+            this.oldestPinned = UNPINNED;
+            this.pins = new long[4];
+        }
+
+        /**
+         * Announce a pin on a version.
+         *
+         * @param number Version number.
+         */
+        public synchronized void pin(long number) {
+            if(count == pins.length) {
+                pins = Arrays.copyOf(pins, count * 2);
+            }
+
+            pins[count++] = number;
+
+            if(number < oldestPinned) {
+                oldestPinned = number;
+            }
+        }
+
+        /**
+         * Withdraw one pin on a version.
+         *
+         * @param number Version number.
+         */
+        public synchronized void unpin(long number) {
+            // Remove the pin and find the oldest that remains
+            long oldest = UNPINNED;
+            boolean removed = false;
+
+            for(int i = 0; i < count; i++) {
+                if(!removed && pins[i] == number) {
+                    pins[i--] = pins[--count];
+                    removed = true;
+                } else {
+                    oldest = Math.min(oldest, pins[i]);
+                }
+            }
+
+            oldestPinned = oldest;
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package ca.haywalk.util.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash table whose keys are only weakly reachable from it.
+ *
+ * Once a key is no longer strongly reachable elsewhere, the garbage
+ * collector may reclaim it and its entry disappears. Reclaimed entries are
+ * unlinked from a {@link ReferenceQueue} at the start of each operation,
+ * so no background thread is needed. Keys are compared with
+ * {@link Object#equals(Object)}.
+ *
+ * A value that refers back to its own key keeps the key, and so the
+ * entry, alive.
+ *
+ * @author Hayden Walker
+ * @version 2026-10-18
+ */
+public class WeakKeyDictionary<K, V> implements Dictionary<K, V> {
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Largest supported table capacity.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Maximum number of entries per bucket on average.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Queue of entries whose keys have been reclaimed.
+     */
+    private final ReferenceQueue<Object> queue;
+
+    /**
+     * Bucket chains.
+     */
+    private Entry<K, V>[] table;
+
+    /**
+     * Number of entries, including reclaimed entries not yet unlinked.
+     */
+    private int size;
+
+    /**
+     * Number of entries allowed before the table grows.
+     */
+    private int threshold;
+
+    /**
+     * Create a new WeakKeyDictionary.
+     */
+    public WeakKeyDictionary() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create a new WeakKeyDictionary with a given initial size.
+     *
+     * @param size Expected number of entries.
+     * @throws IllegalArgumentException If size is negative.
+     */
+    public WeakKeyDictionary(int size) throws IllegalArgumentException {
+        // Check argument integrity
+        if(size < 0) {
+            throw new IllegalArgumentException("Illegal argument: Negative size.");
+        }
+
+        // Find the smallest power of two that fits under the load factor
+        long needed = (long) Math.ceil(size / (double) LOAD_FACTOR);
+        int capacity = 2;
+
+        while(capacity < needed && capacity < MAXIMUM_CAPACITY) {
+            capacity <<= 1;
+        }
+
+        queue = new ReferenceQueue<Object>();
+        allocate(capacity);
+    }
+
+    /**
+     * Return the number of entries whose keys have not been reclaimed.
+     *
+     * @return The number of entries in the dictionary.
+     */
+    @Override
+    public int size() {
+        expungeStaleEntries();
+        return size;
+    }
+
+    /**
+     * Check if the dictionary is empty.
+     *
+     * @return {@code true} if the dictionary is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Add a key-value pair to the dictionary.
+     *
+     * @param key Key to add or overwrite.
+     * @param value Value to associate to the key.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key or value are {@code null}.
+     */
+    @Override
+    public boolean put(K key, V value) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot add null key.");
+        }
+
+        if(value == null) {
+            throw new NullPointerException("Cannot add null value.");
+        }
+
+        expungeStaleEntries();
+        int hash = hash(key);
+        Entry<K, V> entry = find(key, hash);
+
+        // Overwrite an existing entry
+        if(entry != null) {
+            entry.value = value;
+            return true;
+        }
+
+        // Add a new entry at the head of its bucket
+        int index = hash & (table.length - 1);
+        table[index] = new Entry<K, V>(key, value, hash, table[index], queue);
+
+        if(++size > threshold) {
+            increaseTableSize();
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the value associated to a key.
+     *
+     * @param key Key to get value associated with.
+     * @return Value associated with the key, or {@code null} if no such value exists.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public V get(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot get null key.");
+        }
+
+        expungeStaleEntries();
+        Entry<K, V> entry = find(key, hash(key));
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Clear the dictionary.
+     */
+    @Override
+    public void clear() {
+        // Entries already queued belong to the old table and are simply dropped
+        while(queue.poll() != null) {
+            continue;
+        }
+
+        for(int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Return a collection of the keys that have not been reclaimed.
+     *
+     * @return A collection of the keys in the dictionary.
+     */
+    @Override
+    public Collection<K> keys() {
+        // Make a new list
+        ArrayList<K> keyList = new ArrayList<K>(size());
+
+        // Add the key of each live entry
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            keyList.add(cursor.key());
+        }
+
+        // Return the list
+        return keyList;
+    }
+
+    /**
+     * Return a collection of the values whose keys have not been reclaimed.
+     *
+     * @return A collection of the values in the dictionary.
+     */
+    @Override
+    public Collection<V> values() {
+        // Make a new list
+        ArrayList<V> valueList = new ArrayList<V>(size());
+
+        // Add the value of each live entry
+        EntryCursor<K, V> cursor = cursor();
+
+        while(cursor.advance()) {
+            valueList.add(cursor.value());
+        }
+
+        // Return the list
+        return valueList;
+    }
+
+    /**
+     * Remove a key-value pair from the dictionary.
+     *
+     * @param key Key to remove.
+     * @return {@code true} if successful.
+     * @throws NullPointerException If key is {@code null}.
+     */
+    @Override
+    public boolean remove(K key) throws NullPointerException {
+        // Check argument integrity
+        if(key == null) {
+            throw new NullPointerException("Cannot remove null key.");
+        }
+
+        expungeStaleEntries();
+        Entry<K, V> entry = find(key, hash(key));
+
+        if(entry == null) {
+            return false;
+        }
+
+        unlink(entry);
+        return true;
+    }
+
+    /**
+     * Return an Iterator over a copy of the keys, so that the keys stay
+     * reachable while iterating.
+     *
+     * @return An Iterator over the dictionary's keys.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return keys().iterator();
+    }
+
+    /**
+     * Return a cursor over the entries. The current key is held strongly
+     * while the cursor is on it.
+     *
+     * @return A cursor positioned before the first entry.
+     */
+    @Override
+    public EntryCursor<K, V> cursor() {
+        expungeStaleEntries();
+        return new WeakKeyCursor();
+    }
+
+    /**
+     * Unlink every entry whose key has been reclaimed.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Object stale;
+
+        while((stale = queue.poll()) != null) {
+            Entry<K, V> entry = (Entry<K, V>) stale;
+            unlink(entry);
+            entry.value = null;
+        }
+    }
+
+    /**
+     * Find the entry of a key.
+     *
+     * @param key Key.
+     * @param hash The key's hash.
+     * @return The entry, or {@code null}.
+     */
+    private Entry<K, V> find(Object key, int hash) {
+        for(Entry<K, V> entry = table[hash & (table.length - 1)]; entry != null; entry = entry.next) {
+            if(entry.hash == hash && key.equals(entry.get())) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Unlink an entry from its bucket, if it is still in the table.
+     *
+     * @param target Entry.
+     */
+    private void unlink(Entry<K, V> target) {
+        int index = target.hash & (table.length - 1);
+        Entry<K, V> previous = null;
+
+        for(Entry<K, V> entry = table[index]; entry != null; entry = entry.next) {
+            if(entry == target) {
+                if(previous == null) {
+                    table[index] = entry.next;
+                } else {
+                    previous.next = entry.next;
+                }
+
+                size--;
+                return;
+            }
+
+            previous = entry;
+        }
+    }
+
+    /**
+     * Allocate an empty table with a given capacity.
+     *
+     * @param capacity Table capacity, a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        table = (Entry<K, V>[]) new Entry<?, ?>[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Double the table capacity, dropping entries whose keys have been reclaimed.
+     */
+    private void increaseTableSize() {
+        // Refuse to grow past the maximum
+        if(table.length >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+
+        Entry<K, V>[] oldTable = table;
+        allocate(oldTable.length * 2);
+
+        for(Entry<K, V> head : oldTable) {
+            Entry<K, V> entry = head;
+
+            while(entry != null) {
+                Entry<K, V> next = entry.next;
+
+                // A reclaimed entry is counted out now, so its later dequeue finds nothing
+                if(entry.get() == null) {
+                    entry.value = null;
+                    size--;
+                } else {
+                    int index = entry.hash & (table.length - 1);
+                    entry.next = table[index];
+                    table[index] = entry;
+                }
+
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Spread a key's hash code.
+     *
+     * @param key Key.
+     * @return The spread hash code.
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    /**
+     * A cursor over the entries, skipping reclaimed keys.
+     */
+    private class WeakKeyCursor implements EntryCursor<K, V> {
+
+        /**
+         * Index of the bucket being walked.
+         */
+        private int index;
+
+        /**
+         * The current entry, or {@code null}.
+         */
+        private Entry<K, V> current;
+
+        /**
+         * The current key, held strongly.
+         */
+        private K currentKey;
+
+        /**
+         * Create a new WeakKeyCursor.
+         */
+        public WeakKeyCursor() {
+            index = -1;
+        }
+
+        /**
+         * Move to the next entry whose key is alive.
+         *
+         * @return {@code true} if there is an entry to read.
+         */
+        @Override
+        public boolean advance() {
+            Entry<K, V> entry = current == null ? null : current.next;
+
+            while(true) {
+                // Move on to the next non-empty bucket
+                while(entry == null) {
+                    if(index + 1 >= table.length) {
+                        current = null;
+                        currentKey = null;
+                        return false;
+                    }
+
+                    entry = table[++index];
+                }
+
+                currentKey = entry.get();
+
+                if(currentKey != null) {
+                    current = entry;
+                    return true;
+                }
+
+                entry = entry.next;
+            }
+        }
+
+        /**
+         * Return the current key.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public K key() throws NoSuchElementException {
+            checkPosition();
+            return currentKey;
+        }
+
+        /**
+         * Return the current value.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         */
+        @Override
+        public V value() throws NoSuchElementException {
+            checkPosition();
+            return current.value;
+        }
+
+        /**
+         * Replace the current value.
+         *
+         * @param value New value.
+         * @throws NoSuchElementException If the cursor is not on an entry.
+         * @throws NullPointerException If value is {@code null}.
+         */
+        @Override
+        public void setValue(V value) throws NoSuchElementException, NullPointerException {
+            checkPosition();
+
+            if(value == null) {
+                throw new NullPointerException("Cannot add null value.");
+            }
+
+            current.value = value;
+        }
+
+        /**
+         * Check that the cursor is on an entry.
+         *
+         * @throws NoSuchElementException If it is not.
+         */
+        private void checkPosition() throws NoSuchElementException {
+            if(current == null) {
+                throw new NoSuchElementException("Cursor is not on an entry.");
+            }
+        }
+    }
+
+    /**
+     * An entry, weakly referring to its key.
+     */
+    private static final class Entry<K, V> extends WeakReference<K> {
+        // Value, the key's hash and the next entry of the bucket
+        private V value;
+        private final int hash;
+        private Entry<K, V> next;
+
+        /**
+         * Create a new Entry.
+         *
+         * @param key Key.
+         * @param value Value.
+         * @param hash The key's hash.
+         * @param next Next entry of the bucket.
+         * @param queue Queue to enqueue the entry on once the key is reclaimed.
+         */
+        public Entry(K key, V value, int hash, Entry<K, V> next, ReferenceQueue<Object> queue) {
+            super(key, queue);
+            this.value = value;
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
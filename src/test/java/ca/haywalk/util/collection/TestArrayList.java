@@ -2,7 +2,9 @@ package ca.haywalk.util.collection;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
 
 import org.junit.jupiter.api.*;
 
@@ -143,4 +145,153 @@ public class TestArrayList {
         assertEquals(0, list.size());
         assertFalse(list.contains(1));
     }
+
+    /**
+     * Test streams and array splitting.
+     */
+    @Test
+    public void testStream() {
+        for(int i = 1; i <= 1000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(500500, list.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(500500, list.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, list.stream().skip(2).findFirst().get());
+
+        // Splitting gives each half an exact size
+        Spliterator<Integer> right = list.spliterator();
+        Spliterator<Integer> left = right.trySplit();
+        assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(1000, left.getExactSizeIfKnown() + right.getExactSizeIfKnown());
+    }
+
+    /**
+     * Test sorting the list.
+     */
+    @Test
+    public void testSort() {
+        for(int i = 0; i < 500; i++) {
+            list.add((i * 37) % 500);
+        }
+
+        list.sort(Comparator.reverseOrder());
+
+        for(int i = 0; i < 500; i++) {
+            assertEquals(499 - i, list.get(i));
+        }
+
+        list.parallelSort(Comparator.naturalOrder());
+
+        for(int i = 0; i < 500; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    /**
+     * Test the bulk removal methods.
+     */
+    @Test
+    public void testBulkRemove() {
+        for(int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+
+        assertTrue(list.removeIf(item -> item % 2 == 0));
+        assertFalse(list.removeIf(item -> item % 2 == 0));
+        assertEquals(10, list.size());
+        assertEquals(1, list.get(0));
+        assertEquals(19, list.get(9));
+
+        ArrayList<Integer> drop = new ArrayList<Integer>();
+        drop.add(1);
+        drop.add(19);
+        drop.add(100);
+        assertTrue(list.removeAll(drop));
+        assertEquals(8, list.size());
+
+        ArrayList<Integer> keep = new ArrayList<Integer>();
+        keep.add(3);
+        keep.add(5);
+        assertTrue(list.retainAll(keep));
+        assertEquals(2, list.size());
+        assertEquals(3, list.get(0));
+        assertEquals(5, list.get(1));
+
+        // A throwing filter leaves every item it did not remove
+        assertThrows(IllegalStateException.class, () -> list.removeIf(item -> {
+            if(item == 5) {
+                throw new IllegalStateException();
+            }
+
+            return false;
+        }));
+        assertEquals(2, list.size());
+    }
+
+    /**
+     * Test replaceAll() and forEach().
+     */
+    @Test
+    public void testReplaceAll() {
+        list.add(1);
+        list.add(2);
+        list.replaceAll(item -> item * 10);
+
+        int[] total = { 0 };
+        list.forEach(item -> total[0] += item);
+        assertEquals(30, total[0]);
+        assertThrows(NullPointerException.class, () -> list.replaceAll(item -> null));
+    }
+
+    /**
+     * Test that addAll() adds nothing if an item is null.
+     */
+    @Test
+    public void testAddAllNull() {
+        list.add(1);
+
+        LinkedQueue<Integer> items = new LinkedQueue<Integer>();
+
+        for(int i = 0; i < 20; i++) {
+            items.add(i);
+        }
+
+        list.addAll(items);
+        assertEquals(21, list.size());
+        assertEquals(19, list.get(20));
+
+        // ArrayMap allows null values, so its value view can hold null
+        ArrayMap<Integer, Integer> map = new ArrayMap<Integer, Integer>();
+        map.put(1, 7);
+        map.put(2, null);
+        Collection<Integer> withNull = map.values();
+
+        assertThrows(NullPointerException.class, () -> list.addAll(withNull));
+        assertEquals(21, list.size());
+    }
+
+    /**
+     * Test the add(int, T) method.
+     */
+    @Test
+    public void testAddAtIndex() {
+        for(int i = 0; i < 10; i++) {
+            list.add(0, i);
+        }
+
+        list.add(5, 42);
+        list.add(list.size(), 43);
+
+        assertEquals(12, list.size());
+        assertEquals(9, list.get(0));
+        assertEquals(42, list.get(5));
+        assertEquals(5, list.get(4));
+        assertEquals(4, list.get(6));
+        assertEquals(43, list.get(11));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(13, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, 1));
+        assertThrows(NullPointerException.class, () -> list.add(0, null));
+    }
 }
@@ -68,4 +68,172 @@ public class TestArrayMap {
         assertEquals(null, dict.get("Bob"));
         assertEquals(null, dict.get("Bill"));
     }
+
+    /**
+     * Test walking and updating pairs with a cursor.
+     */
+    @Test
+    public void testCursor() {
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+
+        // Walk the pairs in insertion order, updating one
+        EntryCursor<String, String> cursor = dict.cursor();
+        assertThrows(java.util.NoSuchElementException.class, () -> cursor.key());
+        assertTrue(cursor.advance());
+        assertEquals("Bob", cursor.key());
+        assertEquals("Burger", cursor.value());
+        cursor.setValue("Salad");
+        assertTrue(cursor.advance());
+        assertEquals("Bill", cursor.key());
+        assertFalse(cursor.advance());
+        assertFalse(cursor.advance());
+        assertEquals("Salad", dict.get("Bob"));
+
+        // Visit every pair with forEach()
+        StringBuilder visited = new StringBuilder();
+        dict.forEach((key, value) -> visited.append(key).append('=').append(value).append(';'));
+        assertEquals("Bob=Salad;Bill=Fries;", visited.toString());
+    }
+
+    /**
+     * Test the single-lookup mutation methods.
+     */
+    @Test
+    public void testComputeAndMerge() {
+        // putIfAbsent(), replace() and getOrDefault()
+        assertNull(dict.putIfAbsent("Bob", "Burger"));
+        assertEquals("Burger", dict.putIfAbsent("Bob", "Salad"));
+        assertNull(dict.replace("Bill", "Fries"));
+        assertNull(dict.get("Bill"));
+        assertEquals("Burger", dict.replace("Bob", "Salad"));
+        assertEquals("none", dict.getOrDefault("Bill", "none"));
+
+        // computeIfAbsent() only calls the function for absent keys
+        assertEquals("Salad", dict.computeIfAbsent("Bob", key -> fail("Should not compute.")));
+        assertEquals("BILL", dict.computeIfAbsent("Bill", String::toUpperCase));
+        assertNull(dict.computeIfAbsent("Joe", key -> null));
+        assertEquals(2, dict.size());
+
+        // compute() and merge() remove the pair when the result is null
+        assertEquals("Salad+", dict.compute("Bob", (key, value) -> value + "+"));
+        assertEquals("Salad+Soup", dict.merge("Bob", "Soup", String::concat));
+        assertEquals("Soup", dict.merge("Joe", "Soup", String::concat));
+        assertNull(dict.compute("Bob", (key, value) -> null));
+        assertNull(dict.merge("Joe", "x", (a, b) -> null));
+        assertNull(dict.get("Bob"));
+        assertEquals(1, dict.size());
+    }
+
+    /**
+     * Test a map growing past the hash index threshold and shrinking back.
+     */
+    @Test
+    public void testLargeMap() {
+        ArrayMap<Integer, Integer> map = new ArrayMap<Integer, Integer>();
+
+        for(int i = 0; i < 5000; i++) {
+            map.put(i, i * 2);
+        }
+
+        for(int i = 0; i < 5000; i++) {
+            assertEquals(i * 2, (int) map.get(i));
+        }
+
+        assertNull(map.get(5000));
+
+        // Remove from the front, middle and back, keeping insertion order
+        for(int i = 0; i < 5000; i += 3) {
+            assertTrue(map.remove(i));
+        }
+
+        assertFalse(map.remove(0));
+        int previous = -1;
+
+        for(int key : map) {
+            assertTrue(key > previous);
+            assertNotEquals(0, key % 3);
+            assertEquals(key * 2, (int) map.get(key));
+            previous = key;
+        }
+
+        // Shrink below the threshold and keep working
+        for(int i = 0; i < 4995; i++) {
+            map.remove(i);
+        }
+
+        assertEquals(3, map.size());
+        assertEquals(9994, (int) map.get(4997));
+        map.put(1, 1);
+        assertEquals(1, (int) map.get(1));
+    }
+
+    /**
+     * Test that null keys are rejected without changing a small or an indexed map.
+     */
+    @Test
+    public void testNullKey() {
+        ArrayMap<Integer, Integer> map = new ArrayMap<Integer, Integer>();
+
+        for(int size : new int[] {1, 100}) {
+            map.clear();
+
+            for(int i = 0; i < size; i++) {
+                map.put(i, i);
+            }
+
+            assertThrows(NullPointerException.class, () -> map.put(null, 1));
+            assertThrows(NullPointerException.class, () -> map.putIfAbsent(null, 1));
+            assertThrows(NullPointerException.class, () -> map.computeIfAbsent(null, key -> 1));
+            assertThrows(NullPointerException.class, () -> map.compute(null, (key, value) -> 1));
+            assertThrows(NullPointerException.class, () -> map.merge(null, 1, Integer::sum));
+            assertEquals(size, map.size());
+
+            // The map keeps working past the index threshold
+            for(int i = size; i < size + 100; i++) {
+                map.put(i, i);
+            }
+
+            assertEquals(size + 100, map.size());
+            assertEquals(size + 99, (int) map.get(size + 99));
+        }
+    }
+
+    /**
+     * Test that keys() and values() are live, read-only views.
+     */
+    @Test
+    public void testViews() {
+        Collection<String> keys = dict.keys();
+        Collection<String> values = dict.values();
+        assertTrue(keys.isEmpty());
+
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains("Bill"));
+        assertTrue(values.contains("Burger"));
+        assertEquals("Bob", keys.iterator().next());
+        assertEquals("Burger", values.iterator().next());
+
+        dict.remove("Bob");
+        assertFalse(keys.contains("Bob"));
+        assertFalse(values.contains("Burger"));
+        assertThrows(UnsupportedOperationException.class, () -> keys.add("Joe"));
+        assertThrows(UnsupportedOperationException.class, () -> values.clear());
+    }
+
+    /**
+     * Test streaming the key and value views.
+     */
+    @Test
+    public void testStream() {
+        for(int i = 0; i < 100; i++) {
+            dict.put("key" + i, "value" + i);
+        }
+
+        assertEquals(100, dict.keys().parallelStream().filter(key -> key.startsWith("key")).count());
+        assertEquals("value0", dict.values().stream().findFirst().get());
+        assertEquals(690, dict.values().stream().mapToInt(String::length).sum());
+    }
 }
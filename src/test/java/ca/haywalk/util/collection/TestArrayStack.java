@@ -75,4 +75,35 @@ public class TestArrayStack {
         assertEquals(0, stack.size());
         assertFalse(stack.contains(1));
     }
+
+    /**
+     * Test streaming the stack.
+     */
+    @Test
+    public void testStream() {
+        for(int i = 1; i <= 100; i++) {
+            stack.push(i);
+        }
+
+        assertEquals(5050, stack.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(100, stack.stream().count());
+    }
+
+    /**
+     * Test removing items matching a condition.
+     */
+    @Test
+    public void testRemoveIf() {
+        for(int i = 0; i < 10; i++) {
+            stack.push(i);
+        }
+
+        assertTrue(stack.removeIf(item -> item >= 5));
+        assertEquals(5, stack.size());
+        assertEquals(4, stack.peek());
+
+        int[] total = { 0 };
+        stack.forEach(item -> total[0] += item);
+        assertEquals(10, total[0]);
+    }
 }
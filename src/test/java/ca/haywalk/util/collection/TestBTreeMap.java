@@ -0,0 +1,222 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Tests for the BTreeMap class.
+ */
+public class TestBTreeMap {
+    // A dictionary to test with
+    private BTreeMap<Integer, Integer> dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new BTreeMap<Integer, Integer>();
+    }
+
+    /**
+     * Test adding, looking up and removing keys in random order.
+     */
+    @Test
+    public void testAddLookupRemove() {
+        // Shuffle the keys 0 to 9999
+        int[] order = new int[10000];
+
+        for(int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Random random = new Random(42);
+
+        for(int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+
+        // Add them and look them up
+        for(int key : order) {
+            dict.put(key, key * 2);
+        }
+
+        assertEquals(10000, dict.size());
+
+        for(int i = 0; i < 10000; i++) {
+            assertEquals(i * 2, dict.get(i));
+        }
+
+        // Remove them all, checking the survivors as we go
+        for(int i = 0; i < order.length; i++) {
+            assertTrue(dict.remove(order[i]));
+            assertFalse(dict.remove(order[i]));
+
+            if(i % 1000 == 0) {
+                for(int j = i + 1; j < order.length; j++) {
+                    assertEquals(order[j] * 2, dict.get(order[j]));
+                }
+            }
+        }
+
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Test that iteration is in key order.
+     */
+    @Test
+    public void testOrderedIteration() {
+        for(int i = 999; i >= 0; i--) {
+            dict.put(i, i);
+        }
+
+        // The iterator should produce 0 to 999 in order
+        int expected = 0;
+        Iterator<Integer> iterator = dict.iterator();
+
+        while(iterator.hasNext()) {
+            assertEquals(expected++, iterator.next());
+        }
+
+        assertEquals(1000, expected);
+        assertEquals(0, dict.firstKey());
+        assertEquals(999, dict.lastKey());
+    }
+
+    /**
+     * Test the floor() and ceiling() methods.
+     */
+    @Test
+    public void testFloorAndCeiling() {
+        // Add the multiples of ten up to 1000
+        for(int i = 0; i <= 1000; i += 10) {
+            dict.put(i, i);
+        }
+
+        assertEquals(500, dict.floor(505));
+        assertEquals(510, dict.ceiling(505));
+        assertEquals(500, dict.floor(500));
+        assertEquals(500, dict.ceiling(500));
+        assertEquals(null, dict.floor(-1));
+        assertEquals(null, dict.ceiling(1001));
+    }
+
+    /**
+     * Test range scans.
+     */
+    @Test
+    public void testRange() {
+        for(int i = 0; i < 1000; i++) {
+            dict.put(i, i);
+        }
+
+        // Scan [250, 750), reading values in place
+        int expected = 250;
+        EntryCursor<Integer, Integer> range = dict.range(250, 750);
+
+        // Nothing can be read or written before the first advance
+        assertThrows(NoSuchElementException.class, () -> range.key());
+        assertThrows(NoSuchElementException.class, () -> range.value());
+        assertThrows(NoSuchElementException.class, () -> range.setValue(0));
+        assertEquals(249, dict.get(249));
+
+        while(range.advance()) {
+            assertEquals(expected, range.key());
+            assertEquals(expected++, range.value());
+            range.setValue(-1);
+        }
+
+        assertEquals(750, expected);
+        assertFalse(range.advance());
+        assertThrows(NoSuchElementException.class, () -> range.key());
+        assertEquals(-1, dict.get(500));
+        assertEquals(750, dict.get(750));
+
+        // An empty range has no pairs, and a bound between keys is respected
+        assertFalse(dict.range(2000, 3000).advance());
+        dict.remove(10);
+        EntryCursor<Integer, Integer> sparse = dict.range(10, 12);
+        assertTrue(sparse.advance());
+        assertEquals(11, sparse.key());
+        assertFalse(sparse.advance());
+    }
+
+    /**
+     * Test clearing the dictionary.
+     */
+    @Test
+    public void testClear() {
+        dict.put(1, 1);
+        dict.clear();
+        assertEquals(null, dict.get(1));
+        assertEquals(null, dict.firstKey());
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Test that a cursor walks pairs in ascending key order.
+     */
+    @Test
+    public void testCursor() {
+        for(int i = 999; i >= 0; i--) {
+            dict.put(i, i * 2);
+        }
+
+        EntryCursor<Integer, Integer> cursor = dict.cursor();
+        int expected = 0;
+
+        while(cursor.advance()) {
+            assertEquals(expected, (int) cursor.key());
+            assertEquals(expected * 2, (int) cursor.value());
+            cursor.setValue(-expected);
+            expected++;
+        }
+
+        assertEquals(1000, expected);
+        assertEquals(-500, (int) dict.get(500));
+    }
+
+    /**
+     * Test the single-lookup mutation methods across leaf splits and merges.
+     */
+    @Test
+    public void testComputeAndMerge() {
+        // Insert through computeIfAbsent() and merge(), splitting leaves
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) dict.computeIfAbsent(i, key -> key));
+            dict.merge(i, 1, Integer::sum);
+        }
+
+        assertEquals(1000, dict.size());
+        assertEquals(43, (int) dict.get(42));
+
+        // Remove most pairs through compute(), merging leaves
+        for(int i = 0; i < 1000; i++) {
+            if(i % 10 != 0) {
+                assertNull(dict.compute(i, (key, value) -> null));
+            }
+        }
+
+        assertEquals(100, dict.size());
+        assertNull(dict.get(42));
+        assertEquals(501, (int) dict.get(500));
+        assertEquals(501, (int) dict.putIfAbsent(500, 0));
+        assertNull(dict.replace(501, 0));
+
+        // Keys are still in order
+        int previous = -1;
+
+        for(int key : dict) {
+            assertTrue(key > previous);
+            previous = key;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the BloomFilter class.
+ */
+public class TestBloomFilter {
+
+    /**
+     * Test that added items are always found and others rarely are.
+     */
+    @Test
+    public void testFalsePositiveRate() {
+        BloomFilter<Integer> filter = new BloomFilter<Integer>(10000, 0.01);
+
+        for(int i = 0; i < 10000; i++) {
+            assertTrue(filter.add(i));
+        }
+
+        for(int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+
+        int falsePositives = 0;
+
+        for(int i = 10000; i < 110000; i++) {
+            if(filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+
+        // Allow for blocking raising the rate above the target
+        assertTrue(falsePositives < 3000, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Test clearing, removing and bad arguments.
+     */
+    @Test
+    public void testClear() {
+        BloomFilter<String> filter = new BloomFilter<String>(100, 0.05);
+        filter.add("a");
+        assertFalse(filter.remove("a"));
+        assertTrue(filter.mightContain("a"));
+
+        filter.clear();
+        assertFalse(filter.mightContain("a"));
+        assertTrue(filter.bitSize() >= 512);
+        assertThrows(NullPointerException.class, () -> filter.add(null));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter<String>(10, 1.5));
+    }
+}
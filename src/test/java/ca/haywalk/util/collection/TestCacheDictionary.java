@@ -0,0 +1,146 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CacheDictionary class.
+ */
+public class TestCacheDictionary {
+
+    /**
+     * Test that an LRU cache evicts the least recently used entry.
+     */
+    @Test
+    public void testLruEviction() {
+        ArrayList<String> evicted = new ArrayList<String>();
+        CacheDictionary<String, Integer> cache = new CacheDictionary<String, Integer>(2, CacheDictionary.Policy.LRU,
+            (key, value, cause) -> {
+                if(cause == CacheDictionary.RemovalCause.SIZE) {
+                    evicted.add(key);
+                }
+            });
+
+        // Fill the cache, touch the first entry, then overflow it
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        // "b" was least recently used
+        assertEquals(2, cache.size());
+        assertEquals(null, cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, evicted.size());
+        assertEquals("b", evicted.get(0));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    /**
+     * Test that a TinyLFU cache keeps frequently used entries through a scan.
+     */
+    @Test
+    public void testTinyLfuResistsScan() {
+        CacheDictionary<Integer, Integer> cache = new CacheDictionary<Integer, Integer>(100, CacheDictionary.Policy.TINY_LFU);
+
+        // Make keys 0 to 49 hot
+        for(int round = 0; round < 10; round++) {
+            for(int i = 0; i < 50; i++) {
+                if(cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+
+        // Scan through many keys that are each used once
+        for(int i = 1000; i < 11000; i++) {
+            cache.put(i, i);
+        }
+
+        // The hot keys should mostly have survived
+        int survivors = 0;
+
+        for(int i = 0; i < 50; i++) {
+            if(cache.get(i) != null) {
+                survivors++;
+            }
+        }
+
+        assertTrue(survivors >= 45, "Only " + survivors + " hot keys survived.");
+        assertTrue(cache.size() <= 100);
+    }
+
+    /**
+     * Test the hit, miss and load statistics.
+     */
+    @Test
+    public void testStats() {
+        CacheDictionary<String, Integer> cache = new CacheDictionary<String, Integer>(10);
+
+        // Miss and load, then hit
+        assertEquals(5, cache.get("apple", String::length));
+        assertEquals(5, cache.get("apple", String::length));
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.loadCount());
+        assertEquals(0.5, cache.hitRate());
+        assertTrue(cache.averageLoadPenalty() >= 0);
+
+        cache.resetStats();
+        assertEquals(0, cache.hitCount());
+    }
+
+    /**
+     * Test removal and the removal listener causes.
+     */
+    @Test
+    public void testRemoval() {
+        ArrayList<CacheDictionary.RemovalCause> causes = new ArrayList<CacheDictionary.RemovalCause>();
+        CacheDictionary<String, Integer> cache = new CacheDictionary<String, Integer>(10, CacheDictionary.Policy.TINY_LFU,
+            (key, value, cause) -> causes.add(cause));
+
+        cache.put("a", 1);
+        cache.put("a", 2);
+        assertTrue(cache.remove("a"));
+        assertFalse(cache.remove("a"));
+        cache.put("b", 3);
+        cache.clear();
+
+        assertEquals(3, causes.size());
+        assertEquals(CacheDictionary.RemovalCause.REPLACED, causes.get(0));
+        assertEquals(CacheDictionary.RemovalCause.EXPLICIT, causes.get(1));
+        assertEquals(CacheDictionary.RemovalCause.EXPLICIT, causes.get(2));
+        assertTrue(cache.isEmpty());
+    }
+
+    /**
+     * Test that walking the cache with a cursor does not count as access.
+     */
+    @Test
+    public void testCursor() {
+        CacheDictionary<Integer, String> cache = new CacheDictionary<Integer, String>(3);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        // Walk every entry, updating values
+        EntryCursor<Integer, String> cursor = cache.cursor();
+        int count = 0;
+
+        while(cursor.advance()) {
+            cursor.setValue(cursor.value().toUpperCase());
+            count++;
+        }
+
+        assertEquals(3, count);
+        assertFalse(cursor.advance());
+        assertEquals(0, cache.hitCount());
+
+        // Key 1 is still least recently used
+        cache.put(4, "four");
+        assertNull(cache.get(1));
+        assertEquals("TWO", cache.get(2));
+    }
+}
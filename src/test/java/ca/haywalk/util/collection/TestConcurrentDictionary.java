@@ -0,0 +1,192 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for the ConcurrentDictionary class.
+ */
+public class TestConcurrentDictionary {
+    // A dictionary to test with
+    private ConcurrentDictionary<String, String> dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new ConcurrentDictionary<String, String>();
+    }
+
+    /**
+     * Test adding, looking up and removing keys.
+     */
+    @Test
+    public void testAddLookupRemove() {
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+        assertEquals("Burger", dict.get("Bob"));
+        assertEquals("Fries", dict.get("Bill"));
+        assertEquals(2, dict.size());
+
+        // Remove one and test
+        assertTrue(dict.remove("Bob"));
+        assertFalse(dict.remove("Bob"));
+        assertEquals(null, dict.get("Bob"));
+        assertEquals("Fries", dict.get("Bill"));
+        assertEquals(1, dict.size());
+    }
+
+    /**
+     * Test that a single segment dictionary grows correctly.
+     */
+    @Test
+    public void testSingleSegment() {
+        ConcurrentDictionary<Integer, Integer> map = new ConcurrentDictionary<Integer, Integer>(0, 1);
+
+        for(int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(i));
+        }
+
+        assertEquals(1000, map.size());
+    }
+
+    /**
+     * Test iterating over the keys.
+     */
+    @Test
+    public void testIterator() {
+        for(int i = 0; i < 100; i++) {
+            dict.put("key" + i, "value" + i);
+        }
+
+        // Count the keys and check that each is present
+        int count = 0;
+        Iterator<String> iterator = dict.iterator();
+
+        while(iterator.hasNext()) {
+            String key = iterator.next();
+            assertEquals("value" + key.substring(3), dict.get(key));
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals(100, dict.keys().size());
+        assertEquals(100, dict.values().size());
+    }
+
+    /**
+     * Test writers and readers working at the same time.
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        ConcurrentDictionary<Integer, Integer> map = new ConcurrentDictionary<Integer, Integer>();
+        AtomicInteger misses = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+
+        // Each thread writes its own range of keys and reads them back
+        for(int t = 0; t < threads.length; t++) {
+            final int base = t * 10000;
+
+            threads[t] = new Thread(() -> {
+                for(int i = base; i < base + 10000; i++) {
+                    map.put(i, i);
+
+                    if(!Integer.valueOf(i).equals(map.get(i))) {
+                        misses.incrementAndGet();
+                    }
+                }
+
+                for(int i = base; i < base + 10000; i += 2) {
+                    map.remove(i);
+                }
+            });
+
+            threads[t].start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        // Check that every write was visible and every odd key survived
+        assertEquals(0, misses.get());
+        assertEquals(40000, map.size());
+
+        for(int i = 0; i < 80000; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(i));
+        }
+    }
+
+    /**
+     * Test clearing the dictionary.
+     */
+    @Test
+    public void testClear() {
+        dict.put("Bob", "Burger");
+        dict.clear();
+        assertEquals(null, dict.get("Bob"));
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Test walking and updating pairs with a cursor.
+     */
+    @Test
+    public void testCursor() {
+        for(int i = 0; i < 200; i++) {
+            dict.put("key" + i, "value" + i);
+        }
+
+        int[] count = new int[1];
+        dict.forEach((key, value) -> {
+            assertEquals(key.replace("key", "value"), value);
+            count[0]++;
+        });
+        assertEquals(200, count[0]);
+
+        EntryCursor<String, String> cursor = dict.cursor();
+        assertTrue(cursor.advance());
+        String key = cursor.key();
+        cursor.setValue("updated");
+        assertEquals("updated", dict.get(key));
+    }
+
+    /**
+     * Test that merge() counts correctly under contention.
+     */
+    @Test
+    public void testConcurrentMerge() throws InterruptedException {
+        ConcurrentDictionary<Integer, Integer> counts = new ConcurrentDictionary<Integer, Integer>();
+        Thread[] threads = new Thread[4];
+
+        for(int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for(int i = 0; i < 10000; i++) {
+                    counts.merge(i % 50, 1, Integer::sum);
+                }
+            });
+            threads[t].start();
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        for(int i = 0; i < 50; i++) {
+            assertEquals(800, (int) counts.get(i));
+        }
+
+        assertEquals(800, (int) counts.putIfAbsent(0, 1));
+        assertEquals(800, (int) counts.computeIfAbsent(0, key -> 1));
+        assertNull(counts.compute(0, (key, value) -> null));
+        assertEquals(49, counts.size());
+    }
+}
@@ -0,0 +1,138 @@
+package ca.haywalk.util.collection;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CopyOnWriteArrayList class.
+ */
+public class TestCopyOnWriteArrayList {
+    // List to test with.
+    private CopyOnWriteArrayList<String> list;
+
+    /**
+     * Set up the test list.
+     */
+    @BeforeEach
+    public void setUp() {
+        list = new CopyOnWriteArrayList<String>();
+    }
+
+    /**
+     * Test the List methods.
+     */
+    @Test
+    public void testBasic() {
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        assertEquals(3, list.size());
+        assertEquals("b", list.get(1));
+        assertEquals(2, list.index("c"));
+        assertTrue(list.contains("a"));
+
+        assertEquals("a", list.remove(0));
+        assertTrue(list.remove("c"));
+        assertFalse(list.remove("z"));
+        assertEquals(1, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Test adding only absent items.
+     */
+    @Test
+    public void testAddIfAbsent() {
+        assertTrue(list.addIfAbsent("a"));
+        assertFalse(list.addIfAbsent("a"));
+
+        ArrayList<String> items = new ArrayList<String>();
+        items.add("a");
+        items.add("b");
+        items.add("b");
+        items.add("c");
+
+        assertEquals(2, list.addAllAbsent(items));
+        assertEquals(3, list.size());
+        assertEquals("c", list.get(2));
+    }
+
+    /**
+     * Test that an iterator keeps walking the items present when it was created.
+     */
+    @Test
+    public void testSnapshotIteration() {
+        list.add("a");
+        list.add("b");
+
+        Iterator<String> iterator = list.iterator();
+        list.add("c");
+        list.remove("a");
+
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(2, list.size());
+    }
+
+    /**
+     * Test the bulk methods.
+     */
+    @Test
+    public void testBulk() {
+        ArrayList<String> items = new ArrayList<String>();
+        items.add("pear");
+        items.add("fig");
+        items.add("apple");
+
+        list.addAll(items);
+        list.sort(Comparator.naturalOrder());
+        assertEquals("apple", list.get(0));
+
+        list.replaceAll(String::toUpperCase);
+        assertEquals("FIG", list.get(1));
+
+        assertTrue(list.removeIf(item -> item.length() == 3));
+        assertEquals(2, list.size());
+        assertEquals(9, list.stream().mapToInt(String::length).sum());
+    }
+
+    /**
+     * Test that readers iterate safely while another thread writes.
+     */
+    @Test
+    public void testConcurrentIteration() throws InterruptedException {
+        Thread writer = new Thread(() -> {
+            for(int i = 0; i < 1000; i++) {
+                list.add("item" + i);
+
+                if(i % 3 == 0) {
+                    list.remove(0);
+                }
+            }
+        });
+
+        Thread reader = new Thread(() -> {
+            for(int i = 0; i < 1000; i++) {
+                for(String item : list) {
+                    assertNotNull(item);
+                }
+            }
+        });
+
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertEquals(1000 - 334, list.size());
+    }
+}
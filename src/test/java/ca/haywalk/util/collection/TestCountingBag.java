@@ -0,0 +1,97 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CountingBag class.
+ */
+public class TestCountingBag {
+
+    /**
+     * Test counting keys against a hash map.
+     */
+    @Test
+    public void testCounting() {
+        CountingBag<Integer> bag = new CountingBag<Integer>();
+        HashMap<Integer, Long> expected = new HashMap<Integer, Long>();
+
+        for(int i = 0; i < 10000; i++) {
+            int key = (i * 31) % 997;
+            bag.add(key);
+            expected.merge(key, 1L, Long::sum);
+        }
+
+        assertEquals(expected.size(), bag.size());
+        assertEquals(10000, bag.total());
+
+        for(int key : expected) {
+            assertEquals((long) expected.get(key), bag.count(key));
+        }
+
+        assertEquals(0, bag.count(5000));
+    }
+
+    /**
+     * Test removing occurrences and setting counts.
+     */
+    @Test
+    public void testRemove() {
+        CountingBag<String> bag = new CountingBag<String>();
+        assertEquals(5, bag.add("a", 5));
+        assertEquals(0, bag.add("b", 0));
+        assertFalse(bag.contains("b"));
+
+        assertEquals(2, bag.remove("a", 3));
+        assertEquals(0, bag.remove("a", 10));
+        assertFalse(bag.contains("a"));
+        assertEquals(0, bag.total());
+
+        assertEquals(0, bag.setCount("c", 7));
+        assertEquals(7, bag.setCount("c", 2));
+        assertEquals(2, bag.count("c"));
+        assertEquals(1, bag.keys().size());
+        assertThrows(IllegalArgumentException.class, () -> bag.add("c", -1));
+
+        bag.clear();
+        assertTrue(bag.isEmpty());
+        assertFalse(bag.iterator().hasNext());
+    }
+
+    /**
+     * Test finding the most frequent keys.
+     */
+    @Test
+    public void testTopK() {
+        CountingBag<String> bag = new CountingBag<String>();
+
+        for(String word : "the cat and the dog and the bird".split(" ")) {
+            bag.add(word);
+        }
+
+        Iterator<String> top = bag.topK(2).iterator();
+        assertEquals("the", top.next());
+        assertEquals("and", top.next());
+        assertFalse(top.hasNext());
+
+        // Ties come in iteration order, even once a removed key's place is reused
+        bag.setCount("cat", 0);
+        bag.add("fox");
+        Iterator<String> keys = bag.iterator();
+        Iterator<String> all = bag.topK(5).iterator();
+        assertEquals("the", all.next());
+        assertEquals("and", all.next());
+
+        while(keys.hasNext()) {
+            String key = keys.next();
+
+            if(bag.count(key) == 1) {
+                assertEquals(key, all.next());
+            }
+        }
+
+        assertFalse(all.hasNext());
+    }
+}
@@ -0,0 +1,79 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CuckooFilter class.
+ */
+public class TestCuckooFilter {
+
+    /**
+     * Test adding, checking and removing items.
+     */
+    @Test
+    public void testAddRemove() {
+        CuckooFilter<Integer> filter = new CuckooFilter<Integer>(10000);
+
+        for(int i = 0; i < 10000; i++) {
+            assertTrue(filter.add(i));
+        }
+
+        assertEquals(10000, filter.size());
+
+        for(int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+
+        int falsePositives = 0;
+
+        for(int i = 10000; i < 110000; i++) {
+            if(filter.mightContain(i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+
+        // Removed items are forgotten, others are kept
+        for(int i = 0; i < 10000; i += 2) {
+            assertTrue(filter.remove(i));
+        }
+
+        for(int i = 1; i < 10000; i += 2) {
+            assertTrue(filter.mightContain(i));
+        }
+
+        assertEquals(5000, filter.size());
+        filter.clear();
+        assertEquals(0, filter.size());
+        assertFalse(filter.mightContain(1));
+    }
+
+    /**
+     * Test that a full filter refuses items without losing any.
+     */
+    @Test
+    public void testFull() {
+        CuckooFilter<Integer> filter = new CuckooFilter<Integer>(8);
+        int added = 0;
+
+        while(filter.add(added)) {
+            added++;
+        }
+
+        assertTrue(added >= 8);
+
+        for(int i = 0; i < added; i++) {
+            assertTrue(filter.mightContain(i));
+        }
+
+        // Removing items makes room again
+        for(int i = 0; i < added; i++) {
+            assertTrue(filter.remove(i));
+        }
+
+        assertEquals(0, filter.size());
+        assertTrue(filter.add(0));
+    }
+}
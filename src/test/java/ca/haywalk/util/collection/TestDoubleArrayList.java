@@ -0,0 +1,62 @@
+package ca.haywalk.util.collection;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the DoubleArrayList class.
+ */
+public class TestDoubleArrayList {
+
+    /**
+     * Test adding, removing and reducing items.
+     */
+    @Test
+    public void testBasic() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.addAll(new double[] { 1.5, -2.25, 4 });
+        list.add(0.75);
+
+        assertEquals(4, list.size());
+        assertEquals(-2.25, list.min());
+        assertEquals(4, list.max());
+        assertEquals(4, list.sum());
+
+        assertEquals(1.5, list.remove(0));
+        assertTrue(list.removeValue(4));
+        assertArrayEquals(new double[] { -2.25, 0.75 }, list.toArray());
+    }
+
+    /**
+     * Test that items are compared by bits.
+     */
+    @Test
+    public void testBitEquality() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.addAll(new double[] { 0.0, Double.NaN });
+
+        assertEquals(1, list.index(Double.NaN));
+        assertFalse(list.contains(-0.0));
+        assertTrue(Double.isNaN(list.max()));
+    }
+
+    /**
+     * Test the primitive iterator.
+     */
+    @Test
+    public void testIterator() {
+        DoubleArrayList list = new DoubleArrayList();
+        list.addAll(new double[] { 0.5, 0.25 });
+
+        PrimitiveIterator.OfDouble iterator = list.iterator();
+        double total = 0;
+
+        while(iterator.hasNext()) {
+            total += iterator.nextDouble();
+        }
+
+        assertEquals(0.75, total);
+    }
+}
@@ -0,0 +1,132 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ExpiringDictionary class.
+ */
+public class TestExpiringDictionary {
+
+    /**
+     * A Ticker moved by hand.
+     */
+    private static final class FakeTicker implements Ticker {
+        private long nanos = -5_000_000_000L;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+
+    /**
+     * Test expiring entries after they were written.
+     */
+    @Test
+    public void testAfterWrite() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringDictionary<String, Integer> dictionary = new ExpiringDictionary<String, Integer>(
+            10, TimeUnit.SECONDS, ExpiringDictionary.Policy.AFTER_WRITE, ticker);
+
+        dictionary.put("a", 1);
+        ticker.advance(5, TimeUnit.SECONDS);
+        dictionary.put("b", 2);
+        assertEquals(1, (int) dictionary.get("a"));
+
+        // Reading does not extend an entry's life
+        ticker.advance(6, TimeUnit.SECONDS);
+        assertNull(dictionary.get("a"));
+        assertEquals(2, (int) dictionary.get("b"));
+        assertEquals(1, dictionary.size());
+
+        // Iterating skips expired entries
+        Iterator<String> iterator = dictionary.iterator();
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+
+        ticker.advance(5, TimeUnit.SECONDS);
+        assertTrue(dictionary.isEmpty());
+        assertEquals(2, dictionary.expirationCount());
+        assertFalse(dictionary.remove("b"));
+    }
+
+    /**
+     * Test expiring entries after they were last read.
+     */
+    @Test
+    public void testAfterAccess() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringDictionary<String, Integer> dictionary = new ExpiringDictionary<String, Integer>(
+            1, TimeUnit.MINUTES, ExpiringDictionary.Policy.AFTER_ACCESS, ticker);
+
+        dictionary.put("kept", 1);
+        dictionary.put("idle", 2);
+
+        for(int i = 0; i < 10; i++) {
+            ticker.advance(30, TimeUnit.SECONDS);
+            assertEquals(1, (int) dictionary.get("kept"));
+        }
+
+        assertNull(dictionary.get("idle"));
+        assertEquals(1, dictionary.size());
+        assertEquals(1, dictionary.expirationCount());
+    }
+
+    /**
+     * Test per-entry lifetimes across every level of the wheel.
+     */
+    @Test
+    public void testPerEntryDuration() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringDictionary<Integer, Integer> dictionary = new ExpiringDictionary<Integer, Integer>(
+            1, TimeUnit.DAYS, ExpiringDictionary.Policy.AFTER_WRITE, ticker);
+
+        // Entry i lives for i hours
+        for(int i = 1; i <= 1000; i++) {
+            dictionary.put(i, i, i, TimeUnit.HOURS);
+        }
+
+        dictionary.put(0, 0);
+
+        for(int hour = 1; hour <= 1000; hour++) {
+            ticker.advance(1, TimeUnit.HOURS);
+            assertEquals(1000 - hour + (hour < 24 ? 1 : 0), dictionary.cleanUp(), "hour " + hour);
+        }
+
+        assertEquals(1001, dictionary.expirationCount());
+        assertTrue(dictionary.keys().isEmpty());
+    }
+
+    /**
+     * Test overwriting, removing and clearing.
+     */
+    @Test
+    public void testOverwrite() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringDictionary<String, String> dictionary = new ExpiringDictionary<String, String>(
+            10, TimeUnit.SECONDS, ExpiringDictionary.Policy.AFTER_WRITE, ticker);
+
+        dictionary.put("a", "first");
+        ticker.advance(8, TimeUnit.SECONDS);
+        dictionary.put("a", "second");
+        ticker.advance(8, TimeUnit.SECONDS);
+        assertEquals("second", dictionary.get("a"));
+
+        dictionary.put("b", "third");
+        assertEquals(2, dictionary.values().size());
+        assertTrue(dictionary.remove("b"));
+        dictionary.clear();
+        assertNull(dictionary.get("a"));
+        assertEquals(0, dictionary.expirationCount());
+        assertThrows(IllegalArgumentException.class, () -> dictionary.put("c", "d", 0, TimeUnit.SECONDS));
+        assertThrows(NullPointerException.class, () -> dictionary.put("c", null));
+    }
+}
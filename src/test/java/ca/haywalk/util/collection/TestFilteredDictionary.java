@@ -0,0 +1,80 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the FilteredDictionary class.
+ */
+public class TestFilteredDictionary {
+
+    /**
+     * Test that the filter follows puts and removes.
+     */
+    @Test
+    public void testCuckoo() {
+        ArrayMap<String, Integer> map = new ArrayMap<String, Integer>();
+        map.put("existing", 0);
+
+        CuckooFilter<String> filter = new CuckooFilter<String>(1000);
+        FilteredDictionary<String, Integer> dictionary = new FilteredDictionary<String, Integer>(map, filter);
+        assertEquals(0, (int) dictionary.get("existing"));
+
+        for(int i = 0; i < 500; i++) {
+            dictionary.put("key" + i, i);
+        }
+
+        // Overwriting does not add a second fingerprint
+        dictionary.put("key1", 100);
+        assertEquals(501, filter.size());
+        assertEquals(100, (int) dictionary.get("key1"));
+        assertNull(dictionary.get("missing"));
+
+        assertTrue(dictionary.remove("key1"));
+        assertFalse(dictionary.remove("key1"));
+        assertFalse(filter.mightContain("key1"));
+        assertEquals(500, filter.size());
+
+        // The single-lookup methods keep the filter in step too
+        assertEquals(7, (int) dictionary.merge("counter", 7, Integer::sum));
+        assertTrue(filter.mightContain("counter"));
+        assertNull(dictionary.compute("counter", (key, value) -> null));
+        assertFalse(filter.mightContain("counter"));
+        assertEquals(500, dictionary.size());
+
+        dictionary.clear();
+        assertEquals(0, filter.size());
+        assertTrue(dictionary.isEmpty());
+    }
+
+    /**
+     * Test that a full filter stops being trusted.
+     */
+    @Test
+    public void testFullFilter() {
+        FilteredDictionary<Integer, Integer> dictionary =
+            new FilteredDictionary<Integer, Integer>(new HashMap<Integer, Integer>(), new CuckooFilter<Integer>(4));
+
+        for(int i = 0; i < 1000; i++) {
+            dictionary.put(i, i);
+        }
+
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) dictionary.get(i));
+        }
+    }
+
+    /**
+     * Test a Bloom filter, which keeps removed keys.
+     */
+    @Test
+    public void testBloom() {
+        FilteredDictionary<String, String> dictionary =
+            new FilteredDictionary<String, String>(new HashMap<String, String>(), new BloomFilter<String>(100, 0.01));
+        dictionary.put("a", "b");
+        assertEquals("b", dictionary.get("a"));
+        assertTrue(dictionary.remove("a"));
+        assertNull(dictionary.get("a"));
+        assertThrows(NullPointerException.class, () -> dictionary.get(null));
+    }
+}
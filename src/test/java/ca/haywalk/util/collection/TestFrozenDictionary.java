@@ -0,0 +1,75 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the FrozenDictionary class.
+ */
+public class TestFrozenDictionary {
+
+    /**
+     * Test freezing a large dictionary.
+     */
+    @Test
+    public void testLookup() {
+        HashMap<String, Integer> source = new HashMap<String, Integer>();
+
+        for(int i = 0; i < 10000; i++) {
+            source.put("key" + i, i);
+        }
+
+        FrozenDictionary<String, Integer> frozen = source.freeze();
+        assertEquals(10000, frozen.size());
+
+        for(int i = 0; i < 10000; i++) {
+            assertEquals(i, (int) frozen.get("key" + i));
+        }
+
+        assertNull(frozen.get("missing"));
+        assertEquals(10000, frozen.keys().size());
+        assertSame(frozen, frozen.freeze());
+    }
+
+    /**
+     * Test keys with equal hash codes, which go to the overflow.
+     */
+    @Test
+    public void testSharedHashCodes() {
+        // "Aa" and "BB" have the same hash code
+        ArrayMap<String, String> source = new ArrayMap<String, String>();
+        source.put("Aa", "first");
+        source.put("BB", "second");
+        source.put("C", "third");
+
+        FrozenDictionary<String, String> frozen = FrozenDictionary.of(source);
+        assertEquals("first", frozen.get("Aa"));
+        assertEquals("second", frozen.get("BB"));
+        assertEquals("third", frozen.get("C"));
+        assertNull(frozen.get("AaBB"));
+
+        // The cursor visits every pair
+        int count = 0;
+        EntryCursor<String, String> cursor = frozen.cursor();
+
+        while(cursor.advance()) {
+            assertEquals(source.get(cursor.key()), cursor.value());
+            count++;
+        }
+
+        assertEquals(3, count);
+    }
+
+    /**
+     * Test empty and immutable dictionaries.
+     */
+    @Test
+    public void testImmutable() {
+        FrozenDictionary<String, String> empty = new ArrayMap<String, String>().freeze();
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("a"));
+        assertFalse(empty.cursor().advance());
+        assertThrows(UnsupportedOperationException.class, () -> empty.put("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> empty.remove("a"));
+    }
+}
@@ -0,0 +1,189 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+
+/**
+ * Tests for the HashMap class.
+ */
+public class TestHashMap {
+    // A dictionary to test with
+    private HashMap<String, String> dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new HashMap<String, String>();
+    }
+
+    /**
+     * Test adding and looking up keys.
+     */
+    @Test
+    public void testAddAndLookup() {
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+        assertEquals("Burger", dict.get("Bob"));
+        assertEquals("Fries", dict.get("Bill"));
+        assertEquals(null, dict.get("Joe"));
+        assertEquals(2, dict.size());
+
+        // Overwrite a value
+        dict.put("Bob", "Salad");
+        assertEquals("Salad", dict.get("Bob"));
+        assertEquals(2, dict.size());
+    }
+
+    /**
+     * Test removing keys.
+     */
+    @Test
+    public void testRemove() {
+        // Add some pairs and test
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+
+        // Remove one and test
+        assertTrue(dict.remove("Bob"));
+        assertEquals(null, dict.get("Bob"));
+        assertEquals("Fries", dict.get("Bill"));
+
+        // Remove the other one and test
+        assertFalse(dict.remove("Bob"));
+        assertTrue(dict.remove("Bill"));
+        assertTrue(dict.isEmpty());
+    }
+
+    /**
+     * Test growing the table and removing across collided probe runs.
+     */
+    @Test
+    public void testManyKeys() {
+        // Use a small table with a high load factor to force long probe runs
+        HashMap<Integer, Integer> map = new HashMap<Integer, Integer>(0, 0.9f);
+
+        for(int i = 0; i < 10000; i++) {
+            map.put(i * 64, i);
+        }
+
+        assertEquals(10000, map.size());
+
+        // Remove every other key
+        for(int i = 0; i < 10000; i += 2) {
+            assertTrue(map.remove(i * 64));
+        }
+
+        // Check the remaining keys
+        for(int i = 0; i < 10000; i++) {
+            if(i % 2 == 0) {
+                assertEquals(null, map.get(i * 64));
+            } else {
+                assertEquals(i, map.get(i * 64));
+            }
+        }
+
+        assertEquals(5000, map.size());
+        assertEquals(5000, map.keys().size());
+    }
+
+    /**
+     * Test iterating over the keys.
+     */
+    @Test
+    public void testIterator() {
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+
+        // Count the keys and check that each is present
+        int count = 0;
+        Iterator<String> iterator = dict.iterator();
+
+        while(iterator.hasNext()) {
+            assertNotNull(dict.get(iterator.next()));
+            count++;
+        }
+
+        assertEquals(2, count);
+    }
+
+    /**
+     * Test that null keys and values are rejected.
+     */
+    @Test
+    public void testNull() {
+        assertThrows(NullPointerException.class, () -> dict.put(null, "Burger"));
+        assertThrows(NullPointerException.class, () -> dict.put("Bob", null));
+        assertThrows(NullPointerException.class, () -> dict.get(null));
+        assertThrows(NullPointerException.class, () -> dict.remove(null));
+    }
+
+    /**
+     * Test clearing the dictionary.
+     */
+    @Test
+    public void testClear() {
+        dict.put("Bob", "Burger");
+        dict.put("Bill", "Fries");
+
+        // Clear the dictionary and make sure keys are gone
+        dict.clear();
+        assertEquals(null, dict.get("Bob"));
+        assertEquals(null, dict.get("Bill"));
+        assertEquals(0, dict.size());
+    }
+
+    /**
+     * Test walking and updating pairs with a cursor.
+     */
+    @Test
+    public void testCursor() {
+        for(int i = 0; i < 100; i++) {
+            dict.put("key" + i, "value" + i);
+        }
+
+        // Every pair is visited once, and values can be replaced in place
+        EntryCursor<String, String> cursor = dict.cursor();
+        int count = 0;
+
+        while(cursor.advance()) {
+            assertEquals(cursor.key().replace("key", "value"), cursor.value());
+            cursor.setValue(cursor.value() + "!");
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals("value42!", dict.get("key42"));
+        assertThrows(NullPointerException.class, () -> dict.forEach((java.util.function.BiConsumer<String, String>) null));
+    }
+
+    /**
+     * Test counting with merge() and the other single-lookup mutation methods.
+     */
+    @Test
+    public void testComputeAndMerge() {
+        HashMap<String, Integer> counts = new HashMap<String, Integer>();
+
+        for(int i = 0; i < 1000; i++) {
+            counts.merge("key" + (i % 100), 1, Integer::sum);
+        }
+
+        assertEquals(100, counts.size());
+        assertEquals(10, (int) counts.get("key42"));
+
+        // Remove every pair through compute()
+        for(int i = 0; i < 100; i++) {
+            assertNull(counts.compute("key" + i, (key, value) -> value == 10 ? null : value));
+        }
+
+        assertTrue(counts.isEmpty());
+        assertEquals(7, (int) counts.computeIfAbsent("seven", key -> 7));
+        assertEquals(7, (int) counts.putIfAbsent("seven", 8));
+        assertEquals(7, (int) counts.replace("seven", 9));
+        assertEquals(-1, (int) counts.getOrDefault("eight", -1));
+        assertThrows(NullPointerException.class, () -> counts.merge("seven", null, Integer::sum));
+    }
+}
@@ -0,0 +1,164 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the HashTrieMap class.
+ */
+public class TestHashTrieMap {
+
+    /**
+     * A key whose hash code is chosen by the test, to force collisions.
+     */
+    private static final class CollidingKey {
+        private final int id;
+        private final int hash;
+
+        CollidingKey(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey && ((CollidingKey) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Test that with() and without() leave earlier versions unchanged.
+     */
+    @Test
+    public void testVersions() {
+        HashTrieMap<String, Integer> empty = HashTrieMap.empty();
+        HashTrieMap<String, Integer> one = empty.with("one", 1);
+        HashTrieMap<String, Integer> two = one.with("two", 2);
+        HashTrieMap<String, Integer> changed = two.with("one", 11);
+        HashTrieMap<String, Integer> removed = changed.without("two");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertEquals(1, (int) two.get("one"));
+        assertEquals(11, (int) changed.get("one"));
+        assertEquals(2, changed.size());
+        assertNull(removed.get("two"));
+        assertEquals(2, (int) two.get("two"));
+
+        // Unchanged versions are returned as they are
+        assertSame(two, two.with("two", two.get("two")));
+        assertSame(two, two.without("three"));
+    }
+
+    /**
+     * Test many keys against a mutable dictionary.
+     */
+    @Test
+    public void testManyKeys() {
+        HashTrieMap<Integer, Integer> map = HashTrieMap.empty();
+        HashMap<Integer, Integer> expected = new HashMap<Integer, Integer>();
+
+        for(int i = 0; i < 5000; i++) {
+            map = map.with(i * 7919, i);
+            expected.put(i * 7919, i);
+        }
+
+        for(int i = 0; i < 5000; i += 3) {
+            map = map.without(i * 7919);
+            expected.remove(i * 7919);
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.keys().size());
+
+        for(int key : expected) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+
+        // The cursor visits every pair once
+        int count = 0;
+        EntryCursor<Integer, Integer> cursor = map.cursor();
+
+        while(cursor.advance()) {
+            assertEquals(expected.get(cursor.key()), cursor.value());
+            count++;
+        }
+
+        assertEquals(expected.size(), count);
+    }
+
+    /**
+     * Test keys with identical hash codes.
+     */
+    @Test
+    public void testCollisions() {
+        HashTrieMap<CollidingKey, String> map = HashTrieMap.empty();
+
+        for(int i = 0; i < 10; i++) {
+            map = map.with(new CollidingKey(i, 42), "v" + i);
+        }
+
+        map = map.with(new CollidingKey(99, 7), "other");
+        assertEquals(11, map.size());
+        assertEquals("v3", map.get(new CollidingKey(3, 42)));
+
+        for(int i = 0; i < 9; i++) {
+            map = map.without(new CollidingKey(i, 42));
+        }
+
+        assertEquals(2, map.size());
+        assertEquals("v9", map.get(new CollidingKey(9, 42)));
+        assertEquals("other", map.get(new CollidingKey(99, 7)));
+    }
+
+    /**
+     * Test that a Builder does not change maps it has already built.
+     */
+    @Test
+    public void testBuilder() {
+        HashTrieMap.Builder<Integer, Integer> builder = HashTrieMap.builder();
+
+        for(int i = 0; i < 1000; i++) {
+            builder.put(i, i);
+        }
+
+        HashTrieMap<Integer, Integer> first = builder.build();
+
+        for(int i = 0; i < 1000; i++) {
+            builder.put(i, -i);
+        }
+
+        builder.remove(5);
+        HashTrieMap<Integer, Integer> second = builder.build();
+
+        assertEquals(1000, first.size());
+        assertEquals(7, (int) first.get(7));
+        assertEquals(999, second.size());
+        assertEquals(-7, (int) second.get(7));
+        assertNull(second.get(5));
+
+        // toBuilder() and copyOf() start from existing pairs
+        HashTrieMap<Integer, Integer> third = first.toBuilder().remove(0).build();
+        assertEquals(999, third.size());
+        assertEquals(1000, first.size());
+        assertEquals(999, HashTrieMap.copyOf(second).size());
+    }
+
+    /**
+     * Test that the mutating Dictionary methods are unsupported.
+     */
+    @Test
+    public void testImmutable() {
+        HashTrieMap<String, String> map = HashTrieMap.<String, String>empty().with("a", "b");
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", "d"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.clear());
+        assertThrows(NullPointerException.class, () -> map.with(null, "x"));
+    }
+}
@@ -0,0 +1,133 @@
+package ca.haywalk.util.collection;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the IntArrayList class.
+ */
+public class TestIntArrayList {
+    // List to test with.
+    private IntArrayList list;
+
+    /**
+     * Set up the test list.
+     */
+    @BeforeEach
+    public void setUp() {
+        list = new IntArrayList();
+    }
+
+    /**
+     * Test adding, getting and replacing items past the initial size.
+     */
+    @Test
+    public void testAddGet() {
+        for(int i = 0; i < 100; i++) {
+            list.add(i * 3);
+        }
+
+        assertEquals(100, list.size());
+
+        for(int i = 0; i < 100; i++) {
+            assertEquals(i * 3, list.get(i));
+        }
+
+        assertEquals(6, list.set(2, -1));
+        assertEquals(-1, list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    /**
+     * Test bulk adding and copying out.
+     */
+    @Test
+    public void testAddAll() {
+        IntArrayList empty = new IntArrayList(0);
+        empty.add(1);
+        empty.addAll(new int[] { 2, 3, 4, 5, 6, 7, 8 });
+
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6, 7, 8 }, empty.toArray());
+        assertThrows(NullPointerException.class, () -> empty.addAll(null));
+    }
+
+    /**
+     * Test finding and removing items.
+     */
+    @Test
+    public void testRemove() {
+        list.addAll(new int[] { 5, 6, 7, 6 });
+
+        assertEquals(1, list.index(6));
+        assertTrue(list.contains(7));
+        assertFalse(list.contains(8));
+
+        assertEquals(5, list.remove(0));
+        assertTrue(list.removeValue(6));
+        assertFalse(list.removeValue(9));
+        assertArrayEquals(new int[] { 7, 6 }, list.toArray());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Test the sum, min and max reductions.
+     */
+    @Test
+    public void testReductions() {
+        assertEquals(0, list.sum());
+        assertThrows(NoSuchElementException.class, () -> list.min());
+
+        list.addAll(new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE, -4 });
+        assertEquals(2L * Integer.MAX_VALUE - 4, list.sum());
+        assertEquals(-4, list.min());
+        assertEquals(Integer.MAX_VALUE, list.max());
+    }
+
+    /**
+     * Test the primitive iterator.
+     */
+    @Test
+    public void testIterator() {
+        list.addAll(new int[] { 1, 2, 3 });
+
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        int total = 0;
+
+        while(iterator.hasNext()) {
+            total += iterator.nextInt();
+        }
+
+        assertEquals(6, total);
+        assertThrows(NoSuchElementException.class, () -> iterator.nextInt());
+
+        int boxedTotal = 0;
+
+        for(int item : list) {
+            boxedTotal += item;
+        }
+
+        assertEquals(6, boxedTotal);
+    }
+
+    /**
+     * Test sorting the list.
+     */
+    @Test
+    public void testSort() {
+        for(int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000 - 500);
+        }
+
+        list.sort();
+
+        for(int i = 0; i < 1000; i++) {
+            assertEquals(i - 500, list.get(i));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the IntIntDictionary class.
+ */
+public class TestIntIntDictionary {
+    // A dictionary to test with
+    private IntIntDictionary dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new IntIntDictionary();
+    }
+
+    /**
+     * Test adding, looking up and removing keys, including the zero key.
+     */
+    @Test
+    public void testAddLookupRemove() {
+        for(int i = -500; i < 500; i++) {
+            dict.put(i, i * 3);
+        }
+
+        assertEquals(1000, dict.size());
+
+        for(int i = -500; i < 500; i++) {
+            assertEquals(i * 3, dict.get(i));
+            assertTrue(dict.containsKey(i));
+        }
+
+        // Remove every other key, including zero
+        for(int i = -500; i < 500; i += 2) {
+            assertTrue(dict.remove(i));
+        }
+
+        for(int i = -500; i < 500; i++) {
+            assertEquals(i % 2 == 0 ? -1 : i * 3, dict.getOrDefault(i, -1));
+        }
+
+        assertEquals(500, dict.size());
+    }
+
+    /**
+     * Test the addTo() method.
+     */
+    @Test
+    public void testAddTo() {
+        assertEquals(5, dict.addTo(7, 5));
+        assertEquals(8, dict.addTo(7, 3));
+        assertEquals(2, dict.addTo(0, 2));
+        assertEquals(8, dict.get(7));
+        assertEquals(2, dict.get(0));
+        assertEquals(2, dict.size());
+    }
+
+    /**
+     * Test iterating with a cursor and updating values through it.
+     */
+    @Test
+    public void testCursor() {
+        for(int i = 0; i < 100; i++) {
+            dict.put(i, i);
+        }
+
+        // Visit every pair and double its value
+        IntIntDictionary.Cursor cursor = dict.cursor();
+        int count = 0;
+        long keySum = 0;
+
+        while(cursor.advance()) {
+            assertEquals(cursor.key(), cursor.value());
+            cursor.setValue(cursor.value() * 2);
+            keySum += cursor.key();
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals(4950, keySum);
+        assertEquals(198, dict.get(99));
+        assertEquals(0, dict.get(0));
+    }
+
+    /**
+     * Test clearing the dictionary.
+     */
+    @Test
+    public void testClear() {
+        dict.put(0, 1);
+        dict.put(1, 1);
+        dict.clear();
+        assertFalse(dict.containsKey(0));
+        assertFalse(dict.containsKey(1));
+        assertTrue(dict.isEmpty());
+    }
+}
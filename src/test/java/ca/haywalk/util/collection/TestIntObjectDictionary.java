@@ -0,0 +1,69 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the IntObjectDictionary class.
+ */
+public class TestIntObjectDictionary {
+    // A dictionary to test with
+    private IntObjectDictionary<String> dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new IntObjectDictionary<String>();
+    }
+
+    /**
+     * Test adding, looking up and removing keys.
+     */
+    @Test
+    public void testAddLookupRemove() {
+        dict.put(0, "Zero");
+        dict.put(1, "One");
+        dict.put(2, "Two");
+        assertEquals("Zero", dict.get(0));
+        assertEquals("Two", dict.get(2));
+        assertEquals(null, dict.get(3));
+        assertEquals(3, dict.size());
+
+        // Remove one and test
+        assertTrue(dict.remove(1));
+        assertFalse(dict.remove(1));
+        assertEquals(null, dict.get(1));
+        assertEquals("Three", dict.getOrDefault(3, "Three"));
+    }
+
+    /**
+     * Test that null values are rejected.
+     */
+    @Test
+    public void testNull() {
+        assertThrows(NullPointerException.class, () -> dict.put(1, null));
+    }
+
+    /**
+     * Test iterating with a cursor.
+     */
+    @Test
+    public void testCursor() {
+        for(int i = 0; i < 50; i++) {
+            dict.put(i, Integer.toString(i));
+        }
+
+        // Check each pair
+        IntObjectDictionary<String>.Cursor cursor = dict.cursor();
+        int count = 0;
+
+        while(cursor.advance()) {
+            assertEquals(Integer.toString(cursor.key()), cursor.value());
+            count++;
+        }
+
+        assertEquals(50, count);
+    }
+}
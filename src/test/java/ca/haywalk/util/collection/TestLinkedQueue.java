@@ -86,4 +86,60 @@ public class TestLinkedQueue {
         assertEquals(0, queue.size());
         assertFalse(queue.contains(1));
     }
+
+    /**
+     * Test streaming the queue, in order and in parallel.
+     */
+    @Test
+    public void testStream() {
+        for(int i = 1; i <= 5000; i++) {
+            queue.enqueue(i);
+        }
+
+        assertEquals(12502500, queue.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(1, queue.stream().findFirst().get());
+        assertEquals(5000, queue.spliterator().getExactSizeIfKnown());
+    }
+
+    /**
+     * Test removing items from the middle and end of the queue.
+     */
+    @Test
+    public void testRemoveItem() {
+        queue.add(1);
+        queue.add(2);
+        queue.add(3);
+
+        assertTrue(queue.remove(2));
+        assertFalse(queue.remove(7));
+        assertTrue(queue.remove(3));
+
+        // The tail is still in the list after removing the last item
+        queue.add(4);
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.dequeue());
+        assertEquals(4, queue.dequeue());
+    }
+
+    /**
+     * Test the bulk methods.
+     */
+    @Test
+    public void testBulk() {
+        ArrayList<Integer> items = new ArrayList<Integer>();
+
+        for(int i = 0; i < 10; i++) {
+            items.add(i);
+        }
+
+        queue.addAll(items);
+        assertTrue(queue.removeIf(item -> item % 3 == 0));
+        assertEquals(6, queue.size());
+
+        queue.add(10);
+        int[] total = { 0 };
+        queue.forEach(item -> total[0] += item);
+        assertEquals(1 + 2 + 4 + 5 + 7 + 8 + 10, total[0]);
+        assertEquals(1, queue.dequeue());
+    }
 }
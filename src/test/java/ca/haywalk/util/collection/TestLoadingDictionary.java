@@ -0,0 +1,166 @@
+package ca.haywalk.util.collection;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LoadingDictionary class.
+ */
+public class TestLoadingDictionary {
+
+    /**
+     * Test that concurrent misses on one key share a single load.
+     */
+    @Test
+    public void testCoalescing() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        LoadingDictionary<String, Integer> dictionary = new LoadingDictionary<String, Integer>(
+            new HashMap<String, Integer>(), key -> {
+                loads.incrementAndGet();
+
+                try {
+                    release.await();
+                } catch(InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                return key.length();
+            });
+
+        Thread[] threads = new Thread[16];
+        int[] results = new int[threads.length];
+
+        for(int i = 0; i < threads.length; i++) {
+            int slot = i;
+            threads[i] = new Thread(() -> results[slot] = dictionary.get("hot key"));
+            threads[i].start();
+        }
+
+        // Let every thread reach the load before it completes
+        Thread.sleep(100);
+        release.countDown();
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+
+        for(int result : results) {
+            assertEquals(7, result);
+        }
+
+        assertEquals(7, (int) dictionary.getIfPresent("hot key"));
+    }
+
+    /**
+     * Test asynchronous loads and loader failures.
+     */
+    @Test
+    public void testGetAsync() {
+        LoadingDictionary<Integer, String> dictionary = new LoadingDictionary<Integer, String>(
+            new ArrayMap<Integer, String>(), key -> {
+                if(key < 0) {
+                    throw new IllegalArgumentException("negative");
+                }
+
+                return key == 0 ? null : "v" + key;
+            });
+
+        assertEquals("v5", dictionary.getAsync(5).join());
+        assertEquals("v5", dictionary.getIfPresent(5));
+        assertNull(dictionary.get(0));
+        assertEquals(1, dictionary.size());
+        assertThrows(IllegalArgumentException.class, () -> dictionary.get(-1));
+        assertTrue(dictionary.getAsync(-1).handle((value, e) -> e != null).join());
+    }
+
+    /**
+     * Test refreshing values in the background once they are old.
+     */
+    @Test
+    public void testRefreshAhead() {
+        long[] now = {0};
+        AtomicInteger version = new AtomicInteger();
+
+        LoadingDictionary<String, Integer> dictionary = new LoadingDictionary<String, Integer>(
+            new HashMap<String, Integer>(), key -> version.incrementAndGet(), Runnable::run,
+            1, TimeUnit.MINUTES, () -> now[0]);
+
+        assertEquals(1, (int) dictionary.get("a"));
+        now[0] += TimeUnit.SECONDS.toNanos(30);
+        assertEquals(1, (int) dictionary.get("a"));
+
+        // The old value is returned while the refresh runs, then replaced
+        now[0] += TimeUnit.SECONDS.toNanos(31);
+        assertEquals(1, (int) dictionary.get("a"));
+        assertEquals(2, (int) dictionary.get("a"));
+
+        // Explicit writes are not overwritten and restart the interval
+        dictionary.put("a", 100);
+        now[0] += TimeUnit.SECONDS.toNanos(30);
+        assertEquals(100, (int) dictionary.get("a"));
+        assertEquals(3, (int) dictionary.refresh("a").join());
+        assertEquals(3, (int) dictionary.get("a"));
+    }
+
+    /**
+     * Test that a refresh run by a direct executor does not hold the dictionary's lock.
+     */
+    @Test
+    public void testRefreshOutsideLock() {
+        long[] now = {0};
+        AtomicInteger lockedLoads = new AtomicInteger();
+        Object[] holder = new Object[1];
+
+        LoadingDictionary<String, Integer> dictionary = new LoadingDictionary<String, Integer>(
+            new HashMap<String, Integer>(), key -> {
+                if(Thread.holdsLock(holder[0])) {
+                    lockedLoads.incrementAndGet();
+                }
+
+                return key.length();
+            }, Runnable::run, 1, TimeUnit.MINUTES, () -> now[0]);
+        holder[0] = dictionary;
+
+        dictionary.get("a");
+        now[0] += TimeUnit.MINUTES.toNanos(2);
+        dictionary.get("a");
+        now[0] += TimeUnit.MINUTES.toNanos(2);
+        dictionary.getAsync("a").join();
+
+        assertEquals(0, lockedLoads.get());
+    }
+
+    /**
+     * Test the mutating methods and copies.
+     */
+    @Test
+    public void testWrites() {
+        LoadingDictionary<String, Integer> dictionary = new LoadingDictionary<String, Integer>(
+            new HashMap<String, Integer>(), key -> -1);
+
+        assertNull(dictionary.putIfAbsent("a", 1));
+        assertEquals(3, (int) dictionary.merge("a", 2, Integer::sum));
+        assertEquals(4, (int) dictionary.computeIfAbsent("b", key -> 4));
+        assertTrue(dictionary.remove("b"));
+        assertEquals(-1, (int) dictionary.get("b"));
+
+        EntryCursor<String, Integer> cursor = dictionary.cursor();
+
+        while(cursor.advance()) {
+            cursor.setValue(cursor.value() * 10);
+        }
+
+        assertEquals(30, (int) dictionary.getIfPresent("a"));
+        assertEquals(2, dictionary.keys().size());
+        dictionary.clear();
+        assertTrue(dictionary.isEmpty());
+    }
+}
@@ -0,0 +1,50 @@
+package ca.haywalk.util.collection;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LongArrayList class.
+ */
+public class TestLongArrayList {
+
+    /**
+     * Test adding, removing and reducing items.
+     */
+    @Test
+    public void testBasic() {
+        LongArrayList list = new LongArrayList();
+        list.addAll(new long[] { 1L << 40, -7, 3 });
+        list.add(12);
+
+        assertEquals(4, list.size());
+        assertEquals(1L << 40, list.get(0));
+        assertEquals(-7, list.min());
+        assertEquals(1L << 40, list.max());
+        assertEquals((1L << 40) + 8, list.sum());
+
+        assertEquals(-7, list.remove(1));
+        assertTrue(list.removeValue(12));
+        assertArrayEquals(new long[] { 1L << 40, 3 }, list.toArray());
+    }
+
+    /**
+     * Test the primitive iterator.
+     */
+    @Test
+    public void testIterator() {
+        LongArrayList list = new LongArrayList();
+        list.addAll(new long[] { 4, 5, 6 });
+
+        PrimitiveIterator.OfLong iterator = list.iterator();
+        long total = 0;
+
+        while(iterator.hasNext()) {
+            total += iterator.nextLong();
+        }
+
+        assertEquals(15, total);
+    }
+}
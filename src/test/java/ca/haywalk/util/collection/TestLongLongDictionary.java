@@ -0,0 +1,74 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LongLongDictionary class.
+ */
+public class TestLongLongDictionary {
+    // A dictionary to test with
+    private LongLongDictionary dict;
+
+    /**
+     * Set up the test dictionary.
+     */
+    @BeforeEach
+    public void setup() {
+        dict = new LongLongDictionary();
+    }
+
+    /**
+     * Test adding, looking up and removing keys that differ only in their high bits.
+     */
+    @Test
+    public void testAddLookupRemove() {
+        for(long i = 0; i < 1000; i++) {
+            dict.put(i << 32, i);
+        }
+
+        assertEquals(1000, dict.size());
+
+        for(long i = 0; i < 1000; i++) {
+            assertEquals(i, dict.get(i << 32));
+        }
+
+        // Remove the first half
+        for(long i = 0; i < 500; i++) {
+            assertTrue(dict.remove(i << 32));
+        }
+
+        for(long i = 0; i < 1000; i++) {
+            assertEquals(i < 500 ? -1 : i, dict.getOrDefault(i << 32, -1));
+        }
+    }
+
+    /**
+     * Test the addTo() method.
+     */
+    @Test
+    public void testAddTo() {
+        assertEquals(5L, dict.addTo(Long.MAX_VALUE, 5));
+        assertEquals(Long.MAX_VALUE, dict.addTo(Long.MAX_VALUE, Long.MAX_VALUE - 5));
+        assertEquals(1, dict.size());
+    }
+
+    /**
+     * Test iterating with a cursor.
+     */
+    @Test
+    public void testCursor() {
+        dict.put(0, 10);
+        dict.put(1, 20);
+
+        // Sum the values
+        LongLongDictionary.Cursor cursor = dict.cursor();
+        long sum = 0;
+
+        while(cursor.advance()) {
+            sum += cursor.value();
+        }
+
+        assertEquals(30, sum);
+    }
+}
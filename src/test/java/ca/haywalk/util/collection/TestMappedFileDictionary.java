@@ -0,0 +1,264 @@
+package ca.haywalk.util.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the MappedFileDictionary class.
+ */
+public class TestMappedFileDictionary {
+    // Small segments so that tests cross segment boundaries
+    private static final int SEGMENT_SIZE = 4096;
+
+    // Directory holding the files
+    @TempDir
+    Path directory;
+
+    /**
+     * Test adding, overwriting and removing pairs.
+     */
+    @Test
+    public void testPutGetRemove() throws IOException {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int i = 0; i < 2000; i++) {
+                dict.putString("key" + i, "value" + i);
+            }
+
+            assertEquals(2000, dict.size());
+            dict.putString("key7", "seven");
+            assertEquals("seven", dict.getString("key7"));
+            assertEquals("value1999", dict.getString("key1999"));
+
+            assertTrue(dict.removeString("key7"));
+            assertFalse(dict.removeString("key7"));
+            assertNull(dict.getString("key7"));
+            assertEquals(1999, dict.size());
+            assertEquals(1999, dict.keys().size());
+        }
+    }
+
+    /**
+     * Test that pairs survive a clean close.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int i = 0; i < 500; i++) {
+                dict.putString("key" + i, "value" + i);
+            }
+
+            dict.removeString("key3");
+        }
+
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory)) {
+            assertEquals(499, dict.size());
+            assertNull(dict.getString("key3"));
+            assertEquals("value499", dict.getString("key499"));
+        }
+    }
+
+    /**
+     * Test that the index is rebuilt after a crash, ignoring a torn record.
+     */
+    @Test
+    public void testRecovery() throws IOException {
+        // Leave the dictionary open, as a crash would
+        MappedFileDictionary crashed = new MappedFileDictionary(directory, SEGMENT_SIZE);
+
+        for(int i = 0; i < 300; i++) {
+            crashed.putString("key" + i, "value" + i);
+        }
+
+        crashed.removeString("key5");
+        long end = crashed.logSize();
+        crashed.putString("torn", "record");
+        crashed.flush();
+
+        // Damage the last record's checksum
+        try(FileChannel channel = FileChannel.open(directory.resolve("data.log"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), end);
+        }
+
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            assertEquals(299, dict.size());
+            assertNull(dict.getString("key5"));
+            assertNull(dict.getString("torn"));
+            assertEquals("value299", dict.getString("key299"));
+            assertEquals(end, dict.logSize());
+        }
+    }
+
+    /**
+     * Test that the index grows in place and survives a reopen.
+     */
+    @Test
+    public void testIndexGrowth() throws IOException {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int i = 0; i < 3000; i++) {
+                dict.putString("key" + i, "value" + i);
+            }
+
+            assertEquals(3000, dict.size());
+            assertEquals("value1234", dict.getString("key1234"));
+        }
+
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            assertEquals(3000, dict.size());
+            assertEquals("value2999", dict.getString("key2999"));
+        }
+    }
+
+    /**
+     * Test that compaction drops garbage and keeps live pairs.
+     */
+    @Test
+    public void testCompact() throws Exception {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int round = 0; round < 5; round++) {
+                for(int i = 0; i < 200; i++) {
+                    dict.putString("key" + i, "value" + round);
+                }
+            }
+
+            dict.compactAsync().get();
+            dict.compact();
+            assertEquals(0, dict.garbageSize());
+            assertEquals(200, dict.size());
+            assertEquals("value4", dict.getString("key42"));
+
+            // Each compaction wrote a new generation and deleted the old files
+            assertFalse(Files.exists(directory.resolve("data.log")));
+
+            try(Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.filter(file -> file.getFileName().toString().startsWith("data.log")).count());
+            }
+        }
+
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory)) {
+            assertEquals(200, dict.size());
+            assertEquals("value4", dict.getString("key199"));
+        }
+    }
+
+    /**
+     * Test that writes made during a background compaction are kept.
+     */
+    @Test
+    public void testWritesDuringCompaction() throws Exception {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int round = 0; round < 5; round++) {
+                for(int i = 0; i < 500; i++) {
+                    dict.putString("key" + i, "value" + round);
+                }
+            }
+
+            // Keep writing while the compactor copies
+            CompletableFuture<Void> compaction = dict.compactAsync();
+
+            for(int i = 0; i < 500; i += 2) {
+                dict.putString("key" + i, "later");
+                dict.removeString("key" + (i + 1));
+            }
+
+            compaction.get();
+
+            for(int i = 0; i < 500; i += 2) {
+                assertEquals("later", dict.getString("key" + i));
+                assertNull(dict.getString("key" + (i + 1)));
+            }
+
+            assertEquals(250, dict.size());
+        }
+
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            assertEquals(250, dict.size());
+            assertEquals("later", dict.getString("key498"));
+            assertNull(dict.getString("key499"));
+        }
+    }
+
+    /**
+     * Test the clear() method and closed state.
+     */
+    @Test
+    public void testClearAndClose() throws IOException {
+        MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE);
+        dict.put(new byte[] {1}, new byte[] {2});
+        dict.clear();
+        assertTrue(dict.isEmpty());
+        assertNull(dict.get(new byte[] {1}));
+        dict.close();
+
+        assertThrows(IllegalStateException.class, () -> dict.get(new byte[] {1}));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileDictionary(directory.resolve("x"), SEGMENT_SIZE)
+            .put(new byte[10], new byte[SEGMENT_SIZE]));
+    }
+
+    /**
+     * Test walking and updating pairs with a cursor.
+     */
+    @Test
+    public void testCursor() throws IOException {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            for(int i = 0; i < 100; i++) {
+                dict.putString("key" + i, "value" + i);
+            }
+
+            EntryCursor<byte[], byte[]> cursor = dict.cursor();
+            int count = 0;
+
+            while(cursor.advance()) {
+                cursor.setValue(cursor.key());
+                count++;
+            }
+
+            assertEquals(100, count);
+            assertEquals("key42", dict.getString("key42"));
+        }
+    }
+
+    /**
+     * Test the single-lookup mutation methods, including a function that changes the dictionary.
+     */
+    @Test
+    public void testAtomicOperations() throws IOException {
+        try(MappedFileDictionary dict = new MappedFileDictionary(directory, SEGMENT_SIZE)) {
+            byte[] key = {1};
+
+            assertNull(dict.putIfAbsent(key, new byte[] {10}));
+            assertArrayEquals(new byte[] {10}, dict.putIfAbsent(key, new byte[] {11}));
+            assertArrayEquals(new byte[] {10}, dict.replace(key, new byte[] {12}));
+            assertNull(dict.replace(new byte[] {2}, new byte[] {0}));
+            assertArrayEquals(new byte[] {12}, dict.computeIfAbsent(key, k -> new byte[] {0}));
+            assertArrayEquals(new byte[] {3}, dict.computeIfAbsent(new byte[] {3}, k -> k));
+            assertArrayEquals(new byte[] {12, 5}, dict.merge(key, new byte[] {5}, (a, b) -> new byte[] {a[0], b[0]}));
+            assertNull(dict.compute(key, (k, v) -> null));
+            assertNull(dict.get(key));
+            assertEquals(1, dict.size());
+
+            // A function that grows the index must not leave a stale slot behind
+            byte[] value = dict.computeIfAbsent(new byte[] {4}, k -> {
+                for(int i = 0; i < 2000; i++) {
+                    dict.putString("filler" + i, "x");
+                }
+
+                return new byte[] {4};
+            });
+
+            assertArrayEquals(new byte[] {4}, value);
+            assertArrayEquals(new byte[] {4}, dict.get(new byte[] {4}));
+            assertEquals(2002, dict.size());
+            assertThrows(NullPointerException.class, () -> dict.merge(key, null, (a, b) -> a));
+        }
+    }
+}
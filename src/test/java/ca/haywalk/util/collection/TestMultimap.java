@@ -0,0 +1,107 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Multimap class.
+ */
+public class TestMultimap {
+
+    /**
+     * Test grouping values by key, in insertion order.
+     */
+    @Test
+    public void testGrouping() {
+        Multimap<String, Integer> multimap = new Multimap<String, Integer>();
+
+        for(int i = 0; i < 1000; i++) {
+            multimap.put("group" + (i % 7), i);
+        }
+
+        assertEquals(1000, multimap.size());
+        assertEquals(7, multimap.keyCount());
+        assertEquals(143, multimap.valueCount("group0"));
+        assertEquals(142, multimap.get("group6").size());
+        assertTrue(multimap.get("missing").isEmpty());
+
+        // Values come back in the order they were added
+        Iterator<Integer> values = multimap.get("group3").iterator();
+
+        for(int expected = 3; expected < 1000; expected += 7) {
+            assertEquals(expected, (int) values.next());
+        }
+
+        assertFalse(values.hasNext());
+    }
+
+    /**
+     * Test removing values and reusing their storage.
+     */
+    @Test
+    public void testRemove() {
+        Multimap<String, String> multimap = new Multimap<String, String>();
+        multimap.put("a", "1");
+        multimap.put("a", "2");
+        multimap.put("a", "3");
+        multimap.put("b", "4");
+
+        assertTrue(multimap.remove("a", "3"));
+        assertFalse(multimap.remove("a", "3"));
+        multimap.put("a", "5");
+        assertEquals("1,2,5,", join(multimap.get("a")));
+
+        assertTrue(multimap.remove("a", "1"));
+        assertEquals("2,5,", join(multimap.get("a")));
+
+        assertEquals(2, multimap.removeAll("a"));
+        assertFalse(multimap.containsKey("a"));
+        assertEquals(1, multimap.size());
+
+        multimap.put("c", "6");
+        assertTrue(multimap.remove("b", "4"));
+        assertEquals(1, multimap.keys().size());
+        assertEquals("c", multimap.iterator().next());
+
+        multimap.clear();
+        assertTrue(multimap.isEmpty());
+        assertFalse(multimap.iterator().hasNext());
+    }
+
+    /**
+     * Test finding the keys with the most values.
+     */
+    @Test
+    public void testTopK() {
+        Multimap<Integer, Integer> multimap = new Multimap<Integer, Integer>();
+
+        for(int key = 1; key <= 20; key++) {
+            for(int i = 0; i < key; i++) {
+                multimap.put(key, i);
+            }
+        }
+
+        assertEquals("20,19,18,", join(multimap.topK(3)));
+        assertEquals(20, multimap.topK(100).size());
+        assertTrue(multimap.topK(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> multimap.topK(-1));
+    }
+
+    /**
+     * Join items, each followed by a comma.
+     *
+     * @param items Items.
+     * @return The joined items.
+     */
+    private static String join(Iterable<?> items) {
+        StringBuilder builder = new StringBuilder();
+
+        for(Object item : items) {
+            builder.append(item).append(',');
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,185 @@
+package ca.haywalk.util.collection;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the OffHeapDictionary class.
+ */
+public class TestOffHeapDictionary {
+
+    /**
+     * Test adding, getting, overwriting and removing pairs.
+     */
+    @Test
+    public void testBasic() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary()) {
+            assertTrue(dictionary.put("alpha", new byte[] { 1, 2, 3 }));
+            assertTrue(dictionary.put("beta", new byte[0]));
+            assertEquals(2, dictionary.size());
+            assertArrayEquals(new byte[] { 1, 2, 3 }, dictionary.get("alpha"));
+            assertArrayEquals(new byte[0], dictionary.get("beta"));
+            assertNull(dictionary.get("gamma"));
+
+            // Overwrite with a value of the same and of a larger size class
+            dictionary.put("alpha", new byte[] { 4, 5, 6 });
+            assertArrayEquals(new byte[] { 4, 5, 6 }, dictionary.get("alpha"));
+            dictionary.put("alpha", new byte[100]);
+            assertEquals(100, dictionary.get("alpha").length);
+            assertEquals(2, dictionary.size());
+
+            assertTrue(dictionary.remove("alpha"));
+            assertFalse(dictionary.remove("alpha"));
+            assertNull(dictionary.get("alpha"));
+            assertEquals(1, dictionary.size());
+
+            assertThrows(NullPointerException.class, () -> dictionary.put((String) null, new byte[0]));
+            assertThrows(NullPointerException.class, () -> dictionary.put("a", null));
+        }
+    }
+
+    /**
+     * Test that string keys and their UTF-8 bytes name the same pair.
+     */
+    @Test
+    public void testByteKeys() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary()) {
+            dictionary.put("caf\u00e9", new byte[] { 7 });
+            byte[] key = "caf\u00e9".getBytes(StandardCharsets.UTF_8);
+
+            assertArrayEquals(new byte[] { 7 }, dictionary.get(key));
+            assertTrue(dictionary.keys().contains("caf\u00e9"));
+            assertTrue(dictionary.remove(key));
+            assertTrue(dictionary.isEmpty());
+        }
+    }
+
+    /**
+     * Test that value buffers are read-only views of the stored bytes.
+     */
+    @Test
+    public void testBuffer() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary()) {
+            dictionary.put("key", new byte[] { 9, 8, 7 });
+
+            ByteBuffer buffer = dictionary.getBuffer("key");
+            assertEquals(3, buffer.remaining());
+            assertEquals(9, buffer.get(0));
+            assertEquals(7, buffer.get(2));
+            assertTrue(buffer.isReadOnly());
+            assertTrue(buffer.isDirect());
+            assertNull(dictionary.getBuffer("missing"));
+        }
+    }
+
+    /**
+     * Test many pairs across several slabs, including records larger than a slab.
+     */
+    @Test
+    public void testManyPairs() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary(1024)) {
+            for(int i = 0; i < 2000; i++) {
+                dictionary.put("key" + i, new byte[i % 50]);
+            }
+
+            dictionary.put("huge", new byte[5000]);
+            assertEquals(2001, dictionary.size());
+
+            for(int i = 0; i < 2000; i++) {
+                assertEquals(i % 50, dictionary.get("key" + i).length);
+            }
+
+            assertEquals(5000, dictionary.get("huge").length);
+
+            // Removing half and adding them back reuses freed blocks
+            for(int i = 0; i < 2000; i += 2) {
+                dictionary.remove("key" + i);
+            }
+
+            long allocated = dictionary.allocatedBytes();
+
+            for(int i = 0; i < 2000; i += 2) {
+                dictionary.put("key" + i, new byte[i % 50]);
+            }
+
+            assertEquals(allocated, dictionary.allocatedBytes());
+            assertEquals(2001, dictionary.size());
+
+            dictionary.remove("huge");
+            assertNull(dictionary.get("huge"));
+            assertEquals(2000, dictionary.keys().size());
+        }
+    }
+
+    /**
+     * Test the memory statistics.
+     */
+    @Test
+    public void testStats() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary(4096)) {
+            assertEquals(0, dictionary.allocatedBytes());
+            assertEquals(0, dictionary.fragmentation());
+
+            dictionary.put("ab", new byte[6]);
+            assertEquals(4096, dictionary.allocatedBytes());
+            assertEquals(16, dictionary.usedBytes());
+
+            dictionary.remove("ab");
+            assertEquals(0, dictionary.usedBytes());
+            assertEquals(1.0, dictionary.fragmentation());
+
+            dictionary.clear();
+            assertEquals(0, dictionary.allocatedBytes());
+        }
+    }
+
+    /**
+     * Test iterating and writing through a cursor.
+     */
+    @Test
+    public void testCursor() {
+        try(OffHeapDictionary dictionary = new OffHeapDictionary()) {
+            for(int i = 0; i < 10; i++) {
+                dictionary.put("k" + i, new byte[] { (byte) i });
+            }
+
+            EntryCursor<String, byte[]> cursor = dictionary.cursor();
+            int count = 0;
+
+            while(cursor.advance()) {
+                cursor.setValue(new byte[] { cursor.value()[0], 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+                count++;
+            }
+
+            assertEquals(10, count);
+
+            int keyCount = 0;
+
+            for(String key : dictionary) {
+                assertEquals(Integer.parseInt(key.substring(1)), dictionary.get(key)[0]);
+                assertEquals(16, dictionary.get(key).length);
+                keyCount++;
+            }
+
+            assertEquals(10, keyCount);
+        }
+    }
+
+    /**
+     * Test that a closed dictionary cannot be used.
+     */
+    @Test
+    public void testClose() {
+        OffHeapDictionary dictionary = new OffHeapDictionary();
+        dictionary.put("key", new byte[1]);
+        dictionary.close();
+        dictionary.close();
+
+        assertThrows(IllegalStateException.class, () -> dictionary.get("key"));
+        assertThrows(IllegalStateException.class, () -> dictionary.put("key", new byte[1]));
+        assertEquals(0, dictionary.allocatedBytes());
+    }
+}
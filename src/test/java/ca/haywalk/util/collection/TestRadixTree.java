@@ -0,0 +1,194 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the RadixTree class.
+ */
+public class TestRadixTree {
+
+    /**
+     * Test keys that are prefixes of one another.
+     */
+    @Test
+    public void testPrefixKeys() {
+        RadixTree<Integer> tree = new RadixTree<Integer>();
+        tree.put("", 0);
+        tree.put("a", 1);
+        tree.put("ab", 2);
+        tree.put("abc", 3);
+        tree.put("abd", 4);
+        tree.put("b", 5);
+
+        assertEquals(6, tree.size());
+        assertEquals(0, (int) tree.get(""));
+        assertEquals(2, (int) tree.get("ab"));
+        assertEquals(4, (int) tree.get("abd"));
+        assertNull(tree.get("abe"));
+        assertNull(tree.get("abcd"));
+
+        // Overwriting does not change the size
+        tree.put("ab", 22);
+        assertEquals(6, tree.size());
+        assertEquals(22, (int) tree.get("ab"));
+
+        // Removing an inner key keeps the keys below it
+        assertTrue(tree.remove("ab"));
+        assertFalse(tree.remove("ab"));
+        assertEquals(3, (int) tree.get("abc"));
+        assertEquals(1, (int) tree.get("a"));
+        assertEquals(5, tree.size());
+    }
+
+    /**
+     * Test many keys against a hash map, across every node width.
+     */
+    @Test
+    public void testManyKeys() {
+        RadixTree<Integer> tree = new RadixTree<Integer>();
+        HashMap<String, Integer> expected = new HashMap<String, Integer>();
+
+        for(int i = 0; i < 20000; i++) {
+            String key = Integer.toString(i * 7919, 36) + (char) (i % 300);
+            tree.put(key, i);
+            expected.put(key, i);
+        }
+
+        for(int i = 0; i < 20000; i += 2) {
+            String key = Integer.toString(i * 7919, 36) + (char) (i % 300);
+            assertTrue(tree.remove(key));
+            expected.remove(key);
+        }
+
+        assertEquals(expected.size(), tree.size());
+
+        for(String key : expected) {
+            assertEquals(expected.get(key), tree.get(key));
+        }
+
+        // Keys come out in ascending order
+        String previous = null;
+        int count = 0;
+
+        for(String key : tree) {
+            if(previous != null) {
+                assertTrue(previous.compareTo(key) < 0);
+            }
+
+            previous = key;
+            count++;
+        }
+
+        assertEquals(expected.size(), count);
+
+        // Removing everything leaves an empty tree
+        for(String key : expected) {
+            assertTrue(tree.remove(key));
+        }
+
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.iterator().hasNext());
+    }
+
+    /**
+     * Test iterating over keys with a prefix.
+     */
+    @Test
+    public void testPrefixIterator() {
+        RadixTree<String> tree = new RadixTree<String>();
+
+        for(String key : new String[] {"romane", "romanus", "romulus", "rubens", "ruber", "rubicon", "rubicundus"}) {
+            tree.put(key, key.toUpperCase());
+        }
+
+        assertEquals("rubens,ruber,rubicon,rubicundus,", join(tree.prefixIterator("rub")));
+        assertEquals("romane,romanus,", join(tree.prefixIterator("roman")));
+        assertEquals("rubicon,", join(tree.prefixIterator("rubico")));
+        assertEquals("rubicon,", join(tree.prefixIterator("rubicon")));
+        assertEquals("", join(tree.prefixIterator("rubiconx")));
+        assertEquals("", join(tree.prefixIterator("x")));
+        assertEquals(7, tree.keys().size());
+        assertEquals(7, countOf(tree.prefixIterator("")));
+    }
+
+    /**
+     * Test finding the longest key that starts a query.
+     */
+    @Test
+    public void testLongestPrefixMatch() {
+        RadixTree<String> tree = new RadixTree<String>();
+        tree.put("/", "root");
+        tree.put("/api", "api");
+        tree.put("/api/users", "users");
+
+        assertEquals("/api/users", tree.longestPrefixMatch("/api/users/42"));
+        assertEquals("/api", tree.longestPrefixMatch("/api/orders"));
+        assertEquals("/api", tree.longestPrefixMatch("/api"));
+        assertEquals("/", tree.longestPrefixMatch("/static/app.js"));
+        assertNull(tree.longestPrefixMatch("api"));
+        assertNull(new RadixTree<String>().longestPrefixMatch("/"));
+    }
+
+    /**
+     * Test the cursor and null handling.
+     */
+    @Test
+    public void testCursor() {
+        RadixTree<Integer> tree = new RadixTree<Integer>();
+        tree.put("b", 2);
+        tree.put("a", 1);
+        tree.put("\u0100", 3);
+
+        EntryCursor<String, Integer> cursor = tree.cursor();
+
+        while(cursor.advance()) {
+            cursor.setValue(cursor.value() * 10);
+        }
+
+        assertEquals(10, (int) tree.get("a"));
+        assertEquals(30, (int) tree.get("\u0100"));
+        assertEquals("a", tree.keys().iterator().next());
+        assertThrows(NullPointerException.class, () -> tree.put(null, 1));
+        assertThrows(NullPointerException.class, () -> tree.put("a", null));
+
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertNull(tree.get("a"));
+    }
+
+    /**
+     * Join keys, each followed by a comma.
+     *
+     * @param keys Keys.
+     * @return The joined keys.
+     */
+    private static String join(Iterator<String> keys) {
+        StringBuilder builder = new StringBuilder();
+
+        while(keys.hasNext()) {
+            builder.append(keys.next()).append(',');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Count keys.
+     *
+     * @param keys Keys.
+     * @return The number of keys.
+     */
+    private static int countOf(Iterator<String> keys) {
+        int count = 0;
+
+        while(keys.hasNext()) {
+            keys.next();
+            count++;
+        }
+
+        return count;
+    }
+}
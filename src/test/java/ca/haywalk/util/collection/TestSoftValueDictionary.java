@@ -0,0 +1,43 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SoftValueDictionary class.
+ */
+public class TestSoftValueDictionary {
+
+    /**
+     * Test the dictionary operations while values are reachable.
+     */
+    @Test
+    public void testOperations() {
+        SoftValueDictionary<Integer, String> dictionary = new SoftValueDictionary<Integer, String>();
+
+        for(int i = 0; i < 100; i++) {
+            dictionary.put(i, "v" + i);
+        }
+
+        assertEquals(100, dictionary.size());
+        assertEquals("v42", dictionary.get(42));
+        dictionary.put(42, "new");
+        assertEquals("new", dictionary.get(42));
+        assertTrue(dictionary.remove(42));
+        assertFalse(dictionary.remove(42));
+        assertEquals(99, dictionary.values().size());
+
+        EntryCursor<Integer, String> cursor = dictionary.cursor();
+
+        while(cursor.advance()) {
+            cursor.setValue(cursor.value() + "!");
+        }
+
+        assertEquals("v7!", dictionary.get(7));
+        assertThrows(NullPointerException.class, () -> dictionary.put(1, null));
+
+        dictionary.clear();
+        assertTrue(dictionary.isEmpty());
+        assertNull(dictionary.get(7));
+    }
+}
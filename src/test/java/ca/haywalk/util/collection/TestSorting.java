@@ -0,0 +1,147 @@
+package ca.haywalk.util.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Sorting class.
+ */
+public class TestSorting {
+
+    /**
+     * Test the merge sort against the JDK's on random, sorted, reversed and partly sorted input.
+     */
+    @Test
+    public void testSort() {
+        Random random = new Random(42);
+
+        for(int length : new int[] { 0, 1, 2, 31, 32, 33, 100, 1000, 25000 }) {
+            Integer[] randomInput = new Integer[length];
+            Integer[] partlySorted = new Integer[length];
+
+            for(int i = 0; i < length; i++) {
+                randomInput[i] = random.nextInt(length + 1);
+                partlySorted[i] = i % 100 == 0 ? random.nextInt(length + 1) : i;
+            }
+
+            Integer[] descending = new Integer[length];
+
+            for(int i = 0; i < length; i++) {
+                descending[i] = length - i;
+            }
+
+            for(Integer[] input : new Integer[][] { randomInput, partlySorted, descending }) {
+                Integer[] expected = input.clone();
+                Arrays.sort(expected);
+
+                Integer[] actual = input.clone();
+                Sorting.sort(actual, Comparator.naturalOrder());
+                assertArrayEquals(expected, actual);
+
+                actual = input.clone();
+                Sorting.parallelSort(actual, Comparator.naturalOrder());
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Test that equal elements keep their order.
+     */
+    @Test
+    public void testStable() {
+        Random random = new Random(7);
+        int[][] pairs = new int[50000][];
+
+        for(int i = 0; i < pairs.length; i++) {
+            pairs[i] = new int[] { random.nextInt(100), i };
+        }
+
+        Comparator<int[]> byKey = Comparator.comparingInt(pair -> pair[0]);
+
+        int[][] sorted = pairs.clone();
+        Sorting.sort(sorted, byKey);
+        assertStable(sorted);
+
+        sorted = pairs.clone();
+        Sorting.parallelSort(sorted, byKey);
+        assertStable(sorted);
+    }
+
+    /**
+     * Test sorting part of an array and the argument checks.
+     */
+    @Test
+    public void testRange() {
+        Integer[] array = { 9, 8, 7, 6, 5 };
+        Sorting.sort(array, 1, 4, Comparator.naturalOrder());
+        assertArrayEquals(new Integer[] { 9, 6, 7, 8, 5 }, array);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> Sorting.sort(array, 3, 2, Comparator.naturalOrder()));
+        assertThrows(IndexOutOfBoundsException.class, () -> Sorting.radixSort(new int[2], 0, 3));
+        assertThrows(NullPointerException.class, () -> Sorting.sort(array, null));
+    }
+
+    /**
+     * Test the radix sorts against the JDK's, including negative numbers and extremes.
+     */
+    @Test
+    public void testRadixSort() {
+        Random random = new Random(1);
+
+        for(int length : new int[] { 0, 10, 64, 1000, 100000 }) {
+            int[] ints = new int[length];
+            long[] longs = new long[length];
+
+            for(int i = 0; i < length; i++) {
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+            }
+
+            if(length > 2) {
+                ints[0] = Integer.MIN_VALUE;
+                ints[1] = Integer.MAX_VALUE;
+                longs[0] = Long.MIN_VALUE;
+                longs[1] = Long.MAX_VALUE;
+            }
+
+            int[] expectedInts = ints.clone();
+            Arrays.sort(expectedInts);
+            Sorting.radixSort(ints);
+            assertArrayEquals(expectedInts, ints);
+
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedLongs);
+            Sorting.radixSort(longs);
+            assertArrayEquals(expectedLongs, longs);
+        }
+
+        // Small values skip the passes over their empty high bytes
+        int[] small = new int[500];
+
+        for(int i = 0; i < small.length; i++) {
+            small[i] = random.nextInt(200) - 100;
+        }
+
+        int[] expected = small.clone();
+        Arrays.sort(expected);
+        Sorting.radixSort(small, 0, small.length);
+        assertArrayEquals(expected, small);
+    }
+
+    /**
+     * Check that pairs are sorted by key, with ties in their original order.
+     *
+     * @param pairs Sorted pairs of key and original index.
+     */
+    private static void assertStable(int[][] pairs) {
+        for(int i = 1; i < pairs.length; i++) {
+            assertTrue(pairs[i - 1][0] < pairs[i][0]
+                || pairs[i - 1][0] == pairs[i][0] && pairs[i - 1][1] < pairs[i][1]);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package ca.haywalk.util.collection;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the TieredList class.
+ */
+public class TestTieredList {
+    // List to test with.
+    private TieredList<Integer> list;
+
+    /**
+     * Set up the test list.
+     */
+    @BeforeEach
+    public void setUp() {
+        list = new TieredList<Integer>();
+    }
+
+    /**
+     * Test the List methods.
+     */
+    @Test
+    public void testBasic() {
+        assertTrue(list.isEmpty());
+
+        for(int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(99, list.get(99));
+        assertEquals(42, list.index(42));
+        assertTrue(list.contains(42));
+        assertFalse(list.contains(100));
+
+        assertEquals(42, list.remove(42));
+        assertEquals(43, list.get(42));
+        assertTrue(list.remove(Integer.valueOf(0)));
+        assertFalse(list.remove(Integer.valueOf(0)));
+        assertEquals(98, list.size());
+        assertEquals(1, list.get(0));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(98));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(-1, list.index(1));
+    }
+
+    /**
+     * Test the add(int, T) method.
+     */
+    @Test
+    public void testAddAtIndex() {
+        for(int i = 0; i < 100; i++) {
+            list.add(0, i);
+        }
+
+        list.add(50, 1000);
+
+        assertEquals(101, list.size());
+        assertEquals(99, list.get(0));
+        assertEquals(1000, list.get(50));
+        assertEquals(49, list.get(51));
+        assertEquals(0, list.get(100));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(102, 1));
+        assertThrows(NullPointerException.class, () -> list.add(0, null));
+    }
+
+    /**
+     * Test random inserts and removals against java.util.ArrayList, across chunk size changes.
+     */
+    @Test
+    public void testRandomAgainstArrayList() {
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<Integer>();
+        Random random = new Random(25);
+
+        for(int step = 0; step < 40000; step++) {
+            // Grow for the first half, then shrink
+            boolean insert = expected.isEmpty() || random.nextInt(100) < (step < 20000 ? 70 : 25);
+
+            if(insert) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, step);
+                list.add(index, step);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+
+            if(step % 997 == 0) {
+                assertContents(expected);
+            }
+        }
+
+        assertContents(expected);
+    }
+
+    /**
+     * Test the iterator.
+     */
+    @Test
+    public void testIterator() {
+        Iterator<Integer> iterator = list.iterator();
+        assertFalse(iterator.hasNext());
+
+        for(int i = 0; i < 50; i++) {
+            list.add(0, i);
+        }
+
+        iterator = list.iterator();
+
+        for(int i = 49; i >= 0; i--) {
+            assertEquals(i, iterator.next());
+        }
+
+        assertFalse(iterator.hasNext());
+        Iterator<Integer> exhausted = iterator;
+        assertThrows(NoSuchElementException.class, () -> exhausted.next());
+    }
+
+    /**
+     * Test removeIf(), replaceAll(), forEach() and addAll().
+     */
+    @Test
+    public void testBulk() {
+        for(int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertTrue(list.removeIf(item -> item % 3 != 0));
+        assertFalse(list.removeIf(item -> item % 3 != 0));
+        assertEquals(334, list.size());
+        assertEquals(999, list.get(333));
+
+        list.replaceAll(item -> item / 3);
+
+        int[] sum = new int[1];
+        list.forEach(item -> sum[0] += item);
+        assertEquals(333 * 334 / 2, sum[0]);
+
+        ArrayList<Integer> items = new ArrayList<Integer>();
+        items.add(-1);
+        items.add(-2);
+        list.addAll(items);
+        assertEquals(-2, list.get(335));
+
+        assertEquals(list.size(), list.stream().count());
+
+        // Adding the list to itself copies its items once
+        TieredList<Integer> pair = new TieredList<Integer>();
+        pair.add(1);
+        pair.add(2);
+        pair.addAll(pair);
+        assertEquals(4, pair.size());
+        assertEquals(2, pair.get(3));
+
+        assertThrows(NullPointerException.class, () -> list.replaceAll(item -> null));
+        assertThrows(NullPointerException.class, () -> list.removeIf(null));
+    }
+
+    /**
+     * Check that the list holds the expected items, through get() and the iterator.
+     *
+     * @param expected Expected items.
+     */
+    private void assertContents(java.util.List<Integer> expected) {
+        assertEquals(expected.size(), list.size());
+
+        for(int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+
+        Iterator<Integer> iterator = list.iterator();
+
+        for(Integer item : expected) {
+            assertEquals(item, iterator.next());
+        }
+
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -0,0 +1,199 @@
+package ca.haywalk.util.collection;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the VersionedDictionary class.
+ */
+public class TestVersionedDictionary {
+
+    /**
+     * Test basic reads and writes, and that each change makes a new version.
+     */
+    @Test
+    public void testBasic() {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+        assertEquals(0, dictionary.currentVersion());
+
+        dictionary.put("a", 1);
+        dictionary.put("b", 2);
+        assertEquals(2, dictionary.currentVersion());
+        assertEquals(2, dictionary.size());
+        assertEquals(1, dictionary.get("a"));
+
+        assertTrue(dictionary.remove("a"));
+        assertFalse(dictionary.remove("a"));
+        assertEquals(3, dictionary.currentVersion());
+        assertNull(dictionary.get("a"));
+
+        assertThrows(NullPointerException.class, () -> dictionary.put(null, 1));
+        assertThrows(NullPointerException.class, () -> dictionary.put("c", null));
+    }
+
+    /**
+     * Test that a snapshot keeps seeing its version while writes go on.
+     */
+    @Test
+    public void testSnapshot() {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+        dictionary.put("a", 1);
+
+        try(VersionedDictionary.Snapshot<String, Integer> snapshot = dictionary.snapshot()) {
+            dictionary.put("a", 2);
+            dictionary.put("b", 3);
+            dictionary.clear();
+
+            assertEquals(1, snapshot.version());
+            assertEquals(1, snapshot.get("a"));
+            assertNull(snapshot.get("b"));
+            assertEquals(1, snapshot.size());
+            assertTrue(dictionary.isEmpty());
+        }
+    }
+
+    /**
+     * Test that an update publishes several changes as one version.
+     */
+    @Test
+    public void testUpdate() {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+
+        long version = dictionary.update(builder -> builder.put("a", 1).put("b", 2).put("c", 3));
+        assertEquals(1, version);
+        assertEquals(3, dictionary.size());
+        assertThrows(NullPointerException.class, () -> dictionary.update(null));
+    }
+
+    /**
+     * Test that old versions are kept only while an older snapshot is open.
+     */
+    @Test
+    public void testReclamation() {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+
+        for(int i = 0; i < 10; i++) {
+            dictionary.put("key", i);
+        }
+
+        assertEquals(1, dictionary.retainedVersions());
+
+        VersionedDictionary.Snapshot<String, Integer> snapshot = dictionary.snapshot();
+
+        for(int i = 0; i < 10; i++) {
+            dictionary.put("key", 10 + i);
+        }
+
+        assertEquals(11, dictionary.retainedVersions());
+
+        // A retained version can be pinned by number
+        try(VersionedDictionary.Snapshot<String, Integer> old = dictionary.snapshot(15)) {
+            assertEquals(14, old.get("key"));
+        }
+
+        snapshot.close();
+        snapshot.close();
+        dictionary.put("key", 20);
+        assertEquals(1, dictionary.retainedVersions());
+        assertThrows(NoSuchElementException.class, () -> dictionary.snapshot(15));
+    }
+
+    /**
+     * Test that a snapshot closed on another thread still releases its version.
+     */
+    @Test
+    public void testCloseOnOtherThread() throws InterruptedException {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+        dictionary.put("key", 0);
+
+        VersionedDictionary.Snapshot<String, Integer> first = dictionary.snapshot();
+        VersionedDictionary.Snapshot<String, Integer> second = dictionary.snapshot();
+        dictionary.put("key", 1);
+        dictionary.put("key", 2);
+        assertEquals(3, dictionary.retainedVersions());
+
+        Thread closer = new Thread(first::close);
+        closer.start();
+        closer.join();
+        assertEquals(3, dictionary.retainedVersions());
+
+        second.close();
+        assertEquals(1, dictionary.retainedVersions());
+        assertEquals(0, first.get("key"));
+    }
+
+    /**
+     * Test the compute family and writing through a cursor.
+     */
+    @Test
+    public void testCompute() {
+        VersionedDictionary<String, Integer> dictionary = new VersionedDictionary<String, Integer>();
+
+        assertNull(dictionary.putIfAbsent("a", 1));
+        assertEquals(1, dictionary.putIfAbsent("a", 2));
+        assertEquals(3, dictionary.merge("a", 2, Integer::sum));
+        assertEquals(5, dictionary.computeIfAbsent("bb", key -> 5));
+
+        EntryCursor<String, Integer> cursor = dictionary.cursor();
+
+        while(cursor.advance()) {
+            cursor.setValue(cursor.value() * 10);
+        }
+
+        assertEquals(30, dictionary.get("a"));
+        assertEquals(50, dictionary.get("bb"));
+    }
+
+    /**
+     * Test that readers always see a consistent version while a writer runs.
+     */
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        VersionedDictionary<Integer, Integer> dictionary = new VersionedDictionary<Integer, Integer>();
+        int keys = 32;
+
+        // Every version has the same value under every key
+        dictionary.update(builder -> {
+            for(int k = 0; k < keys; k++) {
+                builder.put(k, 0);
+            }
+        });
+
+        Thread writer = new Thread(() -> {
+            for(int i = 1; i <= 500; i++) {
+                int value = i;
+                dictionary.update(builder -> {
+                    for(int k = 0; k < keys; k++) {
+                        builder.put(k, value);
+                    }
+                });
+            }
+        });
+
+        boolean[] consistent = { true };
+        Thread reader = new Thread(() -> {
+            for(int i = 0; i < 500; i++) {
+                try(VersionedDictionary.Snapshot<Integer, Integer> snapshot = dictionary.snapshot()) {
+                    int first = snapshot.get(0);
+
+                    for(int k = 1; k < keys; k++) {
+                        if(snapshot.get(k) != first) {
+                            consistent[0] = false;
+                        }
+                    }
+                }
+            }
+        });
+
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertTrue(consistent[0]);
+        assertEquals(500, dictionary.get(0));
+        assertEquals(1, dictionary.retainedVersions());
+    }
+}
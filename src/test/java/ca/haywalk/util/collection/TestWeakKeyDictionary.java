@@ -0,0 +1,69 @@
+package ca.haywalk.util.collection;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the WeakKeyDictionary class.
+ */
+public class TestWeakKeyDictionary {
+
+    /**
+     * Test the dictionary operations with strongly held keys.
+     */
+    @Test
+    public void testOperations() {
+        WeakKeyDictionary<String, Integer> dictionary = new WeakKeyDictionary<String, Integer>();
+        String[] keys = new String[1000];
+
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + i;
+            dictionary.put(keys[i], i);
+        }
+
+        assertEquals(1000, dictionary.size());
+        assertEquals(5, (int) dictionary.get(new String("key5")));
+        assertTrue(dictionary.remove("key5"));
+        assertFalse(dictionary.remove("key5"));
+        assertNull(dictionary.get("key5"));
+
+        dictionary.put("key6", 60);
+        assertEquals(60, (int) dictionary.get("key6"));
+        assertEquals(999, dictionary.keys().size());
+
+        EntryCursor<String, Integer> cursor = dictionary.cursor();
+
+        while(cursor.advance()) {
+            cursor.setValue(-cursor.value());
+        }
+
+        assertEquals(-7, (int) dictionary.get("key7"));
+        assertThrows(NullPointerException.class, () -> dictionary.put(null, 1));
+
+        dictionary.clear();
+        assertTrue(dictionary.isEmpty());
+    }
+
+    /**
+     * Test that entries disappear once their keys are unreachable.
+     */
+    @Test
+    public void testReclaim() throws InterruptedException {
+        WeakKeyDictionary<Object, String> dictionary = new WeakKeyDictionary<Object, String>();
+        Object kept = new Object();
+        dictionary.put(kept, "kept");
+
+        for(int i = 0; i < 100; i++) {
+            dictionary.put(new Object(), "dropped");
+        }
+
+        // Collect until the unreachable keys have been reclaimed
+        for(int attempt = 0; attempt < 50 && dictionary.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, dictionary.size());
+        assertEquals("kept", dictionary.get(kept));
+    }
+}